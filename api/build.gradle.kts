@@ -27,11 +27,14 @@ dependencies {
         excludeAdventure()
     }
     compileOnly(libs.gson)
+    annotationProcessor(project(":codec-processor"))
 
     testImplementation(libs.bundles.adventure)
     testImplementation(project(":patch:adventure-text-serializer-gson"))
     testImplementation(libs.adventure.text.serializer.legacy)
     testImplementation(project(":netty-common"))
+    testImplementation(libs.netty)
+    testImplementation(libs.gson)
     testImplementation(testlibs.mockbukkit)
     testImplementation(testlibs.slf4j)
     testImplementation(testlibs.bundles.junit)
@@ -102,6 +105,8 @@ tasks {
 
     test {
         useJUnitPlatform()
+        // Source of the compressed mapping files, compared against by the mapping tests
+        systemProperty("packetevents.mappings", rootDir.resolve("mappings").absolutePath)
     }
 }
 
@@ -0,0 +1,314 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.event;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.exception.InvalidHandshakeException;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.netty.channel.ChannelHelper;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import com.github.retrooper.packetevents.protocol.player.User;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Calls another listener asynchronously, so slow listeners don't stall the netty event loops.
+ * <p>
+ * The delegate receives a copy of every packet event on the executor, which owns its own buffer
+ * and is cleaned up automatically once the delegate has processed it. The copy is taken before
+ * the packet is re-encoded, modifying or cancelling it has no effect on the packet actually being sent or received.
+ * Events of one user are processed one after another in the order they occurred,
+ * events of different users are processed concurrently.
+ * Every user has a bounded queue, the {@link OverflowPolicy} decides what happens once it is full.
+ * <p>
+ * Copying a packet event is not free, so pass the packet types the delegate handles if it doesn't need all of them.
+ * Packets of other types are neither copied nor queued.
+ */
+public class AsyncPacketListener extends PacketListenerCommon {
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 1024;
+    // Events processed per user before other users get a turn
+    private static final int MAX_BATCH_SIZE = 64;
+    private static Executor DEFAULT_EXECUTOR;
+
+    private final PacketListenerCommon delegate;
+    private final Executor executor;
+    private final int maxQueueSize;
+    private final OverflowPolicy overflowPolicy;
+    private final @Nullable Set<PacketTypeCommon> packetTypes;
+    private final Map<User, UserQueue> queues = new ConcurrentHashMap<>();
+
+    public AsyncPacketListener(PacketListenerCommon delegate) {
+        this(delegate, getDefaultExecutor(), DEFAULT_MAX_QUEUE_SIZE, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * @param delegate    Listener to call asynchronously
+     * @param packetTypes Packet types passed to the delegate, packets of other types aren't copied
+     */
+    public AsyncPacketListener(PacketListenerCommon delegate, PacketTypeCommon... packetTypes) {
+        this(delegate, getDefaultExecutor(), DEFAULT_MAX_QUEUE_SIZE, OverflowPolicy.DROP_OLDEST,
+                new HashSet<>(Arrays.asList(packetTypes)));
+    }
+
+    public AsyncPacketListener(PacketListenerCommon delegate, Executor executor,
+                               int maxQueueSize, OverflowPolicy overflowPolicy) {
+        this(delegate, executor, maxQueueSize, overflowPolicy, null);
+    }
+
+    /**
+     * @param delegate       Listener to call asynchronously
+     * @param executor       Executor the delegate is called on
+     * @param maxQueueSize   Events queued per user at most
+     * @param overflowPolicy What happens to events once the queue of their user is full
+     * @param packetTypes    Packet types passed to the delegate, null for all packets
+     */
+    public AsyncPacketListener(PacketListenerCommon delegate, Executor executor,
+                               int maxQueueSize, OverflowPolicy overflowPolicy,
+                               @Nullable Set<? extends PacketTypeCommon> packetTypes) {
+        super(delegate.getPriority());
+        if (maxQueueSize <= 0) {
+            throw new IllegalArgumentException("The queue size has to be positive, got " + maxQueueSize);
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maxQueueSize = maxQueueSize;
+        this.overflowPolicy = overflowPolicy;
+        this.packetTypes = packetTypes == null ? null : new HashSet<>(packetTypes);
+    }
+
+    /**
+     * The executor used if none is specified: virtual threads where available (Java 21+),
+     * a fixed pool of daemon threads otherwise.
+     *
+     * @return shared default executor
+     */
+    public static synchronized Executor getDefaultExecutor() {
+        if (DEFAULT_EXECUTOR == null) {
+            DEFAULT_EXECUTOR = createDefaultExecutor();
+        }
+        return DEFAULT_EXECUTOR;
+    }
+
+    public PacketListenerCommon getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void onUserConnect(UserConnectEvent event) {
+        enqueue(event.getUser(), event);
+    }
+
+    @Override
+    public void onUserLogin(UserLoginEvent event) {
+        enqueue(event.getUser(), event);
+    }
+
+    @Override
+    public void onUserDisconnect(UserDisconnectEvent event) {
+        User user = event.getUser();
+        enqueue(user, event);
+        // The queue keeps draining what is left, but no new events will be added to it
+        queues.remove(user);
+    }
+
+    @Override
+    void onPacketReceive(PacketReceiveEvent event) {
+        if (isHandled(event)) {
+            enqueue(event.getUser(), copy(event));
+        }
+    }
+
+    @Override
+    void onPacketSend(PacketSendEvent event) {
+        if (isHandled(event)) {
+            enqueue(event.getUser(), copy(event));
+        }
+    }
+
+    @Override
+    public void onPacketEventExternal(PacketEvent event) {
+        delegate.onPacketEventExternal(event);
+    }
+
+    private boolean isHandled(ProtocolPacketEvent<?> event) {
+        return packetTypes == null || packetTypes.contains(event.getPacketType());
+    }
+
+    private static ProtocolPacketEvent<?> copy(ProtocolPacketEvent<?> event) {
+        // The duplicate of a clone shares memory with the original buffer, which is overwritten on re-encode
+        ProtocolPacketEvent<?> copy = event.clone();
+        Object duplicate = copy.getByteBuf();
+        copy.setByteBuf(ByteBufHelper.copy(duplicate));
+        ByteBufHelper.release(duplicate);
+        return copy;
+    }
+
+    private void enqueue(User user, PacketEvent event) {
+        UserQueue queue = queues.get(user);
+        if (queue == null) {
+            Object channel = user.getChannel();
+            if (!(event instanceof UserDisconnectEvent) && channel != null && !ChannelHelper.isOpen(channel)) {
+                // A late event of a disconnected user, a new queue would never be removed again
+                discard(event);
+                return;
+            }
+            queue = queues.computeIfAbsent(user, key -> new UserQueue());
+        }
+        queue.offer(event);
+    }
+
+    private void process(PacketEvent event) {
+        try {
+            event.call(delegate);
+        } catch (Exception t) {
+            // ignore handshake exceptions
+            if (t.getClass() != InvalidHandshakeException.class) {
+                PacketEvents.getAPI().getLogger().log(Level.WARNING, "PacketEvents caught an unhandled exception while calling your async listener.", t);
+            }
+        } finally {
+            discard(event);
+        }
+    }
+
+    private static void discard(PacketEvent event) {
+        if (event instanceof ProtocolPacketEvent) {
+            ((ProtocolPacketEvent<?>) event).cleanUp();
+        }
+    }
+
+    private static Executor createDefaultExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ignored) {
+            // Virtual threads are not available on this java version
+        }
+        AtomicInteger threadId = new AtomicInteger();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "packetevents-async-listener-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * What happens to an event if the queue of its user is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The new event is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest queued event is dropped to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * The calling thread waits until there is room in the queue.
+         * This stalls the netty event loop of the user, just like a slow synchronous listener would.
+         */
+        BLOCK
+    }
+
+    private final class UserQueue implements Runnable {
+        private final ArrayDeque<PacketEvent> events = new ArrayDeque<>();
+        private boolean scheduled;
+
+        private synchronized void offer(PacketEvent event) {
+            if (events.size() >= maxQueueSize) {
+                switch (overflowPolicy) {
+                    case DROP_NEWEST:
+                        discard(event);
+                        return;
+                    case DROP_OLDEST:
+                        discard(events.poll());
+                        break;
+                    case BLOCK:
+                        try {
+                            while (events.size() >= maxQueueSize) {
+                                wait();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            discard(event);
+                            return;
+                        }
+                        break;
+                }
+            }
+            events.add(event);
+            if (!scheduled) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            // Set first, the executor may already run this queue before execute returns
+            scheduled = true;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled = false;
+                // The executor has been shut down, nothing will process these events anymore
+                PacketEvent event;
+                while ((event = events.poll()) != null) {
+                    discard(event);
+                }
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+                PacketEvent event;
+                synchronized (this) {
+                    event = events.poll();
+                    if (event == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    notifyAll();
+                }
+                process(event);
+            }
+            // Give other users a turn before continuing
+            synchronized (this) {
+                scheduled = false;
+                if (!events.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -20,6 +20,8 @@ package com.github.retrooper.packetevents.event;
 
 import com.github.retrooper.packetevents.PacketEvents;
 import com.github.retrooper.packetevents.exception.InvalidHandshakeException;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
@@ -27,6 +29,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public class EventManager {
+    private static final PacketListenerPriority[] PRIORITIES = PacketListenerPriority.values();
     private final Map<PacketListenerPriority, Set<PacketListenerCommon>> listenersMap =
             Collections.synchronizedMap(new EnumMap<>(PacketListenerPriority.class));
 
@@ -44,7 +47,8 @@ public class EventManager {
     }
 
     public void callEvent(PacketEvent event, @Nullable Runnable postCallListenerAction) {
-        for (PacketListenerPriority priority : PacketListenerPriority.values()) {
+        ProtocolPacketEvent<?> protocolEvent = event instanceof ProtocolPacketEvent ? (ProtocolPacketEvent<?>) event : null;
+        for (PacketListenerPriority priority : PRIORITIES) {
             Set<PacketListenerCommon> listeners = listenersMap.get(priority);
             if (listeners != null) {
                 for (PacketListenerCommon listener : listeners) {
@@ -58,13 +62,20 @@ public class EventManager {
                     }
                     if (postCallListenerAction != null) {
                         postCallListenerAction.run();
+                    } else if (protocolEvent != null) {
+                        // Every listener starts reading after the packet id
+                        protocolEvent.resetReaderIndex();
                     }
                 }
             }
         }
         // For performance reasons, we don't want to re-encode the packet if it's not needed.
-        if (event instanceof ProtocolPacketEvent && !((ProtocolPacketEvent<?>) event).needsReEncode()) {
-            ((ProtocolPacketEvent<?>) event).setLastUsedWrapper(null);
+        if (protocolEvent != null && !protocolEvent.needsReEncode()) {
+            PacketWrapper<?> wrapper = protocolEvent.getLastUsedWrapper();
+            // Only re-encode if a listener has actually modified the wrapper
+            if (wrapper != null && !wrapper.isDirty()) {
+                protocolEvent.setLastUsedWrapper(null);
+            }
         }
 
     }
@@ -89,6 +100,38 @@ public class EventManager {
         return listener;
     }
 
+    /**
+     * Register a listener which is called asynchronously on the default executor,
+     * see {@link AsyncPacketListener} for the guarantees. Unregister the returned listener to stop it.
+     *
+     * @param listener {@link PacketListenerCommon}
+     * @return the registered {@link AsyncPacketListener}
+     */
+    public AsyncPacketListener registerAsyncListener(PacketListenerCommon listener) {
+        return registerAsyncListener(new AsyncPacketListener(listener));
+    }
+
+    /**
+     * Register a listener which is called asynchronously on the default executor, only for the given packet types.
+     * Packets of other types aren't copied for the listener.
+     *
+     * @param listener    {@link PacketListenerCommon}
+     * @param packetTypes Packet types passed to the listener
+     * @return the registered {@link AsyncPacketListener}
+     */
+    public AsyncPacketListener registerAsyncListener(PacketListenerCommon listener, PacketTypeCommon... packetTypes) {
+        return registerAsyncListener(new AsyncPacketListener(listener, packetTypes));
+    }
+
+    public AsyncPacketListener registerAsyncListener(PacketListener listener, PacketListenerPriority priority) {
+        return registerAsyncListener(listener.asAbstract(priority));
+    }
+
+    public AsyncPacketListener registerAsyncListener(AsyncPacketListener listener) {
+        registerListener(listener);
+        return listener;
+    }
+
     /**
      * Register multiple dynamic packet event listeners with one method.
      *
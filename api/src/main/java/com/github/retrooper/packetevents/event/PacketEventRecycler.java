@@ -0,0 +1,136 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.event;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.exception.PacketProcessException;
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.PacketSide;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.util.EventCreationUtil;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reuses one packet event per connection state for a single encoder or decoder.
+ * A channel processes its packets one after another on its event loop, so the event of the previous packet
+ * can be reset and handed out again instead of allocating a new one.
+ * <p>
+ * An event is only reused once it has been released. Nested packets (a listener sending a packet while
+ * the pooled event is still in use) get a new event, and events with tasks after send escape the pool
+ * because the tasks run once the packet was written.
+ * Copies made by {@link ProtocolPacketEvent#clone()} and asynchronous listeners never reference the pooled event.
+ * <p>
+ * With debug mode enabled, released events reject further access, so listeners which keep a reference to the
+ * event beyond their call fail instead of silently reading the next packet.
+ *
+ * @see com.github.retrooper.packetevents.settings.PacketEventsSettings#recycleEvents(boolean)
+ */
+public final class PacketEventRecycler {
+    private static final int STATES = ConnectionState.values().length;
+    private PacketSendEvent[] sendEvents;
+    private PacketReceiveEvent[] receiveEvents;
+    // Bit masks of the connection states whose pooled event is currently in use
+    private int sendAcquired;
+    private int receiveAcquired;
+    private final boolean checkReleased = PacketEvents.getAPI().getSettings().isDebugEnabled();
+
+    /**
+     * Creates a recycler if event recycling has been enabled in the settings.
+     *
+     * @return New recycler, or null if events shouldn't be recycled
+     */
+    @Nullable
+    public static PacketEventRecycler create() {
+        return PacketEvents.getAPI().getSettings().shouldRecycleEvents() ? new PacketEventRecycler() : null;
+    }
+
+    public PacketSendEvent obtainSendEvent(Object channel, User user, Object player, Object buffer,
+                                           boolean autoProtocolTranslation) throws PacketProcessException {
+        int state = user.getEncoderState().ordinal();
+        int mask = 1 << state;
+        if ((sendAcquired & mask) != 0) {
+            return EventCreationUtil.createSendEvent(channel, user, player, buffer, autoProtocolTranslation);
+        }
+        if (sendEvents == null) {
+            sendEvents = new PacketSendEvent[STATES];
+        }
+        PacketSendEvent event = sendEvents[state];
+        if (event == null || event.getChannel() != channel || event.getUser() != user) {
+            event = EventCreationUtil.createSendEvent(channel, user, player, buffer, autoProtocolTranslation);
+            sendEvents[state] = event;
+        } else {
+            event.recycle(PacketSide.SERVER, player, buffer, autoProtocolTranslation);
+        }
+        sendAcquired |= mask;
+        return event;
+    }
+
+    public PacketReceiveEvent obtainReceiveEvent(Object channel, User user, Object player, Object buffer,
+                                                 boolean autoProtocolTranslation) throws PacketProcessException {
+        int state = user.getDecoderState().ordinal();
+        int mask = 1 << state;
+        if ((receiveAcquired & mask) != 0) {
+            return EventCreationUtil.createReceiveEvent(channel, user, player, buffer, autoProtocolTranslation);
+        }
+        if (receiveEvents == null) {
+            receiveEvents = new PacketReceiveEvent[STATES];
+        }
+        PacketReceiveEvent event = receiveEvents[state];
+        if (event == null || event.getChannel() != channel || event.getUser() != user) {
+            event = EventCreationUtil.createReceiveEvent(channel, user, player, buffer, autoProtocolTranslation);
+            receiveEvents[state] = event;
+        } else {
+            event.recycle(PacketSide.CLIENT, player, buffer, autoProtocolTranslation);
+        }
+        receiveAcquired |= mask;
+        return event;
+    }
+
+    /**
+     * Marks an event obtained from this recycler as no longer in use.
+     * Events which weren't pooled by this recycler are ignored.
+     *
+     * @param event Event which has been fully processed
+     * @return True if the event will be handed out again and must not be used anymore
+     */
+    public boolean release(ProtocolPacketEvent<?> event) {
+        int state = event.getConnectionState().ordinal();
+        if (event instanceof PacketSendEvent) {
+            if (sendEvents == null || sendEvents[state] != event) {
+                return false;
+            }
+            sendAcquired &= ~(1 << state);
+            if (((PacketSendEvent) event).hasTasksAfterSend()) {
+                // The tasks still reference this event once the packet was written
+                sendEvents[state] = null;
+                return false;
+            }
+        } else {
+            if (receiveEvents == null || receiveEvents[state] != event) {
+                return false;
+            }
+            receiveAcquired &= ~(1 << state);
+        }
+        if (checkReleased) {
+            event.markReleased();
+        }
+        return true;
+    }
+}
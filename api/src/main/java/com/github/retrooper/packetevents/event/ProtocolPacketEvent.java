@@ -27,6 +27,8 @@ import com.github.retrooper.packetevents.netty.buffer.UnpooledByteBufAllocationH
 import com.github.retrooper.packetevents.netty.channel.ChannelHelper;
 import com.github.retrooper.packetevents.protocol.ConnectionState;
 import com.github.retrooper.packetevents.protocol.PacketSide;
+import com.github.retrooper.packetevents.protocol.packettype.PacketField;
+import com.github.retrooper.packetevents.protocol.packettype.PacketFieldLayout;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
 import com.github.retrooper.packetevents.protocol.player.ClientVersion;
@@ -41,24 +43,33 @@ import java.util.List;
 
 public abstract class ProtocolPacketEvent<T> extends PacketEvent implements PlayerEvent<T>, CancellableEvent, UserEvent {
     private final Object channel;
-    private final ConnectionState connectionState;
+    private ConnectionState connectionState;
     private final User user;
-    private final T player;
+    private T player;
     private Object byteBuf;
-    private final int packetID;
-    private final PacketTypeCommon packetType;
+    private int packetID;
+    private PacketTypeCommon packetType;
     private ServerVersion serverVersion;
     private boolean cancel;
     private PacketWrapper<?> lastUsedWrapper;
     private List<Runnable> postTasks = null;
     private boolean cloned;
     private boolean needsReEncode = PacketEvents.getAPI().getSettings().reEncodeByDefault();
+    // Reader index right after the packet id, restored after every listener
+    private int payloadReaderIndex = -1;
+    // Bumped whenever a pooled event is released or reused, odd while it is released
+    private int generation;
 
     public ProtocolPacketEvent(PacketSide packetSide, Object channel,
                                User user, T player, Object byteBuf,
                                boolean autoProtocolTranslation) throws PacketProcessException {
         this.channel = channel;
         this.user = user;
+        init(packetSide, player, byteBuf, autoProtocolTranslation);
+    }
+
+    private void init(PacketSide packetSide, T player, Object byteBuf,
+                      boolean autoProtocolTranslation) throws PacketProcessException {
         this.player = player;
         if (autoProtocolTranslation || user.getClientVersion() == null) {
             this.serverVersion = PacketEvents.getAPI().getServerManager().getVersion();
@@ -77,6 +88,7 @@ public abstract class ProtocolPacketEvent<T> extends PacketEvent implements Play
         } catch (Exception e) {
             throw new PacketProcessException("Failed to read the Packet ID of a packet. (Size: " + size + ")");
         }
+        this.payloadReaderIndex = ByteBufHelper.readerIndex(byteBuf);
         ClientVersion version = serverVersion.toClientVersion();
         ConnectionState state = packetSide == PacketSide.CLIENT ? user.getDecoderState() : user.getEncoderState();
         this.packetType = PacketType.getById(packetSide, state,
@@ -91,6 +103,43 @@ public abstract class ProtocolPacketEvent<T> extends PacketEvent implements Play
         this.connectionState = state;
     }
 
+    /**
+     * Resets this event so it can be reused for the next packet of the same channel and connection state.
+     * Only called by the {@link PacketEventRecycler} which owns this instance.
+     */
+    @SuppressWarnings("unchecked")
+    void recycle(PacketSide packetSide, Object player, Object byteBuf,
+                 boolean autoProtocolTranslation) throws PacketProcessException {
+        if ((generation & 1) != 0) {
+            generation++;
+        }
+        resetTimestamp();
+        this.cancel = false;
+        this.lastUsedWrapper = null;
+        if (this.postTasks != null) {
+            this.postTasks.clear();
+        }
+        this.needsReEncode = PacketEvents.getAPI().getSettings().reEncodeByDefault();
+        init(packetSide, (T) player, byteBuf, autoProtocolTranslation);
+    }
+
+    /**
+     * Marks this pooled event as released, so every access until it is reused fails.
+     * Only called by the {@link PacketEventRecycler} which owns this instance, if debug mode is enabled.
+     */
+    void markReleased() {
+        if ((generation & 1) == 0) {
+            generation++;
+        }
+    }
+
+    private void checkReleased() {
+        if ((generation & 1) != 0) {
+            throw new IllegalStateException("This " + getClass().getSimpleName() + " has been recycled after its"
+                    + " listeners returned, clone() it to keep using it");
+        }
+    }
+
     public ProtocolPacketEvent(int packetID, PacketTypeCommon packetType, ServerVersion serverVersion, Object channel,
                                User user, T player, Object byteBuf) {
         this.channel = channel;
@@ -134,6 +183,7 @@ public abstract class ProtocolPacketEvent<T> extends PacketEvent implements Play
 
     @Override
     public T getPlayer() {
+        checkReleased();
         return player;
     }
 
@@ -162,18 +212,22 @@ public abstract class ProtocolPacketEvent<T> extends PacketEvent implements Play
     }
 
     public Object getByteBuf() {
+        checkReleased();
         return byteBuf;
     }
 
     public void setByteBuf(Object byteBuf) {
         this.byteBuf = byteBuf;
+        this.payloadReaderIndex = -1;
     }
 
     public int getPacketId() {
+        checkReleased();
         return packetID;
     }
 
     public PacketTypeCommon getPacketType() {
+        checkReleased();
         return packetType;
     }
 
@@ -189,11 +243,13 @@ public abstract class ProtocolPacketEvent<T> extends PacketEvent implements Play
 
     @Override
     public void setCancelled(boolean val) {
+        checkReleased();
         this.cancel = val;
     }
 
     @Nullable
     public PacketWrapper<?> getLastUsedWrapper() {
+        checkReleased();
         return lastUsedWrapper;
     }
 
@@ -224,6 +280,71 @@ public abstract class ProtocolPacketEvent<T> extends PacketEvent implements Play
         }
     }
 
+    /**
+     * Whether this packet has a field which can be read and patched without decoding the packet.
+     *
+     * @param field Field
+     * @return True if the field is part of this packet's {@link PacketFieldLayout}
+     */
+    public boolean hasField(PacketField field) {
+        PacketFieldLayout layout = PacketFieldLayout.getLayout(packetType, serverVersion);
+        return layout != null && layout.hasField(field);
+    }
+
+    /**
+     * Reads a field directly from the buffer, without decoding the packet into a wrapper.
+     *
+     * @param field Field
+     * @return Field value
+     * @throws IllegalArgumentException if this packet doesn't have the field
+     */
+    public long readField(PacketField field) {
+        return getFieldLayout(field).read(byteBuf, getPayloadIndex(), field);
+    }
+
+    /**
+     * Overwrites a field directly in the buffer, without decoding and re-encoding the packet.
+     * Only var ints whose encoded size changes move the rest of the packet.
+     * If a wrapper has been modified in this event, the packet is re-encoded from that wrapper anyway,
+     * so nothing is patched and the field should be set through the wrapper instead.
+     *
+     * @param field Field
+     * @param value New value
+     * @return True if the field has been patched
+     * @throws IllegalArgumentException if this packet doesn't have the field
+     */
+    public boolean patchField(PacketField field, long value) {
+        PacketFieldLayout layout = getFieldLayout(field);
+        if (lastUsedWrapper != null) {
+            if (lastUsedWrapper.isDirty() || needsReEncode) {
+                return false;
+            }
+            // Let the next wrapper read the patched buffer instead of copying the outdated one
+            lastUsedWrapper = null;
+        }
+        layout.write(byteBuf, getPayloadIndex(), field, value);
+        return true;
+    }
+
+    private PacketFieldLayout getFieldLayout(PacketField field) {
+        checkReleased();
+        PacketFieldLayout layout = PacketFieldLayout.getLayout(packetType, serverVersion);
+        if (layout == null || !layout.hasField(field)) {
+            throw new IllegalArgumentException("Packet " + packetType.getName() + " doesn't have the field " + field);
+        }
+        return layout;
+    }
+
+    private int getPayloadIndex() {
+        return payloadReaderIndex != -1 ? payloadReaderIndex : ByteBufHelper.readerIndex(byteBuf);
+    }
+
+    void resetReaderIndex() {
+        if (payloadReaderIndex != -1) {
+            ByteBufHelper.readerIndex(byteBuf, payloadReaderIndex);
+        }
+    }
+
     public Object getFullBufferClone() {
         byte[] data = ByteBufHelper.copyBytes(getByteBuf());
         Object buffer = UnpooledByteBufAllocationHelper.buffer();
@@ -25,6 +25,7 @@ import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.manager.protocol.ProtocolManager;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
 import com.github.retrooper.packetevents.protocol.ConnectionState;
 import com.github.retrooper.packetevents.protocol.nbt.NBTCompound;
 import com.github.retrooper.packetevents.protocol.nbt.NBTInt;
@@ -35,21 +36,39 @@ import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.player.ClientVersion;
 import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.protocol.player.UserProfile;
+import com.github.retrooper.packetevents.protocol.world.DimensionTypeRegistry;
 import com.github.retrooper.packetevents.resources.ResourceLocation;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import com.github.retrooper.packetevents.wrapper.configuration.server.WrapperConfigServerRegistryData;
 import com.github.retrooper.packetevents.wrapper.configuration.server.WrapperConfigServerRegistryData.RegistryElement;
 import com.github.retrooper.packetevents.wrapper.handshaking.client.WrapperHandshakingClientHandshake;
 import com.github.retrooper.packetevents.wrapper.login.server.WrapperLoginServerLoginSuccess;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerJoinGame;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerRespawn;
+import org.jetbrains.annotations.Nullable;
 
 import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class InternalPacketListener extends PacketListenerAbstract {
 
     private static final ResourceLocation DIMENSION_TYPE_REGISTRY_KEY =
             ResourceLocation.minecraft("dimension_type");
+    // Since 1.20.5 every registry is sent in its own packet, there are a few dozen per server
+    private static final int MAX_REGISTRY_PAYLOADS = 64;
+    // Registry data payloads and join game dimension codecs seen before, mapped to the dimension types they contain
+    // (if any). Users which received the same payload share the same read-only registry.
+    private static final Map<RegistryPayload, Optional<DimensionTypeRegistry>> REGISTRY_PAYLOADS =
+            new LinkedHashMap<RegistryPayload, Optional<DimensionTypeRegistry>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<RegistryPayload, Optional<DimensionTypeRegistry>> eldest) {
+                    return size() > MAX_REGISTRY_PAYLOADS;
+                }
+            };
 
     public InternalPacketListener() {
         this(PacketListenerPriority.LOWEST);
@@ -61,6 +80,20 @@ public class InternalPacketListener extends PacketListenerAbstract {
 
     @Override
     public void onPacketSend(PacketSendEvent event) {
+        PacketWrapper<?> previous = event.getLastUsedWrapper();
+        boolean dirty = previous != null && previous.isDirty();
+        try {
+            handlePacketSend(event);
+        } finally {
+            // The wrappers are only read here, which doesn't require the packet to be re-encoded
+            PacketWrapper<?> wrapper = event.getLastUsedWrapper();
+            if (wrapper != null && !dirty) {
+                wrapper.clearDirty();
+            }
+        }
+    }
+
+    private void handlePacketSend(PacketSendEvent event) {
         User user = event.getUser();
         if (event.getPacketType() == PacketType.Login.Server.LOGIN_SUCCESS) {
             Object channel = event.getChannel();
@@ -94,34 +127,24 @@ public class InternalPacketListener extends PacketListenerAbstract {
 
         // The server sends dimension information in configuration phase >= 1.20.2
         else if (event.getPacketType() == PacketType.Configuration.Server.REGISTRY_DATA) {
-            WrapperConfigServerRegistryData registryData = new WrapperConfigServerRegistryData(event);
+            // Every user usually receives byte-identical registry data, so only decode each distinct payload once
+            RegistryPayload payload = null;
+            if (event.getLastUsedWrapper() == null) {
+                payload = new RegistryPayload(event.getServerVersion(), ByteBufHelper.copyBytes(event.getByteBuf()));
+                Optional<DimensionTypeRegistry> cached = getCachedDimensionTypes(payload);
+                if (cached != null) {
+                    cached.ifPresent(user::setDimensionTypeRegistry);
+                    return;
+                }
+            }
 
             // Store world data
-            NBTCompound registryDataTag = registryData.getRegistryData();
-            NBTList<NBTCompound> list = null;
-            if (registryDataTag != null) { // <1.20.5
-                list = registryDataTag
-                        .getCompoundTagOrNull(DIMENSION_TYPE_REGISTRY_KEY.toString())
-                        .getCompoundListTagOrNull("value");
-            } else if (DIMENSION_TYPE_REGISTRY_KEY.equals(registryData.getRegistryKey())) { // >=1.20.5
-                // remap to legacy format
-                list = new NBTList<>(NBTType.COMPOUND);
-                List<RegistryElement> elements = registryData.getElements();
-                if (elements != null) {
-                    int i = 0;
-                    for (RegistryElement element : elements) {
-                        NBTCompound tag = new NBTCompound();
-                        tag.setTag("name", new NBTString(element.getId().toString()));
-                        tag.setTag("id", new NBTInt(i++));
-                        if (element.getData() != null) { // may be null because of known packs not being sent
-                            tag.setTag("element", element.getData());
-                        }
-                        list.addTag(tag);
-                    }
-                }
+            DimensionTypeRegistry dimensionTypes = readDimensionTypes(new WrapperConfigServerRegistryData(event));
+            if (dimensionTypes != null) {
+                user.setDimensionTypeRegistry(dimensionTypes);
             }
-            if (list != null) {
-                user.setWorldNBT(list);
+            if (payload != null) {
+                cacheDimensionTypes(payload, dimensionTypes);
             }
         }
 
@@ -134,13 +157,21 @@ public class InternalPacketListener extends PacketListenerAbstract {
                 return; // Fixed world height, no tags are sent to the client
             }
 
-            // Store world data
-            NBTCompound dimensionCodec = joinGame.getDimensionCodec();
-            if (dimensionCodec != null) {
-                NBTList<NBTCompound> list = dimensionCodec
-                        .getCompoundTagOrNull(DIMENSION_TYPE_REGISTRY_KEY.toString())
-                        .getCompoundListTagOrNull("value");
-                user.setWorldNBT(list);
+            // Store world data, the codec is the same for every user and has the same format as the registry data
+            byte[] encodedCodec = joinGame.getEncodedDimensionCodec();
+            RegistryPayload payload = encodedCodec != null ? new RegistryPayload(event.getServerVersion(), encodedCodec) : null;
+            Optional<DimensionTypeRegistry> cached = payload != null ? getCachedDimensionTypes(payload) : null;
+            if (cached != null) {
+                cached.ifPresent(user::setDimensionTypeRegistry);
+            } else {
+                NBTCompound dimensionCodec = joinGame.getDimensionCodec();
+                DimensionTypeRegistry dimensionTypes = dimensionCodec != null ? readDimensionTypes(dimensionCodec) : null;
+                if (dimensionTypes != null) {
+                    user.setDimensionTypeRegistry(dimensionTypes);
+                }
+                if (payload != null) {
+                    cacheDimensionTypes(payload, dimensionTypes);
+                }
             }
 
             // Update world height
@@ -163,6 +194,51 @@ public class InternalPacketListener extends PacketListenerAbstract {
         }
     }
 
+    private static @Nullable Optional<DimensionTypeRegistry> getCachedDimensionTypes(RegistryPayload payload) {
+        synchronized (REGISTRY_PAYLOADS) {
+            return REGISTRY_PAYLOADS.get(payload);
+        }
+    }
+
+    private static void cacheDimensionTypes(RegistryPayload payload, @Nullable DimensionTypeRegistry dimensionTypes) {
+        synchronized (REGISTRY_PAYLOADS) {
+            REGISTRY_PAYLOADS.put(payload, Optional.ofNullable(dimensionTypes));
+        }
+    }
+
+    private static @Nullable DimensionTypeRegistry readDimensionTypes(NBTCompound dimensionCodec) {
+        NBTList<NBTCompound> list = dimensionCodec
+                .getCompoundTagOrNull(DIMENSION_TYPE_REGISTRY_KEY.toString())
+                .getCompoundListTagOrNull("value");
+        return list != null ? DimensionTypeRegistry.create(list.getTags()) : null;
+    }
+
+    private static @Nullable DimensionTypeRegistry readDimensionTypes(WrapperConfigServerRegistryData registryData) {
+        NBTCompound registryDataTag = registryData.getRegistryData();
+        if (registryDataTag != null) { // <1.20.5
+            return readDimensionTypes(registryDataTag);
+        }
+        NBTList<NBTCompound> list = null;
+        if (DIMENSION_TYPE_REGISTRY_KEY.equals(registryData.getRegistryKey())) { // >=1.20.5
+            // remap to legacy format
+            list = new NBTList<>(NBTType.COMPOUND);
+            List<RegistryElement> elements = registryData.getElements();
+            if (elements != null) {
+                int i = 0;
+                for (RegistryElement element : elements) {
+                    NBTCompound tag = new NBTCompound();
+                    tag.setTag("name", new NBTString(element.getId().toString()));
+                    tag.setTag("id", new NBTInt(i++));
+                    if (element.getData() != null) { // may be null because of known packs not being sent
+                        tag.setTag("element", element.getData());
+                    }
+                    list.addTag(tag);
+                }
+            }
+        }
+        return list != null ? DimensionTypeRegistry.create(list.getTags()) : null;
+    }
+
     @Override
     public void onPacketReceive(PacketReceiveEvent event) {
         User user = event.getUser();
@@ -185,4 +261,28 @@ public class InternalPacketListener extends PacketListenerAbstract {
             user.setDecoderState(ConnectionState.PLAY);
         }
     }
+
+    private static final class RegistryPayload {
+        private final ServerVersion serverVersion;
+        private final byte[] bytes;
+        private final int hash;
+
+        private RegistryPayload(ServerVersion serverVersion, byte[] bytes) {
+            this.serverVersion = serverVersion;
+            this.bytes = bytes;
+            this.hash = 31 * Arrays.hashCode(bytes) + serverVersion.ordinal();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RegistryPayload)) return false;
+            RegistryPayload other = (RegistryPayload) obj;
+            return hash == other.hash && serverVersion == other.serverVersion && Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
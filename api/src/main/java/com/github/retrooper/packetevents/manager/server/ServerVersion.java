@@ -67,6 +67,22 @@ public enum ServerVersion {
         }
     }
 
+    // First server version of every protocol version, indexed by the protocol version
+    private static final ServerVersion[] BY_PROTOCOL_VERSION;
+
+    static {
+        int highestProtocolVersion = 0;
+        for (ServerVersion version : VALUES) {
+            highestProtocolVersion = Math.max(highestProtocolVersion, version.protocolVersion);
+        }
+        BY_PROTOCOL_VERSION = new ServerVersion[highestProtocolVersion + 1];
+        for (ServerVersion version : VALUES) {
+            if (version.protocolVersion >= 0 && BY_PROTOCOL_VERSION[version.protocolVersion] == null) {
+                BY_PROTOCOL_VERSION[version.protocolVersion] = version;
+            }
+        }
+    }
+
     private final int protocolVersion;
     private final String name;
     private ClientVersion toClientVersion;
@@ -97,15 +113,12 @@ public enum ServerVersion {
         return VALUES[0];
     }
 
-    //TODO Optimize
     @Deprecated
     public static ServerVersion getById(int protocolVersion) {
-        for (ServerVersion version : VALUES) {
-            if (version.protocolVersion == protocolVersion) {
-                return version;
-            }
+        if (protocolVersion < 0 || protocolVersion >= BY_PROTOCOL_VERSION.length) {
+            return protocolVersion == ERROR.protocolVersion ? ERROR : null;
         }
-        return null;
+        return BY_PROTOCOL_VERSION[protocolVersion];
     }
 
     public ClientVersion toClientVersion() {
@@ -22,6 +22,10 @@ import com.github.retrooper.packetevents.PacketEvents;
 
 import java.nio.charset.Charset;
 
+/**
+ * Static access to the {@link ByteBufOperator} of the current platform for untyped buffers.
+ * Every call looks the operator up through the api, hot paths like packet wrappers bind the operator once instead.
+ */
 public class ByteBufHelper {
     public static int capacity(Object buffer) {
         return PacketEvents.getAPI().getNettyManager().getByteBufOperator().capacity(buffer);
@@ -63,6 +67,14 @@ public class ByteBufHelper {
         return PacketEvents.getAPI().getNettyManager().getByteBufOperator().toString(buffer, index, length, charset);
     }
 
+    public static String readUtf8(Object buffer, int length) {
+        return PacketEvents.getAPI().getNettyManager().getByteBufOperator().readUtf8(buffer, length);
+    }
+
+    public static void writeUtf8(Object buffer, String value, int utf8Length) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().writeUtf8(buffer, value, utf8Length);
+    }
+
     public static byte readByte(Object buffer) {
         return PacketEvents.getAPI().getNettyManager().getByteBufOperator().readByte(buffer);
     }
@@ -232,29 +244,77 @@ public class ByteBufHelper {
     }
 
     public static int readVarInt(Object buffer) {
-        int value = 0;
-        int length = 0;
-        byte currentByte;
-        do {
-            currentByte = readByte(buffer);
-            value |= (currentByte & 0x7F) << (length * 7);
-            length++;
-            if (length > 5) {
-                throw new RuntimeException("VarInt is too large. Must be smaller than 5 bytes.");
-            }
-        } while ((currentByte & 0x80) == 0x80);
-        return value;
+        return PacketEvents.getAPI().getNettyManager().getByteBufOperator().readVarInt(buffer);
     }
 
     public static void writeVarInt(Object buffer, int value) {
-        while (true) {
-            if ((value & ~0x7F) == 0) {
-                writeByte(buffer, value);
-                return;
-            }
-            writeByte(buffer, (value & 0x7F) | 0x80);
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().writeVarInt(buffer, value);
+    }
+
+    public static long readVarLong(Object buffer) {
+        return PacketEvents.getAPI().getNettyManager().getByteBufOperator().readVarLong(buffer);
+    }
+
+    public static void writeVarLong(Object buffer, long value) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().writeVarLong(buffer, value);
+    }
+
+    public static void readVarIntArray(Object buffer, int[] array) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().readVarIntArray(buffer, array);
+    }
+
+    public static void writeVarIntArray(Object buffer, int[] array) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().writeVarIntArray(buffer, array);
+    }
+
+    public static void readVarLongArray(Object buffer, long[] array) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().readVarLongArray(buffer, array);
+    }
+
+    public static void writeVarLongArray(Object buffer, long[] array) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().writeVarLongArray(buffer, array);
+    }
+
+    public static void ensureWritable(Object buffer, int length) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().ensureWritable(buffer, length);
+    }
+
+    public static void readLongs(Object buffer, long[] array) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().readLongs(buffer, array);
+    }
+
+    public static void writeLongs(Object buffer, long[] array) {
+        PacketEvents.getAPI().getNettyManager().getByteBufOperator().writeLongs(buffer, array);
+    }
+
+    public static int getVarIntSize(int value) {
+        if ((value & (-1 << 7)) == 0) {
+            return 1;
+        } else if ((value & (-1 << 14)) == 0) {
+            return 2;
+        } else if ((value & (-1 << 21)) == 0) {
+            return 3;
+        } else if ((value & (-1 << 28)) == 0) {
+            return 4;
+        }
+        return 5;
+    }
+
+    /**
+     * @return Upper bound of the encoded size of the string, as every UTF-16 char takes up to 3 bytes in UTF-8
+     */
+    public static int estimateStringSize(String value) {
+        int length = value.length() * 3;
+        return getVarIntSize(length) + length;
+    }
+
+    public static int getVarLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            size++;
             value >>>= 7;
         }
+        return size;
     }
 
     public static byte[] copyBytes(Object buffer) {
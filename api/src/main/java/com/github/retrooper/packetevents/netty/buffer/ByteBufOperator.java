@@ -19,6 +19,7 @@
 package com.github.retrooper.packetevents.netty.buffer;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 public interface ByteBufOperator {
     int capacity(Object buffer);
@@ -106,6 +107,106 @@ public interface ByteBufOperator {
         return (short) (this.readByte(buffer) & 255);
     }
 
+    default int readVarInt(Object buffer) {
+        int value = 0;
+        int length = 0;
+        byte currentByte;
+        do {
+            currentByte = readByte(buffer);
+            value |= (currentByte & 0x7F) << (length * 7);
+            length++;
+            if (length > 5) {
+                throw new RuntimeException("VarInt is too large. Must be smaller than 5 bytes.");
+            }
+        } while ((currentByte & 0x80) == 0x80);
+        return value;
+    }
+
+    default void writeVarInt(Object buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte(buffer, (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(buffer, value);
+    }
+
+    default long readVarLong(Object buffer) {
+        long value = 0;
+        int length = 0;
+        byte currentByte;
+        do {
+            currentByte = readByte(buffer);
+            value |= (long) (currentByte & 0x7F) << (length * 7);
+            length++;
+            if (length > 10) {
+                throw new RuntimeException("VarLong is too large. Must be smaller than 10 bytes.");
+            }
+        } while ((currentByte & 0x80) == 0x80);
+        return value;
+    }
+
+    default void writeVarLong(Object buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte(buffer, (int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(buffer, (int) value);
+    }
+
+    //Fills the whole array
+    default void readVarIntArray(Object buffer, int[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readVarInt(buffer);
+        }
+    }
+
+    default void writeVarIntArray(Object buffer, int[] array) {
+        for (int value : array) {
+            writeVarInt(buffer, value);
+        }
+    }
+
+    //Fills the whole array
+    default void readVarLongArray(Object buffer, long[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readVarLong(buffer);
+        }
+    }
+
+    default void writeVarLongArray(Object buffer, long[] array) {
+        for (long value : array) {
+            writeVarLong(buffer, value);
+        }
+    }
+
+    //Reserves space for at least the given amount of bytes, so following writes don't have to grow the buffer
+    default void ensureWritable(Object buffer, int length) {
+    }
+
+    //Fills the whole array
+    default void readLongs(Object buffer, long[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readLong(buffer);
+        }
+    }
+
+    default void writeLongs(Object buffer, long[] array) {
+        for (long value : array) {
+            writeLong(buffer, value);
+        }
+    }
+
+    default String readUtf8(Object buffer, int length) {
+        String value = toString(buffer, readerIndex(buffer), length, StandardCharsets.UTF_8);
+        skipBytes(buffer, length);
+        return value;
+    }
+
+    //The length has to be computed with StringUtil#utf8Length
+    default void writeUtf8(Object buffer, String value, int utf8Length) {
+        writeBytes(buffer, value.getBytes(StandardCharsets.UTF_8));
+    }
+
     default boolean readBoolean(Object buffer) {
         return readByte(buffer) != 0;
     }
@@ -97,6 +97,10 @@ public class ChannelHelper {
         return PacketEvents.getAPI().getNettyManager().getChannelOperator().pooledByteBuf(channel);
     }
 
+    public static Object pooledByteBuf(Object channel, int initialCapacity) {
+        return PacketEvents.getAPI().getNettyManager().getChannelOperator().pooledByteBuf(channel, initialCapacity);
+    }
+
     public static void runInEventLoop(Object channel, Runnable runnable) {
         PacketEvents.getAPI().getNettyManager().getChannelOperator().runInEventLoop(channel, runnable);
     }
@@ -57,4 +57,9 @@ public interface ChannelOperator {
     void runInEventLoop(Object channel, Runnable runnable);
 
     Object pooledByteBuf(Object channel);
+
+    //The capacity is only a hint, operators of other platforms may ignore it
+    default Object pooledByteBuf(Object channel, int initialCapacity) {
+        return pooledByteBuf(channel);
+    }
 }
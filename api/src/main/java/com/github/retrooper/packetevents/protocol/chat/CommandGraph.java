@@ -0,0 +1,386 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.protocol.chat;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.netty.buffer.UnpooledByteBufAllocationHelper;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, shareable representation of the command graph sent in the declare commands packet.
+ * Byte-identical payloads decode to the same instance, so per-player filtering should be expressed
+ * as a visibility mask on top of one shared graph instead of decoding and mutating the nodes.
+ * A graph holds its own copies of the nodes and never hands them out, so it can't be modified.
+ * Use {@link #withNode(int, Node)} to replace a node.
+ */
+public final class CommandGraph {
+    private static final int NODE_REDIRECT_FLAG = 0x08;
+    // Servers usually only send a handful of distinct graphs (one per permission group)
+    private static final int MAX_CACHED_GRAPHS = 16;
+    private static final Map<Payload, CommandGraph> CACHE = new LinkedHashMap<Payload, CommandGraph>(MAX_CACHED_GRAPHS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Payload, CommandGraph> eldest) {
+            return size() > MAX_CACHED_GRAPHS;
+        }
+    };
+
+    private final List<Node> nodes;
+    private final int rootIndex;
+    private final ServerVersion serverVersion;
+    // Encoded name, parser, properties and suggestions of every node, these don't depend on node indices
+    private volatile byte[][] encodedTails;
+
+    /**
+     * Creates a graph from copies of the nodes, later changes to the nodes or the list don't affect it.
+     *
+     * @param nodes         Nodes of the graph
+     * @param rootIndex     Index of the root node
+     * @param serverVersion Version the nodes are encoded in
+     */
+    public CommandGraph(List<Node> nodes, int rootIndex, ServerVersion serverVersion) {
+        this(copy(nodes), rootIndex, serverVersion, null);
+    }
+
+    // Takes ownership of the node list
+    private CommandGraph(List<Node> nodes, int rootIndex, ServerVersion serverVersion, byte[][] encodedTails) {
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.rootIndex = rootIndex;
+        this.serverVersion = serverVersion;
+        this.encodedTails = encodedTails;
+    }
+
+    /**
+     * Reads the remaining bytes of the wrapper as a command graph.
+     * If the same payload has been decoded recently, the cached graph is returned and the bytes are skipped.
+     *
+     * @param wrapper Wrapper positioned at the start of the node list
+     * @return Shared command graph
+     */
+    public static CommandGraph read(PacketWrapper<?> wrapper) {
+        Object buffer = wrapper.getBuffer();
+        byte[] bytes = new byte[ByteBufHelper.readableBytes(buffer)];
+        ByteBufHelper.getBytes(buffer, ByteBufHelper.readerIndex(buffer), bytes);
+        Payload payload = new Payload(wrapper.getServerVersion(), bytes);
+
+        CommandGraph graph;
+        synchronized (CACHE) {
+            graph = CACHE.get(payload);
+        }
+        if (graph != null) {
+            ByteBufHelper.skipBytes(buffer, bytes.length);
+            return graph;
+        }
+
+        List<Node> nodes = wrapper.readList(PacketWrapper::readNode);
+        int rootIndex = wrapper.readVarInt();
+        graph = new CommandGraph(nodes, rootIndex, wrapper.getServerVersion(), null);
+        synchronized (CACHE) {
+            CACHE.put(payload, graph);
+        }
+        return graph;
+    }
+
+    /**
+     * Upper bound of the size this graph is written with, which holds for every visibility mask.
+     * The encoded nodes are cached for the next write.
+     *
+     * @param serverVersion Version the graph is written in
+     * @return Estimated size, -1 if the graph wasn't read in this version
+     */
+    public int estimateSize(ServerVersion serverVersion) {
+        if (serverVersion != this.serverVersion) {
+            return -1;
+        }
+        byte[][] tails = getEncodedTails();
+        // Every index is smaller than the node count
+        int indexSize = ByteBufHelper.getVarIntSize(nodes.size());
+        int size = indexSize * 2;
+        for (int i = 0; i < tails.length; i++) {
+            Node node = nodes.get(i);
+            int children = node.getChildren().size();
+            size += 1 + ByteBufHelper.getVarIntSize(children) + children * indexSize + tails[i].length;
+            if ((node.getFlags() & NODE_REDIRECT_FLAG) != 0) {
+                size += indexSize;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Writes this graph, leaving out every node that isn't part of the visibility mask.
+     * Child and redirect indices are remapped, redirects to hidden nodes are dropped.
+     * Only the index-dependent part of every node is encoded again, the rest is copied from a cache.
+     *
+     * @param wrapper      Wrapper to write to
+     * @param visibleNodes Indices of the visible nodes, null if every node is visible
+     */
+    public void write(PacketWrapper<?> wrapper, @Nullable BitSet visibleNodes) {
+        int size = nodes.size();
+        int[] remapped = visibleNodes == null ? null : remap(visibleNodes);
+        int visibleCount = size;
+        if (remapped != null) {
+            visibleCount = 0;
+            for (int index : remapped) {
+                if (index != -1) {
+                    visibleCount++;
+                }
+            }
+        }
+
+        byte[][] tails = wrapper.getServerVersion() == serverVersion ? getEncodedTails() : null;
+        wrapper.writeVarInt(visibleCount);
+        for (int i = 0; i < size; i++) {
+            if (remapped != null && remapped[i] == -1) {
+                continue;
+            }
+            Node node = nodes.get(i);
+            int flags = node.getFlags();
+            int redirectNodeIndex = node.getRedirectNodeIndex();
+            if (remapped != null && (flags & NODE_REDIRECT_FLAG) != 0) {
+                redirectNodeIndex = remapped[redirectNodeIndex];
+                if (redirectNodeIndex == -1) {
+                    flags &= ~NODE_REDIRECT_FLAG;
+                }
+            }
+            wrapper.writeByte(flags);
+            List<Integer> children = node.getChildren();
+            if (remapped == null) {
+                wrapper.writeList(children, PacketWrapper::writeVarInt);
+            } else {
+                int visibleChildren = 0;
+                for (int child : children) {
+                    if (remapped[child] != -1) {
+                        visibleChildren++;
+                    }
+                }
+                wrapper.writeVarInt(visibleChildren);
+                for (int child : children) {
+                    if (remapped[child] != -1) {
+                        wrapper.writeVarInt(remapped[child]);
+                    }
+                }
+            }
+            if ((flags & NODE_REDIRECT_FLAG) != 0) {
+                wrapper.writeVarInt(redirectNodeIndex);
+            }
+            if (tails != null) {
+                wrapper.writeBytes(tails[i]);
+            } else {
+                writeTail(wrapper, node);
+            }
+        }
+        wrapper.writeVarInt(remapped == null ? rootIndex : remapped[rootIndex]);
+    }
+
+    /**
+     * Creates a graph which shares every node with this graph, except for the replaced one.
+     * The graph holds a copy of the new node.
+     *
+     * @param index Index of the node to replace
+     * @param node  New node
+     * @return New command graph
+     */
+    public CommandGraph withNode(int index, Node node) {
+        node = copy(node);
+        List<Node> nodes = new ArrayList<>(this.nodes);
+        nodes.set(index, node);
+        byte[][] tails = this.encodedTails;
+        if (tails != null) {
+            tails = tails.clone();
+            tails[index] = encodeTail(node, serverVersion);
+        }
+        return new CommandGraph(nodes, rootIndex, serverVersion, tails);
+    }
+
+    /**
+     * Copies the visible nodes of this graph into a new, mutable node list.
+     * Indices are remapped the same way {@link #write(PacketWrapper, BitSet)} remaps them.
+     *
+     * @param visibleNodes Indices of the visible nodes, null if every node is visible
+     * @return Mutable copy of the visible nodes, the root node index can be found with {@link #getRootIndex(BitSet)}
+     */
+    public List<Node> copyNodes(@Nullable BitSet visibleNodes) {
+        int size = nodes.size();
+        int[] remapped = remap(visibleNodes);
+        List<Node> copy = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (remapped[i] == -1) {
+                continue;
+            }
+            Node node = nodes.get(i);
+            byte flags = node.getFlags();
+            int redirectNodeIndex = 0;
+            if ((flags & NODE_REDIRECT_FLAG) != 0) {
+                redirectNodeIndex = remapped[node.getRedirectNodeIndex()];
+                if (redirectNodeIndex == -1) {
+                    flags &= ~NODE_REDIRECT_FLAG;
+                    redirectNodeIndex = 0;
+                }
+            }
+            List<Integer> children = new ArrayList<>(node.getChildren().size());
+            for (int child : node.getChildren()) {
+                if (remapped[child] != -1) {
+                    children.add(remapped[child]);
+                }
+            }
+            copy.add(new Node(flags, children, redirectNodeIndex,
+                    node.getName().orElse(null), node.getParserID().orElse(null),
+                    node.getProperties().<List<Object>>map(ArrayList::new).orElse(null),
+                    node.getSuggestionsType().orElse(null)));
+        }
+        return copy;
+    }
+
+    /**
+     * @return Mutable copies of all nodes, modifying them doesn't affect this graph
+     */
+    public List<Node> getNodes() {
+        return copy(nodes);
+    }
+
+    /**
+     * @param index Index of the node
+     * @return Mutable copy of the node, modifying it doesn't affect this graph
+     */
+    public Node getNode(int index) {
+        return copy(nodes.get(index));
+    }
+
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    public int getRootIndex() {
+        return rootIndex;
+    }
+
+    public int getRootIndex(@Nullable BitSet visibleNodes) {
+        return remap(visibleNodes)[rootIndex];
+    }
+
+    public ServerVersion getServerVersion() {
+        return serverVersion;
+    }
+
+    /**
+     * Creates a visibility mask in which every node of this graph is visible.
+     *
+     * @return Mutable visibility mask
+     */
+    public BitSet createVisibilityMask() {
+        BitSet visibleNodes = new BitSet(nodes.size());
+        visibleNodes.set(0, nodes.size());
+        return visibleNodes;
+    }
+
+    private static List<Node> copy(List<Node> nodes) {
+        List<Node> copy = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            copy.add(copy(node));
+        }
+        return copy;
+    }
+
+    private static Node copy(Node node) {
+        return new Node(node.getFlags(), new ArrayList<>(node.getChildren()), node.getRedirectNodeIndex(),
+                node.getName().orElse(null), node.getParserID().orElse(null),
+                node.getProperties().<List<Object>>map(ArrayList::new).orElse(null),
+                node.getSuggestionsType().orElse(null));
+    }
+
+    private int[] remap(@Nullable BitSet visibleNodes) {
+        int[] remapped = new int[nodes.size()];
+        int visibleCount = 0;
+        for (int i = 0; i < remapped.length; i++) {
+            // The root node can never be hidden
+            remapped[i] = visibleNodes == null || visibleNodes.get(i) || i == rootIndex ? visibleCount++ : -1;
+        }
+        return remapped;
+    }
+
+    private byte[][] getEncodedTails() {
+        byte[][] tails = this.encodedTails;
+        if (tails == null) {
+            tails = new byte[nodes.size()][];
+            for (int i = 0; i < tails.length; i++) {
+                tails[i] = encodeTail(nodes.get(i), serverVersion);
+            }
+            this.encodedTails = tails;
+        }
+        return tails;
+    }
+
+    private static byte[] encodeTail(Node node, ServerVersion serverVersion) {
+        Object buffer = UnpooledByteBufAllocationHelper.buffer();
+        try {
+            PacketWrapper<?> wrapper = PacketWrapper.createUniversalPacketWrapper(buffer);
+            wrapper.setServerVersion(serverVersion);
+            writeTail(wrapper, node);
+            return ByteBufHelper.copyBytes(buffer);
+        } finally {
+            ByteBufHelper.release(buffer);
+        }
+    }
+
+    private static void writeTail(PacketWrapper<?> wrapper, Node node) {
+        node.getName().ifPresent(wrapper::writeString);
+        node.getParserID().ifPresent(wrapper::writeVarInt);
+        if (node.getProperties().isPresent()) {
+            Parsers.getById(wrapper.getServerVersion().toClientVersion(), node.getParserID().get())
+                    .writeProperties(wrapper, node.getProperties().get());
+        }
+        node.getSuggestionsType().ifPresent(wrapper::writeIdentifier);
+    }
+
+    private static final class Payload {
+        private final ServerVersion serverVersion;
+        private final byte[] bytes;
+        private final int hash;
+
+        private Payload(ServerVersion serverVersion, byte[] bytes) {
+            this.serverVersion = serverVersion;
+            this.bytes = bytes;
+            this.hash = 31 * serverVersion.hashCode() + Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Payload)) return false;
+            Payload other = (Payload) obj;
+            return hash == other.hash && serverVersion == other.serverVersion && Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
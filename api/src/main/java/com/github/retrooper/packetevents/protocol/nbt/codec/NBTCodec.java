@@ -24,6 +24,7 @@ import com.github.retrooper.packetevents.netty.buffer.ByteBufOutputStream;
 import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
 import com.github.retrooper.packetevents.protocol.nbt.*;
 import com.github.retrooper.packetevents.protocol.nbt.serializer.DefaultNBTSerializer;
+import com.github.retrooper.packetevents.util.ZlibPool;
 import com.google.gson.*;
 import com.google.gson.internal.LazilyParsedNumber;
 
@@ -33,8 +34,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 public class NBTCodec {
 
@@ -168,7 +167,7 @@ public class NBTCodec {
                 }
                 Object slicedBuffer = ByteBufHelper.readSlice(byteBuf, length);
                 try (DataInputStream stream = new DataInputStream(
-                        new GZIPInputStream(new ByteBufInputStream(slicedBuffer)))) {
+                        ZlibPool.createGZIPInputStream(new ByteBufInputStream(slicedBuffer)))) {
                     return DefaultNBTSerializer.INSTANCE.deserializeTag(limiter, stream);
                 }
             }
@@ -203,7 +202,7 @@ public class NBTCodec {
                 int lengthWriterIndex = ByteBufHelper.writerIndex(byteBuf);
                 ByteBufHelper.writeShort(byteBuf, 0);
                 int writerIndexDataStart = ByteBufHelper.writerIndex(byteBuf);
-                try (DataOutputStream outputstream = new DataOutputStream(new GZIPOutputStream(new ByteBufOutputStream(byteBuf)))) {
+                try (DataOutputStream outputstream = new DataOutputStream(ZlibPool.createGZIPOutputStream(new ByteBufOutputStream(byteBuf)))) {
                     DefaultNBTSerializer.INSTANCE.serializeTag(outputstream, tag);
                 } catch (Exception e) {
                     throw new IllegalStateException(e);
@@ -16,10 +16,20 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 
-package com.github.retrooper.packetevents.util.mappings;
 
-public interface Diff<T> {
-
-    void applyTo(T t);
+package com.github.retrooper.packetevents.protocol.packettype;
 
+/**
+ * Fixed position fields which can be read and patched directly in the packet buffer,
+ * see {@link PacketFieldLayout}.
+ */
+public enum PacketField {
+    ENTITY_ID,
+    WINDOW_ID,
+    STATE_ID,
+    SLOT,
+    /**
+     * Block position encoded as a long, in the format of the packet's server version.
+     */
+    BLOCK_POSITION
 }
@@ -0,0 +1,254 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.protocol.packettype;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The leading fields of a packet type, up to the last field which can be patched in place.
+ * Offsets are computed from the encoded packet, so fields after var ints can be addressed as well.
+ * <p>
+ * The layouts mirror the read methods of the corresponding wrappers.
+ */
+public final class PacketFieldLayout {
+    private static final Map<PacketTypeCommon, PacketFieldLayout[]> LAYOUTS = new IdentityHashMap<>();
+
+    private static final PacketFieldLayout INT_ENTITY_ID = new PacketFieldLayout()
+            .add(PacketField.ENTITY_ID, Type.INT);
+    private static final PacketFieldLayout VAR_INT_ENTITY_ID = new PacketFieldLayout()
+            .add(PacketField.ENTITY_ID, Type.VAR_INT);
+
+    static {
+        Function<ServerVersion, PacketFieldLayout> legacyIntEntityId =
+                version -> version == ServerVersion.V_1_7_10 ? INT_ENTITY_ID : VAR_INT_ENTITY_ID;
+        register(PacketType.Play.Server.ENTITY_TELEPORT, legacyIntEntityId);
+        register(PacketType.Play.Server.ENTITY_VELOCITY, legacyIntEntityId);
+        register(PacketType.Play.Server.ENTITY_METADATA, legacyIntEntityId);
+        register(PacketType.Play.Server.ENTITY_EQUIPMENT, legacyIntEntityId);
+        register(PacketType.Play.Server.ENTITY_RELATIVE_MOVE, version -> VAR_INT_ENTITY_ID);
+        register(PacketType.Play.Server.ENTITY_RELATIVE_MOVE_AND_ROTATION, version -> VAR_INT_ENTITY_ID);
+        register(PacketType.Play.Server.ENTITY_ROTATION, version -> VAR_INT_ENTITY_ID);
+        register(PacketType.Play.Server.ENTITY_HEAD_LOOK, version -> VAR_INT_ENTITY_ID);
+        register(PacketType.Play.Server.ENTITY_ANIMATION, version -> VAR_INT_ENTITY_ID);
+        register(PacketType.Play.Server.ENTITY_STATUS, version -> INT_ENTITY_ID);
+        register(PacketType.Play.Client.INTERACT_ENTITY, legacyIntEntityId);
+
+        PacketFieldLayout setSlot = new PacketFieldLayout()
+                .add(PacketField.WINDOW_ID, Type.BYTE)
+                .add(PacketField.SLOT, Type.SHORT);
+        PacketFieldLayout modernSetSlot = new PacketFieldLayout()
+                .add(PacketField.WINDOW_ID, Type.BYTE)
+                .add(PacketField.STATE_ID, Type.VAR_INT)
+                .add(PacketField.SLOT, Type.SHORT);
+        register(PacketType.Play.Server.SET_SLOT,
+                version -> version.isNewerThanOrEquals(ServerVersion.V_1_17_1) ? modernSetSlot : setSlot);
+        PacketFieldLayout byteSlot = new PacketFieldLayout().add(PacketField.SLOT, Type.BYTE);
+        PacketFieldLayout shortSlot = new PacketFieldLayout().add(PacketField.SLOT, Type.SHORT);
+        register(PacketType.Play.Server.HELD_ITEM_CHANGE, version -> byteSlot);
+        register(PacketType.Play.Client.HELD_ITEM_CHANGE, version -> shortSlot);
+
+        // 1.7.10 encodes the position as separate coordinates
+        PacketFieldLayout blockPosition = new PacketFieldLayout().add(PacketField.BLOCK_POSITION, Type.LONG);
+        register(PacketType.Play.Server.BLOCK_CHANGE,
+                version -> version == ServerVersion.V_1_7_10 ? null : blockPosition);
+    }
+
+    private Type[] types = new Type[0];
+    private final Map<PacketField, Integer> indexes = new EnumMap<>(PacketField.class);
+
+    private PacketFieldLayout() {
+    }
+
+    private PacketFieldLayout add(PacketField field, Type type) {
+        this.indexes.put(field, this.types.length);
+        this.types = Arrays.copyOf(this.types, this.types.length + 1);
+        this.types[this.types.length - 1] = type;
+        return this;
+    }
+
+    private static void register(PacketTypeCommon packetType, Function<ServerVersion, PacketFieldLayout> layout) {
+        ServerVersion[] versions = ServerVersion.values();
+        PacketFieldLayout[] layouts = new PacketFieldLayout[versions.length];
+        for (ServerVersion version : versions) {
+            if (version != ServerVersion.ERROR) {
+                layouts[version.ordinal()] = layout.apply(version);
+            }
+        }
+        LAYOUTS.put(packetType, layouts);
+    }
+
+    /**
+     * Looks up the field layout of a packet type.
+     *
+     * @param packetType    Packet type
+     * @param serverVersion Version the packet is encoded in
+     * @return Layout, or null if no fields of this packet can be patched in place
+     */
+    @Nullable
+    public static PacketFieldLayout getLayout(PacketTypeCommon packetType, ServerVersion serverVersion) {
+        PacketFieldLayout[] layouts = LAYOUTS.get(packetType);
+        return layouts != null ? layouts[serverVersion.ordinal()] : null;
+    }
+
+    public boolean hasField(PacketField field) {
+        return indexes.containsKey(field);
+    }
+
+    public Type getType(PacketField field) {
+        return types[indexOf(field)];
+    }
+
+    private int indexOf(PacketField field) {
+        Integer index = indexes.get(field);
+        if (index == null) {
+            throw new IllegalArgumentException("Field " + field + " isn't part of this packet");
+        }
+        return index;
+    }
+
+    /**
+     * Computes the absolute buffer index of a field.
+     *
+     * @param buffer       Packet buffer
+     * @param payloadIndex Buffer index right after the packet id
+     * @param field        Field
+     * @return Buffer index of the first byte of the field
+     */
+    public int offsetOf(Object buffer, int payloadIndex, PacketField field) {
+        int index = indexOf(field);
+        int offset = payloadIndex;
+        for (int i = 0; i < index; i++) {
+            Type type = types[i];
+            offset += type == Type.VAR_INT ? varIntSize(buffer, offset) : type.width;
+        }
+        return offset;
+    }
+
+    /**
+     * Reads the value of an integral field, which is sign-extended for bytes and shorts.
+     */
+    public long read(Object buffer, int payloadIndex, PacketField field) {
+        int offset = offsetOf(buffer, payloadIndex, field);
+        int readerIndex = ByteBufHelper.readerIndex(buffer);
+        ByteBufHelper.readerIndex(buffer, offset);
+        try {
+            switch (getType(field)) {
+                case BYTE:
+                    return ByteBufHelper.readByte(buffer);
+                case SHORT:
+                    return ByteBufHelper.readShort(buffer);
+                case INT:
+                    return ByteBufHelper.readInt(buffer);
+                case LONG:
+                    return ByteBufHelper.readLong(buffer);
+                default:
+                    return ByteBufHelper.readVarInt(buffer);
+            }
+        } finally {
+            ByteBufHelper.readerIndex(buffer, readerIndex);
+        }
+    }
+
+    /**
+     * Overwrites the value of a field. A var int whose encoded size changes moves the rest of the packet.
+     */
+    public void write(Object buffer, int payloadIndex, PacketField field, long value) {
+        Type type = getType(field);
+        int offset = offsetOf(buffer, payloadIndex, field);
+        int readerIndex = ByteBufHelper.readerIndex(buffer);
+        int writerIndex = ByteBufHelper.writerIndex(buffer);
+        byte[] tail = null;
+        if (type == Type.VAR_INT) {
+            int end = offset + varIntSize(buffer, offset);
+            if (varIntSize((int) value) != end - offset) {
+                // The width changes, so everything after the field has to be written again
+                tail = new byte[writerIndex - end];
+                ByteBufHelper.getBytes(buffer, end, tail);
+            }
+        }
+        // The writer index may not be moved before the reader index
+        ByteBufHelper.readerIndex(buffer, 0);
+        ByteBufHelper.writerIndex(buffer, offset);
+        switch (type) {
+            case BYTE:
+                ByteBufHelper.writeByte(buffer, (int) value);
+                break;
+            case SHORT:
+                ByteBufHelper.writeShort(buffer, (int) value);
+                break;
+            case INT:
+                ByteBufHelper.writeInt(buffer, (int) value);
+                break;
+            case LONG:
+                ByteBufHelper.writeLong(buffer, value);
+                break;
+            default:
+                ByteBufHelper.writeVarInt(buffer, (int) value);
+                break;
+        }
+        if (tail != null) {
+            ByteBufHelper.writeBytes(buffer, tail);
+        } else {
+            ByteBufHelper.writerIndex(buffer, writerIndex);
+        }
+        ByteBufHelper.readerIndex(buffer, Math.min(readerIndex, ByteBufHelper.writerIndex(buffer)));
+    }
+
+    private static int varIntSize(Object buffer, int offset) {
+        int size = 1;
+        while ((ByteBufHelper.getUnsignedByte(buffer, offset + size - 1) & 0x80) != 0) {
+            if (++size > 5) {
+                throw new RuntimeException("VarInt is too large. Must be smaller than 5 bytes.");
+            }
+        }
+        return size;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    public enum Type {
+        BYTE(1),
+        SHORT(2),
+        INT(4),
+        LONG(8),
+        VAR_INT(-1);
+
+        private final int width;
+
+        Type(int width) {
+            this.width = width;
+        }
+    }
+}
@@ -116,6 +116,18 @@ public enum ClientVersion {
 
     private static final int LOWEST_SUPPORTED_PROTOCOL_VERSION = LOWER_THAN_SUPPORTED_VERSIONS.protocolVersion + 1;
     private static final int HIGHEST_SUPPORTED_PROTOCOL_VERSION = HIGHER_THAN_SUPPORTED_VERSIONS.protocolVersion - 1;
+    // Supported client versions indexed by their protocol version, UNKNOWN for protocol versions in between
+    private static final ClientVersion[] BY_PROTOCOL_VERSION = new ClientVersion[HIGHEST_SUPPORTED_PROTOCOL_VERSION + 1];
+
+    static {
+        Arrays.fill(BY_PROTOCOL_VERSION, UNKNOWN);
+        for (ClientVersion version : VALUES) {
+            if (version.protocolVersion >= LOWEST_SUPPORTED_PROTOCOL_VERSION
+                    && version.protocolVersion <= HIGHEST_SUPPORTED_PROTOCOL_VERSION) {
+                BY_PROTOCOL_VERSION[version.protocolVersion] = version;
+            }
+        }
+    }
 
     private final int protocolVersion;
     private final String name;
@@ -176,14 +188,7 @@ public enum ClientVersion {
         } else if (protocolVersion > HIGHEST_SUPPORTED_PROTOCOL_VERSION) {
             return getLatest();
         } else {
-            for (ClientVersion version : VALUES) {
-                if (version.protocolVersion > protocolVersion) {
-                    break;
-                } else if (version.protocolVersion == protocolVersion) {
-                    return version;
-                }
-            }
-            return UNKNOWN;
+            return BY_PROTOCOL_VERSION[protocolVersion];
         }
     }
 
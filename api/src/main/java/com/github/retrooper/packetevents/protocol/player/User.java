@@ -30,6 +30,7 @@ import com.github.retrooper.packetevents.protocol.chat.message.ChatMessage_v1_16
 import com.github.retrooper.packetevents.protocol.nbt.NBTCompound;
 import com.github.retrooper.packetevents.protocol.nbt.NBTList;
 import com.github.retrooper.packetevents.protocol.world.Dimension;
+import com.github.retrooper.packetevents.protocol.world.DimensionTypeRegistry;
 import com.github.retrooper.packetevents.util.adventure.AdventureSerializer;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerChatMessage;
@@ -43,7 +44,6 @@ import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.InetSocketAddress;
-import java.util.List;
 import java.util.UUID;
 
 public class User {
@@ -55,7 +55,7 @@ public class User {
     private int entityId = -1;
     private int minWorldHeight = 0;
     private int totalWorldHeight = 256;
-    private List<NBTCompound> worldNBT;
+    private DimensionTypeRegistry dimensionTypes;
     private Dimension dimension = new Dimension(0);
 
     public User(Object channel,
@@ -301,7 +301,15 @@ public class User {
     }
 
     public void setWorldNBT(NBTList<NBTCompound> worldNBT) {
-        this.worldNBT = worldNBT.getTags();
+        this.dimensionTypes = DimensionTypeRegistry.create(worldNBT.getTags());
+    }
+
+    public @Nullable DimensionTypeRegistry getDimensionTypeRegistry() {
+        return dimensionTypes;
+    }
+
+    public void setDimensionTypeRegistry(@Nullable DimensionTypeRegistry dimensionTypes) {
+        this.dimensionTypes = dimensionTypes;
     }
 
     public Dimension getDimension() {
@@ -314,27 +322,17 @@ public class User {
 
     @Nullable
     public NBTCompound getWorldNBT(String worldName) {
-        if (worldNBT == null) {
+        if (dimensionTypes == null) {
             return null;
         }
-        for (NBTCompound compound : worldNBT) {
-            if (compound.getStringTagOrNull("name").getValue().equals(worldName)) {
-                return compound;
-            }
-        }
-        return null;
+        return dimensionTypes.getByName(worldName);
     }
 
     public @Nullable NBTCompound getWorldNBT(int worldId) {
-        if (this.worldNBT == null) {
+        if (this.dimensionTypes == null) {
             return null;
         }
-        for (NBTCompound element : this.worldNBT) {
-            if (element.getNumberTagOrNull("id").getAsInt() == worldId) {
-                return element;
-            }
-        }
-        return null;
+        return this.dimensionTypes.getById(worldId);
     }
 
     public @Nullable NBTCompound getWorldNBT(Dimension dimension) {
@@ -346,15 +344,8 @@ public class User {
     }
 
     public @Nullable String getWorldName(int worldId) {
-        if (this.worldNBT == null) {
-            return null;
-        }
-        for (NBTCompound element : this.worldNBT) {
-            if (element.getNumberTagOrNull("id").getAsInt() == worldId) {
-                return element.getStringTagValueOrNull("name");
-            }
-        }
-        return null;
+        NBTCompound element = this.getWorldNBT(worldId);
+        return element != null ? element.getStringTagValueOrNull("name") : null;
     }
 
     public @Nullable String getWorldName(Dimension dimension) {
@@ -0,0 +1,146 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.protocol.world;
+
+import com.github.retrooper.packetevents.protocol.nbt.NBT;
+import com.github.retrooper.packetevents.protocol.nbt.NBTCompound;
+import com.github.retrooper.packetevents.protocol.nbt.NBTList;
+import com.github.retrooper.packetevents.protocol.nbt.NBTNumber;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The dimension types a server has sent to a user, indexed by name and by id.
+ * Servers send the same dimension types to every user, so registries are shared between all users
+ * which received the same payload. To make this safe, the registry holds read-only copies of the dimension types,
+ * modifying them throws an {@link UnsupportedOperationException}. Use {@link NBTCompound#copy()} for a mutable copy.
+ */
+public final class DimensionTypeRegistry {
+    private final List<NBTCompound> dimensionTypes;
+    private final Map<String, NBTCompound> byName;
+    private final Map<Integer, NBTCompound> byId;
+
+    private DimensionTypeRegistry(List<NBTCompound> dimensionTypes) {
+        this.dimensionTypes = Collections.unmodifiableList(dimensionTypes);
+        this.byName = new HashMap<>(dimensionTypes.size() * 2);
+        this.byId = new HashMap<>(dimensionTypes.size() * 2);
+        for (NBTCompound dimensionType : dimensionTypes) {
+            // The first entry wins, just like a linear scan would
+            String name = dimensionType.getStringTagValueOrNull("name");
+            if (name != null) {
+                this.byName.putIfAbsent(name, dimensionType);
+            }
+            NBTNumber id = dimensionType.getNumberTagOrNull("id");
+            if (id != null) {
+                this.byId.putIfAbsent(id.getAsInt(), dimensionType);
+            }
+        }
+    }
+
+    /**
+     * Creates a registry holding read-only copies of the dimension types,
+     * later changes to the passed in compounds don't affect it.
+     *
+     * @param dimensionTypes Dimension type entries, consisting of name, id and element
+     * @return Registry which may be shared between users
+     */
+    public static DimensionTypeRegistry create(List<NBTCompound> dimensionTypes) {
+        List<NBTCompound> copies = new ArrayList<>(dimensionTypes.size());
+        for (NBTCompound dimensionType : dimensionTypes) {
+            copies.add(new ReadOnlyCompound(dimensionType));
+        }
+        return new DimensionTypeRegistry(copies);
+    }
+
+    public List<NBTCompound> getDimensionTypes() {
+        return dimensionTypes;
+    }
+
+    public @Nullable NBTCompound getByName(String name) {
+        return byName.get(name);
+    }
+
+    public @Nullable NBTCompound getById(int id) {
+        return byId.get(id);
+    }
+
+    private static NBT readOnlyCopy(NBT tag) {
+        if (tag instanceof NBTCompound) {
+            return new ReadOnlyCompound((NBTCompound) tag);
+        }
+        if (tag instanceof NBTList) {
+            return new ReadOnlyList<>((NBTList<?>) tag);
+        }
+        return tag.copy();
+    }
+
+    private static final class ReadOnlyCompound extends NBTCompound {
+        private ReadOnlyCompound(NBTCompound source) {
+            for (Map.Entry<String, NBT> entry : source.getTags().entrySet()) {
+                this.tags.put(entry.getKey(), readOnlyCopy(entry.getValue()));
+            }
+        }
+
+        @Override
+        public NBT removeTag(String key) {
+            throw new UnsupportedOperationException("Dimension types are shared and can't be modified");
+        }
+
+        @Override
+        public void setTag(String key, NBT tag) {
+            throw new UnsupportedOperationException("Dimension types are shared and can't be modified");
+        }
+    }
+
+    private static final class ReadOnlyList<T extends NBT> extends NBTList<T> {
+        @SuppressWarnings("unchecked")
+        private ReadOnlyList(NBTList<T> source) {
+            super(source.getTagsType(), source.size());
+            for (T tag : source.getTags()) {
+                this.tags.add((T) readOnlyCopy(tag));
+            }
+        }
+
+        @Override
+        public void setTag(int index, T tag) {
+            throw new UnsupportedOperationException("Dimension types are shared and can't be modified");
+        }
+
+        @Override
+        public void addTag(int index, T tag) {
+            throw new UnsupportedOperationException("Dimension types are shared and can't be modified");
+        }
+
+        @Override
+        public void addTag(T tag) {
+            throw new UnsupportedOperationException("Dimension types are shared and can't be modified");
+        }
+
+        @Override
+        public void removeTag(int index) {
+            throw new UnsupportedOperationException("Dimension types are shared and can't be modified");
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.github.retrooper.packetevents.protocol.world.chunk.NibbleArray3d;
 import com.github.retrooper.packetevents.protocol.world.chunk.palette.DataPalette;
 import com.github.retrooper.packetevents.protocol.world.chunk.palette.PaletteType;
 import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 
 public class Chunk_v1_9 implements BaseChunk {
     private static final int AIR = 0;
@@ -83,6 +84,37 @@ public class Chunk_v1_9 implements BaseChunk {
         }
     }
 
+    public static void write(PacketWrapper<?> wrapper, Chunk_v1_9 chunk) {
+        // 1.14+ includes block count in chunk data
+        if (wrapper.getServerVersion().isNewerThanOrEquals(ServerVersion.V_1_14)) {
+            wrapper.writeShort(chunk.blockCount);
+        }
+
+        DataPalette.write(wrapper, chunk.dataPalette);
+
+        if (chunk.blockLight != null) {
+            wrapper.writeBytes(chunk.blockLight.getData());
+        }
+        if (chunk.skyLight != null) {
+            wrapper.writeBytes(chunk.skyLight.getData());
+        }
+    }
+
+    /**
+     * @return the exact amount of bytes {@link #write(PacketWrapper, Chunk_v1_9)} will write for this section.
+     */
+    public int getSerializedSize(ServerVersion version) {
+        int size = version.isNewerThanOrEquals(ServerVersion.V_1_14) ? 2 : 0;
+        size += this.dataPalette.getSerializedSize();
+        if (this.blockLight != null) {
+            size += this.blockLight.getData().length;
+        }
+        if (this.skyLight != null) {
+            size += this.skyLight.getData().length;
+        }
+        return size;
+    }
+
     @Override
     public int getBlockId(int x, int y, int z) {
         return this.dataPalette.get(x, y, z);
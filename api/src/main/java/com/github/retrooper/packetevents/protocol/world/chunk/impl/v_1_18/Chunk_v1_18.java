@@ -25,6 +25,7 @@ import com.github.retrooper.packetevents.protocol.world.chunk.BaseChunk;
 import com.github.retrooper.packetevents.protocol.world.chunk.palette.DataPalette;
 import com.github.retrooper.packetevents.protocol.world.chunk.palette.PaletteType;
 import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import org.jetbrains.annotations.NotNull;
 
 public class Chunk_v1_18 implements BaseChunk {
@@ -36,6 +37,14 @@ public class Chunk_v1_18 implements BaseChunk {
     private @NotNull
     final DataPalette biomeData;
 
+    // Memoized content hash and encoding, see EncodedSectionCache
+    private boolean hashed;
+    private long contentHash;
+    private int hashedBlockCount;
+    private int hashedChunkModCount;
+    private int hashedBiomeModCount;
+    EncodedSectionCache.Memo encoded;
+
     public Chunk_v1_18() {
         this(0, DataPalette.createForChunk(), DataPalette.createForBiome());
     }
@@ -60,6 +69,41 @@ public class Chunk_v1_18 implements BaseChunk {
         DataPalette.write(out, section.biomeData);
     }
 
+    public static void write(PacketWrapper<?> wrapper, Chunk_v1_18 section) {
+        wrapper.writeShort(section.blockCount);
+        DataPalette.write(wrapper, section.chunkData);
+        DataPalette.write(wrapper, section.biomeData);
+    }
+
+    /**
+     * @return the exact amount of bytes {@link #write(PacketWrapper, Chunk_v1_18)} will write for this section.
+     */
+    public int getSerializedSize() {
+        return 2 + this.chunkData.getSerializedSize() + this.biomeData.getSerializedSize();
+    }
+
+    /**
+     * The hash is memoized until the section is modified through {@link #set(int, int, int, int)},
+     * {@link #setBlockCount(int)} or {@link DataPalette#markModified()}.
+     *
+     * @return 64-bit hash of everything that ends up in the encoded section
+     */
+    public long getContentHash() {
+        int chunkModCount = this.chunkData.getModCount();
+        int biomeModCount = this.biomeData.getModCount();
+        if (!this.hashed || this.hashedBlockCount != this.blockCount
+                || this.hashedChunkModCount != chunkModCount || this.hashedBiomeModCount != biomeModCount) {
+            long hash = this.chunkData.getContentHash();
+            hash = hash * 31 + this.biomeData.getContentHash();
+            this.contentHash = hash * 31 + this.blockCount;
+            this.hashedBlockCount = this.blockCount;
+            this.hashedChunkModCount = chunkModCount;
+            this.hashedBiomeModCount = biomeModCount;
+            this.hashed = true;
+        }
+        return this.contentHash;
+    }
+
     @Override
     public int getBlockId(int x, int y, int z) {
         return this.chunkData.get(x, y, z);
@@ -0,0 +1,310 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.protocol.world.chunk.impl.v_1_18;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.world.chunk.palette.DataPalette;
+import com.github.retrooper.packetevents.protocol.world.chunk.palette.GlobalPalette;
+import com.github.retrooper.packetevents.protocol.world.chunk.palette.SingletonPalette;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes {@link Chunk_v1_18} sections without serializing them again where possible.
+ * <p>
+ * Every decoded section remembers the bytes it has been read from. Until it is modified, these bytes are
+ * spliced back into the packet verbatim, so sections a listener didn't touch cost a single copy.
+ * Sections written once (e.g. a column sent to several players) memoize their encoding the same way.
+ * <p>
+ * Modified sections can additionally be looked up in a content addressed cache, bounded by the total amount of
+ * cached bytes. When the same column is modified identically for every viewer, most modified sections are then
+ * found in the cache instead of being serialized again. Sections are looked up by their content hash,
+ * a hit is only used after comparing the section with the cached bytes.
+ * The section format is the same for all 1.18+ versions.
+ */
+public final class EncodedSectionCache {
+    // Created once, also remembers if the cache has been disabled
+    private static volatile Holder HOLDER;
+
+    private final Map<Key, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private long cachedBytes;
+
+    public EncodedSectionCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the cache configured in the settings, null if it is disabled
+     */
+    public static @Nullable EncodedSectionCache getInstance() {
+        Holder holder = HOLDER;
+        if (holder == null) {
+            synchronized (EncodedSectionCache.class) {
+                holder = HOLDER;
+                if (holder == null) {
+                    int maxBytes = PacketEvents.getAPI().getSettings().getChunkSectionCacheBytes();
+                    holder = new Holder(maxBytes > 0 ? new EncodedSectionCache(maxBytes) : null);
+                    HOLDER = holder;
+                }
+            }
+        }
+        return holder.cache;
+    }
+
+    /**
+     * Remembers the bytes a section has been decoded from, they are written back verbatim until it is modified.
+     * The array is kept as long as the section, it must not be modified afterwards.
+     *
+     * @param section Decoded section
+     * @param source  Array the section has been read from
+     * @param offset  Index of the first byte of the section
+     * @param length  Encoded length of the section
+     */
+    public static void retainSource(Chunk_v1_18 section, byte[] source, int offset, int length) {
+        section.encoded = new Memo(section, source, offset, length);
+    }
+
+    /**
+     * Returns the amount of bytes {@link #write(PacketWrapper, Chunk_v1_18, EncodedSectionCache)} will write.
+     * A modified section is looked up in the cache here, so a hit is spliced in when it is written.
+     *
+     * @param section Section to write
+     * @param cache   Cache to look modified sections up in, null to serialize them
+     * @return Encoded length of the section
+     */
+    public static int getWrittenSize(Chunk_v1_18 section, @Nullable EncodedSectionCache cache) {
+        Memo memo = section.encoded;
+        if (memo != null && memo.isValid(section)) {
+            return memo.length;
+        }
+        if (cache != null) {
+            byte[] bytes = cache.find(section);
+            if (bytes != null) {
+                section.encoded = new Memo(section, bytes, 0, bytes.length);
+                return bytes.length;
+            }
+        }
+        return section.getSerializedSize();
+    }
+
+    /**
+     * Writes the section, splicing in its memoized encoding if it hasn't been modified since.
+     * Otherwise the section is serialized straight into the buffer and, if a cache is given, stored in the cache.
+     *
+     * @param wrapper Wrapper to write to
+     * @param section Section to write
+     * @param cache   Cache to store modified sections in, null to only serialize them
+     */
+    public static void write(PacketWrapper<?> wrapper, Chunk_v1_18 section, @Nullable EncodedSectionCache cache) {
+        Object buffer = wrapper.getBuffer();
+        Memo memo = section.encoded;
+        if (memo != null && memo.isValid(section)) {
+            ByteBufHelper.writeBytes(buffer, memo.source, memo.offset, memo.length);
+            return;
+        }
+        int start = ByteBufHelper.writerIndex(buffer);
+        Chunk_v1_18.write(wrapper, section);
+        if (cache != null) {
+            byte[] bytes = new byte[ByteBufHelper.writerIndex(buffer) - start];
+            ByteBufHelper.getBytes(buffer, start, bytes);
+            cache.put(new Key(section.getContentHash(), bytes.length), bytes);
+            section.encoded = new Memo(section, bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * @return the cached encoding of a section with the same content, null if there is none
+     */
+    private byte[] find(Chunk_v1_18 section) {
+        Key key = new Key(section.getContentHash(), section.getSerializedSize());
+        byte[] bytes;
+        synchronized (this) {
+            bytes = cache.get(key);
+        }
+        // A different section may have the same hash
+        return bytes != null && new EncodingMatcher(bytes).matches(section) ? bytes : null;
+    }
+
+    /**
+     * @return the total length of all cached sections
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+        cachedBytes = 0;
+    }
+
+    private synchronized void put(Key key, byte[] bytes) {
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        byte[] previous = cache.put(key, bytes);
+        if (previous != null) {
+            cachedBytes -= previous.length;
+        }
+        cachedBytes += bytes.length;
+
+        // Evict the least recently used sections until we are within budget again
+        Iterator<byte[]> iterator = cache.values().iterator();
+        while (cachedBytes > maxBytes && iterator.hasNext()) {
+            cachedBytes -= iterator.next().length;
+            iterator.remove();
+        }
+    }
+
+    private static final class Holder {
+        private final EncodedSectionCache cache;
+
+        private Holder(EncodedSectionCache cache) {
+            this.cache = cache;
+        }
+    }
+
+    static final class Memo {
+        private final int blockCount;
+        private final int chunkModCount;
+        private final int biomeModCount;
+        private final byte[] source;
+        private final int offset;
+        private final int length;
+
+        private Memo(Chunk_v1_18 section, byte[] source, int offset, int length) {
+            this.blockCount = section.getBlockCount();
+            this.chunkModCount = section.getChunkData().getModCount();
+            this.biomeModCount = section.getBiomeData().getModCount();
+            this.source = source;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private boolean isValid(Chunk_v1_18 section) {
+            return blockCount == section.getBlockCount()
+                    && chunkModCount == section.getChunkData().getModCount()
+                    && biomeModCount == section.getBiomeData().getModCount();
+        }
+    }
+
+    /**
+     * Compares a section with encoded bytes, walking them like {@link Chunk_v1_18#write(PacketWrapper, Chunk_v1_18)}
+     * would write the section, without serializing it.
+     */
+    private static final class EncodingMatcher {
+        private final byte[] bytes;
+        private int index;
+
+        private EncodingMatcher(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private boolean matches(Chunk_v1_18 section) {
+            return matchesShort(section.getBlockCount())
+                    && matches(section.getChunkData())
+                    && matches(section.getBiomeData())
+                    && index == bytes.length;
+        }
+
+        private boolean matches(DataPalette palette) {
+            if (palette.palette instanceof SingletonPalette) {
+                return matchesByte(0) && matchesVarInt(palette.palette.idToState(0)) && matchesVarInt(0);
+            }
+            if (!matchesByte(palette.storage.getBitsPerEntry())) {
+                return false;
+            }
+            if (!(palette.palette instanceof GlobalPalette)) {
+                int paletteLength = palette.palette.size();
+                if (!matchesVarInt(paletteLength)) {
+                    return false;
+                }
+                for (int i = 0; i < paletteLength; i++) {
+                    if (!matchesVarInt(palette.palette.idToState(i))) {
+                        return false;
+                    }
+                }
+            }
+            long[] data = palette.storage.getData();
+            if (!matchesVarInt(data.length) || bytes.length - index < data.length * 8) {
+                return false;
+            }
+            for (long value : data) {
+                if (readLong() != value) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matchesByte(int value) {
+            return index < bytes.length && bytes[index++] == (byte) value;
+        }
+
+        private boolean matchesShort(int value) {
+            return matchesByte(value >> 8) && matchesByte(value);
+        }
+
+        private long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | (bytes[index++] & 0xFF);
+            }
+            return value;
+        }
+
+        private boolean matchesVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                if (!matchesByte((value & 0x7F) | 0x80)) {
+                    return false;
+                }
+                value >>>= 7;
+            }
+            return matchesByte(value);
+        }
+    }
+
+    private static final class Key {
+        private final long hash;
+        private final int size;
+
+        private Key(long hash, int size) {
+            this.hash = hash;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return hash == other.hash && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash) * 31 + size;
+        }
+    }
+}
@@ -18,22 +18,36 @@
 
 package com.github.retrooper.packetevents.protocol.world.chunk.palette;
 
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
 import com.github.retrooper.packetevents.protocol.stream.NetStreamInput;
 import com.github.retrooper.packetevents.protocol.stream.NetStreamOutput;
 import com.github.retrooper.packetevents.protocol.world.chunk.storage.BaseStorage;
 import com.github.retrooper.packetevents.protocol.world.chunk.storage.BitStorage;
 import com.github.retrooper.packetevents.protocol.world.chunk.storage.LegacyFlexibleStorage;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 public class DataPalette {
 
     // this is the amount of bits required to store the biggest state id number
     public static final int GLOBAL_PALETTE_BITS_PER_ENTRY = 15;
+    // Random per run, so colliding content hashes can't be crafted up front
+    private static final long HASH_SEED = ThreadLocalRandom.current().nextLong();
 
+    /**
+     * Assigning or modifying this directly isn't tracked, call {@link #markModified()} afterwards.
+     * Otherwise the memoized hash and encoding of the section are reused, see {@link #getModCount()}.
+     */
     public @NotNull Palette palette;
+    /**
+     * Same as {@link #palette}, direct changes require a call to {@link #markModified()}.
+     */
     public BaseStorage storage;
     public final PaletteType paletteType;
+    private int modCount;
 
     public static DataPalette createForChunk() {
         return createEmpty(PaletteType.CHUNK);
@@ -92,6 +106,96 @@ public class DataPalette {
         out.writeLongs(data);
     }
 
+    /**
+     * Writes the palette straight into the buffer of the wrapper, producing the same bytes
+     * as {@link #write(NetStreamOutput, DataPalette)}.
+     */
+    public static void write(PacketWrapper<?> wrapper, DataPalette palette) {
+        if (palette.palette instanceof SingletonPalette) {
+            wrapper.writeByte(0); // Bits per entry
+            wrapper.writeVarInt(palette.palette.idToState(0));
+            wrapper.writeVarInt(0); // Data length
+            return;
+        }
+
+        wrapper.writeByte(palette.storage.getBitsPerEntry());
+
+        if (!(palette.palette instanceof GlobalPalette)) {
+            int paletteLength = palette.palette.size();
+            wrapper.writeVarInt(paletteLength);
+            for (int i = 0; i < paletteLength; i++) {
+                wrapper.writeVarInt(palette.palette.idToState(i));
+            }
+        }
+
+        wrapper.writeLongArray(palette.storage.getData());
+    }
+
+    /**
+     * @return the exact amount of bytes {@link #write(PacketWrapper, DataPalette)} will write for this palette.
+     */
+    public int getSerializedSize() {
+        if (this.palette instanceof SingletonPalette) {
+            return 1 + ByteBufHelper.getVarIntSize(this.palette.idToState(0)) + 1;
+        }
+
+        int size = 1; // Bits per entry
+        if (!(this.palette instanceof GlobalPalette)) {
+            int paletteLength = this.palette.size();
+            size += ByteBufHelper.getVarIntSize(paletteLength);
+            for (int i = 0; i < paletteLength; i++) {
+                size += ByteBufHelper.getVarIntSize(this.palette.idToState(i));
+            }
+        }
+
+        long[] data = this.storage.getData();
+        return size + ByteBufHelper.getVarIntSize(data.length) + data.length * 8;
+    }
+
+    /**
+     * Hashes everything that ends up in the encoded palette.
+     * Equal palettes always have the same hash within one run.
+     *
+     * @return 64-bit hash of the palette contents
+     */
+    public long getContentHash() {
+        long hash = HASH_SEED;
+        if (this.palette instanceof SingletonPalette) {
+            hash = mix(hash, 0);
+            return finish(mix(hash, this.palette.idToState(0)));
+        }
+
+        hash = mix(hash, this.storage.getBitsPerEntry());
+        if (!(this.palette instanceof GlobalPalette)) {
+            int paletteLength = this.palette.size();
+            hash = mix(hash, paletteLength);
+            for (int i = 0; i < paletteLength; i++) {
+                hash = mix(hash, this.palette.idToState(i));
+            }
+        }
+
+        long[] data = this.storage.getData();
+        hash = mix(hash, data.length);
+        for (long value : data) {
+            hash = mix(hash, value);
+        }
+        return finish(hash);
+    }
+
+    /**
+     * Incremented on every {@link #set(int, int, int, int)}, used to find out whether memoized data is still up-to-date.
+     * Call {@link #markModified()} after modifying {@link #palette} or {@link #storage} directly.
+     *
+     * @return modification counter
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    public void markModified() {
+        this.modCount++;
+    }
+
     public static DataPalette readLegacy(NetStreamInput in) {
         int bitsPerEntry = in.readByte() & 0xff;
         Palette palette = readPalette(PaletteType.CHUNK, bitsPerEntry, in);
@@ -119,6 +223,7 @@ public class DataPalette {
      * @return the old value present in the storage.
      */
     public int set(int x, int y, int z, int state) {
+        this.modCount++;
         int id = this.palette.stateToId(state);
         if (id == -1) {
             resize();
@@ -186,6 +291,18 @@ public class DataPalette {
         }
     }
 
+    private static long mix(long hash, long value) {
+        return Long.rotateLeft((hash ^ value) * 0x9E3779B97F4A7C15L, 27);
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
     private static int index(int x, int y, int z) {
         return y << 8 | z << 4 | x;
     }
@@ -22,8 +22,10 @@ import com.github.retrooper.packetevents.protocol.stream.NetStreamInput;
 import com.github.retrooper.packetevents.protocol.world.Dimension;
 import com.github.retrooper.packetevents.protocol.world.chunk.BaseChunk;
 import com.github.retrooper.packetevents.protocol.world.chunk.impl.v_1_18.Chunk_v1_18;
+import com.github.retrooper.packetevents.protocol.world.chunk.impl.v_1_18.EncodedSectionCache;
 import com.github.retrooper.packetevents.protocol.world.chunk.reader.ChunkReader;
 
+import java.io.IOException;
 import java.util.BitSet;
 
 public class ChunkReader_v1_18 implements ChunkReader {
@@ -31,10 +33,25 @@ public class ChunkReader_v1_18 implements ChunkReader {
     public BaseChunk[] read(Dimension dimension, BitSet set, BitSet sevenExtendedMask, boolean fullChunk, boolean hasSkyLight, boolean checkForSky, int chunkSize, byte[] data, NetStreamInput dataIn) {
         BaseChunk[] chunks = new BaseChunk[chunkSize];
 
+        int offset = position(data, dataIn);
         for (int index = 0; index < chunkSize; ++index) {
-            chunks[index] = Chunk_v1_18.read(dataIn);
+            Chunk_v1_18 section = Chunk_v1_18.read(dataIn);
+            // Untouched sections are written back from these bytes
+            int end = position(data, dataIn);
+            EncodedSectionCache.retainSource(section, data, offset, end - offset);
+            chunks[index] = section;
+            offset = end;
         }
 
         return chunks;
     }
+
+    private static int position(byte[] data, NetStreamInput dataIn) {
+        try {
+            // The stream reads from the data array
+            return data.length - dataIn.available();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -11,6 +11,7 @@ import com.github.retrooper.packetevents.protocol.world.states.type.StateValue;
 import com.github.retrooper.packetevents.util.mappings.MappingHelper;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.ref.SoftReference;
 import java.util.*;
 
 /**
@@ -26,34 +27,30 @@ import java.util.*;
  */
 public class WrappedBlockState {
     private static final WrappedBlockState AIR = new WrappedBlockState(StateTypes.AIR, new EnumMap<>(StateValue.class), 0, (byte) 0);
-    private static final Map<Byte, Map<String, WrappedBlockState>> BY_STRING = new HashMap<>();
-    private static final Map<Byte, Map<Integer, WrappedBlockState>> BY_ID = new HashMap<>();
-    private static final Map<Byte, Map<WrappedBlockState, String>> INTO_STRING = new HashMap<>();
-    private static final Map<Byte, Map<WrappedBlockState, Integer>> INTO_ID = new HashMap<>();
-    private static final Map<Byte, Map<StateType, WrappedBlockState>> DEFAULT_STATES = new HashMap<>();
+    // TODO UPDATE increment when adding a mappings index
+    private static final int MAPPINGS_COUNT = 15;
+    // The mappings of a version are loaded once a block state of that version is used, unless they are preloaded
+    private static final Mappings[] MAPPINGS = new Mappings[MAPPINGS_COUNT];
+    // Equal block data is shared by the mappings of all versions, keyed by its string form
+    private static final Map<String, Map<StateValue, Object>> DATA_CACHE = new HashMap<>();
+    // Kept while there is enough memory, so multiple modern versions don't decompress the file each time
+    private static SoftReference<NBTCompound> modernMappings;
+
+    // Mappings index of every client version, looked up by its ordinal
+    private static final byte[] MAPPINGS_INDICES;
+
+    static {
+        ClientVersion[] versions = ClientVersion.values();
+        MAPPINGS_INDICES = new byte[versions.length];
+        for (ClientVersion version : versions) {
+            MAPPINGS_INDICES[version.ordinal()] = computeMappingsIndex(version);
+        }
+    }
 
     private static final Map<String, String> STRING_UPDATER = new HashMap<>();
 
     static {
         STRING_UPDATER.put("grass_path", "dirt_path"); // 1.16 -> 1.17
-
-        // Try to reduce memory footprint by re-using hashmaps when they are equal
-        // We do this by setting the key to the NBTCompound of the data and the value to the data
-        // this.data = cache.computeIfAbsent(dataContent, (key) -> { // NBTCompound to data });
-        // This will get an equal value if present, otherwise it will compute the value
-        // Once this is done, we remove this cache to save memory
-        // A HashMap is used instead of another data type because a hashmap is o(1)
-        //
-        // 6160 total combinations, last updated with 1.20.5
-        // This brings total memory usage from 62 MB to 34 MB, a 28 MB reduction
-        // Using a HashMap reduces memory usage to less than a megabyte, I can't get precise numbers because it is hard to see on a heapdump
-        Map<NBTCompound, Map.Entry<Map<StateValue, Object>, String>> cache = new HashMap<>(6160, 70);
-
-        loadLegacy(cache);
-        loadModern(cache);
-
-        cache.clear();
-        cache = null;
     }
 
     int globalID;
@@ -109,7 +106,7 @@ public class WrappedBlockState {
     public static WrappedBlockState getByGlobalId(ClientVersion version, int globalID, boolean clone) {
         if (globalID == 0) return AIR; // Hardcode for performance
         byte mappingsIndex = getMappingsIndex(version);
-        final WrappedBlockState state = BY_ID.get(mappingsIndex).getOrDefault(globalID, AIR);
+        final WrappedBlockState state = getMappings(mappingsIndex).byId.getOrDefault(globalID, AIR);
         return clone ? state.clone() : state;
     }
 
@@ -126,7 +123,7 @@ public class WrappedBlockState {
     @NotNull
     public static WrappedBlockState getByString(ClientVersion version, String string, boolean clone) {
         byte mappingsIndex = getMappingsIndex(version);
-        final WrappedBlockState state = BY_STRING.get(mappingsIndex).getOrDefault(string.replace("minecraft:", ""), AIR);
+        final WrappedBlockState state = getMappings(mappingsIndex).byString.getOrDefault(string.replace("minecraft:", ""), AIR);
         return clone ? state.clone() : state;
     }
 
@@ -144,7 +141,7 @@ public class WrappedBlockState {
     public static WrappedBlockState getDefaultState(ClientVersion version, StateType type, boolean clone) {
         if (type == StateTypes.AIR) return AIR;
         byte mappingsIndex = getMappingsIndex(version);
-        WrappedBlockState state = DEFAULT_STATES.get(mappingsIndex).get(type);
+        WrappedBlockState state = getMappings(mappingsIndex).defaultStates.get(type);
         if (state == null) {
             PacketEvents.getAPI().getLogger().config("Default state for " + type.getName() + " is null. Returning AIR");
             return AIR;
@@ -153,6 +150,10 @@ public class WrappedBlockState {
     }
 
     private static byte getMappingsIndex(ClientVersion version) {
+        return MAPPINGS_INDICES[version.ordinal()];
+    }
+
+    private static byte computeMappingsIndex(ClientVersion version) {
         if (version.isOlderThan(ClientVersion.V_1_13)) {
             return 0;
         } else if (version.isOlderThanOrEquals(ClientVersion.V_1_13_1)) {
@@ -186,7 +187,87 @@ public class WrappedBlockState {
         return 14;
     }
 
-    private static void loadLegacy(Map<NBTCompound, Map.Entry<Map<StateValue, Object>, String>> cache) {
+    private static Mappings getMappings(byte mappingsIndex) {
+        Mappings mappings = MAPPINGS[mappingsIndex];
+        return mappings != null ? mappings : loadMappings(mappingsIndex);
+    }
+
+    private static synchronized Mappings loadMappings(byte mappingsIndex) {
+        Mappings mappings = MAPPINGS[mappingsIndex];
+        if (mappings == null) {
+            // Only used during this load, so the compounds can be collected afterwards
+            Map<NBTCompound, Map.Entry<Map<StateValue, Object>, String>> cache = new HashMap<>();
+            mappings = mappingsIndex == 0 ? loadLegacy(cache) : loadModern(mappingsIndex, cache, getModernCompound());
+            MAPPINGS[mappingsIndex] = mappings;
+        }
+        return mappings;
+    }
+
+    private static synchronized void loadAllMappings() {
+        // Shared by all versions, equal data compounds are only parsed once
+        Map<NBTCompound, Map.Entry<Map<StateValue, Object>, String>> cache = new HashMap<>();
+        // Strongly reachable until every version is built, so the file is decompressed only once
+        NBTCompound modern = null;
+        for (byte mappingsIndex = 0; mappingsIndex < MAPPINGS_COUNT; mappingsIndex++) {
+            if (MAPPINGS[mappingsIndex] != null) {
+                continue;
+            }
+            if (mappingsIndex == 0) {
+                MAPPINGS[mappingsIndex] = loadLegacy(cache);
+                continue;
+            }
+            if (modern == null) {
+                modern = getModernCompound();
+            }
+            MAPPINGS[mappingsIndex] = loadModern(mappingsIndex, cache, modern);
+        }
+        // Every version is built, nothing needs the file anymore
+        modernMappings = null;
+    }
+
+    private static Map.Entry<Map<StateValue, Object>, String> parseData(NBTCompound key, String mappingType) {
+        StringBuilder dataStringBuilder = new StringBuilder();
+        Map<StateValue, Object> dataMap = new HashMap<>(key.size());
+
+        for (Map.Entry<String, NBT> props : key.getTags().entrySet()) {
+            StateValue state = StateValue.byName(props.getKey());
+            if (state == null) {
+                PacketEvents.getAPI().getLogger().warning("Could not find value for " + props.getKey());
+                continue;
+            }
+
+            dataStringBuilder.append(props.getKey()).append("=");
+            NBT value = props.getValue();
+            Object v;
+            if (value instanceof NBTByte) {
+                v = ((NBTByte) value).getAsInt() == 1;
+            } else if (value instanceof NBTNumber) {
+                v = ((NBTNumber) value).getAsInt();
+            } else if (value instanceof NBTString) {
+                v = ((NBTString) value).getValue();
+            } else {
+                PacketEvents.getAPI().getLogger().warning("Unknown NBT type in " + mappingType + " mapping: " + value.getClass().getSimpleName());
+                dataStringBuilder = new StringBuilder(dataStringBuilder.substring(0, dataStringBuilder.length() - props.getKey().length() - 1));
+                continue;
+            }
+
+            dataStringBuilder.append(v).append(",");
+            dataMap.put(state, state.getParser().apply(v.toString().toUpperCase(Locale.ROOT)));
+        }
+
+        String dataString;
+        if (dataStringBuilder.length() == 0) {
+            dataString = "";
+        } else {
+            dataString = "[" + dataStringBuilder.substring(0, dataStringBuilder.length() - 1) + "]";
+        }
+
+        // Re-use the data map of versions loaded earlier to reduce the memory footprint
+        Map<StateValue, Object> sharedMap = DATA_CACHE.putIfAbsent(dataString, dataMap);
+        return new AbstractMap.SimpleEntry<>(sharedMap != null ? sharedMap : dataMap, dataString);
+    }
+
+    private static Mappings loadLegacy(Map<NBTCompound, Map.Entry<Map<StateValue, Object>, String>> cache) {
         Map<Integer, WrappedBlockState> stateByIdMap = new HashMap<>();
         Map<WrappedBlockState, Integer> stateToIdMap = new HashMap<>();
         Map<String, WrappedBlockState> stateByStringMap = new HashMap<>();
@@ -212,45 +293,7 @@ public class WrappedBlockState {
                 int combinedID = (id << 4) | data;
 
                 NBTCompound dataContent = (NBTCompound) element.getValue();
-                Map.Entry<Map<StateValue, Object>, String> dataEntry = cache.computeIfAbsent(dataContent, (key) -> {
-                    StringBuilder dataStringBuilder = new StringBuilder();
-                    Map<StateValue, Object> dataMap = new HashMap<>(key.size());
-
-                    for (Map.Entry<String, NBT> props : key.getTags().entrySet()) {
-                        StateValue state = StateValue.byName(props.getKey());
-                        if (state == null) {
-                            PacketEvents.getAPI().getLogger().warning("Could not find value for " + props.getKey());
-                            continue;
-                        }
-
-                        dataStringBuilder.append(props.getKey()).append("=");
-                        NBT value = props.getValue();
-                        Object v;
-                        if (value instanceof NBTByte) {
-                            v = ((NBTByte) value).getAsInt() == 1;
-                        } else if (value instanceof NBTNumber) {
-                            v = ((NBTNumber) value).getAsInt();
-                        } else if (value instanceof NBTString) {
-                            v = ((NBTString) value).getValue();
-                        } else {
-                            PacketEvents.getAPI().getLogger().warning("Unknown NBT type in legacy mapping: " + value.getClass().getSimpleName());
-                            dataStringBuilder = new StringBuilder(dataStringBuilder.substring(0, dataStringBuilder.length() - props.getKey().length() - 1));
-                            continue;
-                        }
-
-                        dataStringBuilder.append(v).append(",");
-                        dataMap.put(state, state.getParser().apply(v.toString().toUpperCase(Locale.ROOT)));
-                    }
-
-                    String dataString;
-                    if (dataStringBuilder.length() == 0) {
-                        dataString = "";
-                    } else {
-                        dataString = "[" + dataStringBuilder.substring(0, dataStringBuilder.length() - 1) + "]";
-                    }
-
-                    return new AbstractMap.SimpleEntry<>(dataMap, dataString);
-                });
+                Map.Entry<Map<StateValue, Object>, String> dataEntry = cache.computeIfAbsent(dataContent, (key) -> parseData(key, "legacy"));
 
                 String fullString = entry.getKey() + dataEntry.getValue();
                 WrappedBlockState state = new WrappedBlockState(type, dataEntry.getKey(), combinedID, (byte) 0);
@@ -269,28 +312,33 @@ public class WrappedBlockState {
             }
         }
 
-        BY_ID.put((byte) 0, stateByIdMap);
-        INTO_ID.put((byte) 0, stateToIdMap);
-        BY_STRING.put((byte) 0, stateByStringMap);
-        INTO_STRING.put((byte) 0, stateToStringMap);
-        DEFAULT_STATES.put((byte) 0, stateTypeToBlockStateMap);
+        return new Mappings(stateByIdMap, stateToIdMap, stateByStringMap, stateToStringMap, stateTypeToBlockStateMap);
     }
 
-    private static void loadModern(Map<NBTCompound, Map.Entry<Map<StateValue, Object>, String>> cache) {
-        final NBTCompound compound = MappingHelper.decompress("mappings/block/modern_block_mappings");
+    private static NBTCompound getModernCompound() {
+        NBTCompound compound = modernMappings != null ? modernMappings.get() : null;
+        if (compound == null) {
+            compound = MappingHelper.decompress("mappings/block/modern_block_mappings");
+            modernMappings = new SoftReference<>(compound);
+        }
+        return compound;
+    }
+
+    private static Mappings loadModern(byte mappingIndex, Map<NBTCompound, Map.Entry<Map<StateValue, Object>, String>> cache,
+                                       NBTCompound compound) {
+        Map<Integer, WrappedBlockState> stateByIdMap = new HashMap<>();
+        Map<WrappedBlockState, Integer> stateToIdMap = new HashMap<>();
+        Map<String, WrappedBlockState> stateByStringMap = new HashMap<>();
+        Map<WrappedBlockState, String> stateToStringMap = new HashMap<>();
+        Map<StateType, WrappedBlockState> stateTypeToBlockStateMap = new HashMap<>();
 
         for (Map.Entry<String, NBT> versionEntry : compound.getTags().entrySet()) {
             if (versionEntry.getKey().equals("version")) continue;
             ClientVersion version = ClientVersion.valueOf(versionEntry.getKey());
-            byte mappingIndex = getMappingsIndex(version);
+            // Only build the version that was requested, the others are loaded once they are used
+            if (getMappingsIndex(version) != mappingIndex) continue;
             NBTList<NBTCompound> list = (NBTList<NBTCompound>) versionEntry.getValue();
 
-            Map<Integer, WrappedBlockState> stateByIdMap = new HashMap<>();
-            Map<WrappedBlockState, Integer> stateToIdMap = new HashMap<>();
-            Map<String, WrappedBlockState> stateByStringMap = new HashMap<>();
-            Map<WrappedBlockState, String> stateToStringMap = new HashMap<>();
-            Map<StateType, WrappedBlockState> stateTypeToBlockStateMap = new HashMap<>();
-
             int id = 0;
             for (NBTCompound element : list.getTags()) {
                 String typeString = element.getStringTagValueOrThrow("type");
@@ -318,45 +366,7 @@ public class WrappedBlockState {
 
                 int index = 0;
                 for (NBTCompound dataContent : element.getCompoundListTagOrThrow("entries").getTags()) {
-                    Map.Entry<Map<StateValue, Object>, String> dataEntry = cache.computeIfAbsent(dataContent, (key) -> {
-                        StringBuilder dataStringBuilder = new StringBuilder();
-                        Map<StateValue, Object> dataMap = new HashMap<>(key.size());
-
-                        for (Map.Entry<String, NBT> props : key.getTags().entrySet()) {
-                            StateValue state = StateValue.byName(props.getKey());
-                            if (state == null) {
-                                PacketEvents.getAPI().getLogger().warning("Could not find value for " + props.getKey());
-                                continue;
-                            }
-
-                            dataStringBuilder.append(props.getKey()).append("=");
-                            NBT value = props.getValue();
-                            Object v;
-                            if (value instanceof NBTByte) {
-                                v = ((NBTByte) value).getAsInt() == 1;
-                            } else if (value instanceof NBTNumber) {
-                                v = ((NBTNumber) value).getAsInt();
-                            } else if (value instanceof NBTString) {
-                                v = ((NBTString) value).getValue();
-                            } else {
-                                PacketEvents.getAPI().getLogger().warning("Unknown NBT typeString in modern mapping: " + value.getClass().getSimpleName());
-                                dataStringBuilder = new StringBuilder(dataStringBuilder.substring(0, dataStringBuilder.length() - props.getKey().length() - 1));
-                                continue;
-                            }
-
-                            dataStringBuilder.append(v).append(",");
-                            dataMap.put(state, state.getParser().apply(v.toString().toUpperCase(Locale.ROOT)));
-                        }
-
-                        String dataString;
-                        if (dataStringBuilder.length() == 0) {
-                            dataString = "";
-                        } else {
-                            dataString = "[" + dataStringBuilder.substring(0, dataStringBuilder.length() - 1) + "]";
-                        }
-
-                        return new AbstractMap.SimpleEntry<>(dataMap, dataString);
-                    });
+                    Map.Entry<Map<StateValue, Object>, String> dataEntry = cache.computeIfAbsent(dataContent, (key) -> parseData(key, "modern"));
 
                     String fullString = typeString + dataEntry.getValue();
                     WrappedBlockState state = new WrappedBlockState(type, dataEntry.getKey(), id, mappingIndex);
@@ -374,13 +384,10 @@ public class WrappedBlockState {
                     index++;
                 }
             }
-
-            BY_ID.put(mappingIndex, stateByIdMap);
-            INTO_ID.put(mappingIndex, stateToIdMap);
-            BY_STRING.put(mappingIndex, stateByStringMap);
-            INTO_STRING.put(mappingIndex, stateToStringMap);
-            DEFAULT_STATES.put(mappingIndex, stateTypeToBlockStateMap);
+            break;
         }
+
+        return new Mappings(stateByIdMap, stateToIdMap, stateByStringMap, stateToStringMap, stateTypeToBlockStateMap);
     }
 
     @Override
@@ -1261,7 +1268,7 @@ public class WrappedBlockState {
         int oldGlobalID = globalID;
         globalID = getGlobalIdNoCache();
         if (globalID == -1) { // -1 maps to no block as negative ID are impossible
-            WrappedBlockState blockState = BY_ID.get(mappingsIndex).getOrDefault(oldGlobalID, AIR).clone();
+            WrappedBlockState blockState = getMappings(mappingsIndex).byId.getOrDefault(oldGlobalID, AIR).clone();
             this.type = blockState.type;
             this.globalID = blockState.globalID;
             this.data = new HashMap<>(blockState.data);
@@ -1305,13 +1312,45 @@ public class WrappedBlockState {
      * Internal method for determining if the block state is still valid
      */
     private int getGlobalIdNoCache() {
-        return INTO_ID.get(mappingsIndex).getOrDefault(this, -1);
+        return getMappings(mappingsIndex).intoId.getOrDefault(this, -1);
     }
 
     @Override
     public String toString() {
-        return INTO_STRING.get(mappingsIndex).get(this);
+        return getMappings(mappingsIndex).intoString.get(this);
+    }
+
+    /**
+     * Loads the block states of the server version ahead of time,
+     * block states of other versions are loaded once they are first used.
+     */
+    public static void ensureLoad() {
+        getMappings(getMappingsIndex(PacketEvents.getAPI().getServerManager().getVersion().toClientVersion()));
     }
 
-    public static void ensureLoad() {}
+    /**
+     * Loads the block states of every client version ahead of time, so connecting clients never wait for them.
+     * The mapping file is decompressed only once for all versions.
+     */
+    public static void ensureLoadAll() {
+        loadAllMappings();
+    }
+
+    private static final class Mappings {
+        private final Map<Integer, WrappedBlockState> byId;
+        private final Map<WrappedBlockState, Integer> intoId;
+        private final Map<String, WrappedBlockState> byString;
+        private final Map<WrappedBlockState, String> intoString;
+        private final Map<StateType, WrappedBlockState> defaultStates;
+
+        private Mappings(Map<Integer, WrappedBlockState> byId, Map<WrappedBlockState, Integer> intoId,
+                         Map<String, WrappedBlockState> byString, Map<WrappedBlockState, String> intoString,
+                         Map<StateType, WrappedBlockState> defaultStates) {
+            this.byId = byId;
+            this.intoId = intoId;
+            this.byString = byString;
+            this.intoString = intoString;
+            this.defaultStates = defaultStates;
+        }
+    }
 }
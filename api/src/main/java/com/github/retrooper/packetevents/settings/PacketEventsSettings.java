@@ -32,12 +32,19 @@ import java.util.function.Function;
 public class PacketEventsSettings {
 
     private TimeStampMode timestampMode = TimeStampMode.MILLIS;
-    private boolean defaultReencode = true; // true for backwards compat and more idiot-proof
+    private boolean defaultReencode = false; // modified wrappers are always re-encoded
     private boolean checkForUpdates = true;
     private boolean downsampleColors = false;
     private boolean debugEnabled = false;
     private boolean fullStackTraceEnabled = false;
     private boolean kickOnPacketExceptionEnabled = true;
+    private int componentCacheSize = 512;
+    private boolean retainRawComponents = false;
+    private int chunkSectionCacheBytes = 0;
+    private boolean cacheConfigurationPayloads = false;
+    private boolean recycleEvents = false;
+    private boolean decodeLazily = false;
+    private boolean preloadRegistries = true;
     private Function<String, InputStream> resourceProvider = path -> PacketEventsSettings.class
             .getClassLoader()
             .getResourceAsStream(path);
@@ -62,6 +69,10 @@ public class PacketEventsSettings {
 
     /**
      * Do we re-encode all packets by default?
+     * Wrappers are marked as modified by their setters and by getters handing out mutable objects
+     * (metadata lists, item stacks, team info, ...), so those packets are re-encoded either way.
+     * Enable this if your listeners keep mutable objects of a wrapper and modify them after another listener
+     * has read the packet, or call {@link com.github.retrooper.packetevents.wrapper.PacketWrapper#markDirty()}.
      * @param reEncodeByDefault Value
      * @return Settings instance
      */
@@ -137,6 +148,105 @@ public class PacketEventsSettings {
         return this;
     }
 
+    /**
+     * How many encoded components should be cached per lookup level.
+     * Scoreboards, tab lists and boss bars resend the same components very often,
+     * caching them skips serializing them again. Set to 0 to disable the cache.
+     *
+     * @param componentCacheSize Value
+     * @return Settings instance.
+     */
+    public PacketEventsSettings componentCacheSize(int componentCacheSize) {
+        this.componentCacheSize = componentCacheSize;
+        return this;
+    }
+
+    /**
+     * This decides if PacketEvents should remember the bytes every component has been read from,
+     * so that the component is re-emitted verbatim if it is written again without modification.
+     * Only has an effect if the component cache is enabled.
+     *
+     * @param retainRawComponents Value
+     * @return Settings instance.
+     */
+    public PacketEventsSettings retainRawComponents(boolean retainRawComponents) {
+        this.retainRawComponents = retainRawComponents;
+        return this;
+    }
+
+    /**
+     * How many bytes of encoded 1.18+ chunk sections may be cached.
+     * Sections a listener didn't modify are always written back from the bytes they have been read from.
+     * Plugins modifying chunks per player (anti-xray, fake blocks) often modify sections identically
+     * for every viewer, with this cache only the modified sections that differ are serialized again.
+     * Set to 0 to disable the cache.
+     *
+     * @param chunkSectionCacheBytes Value
+     * @return Settings instance.
+     */
+    public PacketEventsSettings chunkSectionCacheBytes(int chunkSectionCacheBytes) {
+        this.chunkSectionCacheBytes = chunkSectionCacheBytes;
+        return this;
+    }
+
+    /**
+     * This decides if byte-identical configuration payloads (registry data, feature flags, tags) should only be
+     * decoded once and then shared between all users. Unmodified or identically modified payloads are re-emitted
+     * from cached bytes instead of being encoded again.
+     * Listeners must treat the contents of these wrappers as read-only and use the setters to modify them.
+     *
+     * @param cacheConfigurationPayloads Value
+     * @return Settings instance.
+     */
+    public PacketEventsSettings cacheConfigurationPayloads(boolean cacheConfigurationPayloads) {
+        this.cacheConfigurationPayloads = cacheConfigurationPayloads;
+        return this;
+    }
+
+    /**
+     * This decides if every packet encoder and decoder should reuse one event instance per connection state
+     * instead of allocating a new event for every packet.
+     * Listeners must not keep a reference to a packet event after their listener method returned,
+     * use {@link com.github.retrooper.packetevents.event.ProtocolPacketEvent#clone()} to keep a copy instead.
+     * With debug mode enabled, accessing a recycled event after its listeners returned throws an exception.
+     *
+     * @param recycleEvents Value
+     * @return Settings instance.
+     */
+    public PacketEventsSettings recycleEvents(boolean recycleEvents) {
+        this.recycleEvents = recycleEvents;
+        return this;
+    }
+
+    /**
+     * This decides if large wrappers (join game, player info update, window items) should only decode
+     * their cheap leading fields when reading a packet. The remaining fields are copied as bytes and decoded once
+     * one of their getters or setters is called. If they are never accessed, the original bytes are written on re-encode.
+     *
+     * @param decodeLazily Value
+     * @return Settings instance.
+     */
+    public PacketEventsSettings decodeLazily(boolean decodeLazily) {
+        this.decodeLazily = decodeLazily;
+        return this;
+    }
+
+    /**
+     * This decides if the registries (item types, block states, packet types, ...) should be initialized
+     * while packetevents is loading. Registries that don't depend on each other are initialized concurrently.
+     * The block states of every client version are loaded as well.
+     * If disabled, each registry is initialized by the first thread using it, which may be a netty thread
+     * handling the first login. Only the block states of the server version are loaded ahead of time then,
+     * the ones of other client versions are loaded once such a client connects.
+     *
+     * @param preloadRegistries Value
+     * @return Settings instance.
+     */
+    public PacketEventsSettings preloadRegistries(boolean preloadRegistries) {
+        this.preloadRegistries = preloadRegistries;
+        return this;
+    }
+
     /**
      * Some projects may want to implement a CDN with resources like asset mappings
      * By default, all resources are retrieved from the ClassLoader
@@ -215,6 +325,69 @@ public class PacketEventsSettings {
         return kickOnPacketExceptionEnabled;
     }
 
+    /**
+     * How many encoded components should be cached?
+     *
+     * @return Getter for {@link #componentCacheSize}
+     */
+    public int getComponentCacheSize() {
+        return componentCacheSize;
+    }
+
+    /**
+     * Should packetevents re-emit unmodified components with the bytes they have been read from?
+     *
+     * @return Getter for {@link #retainRawComponents}
+     */
+    public boolean shouldRetainRawComponents() {
+        return retainRawComponents;
+    }
+
+    /**
+     * How many bytes of encoded chunk sections should be cached?
+     *
+     * @return Getter for {@link #chunkSectionCacheBytes}
+     */
+    public int getChunkSectionCacheBytes() {
+        return chunkSectionCacheBytes;
+    }
+
+    /**
+     * Should identical configuration payloads be decoded once and shared between users?
+     *
+     * @return Getter for {@link #cacheConfigurationPayloads}
+     */
+    public boolean shouldCacheConfigurationPayloads() {
+        return cacheConfigurationPayloads;
+    }
+
+    /**
+     * Should packet events be reused by the encoders and decoders?
+     *
+     * @return Getter for {@link #recycleEvents}
+     */
+    public boolean shouldRecycleEvents() {
+        return recycleEvents;
+    }
+
+    /**
+     * Should large wrappers decode their fields lazily?
+     *
+     * @return Getter for {@link #decodeLazily}
+     */
+    public boolean shouldDecodeLazily() {
+        return decodeLazily;
+    }
+
+    /**
+     * Should the registries be initialized while loading?
+     *
+     * @return Getter for {@link #preloadRegistries}
+     */
+    public boolean shouldPreloadRegistries() {
+        return preloadRegistries;
+    }
+
     /**
      * As described above, this method retrieves the function that acquires the InputStream
      * of a desired resource by its path.
@@ -18,11 +18,13 @@
 
 package com.github.retrooper.packetevents.util;
 
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.event.simple.*;
 import com.github.retrooper.packetevents.exception.PacketProcessException;
 import com.github.retrooper.packetevents.protocol.player.User;
+import org.jetbrains.annotations.Nullable;
 
 public class EventCreationUtil {
     public static PacketReceiveEvent createReceiveEvent(Object channel, User user, Object player, Object buffer,
@@ -42,6 +44,15 @@ public class EventCreationUtil {
         throw new RuntimeException("Unknown connection state " + user.getDecoderState() + "!");
     }
 
+    public static PacketReceiveEvent createReceiveEvent(Object channel, User user, Object player, Object buffer,
+                                                        boolean autoProtocolTranslation,
+                                                        @Nullable PacketEventRecycler recycler) throws PacketProcessException {
+        if (recycler != null) {
+            return recycler.obtainReceiveEvent(channel, user, player, buffer, autoProtocolTranslation);
+        }
+        return createReceiveEvent(channel, user, player, buffer, autoProtocolTranslation);
+    }
+
     public static PacketSendEvent createSendEvent(Object channel, User user, Object player, Object buffer,
                                                   boolean autoProtocolTranslation) throws PacketProcessException{
         switch (user.getEncoderState()) {
@@ -58,4 +69,13 @@ public class EventCreationUtil {
         }
         throw new RuntimeException("Unknown connection state " + user.getEncoderState() + "!");
     }
+
+    public static PacketSendEvent createSendEvent(Object channel, User user, Object player, Object buffer,
+                                                  boolean autoProtocolTranslation,
+                                                  @Nullable PacketEventRecycler recycler) throws PacketProcessException {
+        if (recycler != null) {
+            return recycler.obtainSendEvent(channel, user, player, buffer, autoProtocolTranslation);
+        }
+        return createSendEvent(channel, user, player, buffer, autoProtocolTranslation);
+    }
 }
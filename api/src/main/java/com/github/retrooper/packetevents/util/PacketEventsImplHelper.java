@@ -19,12 +19,16 @@
 package com.github.retrooper.packetevents.util;
 
 import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.event.UserDisconnectEvent;
 import com.github.retrooper.packetevents.manager.protocol.ProtocolManager;
 import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.PacketSide;
 import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.util.capture.PacketCapture;
+import com.github.retrooper.packetevents.wrapper.ConfigurationPayloadCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
@@ -36,21 +40,50 @@ public class PacketEventsImplHelper {
                                                               Object player, 
                                                               Object buffer, 
                                                              boolean autoProtocolTranslation) throws Exception {
+        return handleClientBoundPacket(channel, user, player, buffer, autoProtocolTranslation, null);
+    }
+
+    /**
+     * Calls the send event of a packet and re-encodes the buffer if a listener modified it.
+     *
+     * @return The processed event, null if the buffer was empty or the event was returned to the recycler.
+     * Events with tasks after send are never recycled, so they are always returned.
+     */
+    public static @Nullable PacketSendEvent handleClientBoundPacket(Object channel,
+                                                          User user,
+                                                          Object player,
+                                                          Object buffer,
+                                                          boolean autoProtocolTranslation,
+                                                          @Nullable PacketEventRecycler recycler) throws Exception {
         if (!ByteBufHelper.isReadable(buffer)) return null;
 
+        PacketCapture capture = PacketCapture.getActive();
+        if (capture != null) {
+            capture.record(PacketSide.SERVER, user, buffer, autoProtocolTranslation);
+        }
         int preProcessIndex = ByteBufHelper.readerIndex(buffer);
-        PacketSendEvent packetSendEvent = EventCreationUtil.createSendEvent(channel, user, player, buffer, autoProtocolTranslation);
-        int processIndex = ByteBufHelper.readerIndex(buffer);
-        PacketEvents.getAPI().getEventManager().callEvent(packetSendEvent, () -> {
-            ByteBufHelper.readerIndex(buffer, processIndex);
-        });
+        PacketSendEvent packetSendEvent = EventCreationUtil.createSendEvent(channel, user, player, buffer,
+                autoProtocolTranslation, recycler);
+        try {
+            handleClientBoundPacket(packetSendEvent, buffer, preProcessIndex);
+        } finally {
+            if (recycler != null && recycler.release(packetSendEvent)) {
+                // Handed out again for the next packet
+                packetSendEvent = null;
+            }
+        }
+        return packetSendEvent;
+    }
+
+    private static void handleClientBoundPacket(PacketSendEvent packetSendEvent, Object buffer, int preProcessIndex) {
+        PacketEvents.getAPI().getEventManager().callEvent(packetSendEvent);
         if (!packetSendEvent.isCancelled()) {
             //Did they ever use a wrapper?
             if (packetSendEvent.getLastUsedWrapper() != null) {
                 //Rewrite the buffer
                 ByteBufHelper.clear(buffer);
                 packetSendEvent.getLastUsedWrapper().writeVarInt(packetSendEvent.getPacketId());
-                packetSendEvent.getLastUsedWrapper().write();
+                ConfigurationPayloadCache.write(packetSendEvent.getLastUsedWrapper());
             } else {
                 //If no wrappers were used, just pass on the original buffer.
                 //Correct the reader index, basically what the next handler is expecting.
@@ -66,29 +99,54 @@ public class PacketEventsImplHelper {
                 task.run();
             }
         }
-
-        return packetSendEvent;
     }
 
     public static PacketReceiveEvent handleServerBoundPacket(Object channel, User user,
                                                              Object player,
                                                              Object buffer,
                                                              boolean autoProtocolTranslation) throws Exception {
+        return handleServerBoundPacket(channel, user, player, buffer, autoProtocolTranslation, null);
+    }
+
+    /**
+     * Calls the receive event of a packet and re-encodes the buffer if a listener modified it.
+     *
+     * @return The processed event, null if the buffer was empty or the event was returned to the recycler
+     */
+    public static @Nullable PacketReceiveEvent handleServerBoundPacket(Object channel, User user,
+                                                             Object player,
+                                                             Object buffer,
+                                                             boolean autoProtocolTranslation,
+                                                             @Nullable PacketEventRecycler recycler) throws Exception {
         if (!ByteBufHelper.isReadable(buffer)) return null;
 
+        PacketCapture capture = PacketCapture.getActive();
+        if (capture != null) {
+            capture.record(PacketSide.CLIENT, user, buffer, autoProtocolTranslation);
+        }
         int preProcessIndex = ByteBufHelper.readerIndex(buffer);
-        PacketReceiveEvent packetReceiveEvent = EventCreationUtil.createReceiveEvent(channel, user, player, buffer, autoProtocolTranslation);
-        int processIndex = ByteBufHelper.readerIndex(buffer);
-        PacketEvents.getAPI().getEventManager().callEvent(packetReceiveEvent, () -> {
-            ByteBufHelper.readerIndex(buffer, processIndex);
-        });
+        PacketReceiveEvent packetReceiveEvent = EventCreationUtil.createReceiveEvent(channel, user, player, buffer,
+                autoProtocolTranslation, recycler);
+        try {
+            handleServerBoundPacket(packetReceiveEvent, buffer, preProcessIndex);
+        } finally {
+            if (recycler != null && recycler.release(packetReceiveEvent)) {
+                // Handed out again for the next packet
+                packetReceiveEvent = null;
+            }
+        }
+        return packetReceiveEvent;
+    }
+
+    private static void handleServerBoundPacket(PacketReceiveEvent packetReceiveEvent, Object buffer, int preProcessIndex) {
+        PacketEvents.getAPI().getEventManager().callEvent(packetReceiveEvent);
         if (!packetReceiveEvent.isCancelled()) {
             //Did they ever use a wrapper?
             if (packetReceiveEvent.getLastUsedWrapper() != null) {
                 //Rewrite the buffer
                 ByteBufHelper.clear(buffer);
                 packetReceiveEvent.getLastUsedWrapper().writeVarInt(packetReceiveEvent.getPacketId());
-                packetReceiveEvent.getLastUsedWrapper().write();
+                ConfigurationPayloadCache.write(packetReceiveEvent.getLastUsedWrapper());
             } else {
                 //If no wrappers were used, just pass on the original buffer.
                 //Correct the reader index, basically what the next handler is expecting.
@@ -103,7 +161,6 @@ public class PacketEventsImplHelper {
                 task.run();
             }
         }
-        return packetReceiveEvent;
     }
 
     public static void handleDisconnection(Object channel, @Nullable UUID uuid) {
@@ -0,0 +1,124 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.util;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufOperator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Small, lossy cache for decoding highly repetitive strings (team names, objective names, identifiers).
+ * Every slot holds the most recently decoded string whose encoded bytes hash to it,
+ * so a hit costs one hash and one array comparison instead of decoding and allocating a new string.
+ */
+public final class StringCache {
+    private static final int SIZE = 1024; // must be a power of two
+    private static final int MAX_CACHED_LENGTH = 256;
+    private static final Entry[] ENTRIES = new Entry[SIZE];
+
+    private StringCache() {
+    }
+
+    /**
+     * Decodes the UTF-8 encoded bytes, returning a cached instance if the same bytes have been decoded before.
+     *
+     * @param bytes UTF-8 encoded string, must not be modified afterwards
+     * @return Decoded string
+     */
+    public static String decode(byte[] bytes) {
+        if (bytes.length > MAX_CACHED_LENGTH) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        int hash = Arrays.hashCode(bytes);
+        int slot = slot(hash);
+        // Entries are immutable, racing threads can at worst overwrite each other's entries
+        Entry entry = ENTRIES[slot];
+        if (entry != null && entry.hash == hash && Arrays.equals(entry.bytes, bytes)) {
+            return entry.value;
+        }
+        return insert(slot, hash, bytes);
+    }
+
+    /**
+     * Reads and decodes the next {@code length} UTF-8 encoded bytes of the buffer, returning a cached instance
+     * if the same bytes have been decoded before. The bytes are hashed and compared in place,
+     * so only a miss copies them out of the buffer.
+     *
+     * @param operator Operator of the buffer
+     * @param buffer   Buffer to read from
+     * @param length   Length of the encoded string in bytes
+     * @return Decoded string
+     */
+    public static String decode(ByteBufOperator operator, Object buffer, int length) {
+        if (length > MAX_CACHED_LENGTH) {
+            return operator.readUtf8(buffer, length);
+        }
+        int index = operator.readerIndex(buffer);
+        // Same hash as Arrays#hashCode(byte[]), so both decode methods share their entries
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + (byte) operator.getUnsignedByte(buffer, index + i);
+        }
+        int slot = slot(hash);
+        Entry entry = ENTRIES[slot];
+        if (entry != null && entry.hash == hash && entry.matches(operator, buffer, index, length)) {
+            operator.skipBytes(buffer, length);
+            return entry.value;
+        }
+        byte[] bytes = new byte[length];
+        operator.readBytes(buffer, bytes);
+        return insert(slot, hash, bytes);
+    }
+
+    private static int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+    private static String insert(int slot, int hash, byte[] bytes) {
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        ENTRIES[slot] = new Entry(hash, bytes, value);
+        return value;
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private final byte[] bytes;
+        private final String value;
+
+        private Entry(int hash, byte[] bytes, String value) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.value = value;
+        }
+
+        private boolean matches(ByteBufOperator operator, Object buffer, int index, int length) {
+            if (this.bytes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (this.bytes[i] != (byte) operator.getUnsignedByte(buffer, index + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
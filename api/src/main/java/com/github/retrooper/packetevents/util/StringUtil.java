@@ -26,4 +26,35 @@ public class StringUtil {
             return msg;
         }
     }
+
+    /**
+     * Computes the length of the UTF-8 encoded string without encoding it.
+     * Unpaired surrogates count as one byte, as they are replaced with '?' when encoded.
+     *
+     * @param value String
+     * @return Length of the encoded string in bytes
+     */
+    public static int utf8Length(String value) {
+        int charCount = value.length();
+        int length = charCount;
+        for (int i = 0; i < charCount; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                length += 1;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < charCount
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // Both chars of the pair are already counted once
+                    length += 2;
+                    i++;
+                }
+            } else {
+                length += 2;
+            }
+        }
+        return length;
+    }
 }
@@ -0,0 +1,447 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.util;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Thread-confined pool of zlib contexts and scratch buffers.
+ * Every {@link Inflater} and {@link Deflater} holds native zlib state and large internal buffers,
+ * so instead of allocating a new one per packet each thread keeps one of each kind around,
+ * resets it after use and hands it out again.
+ * <p>
+ * Everything acquired should be released again on the same thread, releasing it on another thread
+ * is supported but slower. Nested acquisitions on one thread get a fresh, unpooled instance which is ended on release.
+ * {@link #shutdown()} ends all pooled contexts deterministically.
+ */
+public final class ZlibPool {
+    // Scratch buffers above this size are not kept around
+    private static final int MAX_POOLED_BUFFER_SIZE = 4 * 1024 * 1024;
+    private static final int STREAM_BUFFER_SIZE = 512;
+    private static final int DEFLATE_BUFFER_SIZE = 8192;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final byte[] GZIP_HEADER = {
+            (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    // Weak, so contexts of dead threads can still be collected
+    private static final Set<Contexts> CONTEXTS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final ThreadLocal<Contexts> LOCAL = new ThreadLocal<>();
+
+    private ZlibPool() {
+    }
+
+    public static Inflater acquireInflater(boolean nowrap) {
+        Contexts contexts = contexts();
+        int slot = nowrap ? 1 : 0;
+        synchronized (contexts) {
+            if (!contexts.ended && !contexts.inflaterInUse[slot]) {
+                Inflater inflater = contexts.inflaters[slot];
+                if (inflater == null) {
+                    inflater = new Inflater(nowrap);
+                    contexts.inflaters[slot] = inflater;
+                }
+                contexts.inflaterInUse[slot] = true;
+                return inflater;
+            }
+        }
+        return new Inflater(nowrap);
+    }
+
+    public static void release(Inflater inflater) {
+        Contexts contexts = LOCAL.get();
+        if ((contexts == null || !contexts.release(inflater)) && !releaseToOwner(owner -> owner.release(inflater))) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @param nowrap true for raw deflate data (gzip), false for the zlib format
+     * @return a deflater with the default compression level
+     */
+    public static Deflater acquireDeflater(boolean nowrap) {
+        Contexts contexts = contexts();
+        int slot = nowrap ? 1 : 0;
+        synchronized (contexts) {
+            if (!contexts.ended && !contexts.deflaterInUse[slot]) {
+                Deflater deflater = contexts.deflaters[slot];
+                if (deflater == null) {
+                    deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+                    contexts.deflaters[slot] = deflater;
+                }
+                contexts.deflaterInUse[slot] = true;
+                return deflater;
+            }
+        }
+        return new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+    }
+
+    public static void release(Deflater deflater) {
+        Contexts contexts = LOCAL.get();
+        if ((contexts == null || !contexts.release(deflater)) && !releaseToOwner(owner -> owner.release(deflater))) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Hands out the scratch buffer of this thread, the contents are undefined.
+     *
+     * @param minLength Minimum length of the buffer
+     * @return a buffer of at least the given length
+     */
+    public static byte[] acquireBuffer(int minLength) {
+        if (minLength > MAX_POOLED_BUFFER_SIZE) {
+            return new byte[minLength];
+        }
+        Contexts contexts = contexts();
+        synchronized (contexts) {
+            if (contexts.bufferInUse || contexts.ended) {
+                return new byte[minLength];
+            }
+            byte[] buffer = contexts.buffer;
+            if (buffer == null || buffer.length < minLength) {
+                buffer = new byte[minLength];
+                contexts.buffer = buffer;
+            }
+            contexts.bufferInUse = true;
+            return buffer;
+        }
+    }
+
+    public static void release(byte[] buffer) {
+        Contexts contexts = LOCAL.get();
+        if (contexts == null || !contexts.release(buffer)) {
+            releaseToOwner(owner -> owner.release(buffer));
+        }
+    }
+
+    /**
+     * Compresses the inputs in the zlib format, one after another, and writes the result straight into the buffer.
+     *
+     * @param buffer Buffer to write to
+     * @param inputs Data to compress
+     * @return amount of compressed bytes written
+     */
+    public static int deflate(Object buffer, byte[]... inputs) {
+        int writerIndex = ByteBufHelper.writerIndex(buffer);
+        Deflater deflater = acquireDeflater(false);
+        byte[] scratch = acquireBuffer(DEFLATE_BUFFER_SIZE);
+        try {
+            for (byte[] input : inputs) {
+                deflater.setInput(input);
+                while (!deflater.needsInput()) {
+                    ByteBufHelper.writeBytes(buffer, scratch, 0, deflater.deflate(scratch));
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                ByteBufHelper.writeBytes(buffer, scratch, 0, deflater.deflate(scratch));
+            }
+        } finally {
+            release(scratch);
+            release(deflater);
+        }
+        return ByteBufHelper.writerIndex(buffer) - writerIndex;
+    }
+
+    /**
+     * Drop-in replacement for {@link java.util.zip.GZIPInputStream} reading through a pooled inflater.
+     * The inflater is released when the stream is closed. The trailer is verified like the JDK stream does,
+     * but concatenated members are not supported.
+     */
+    public static InputStream createGZIPInputStream(InputStream in) throws IOException {
+        readGZIPHeader(in);
+        return new GZIPInput(in, acquireInflater(true));
+    }
+
+    /**
+     * Drop-in replacement for {@link java.util.zip.GZIPOutputStream} writing through a pooled deflater.
+     * The deflater is released when the stream is closed.
+     */
+    public static OutputStream createGZIPOutputStream(OutputStream out) throws IOException {
+        out.write(GZIP_HEADER);
+        return new GZIPOutput(out, acquireDeflater(true));
+    }
+
+    /**
+     * Ends every pooled zlib context. Contexts still in use are ended once they are released.
+     * Threads using the pool afterwards start with new contexts.
+     */
+    public static void shutdown() {
+        List<Contexts> contexts;
+        synchronized (CONTEXTS) {
+            contexts = new ArrayList<>(CONTEXTS);
+            CONTEXTS.clear();
+        }
+        for (Contexts context : contexts) {
+            context.end();
+        }
+    }
+
+    // Slow path for objects released on another thread than the one they were acquired on
+    private static boolean releaseToOwner(Predicate<Contexts> release) {
+        List<Contexts> contexts;
+        synchronized (CONTEXTS) {
+            contexts = new ArrayList<>(CONTEXTS);
+        }
+        for (Contexts context : contexts) {
+            if (release.test(context)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Contexts contexts() {
+        Contexts contexts = LOCAL.get();
+        if (contexts == null || contexts.ended) {
+            contexts = new Contexts();
+            CONTEXTS.add(contexts);
+            LOCAL.set(contexts);
+        }
+        return contexts;
+    }
+
+    private static void readGZIPHeader(InputStream in) throws IOException {
+        if ((readUnsignedByte(in) | readUnsignedByte(in) << 8) != GZIP_MAGIC) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readUnsignedByte(in) != Deflater.DEFLATED) {
+            throw new ZipException("Unsupported compression method");
+        }
+        int flags = readUnsignedByte(in);
+        // Modification time, extra flags and operating system
+        skipBytes(in, 6);
+        if ((flags & FEXTRA) != 0) {
+            skipBytes(in, readUnsignedByte(in) | readUnsignedByte(in) << 8);
+        }
+        if ((flags & FNAME) != 0) {
+            while (readUnsignedByte(in) != 0) ;
+        }
+        if ((flags & FCOMMENT) != 0) {
+            while (readUnsignedByte(in) != 0) ;
+        }
+        if ((flags & FHCRC) != 0) {
+            skipBytes(in, 2);
+        }
+    }
+
+    private static int readUnsignedByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    private static void skipBytes(InputStream in, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readUnsignedByte(in);
+        }
+    }
+
+    private static long readUnsignedIntLE(InputStream in) throws IOException {
+        return readUnsignedByte(in) | readUnsignedByte(in) << 8 | readUnsignedByte(in) << 16
+                | (long) readUnsignedByte(in) << 24;
+    }
+
+    private static final class Contexts {
+        // Index 0 for the zlib format, index 1 for raw deflate data
+        private final Inflater[] inflaters = new Inflater[2];
+        private final boolean[] inflaterInUse = new boolean[2];
+        private final Deflater[] deflaters = new Deflater[2];
+        private final boolean[] deflaterInUse = new boolean[2];
+        private byte[] buffer;
+        private boolean bufferInUse;
+        private boolean ended;
+
+        /**
+         * @return false if the inflater doesn't belong to these contexts
+         */
+        private synchronized boolean release(Inflater inflater) {
+            for (int slot = 0; slot < 2; slot++) {
+                if (inflaters[slot] == inflater) {
+                    inflaterInUse[slot] = false;
+                    if (ended) {
+                        inflaters[slot] = null;
+                        inflater.end();
+                    } else {
+                        inflater.reset();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized boolean release(Deflater deflater) {
+            for (int slot = 0; slot < 2; slot++) {
+                if (deflaters[slot] == deflater) {
+                    deflaterInUse[slot] = false;
+                    if (ended) {
+                        deflaters[slot] = null;
+                        deflater.end();
+                    } else {
+                        deflater.reset();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized boolean release(byte[] buffer) {
+            if (this.buffer != buffer) {
+                return false;
+            }
+            bufferInUse = false;
+            return true;
+        }
+
+        private synchronized void end() {
+            ended = true;
+            buffer = null;
+            for (int slot = 0; slot < 2; slot++) {
+                if (inflaters[slot] != null && !inflaterInUse[slot]) {
+                    inflaters[slot].end();
+                    inflaters[slot] = null;
+                }
+                if (deflaters[slot] != null && !deflaterInUse[slot]) {
+                    deflaters[slot].end();
+                    deflaters[slot] = null;
+                }
+            }
+        }
+    }
+
+    private static final class GZIPInput extends InflaterInputStream {
+        private final CRC32 crc = new CRC32();
+        private boolean eos;
+        private boolean released;
+
+        private GZIPInput(InputStream in, Inflater inflater) {
+            super(in, inflater, STREAM_BUFFER_SIZE);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (eos) {
+                return -1;
+            }
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                readTrailer();
+                eos = true;
+            } else {
+                crc.update(b, off, n);
+            }
+            return n;
+        }
+
+        private void readTrailer() throws IOException {
+            InputStream trailer = in;
+            // The inflater may already have been handed the start of the trailer
+            int remaining = inf.getRemaining();
+            if (remaining > 0) {
+                trailer = new SequenceInputStream(new ByteArrayInputStream(buf, len - remaining, remaining), in);
+            }
+            if (readUnsignedIntLE(trailer) != crc.getValue()
+                    || readUnsignedIntLE(trailer) != (inf.getBytesWritten() & 0xFFFFFFFFL)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!released) {
+                released = true;
+                release(inf);
+            }
+            super.close();
+        }
+    }
+
+    private static final class GZIPOutput extends DeflaterOutputStream {
+        private final CRC32 crc = new CRC32();
+        private boolean released;
+
+        private GZIPOutput(OutputStream out, Deflater deflater) {
+            super(out, deflater, STREAM_BUFFER_SIZE);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!def.finished()) {
+                super.finish();
+                writeIntLE((int) crc.getValue());
+                writeIntLE((int) def.getBytesRead());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    release(def);
+                }
+            }
+        }
+
+        private void writeIntLE(int value) throws IOException {
+            out.write(value & 0xFF);
+            out.write((value >> 8) & 0xFF);
+            out.write((value >> 16) & 0xFF);
+            out.write((value >> 24) & 0xFF);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.github.retrooper.packetevents.PacketEvents;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.nbt.NBT;
 import com.github.retrooper.packetevents.protocol.stats.Statistics;
+import com.github.retrooper.packetevents.settings.PacketEventsSettings;
 import com.google.gson.JsonElement;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
@@ -34,6 +35,8 @@ public class AdventureSerializer {
     private static GsonComponentSerializer GSON;
     private static LegacyComponentSerializer LEGACY;
     private static AdventureNBTSerializer NBT;
+    // Created once, also remembers if the cache has been disabled
+    private static volatile ComponentCacheHolder CACHE;
 
     public static GsonComponentSerializer getGsonSerializer() {
         if (GSON == null) {
@@ -77,6 +80,28 @@ public class AdventureSerializer {
         return NBT;
     }
 
+    /**
+     * Cache of encoded components, null if disabled in the settings.
+     *
+     * @return Component cache
+     */
+    public static ComponentCache getComponentCache() {
+        ComponentCacheHolder holder = CACHE;
+        if (holder == null) {
+            synchronized (AdventureSerializer.class) {
+                holder = CACHE;
+                if (holder == null) {
+                    PacketEventsSettings settings = PacketEvents.getAPI().getSettings();
+                    int size = settings.getComponentCacheSize();
+                    holder = new ComponentCacheHolder(size > 0
+                            ? new ComponentCache(size, settings.shouldRetainRawComponents()) : null);
+                    CACHE = holder;
+                }
+            }
+        }
+        return holder.cache;
+    }
+
     public static String asVanilla(Component component) {
         return getLegacySerializer().serialize(component);
     }
@@ -113,4 +138,12 @@ public class AdventureSerializer {
         return getNBTSerializer().serialize(component);
     }
 
+    private static final class ComponentCacheHolder {
+        private final ComponentCache cache;
+
+        private ComponentCacheHolder(ComponentCache cache) {
+            this.cache = cache;
+        }
+    }
+
 }
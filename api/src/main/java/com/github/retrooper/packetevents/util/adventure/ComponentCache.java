@@ -0,0 +1,208 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.util.adventure;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.netty.buffer.UnpooledByteBufAllocationHelper;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import net.kyori.adventure.text.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache from {@link Component}s to their encoded form.
+ * Components are immutable, so the same (or an equal) component always encodes to the same bytes
+ * within one protocol era. Lookups first compare by identity and then fall back to equality.
+ * <p>
+ * If raw components are retained, the identity level only holds the bytes components have been read from,
+ * so components written by plugins don't evict them.
+ */
+public final class ComponentCache {
+    private final LruMap identityCache;
+    private final LruMap equalityCache;
+    private final boolean retainRawComponents;
+
+    public ComponentCache(int maxSize) {
+        this(maxSize, false);
+    }
+
+    public ComponentCache(int maxSize, boolean retainRawComponents) {
+        this.identityCache = new LruMap(maxSize);
+        this.equalityCache = new LruMap(maxSize);
+        this.retainRawComponents = retainRawComponents;
+    }
+
+    /**
+     * @return Whether the bytes of decoded components should be passed to {@link #retain}
+     */
+    public boolean isRetainingRawComponents() {
+        return retainRawComponents;
+    }
+
+    /**
+     * Returns the encoded form of the component for the given server version.
+     * The component is only serialized if neither the same nor an equal component is cached.
+     *
+     * @param component     Component to encode
+     * @param serverVersion Version to encode the component for
+     * @return Encoded component, must not be modified
+     */
+    public byte[] encode(Component component, ServerVersion serverVersion) {
+        Era era = Era.of(serverVersion);
+        IdentityKey identityKey = new IdentityKey(era, component);
+        byte[] bytes = identityCache.getSync(identityKey);
+        if (bytes != null) {
+            return bytes;
+        }
+
+        EqualityKey equalityKey = new EqualityKey(era, component);
+        bytes = equalityCache.getSync(equalityKey);
+        if (bytes == null) {
+            bytes = serialize(component, serverVersion);
+            equalityCache.putSync(equalityKey, bytes);
+        }
+        if (!retainRawComponents) {
+            identityCache.putSync(identityKey, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Remembers the bytes a component has been decoded from.
+     * If the exact same component instance is written again, these bytes are re-emitted verbatim.
+     *
+     * @param component     Decoded component
+     * @param serverVersion Version the component has been decoded with
+     * @param bytes         Encoded component
+     */
+    public void retain(Component component, ServerVersion serverVersion, byte[] bytes) {
+        identityCache.putSync(new IdentityKey(Era.of(serverVersion), component), bytes);
+    }
+
+    public void clear() {
+        identityCache.clearSync();
+        equalityCache.clearSync();
+    }
+
+    private static byte[] serialize(Component component, ServerVersion serverVersion) {
+        Object buffer = UnpooledByteBufAllocationHelper.buffer();
+        try {
+            PacketWrapper<?> wrapper = PacketWrapper.createUniversalPacketWrapper(buffer);
+            wrapper.setServerVersion(serverVersion);
+            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_3)) {
+                wrapper.writeComponentAsNBT(component);
+            } else {
+                wrapper.writeComponentAsJSON(component);
+            }
+            return ByteBufHelper.copyBytes(buffer);
+        } finally {
+            ByteBufHelper.release(buffer);
+        }
+    }
+
+    private enum Era {
+        // Components are sent as nbt since 1.20.3
+        NBT,
+        // The maximum json length has been raised in 1.13
+        JSON,
+        LEGACY_JSON;
+
+        private static Era of(ServerVersion serverVersion) {
+            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_3)) {
+                return NBT;
+            }
+            return serverVersion.isNewerThanOrEquals(ServerVersion.V_1_13) ? JSON : LEGACY_JSON;
+        }
+    }
+
+    private static final class IdentityKey {
+        private final Era era;
+        private final Component component;
+
+        private IdentityKey(Era era, Component component) {
+            this.era = era;
+            this.component = component;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof IdentityKey)) return false;
+            IdentityKey other = (IdentityKey) obj;
+            return era == other.era && component == other.component;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(component) + era.ordinal();
+        }
+    }
+
+    private static final class EqualityKey {
+        private final Era era;
+        private final Component component;
+        private final int hash;
+
+        private EqualityKey(Era era, Component component) {
+            this.era = era;
+            this.component = component;
+            this.hash = 31 * component.hashCode() + era.ordinal();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof EqualityKey)) return false;
+            EqualityKey other = (EqualityKey) obj;
+            return hash == other.hash && era == other.era && component.equals(other.component);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class LruMap extends LinkedHashMap<Object, byte[]> {
+        private final int maxSize;
+
+        private LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, byte[]> eldest) {
+            return size() > maxSize;
+        }
+
+        private synchronized byte[] getSync(Object key) {
+            return get(key);
+        }
+
+        private synchronized void putSync(Object key, byte[] bytes) {
+            put(key, bytes);
+        }
+
+        private synchronized void clearSync() {
+            clear();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.util.capture;
+
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.PacketSide;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+
+/**
+ * A packet read from a capture file, see {@link PacketCapture}.
+ */
+public final class CapturedPacket {
+    private final long timestamp;
+    private final int connectionId;
+    private final PacketSide side;
+    private final ConnectionState state;
+    private final int protocolVersion;
+    private final byte[] data;
+
+    public CapturedPacket(long timestamp, int connectionId, PacketSide side, ConnectionState state,
+                          int protocolVersion, byte[] data) {
+        this.timestamp = timestamp;
+        this.connectionId = connectionId;
+        this.side = side;
+        this.state = state;
+        this.protocolVersion = protocolVersion;
+        this.data = data;
+    }
+
+    /**
+     * @return Time the packet was captured at, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return Identifier of the connection the packet was captured on, unique within one capture session
+     */
+    public int getConnectionId() {
+        return connectionId;
+    }
+
+    /**
+     * @return Side that sent the packet
+     */
+    public PacketSide getSide() {
+        return side;
+    }
+
+    public ConnectionState getState() {
+        return state;
+    }
+
+    /**
+     * @return Protocol version the packet was decoded with
+     */
+    public int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    public ClientVersion getClientVersion() {
+        return ClientVersion.getById(protocolVersion);
+    }
+
+    /**
+     * @return Packet id and payload, as they were passed to the listeners
+     */
+    public byte[] getData() {
+        return data;
+    }
+}
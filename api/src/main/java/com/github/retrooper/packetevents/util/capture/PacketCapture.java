@@ -0,0 +1,254 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.util.capture;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.PacketSide;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.player.User;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Records the raw packets passing through packetevents into an append-only binary file,
+ * which can be replayed without a running server using {@link PacketReplay}.
+ * <p>
+ * The file starts with {@link #MAGIC} and {@link #FORMAT_VERSION}, followed by one record per packet:
+ * the timestamp in milliseconds (long), the connection id (VarInt), the side and connection state
+ * (byte, the side in the lowest bit), the protocol version (VarInt), the length of the packet (VarInt)
+ * and the packet id with its payload.
+ * Capturing to an existing file appends to it, connection ids are only unique within one session.
+ * <p>
+ * Packets are written by a single background thread, so recording never blocks the netty event loops.
+ * If the writer falls behind by more than {@link #MAX_QUEUED_PACKETS}, further packets are dropped and counted.
+ */
+public final class PacketCapture implements Closeable {
+    public static final int MAGIC = 0x50454350; // "PECP"
+    public static final int FORMAT_VERSION = 1;
+    public static final int MAX_QUEUED_PACKETS = 8192;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000L;
+
+    private static volatile PacketCapture ACTIVE;
+
+    private final File file;
+    private final DataOutputStream output;
+    private final BlockingQueue<Record> queue = new ArrayBlockingQueue<>(MAX_QUEUED_PACKETS);
+    private final AtomicLong droppedPackets = new AtomicLong();
+    private final Thread writer;
+    // Only accessed by the writer thread
+    private final Map<User, Integer> connectionIds = new WeakHashMap<>();
+    private int nextConnectionId;
+    private volatile boolean closed;
+
+    private PacketCapture(File file) throws IOException {
+        this.file = file;
+        boolean empty = !file.exists() || file.length() == 0;
+        this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        if (empty) {
+            output.writeInt(MAGIC);
+            output.writeByte(FORMAT_VERSION);
+        }
+        this.writer = new Thread(this::writeRecords, "packetevents-capture-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Starts capturing all packets handled by packetevents, replacing the previous capture.
+     *
+     * @param file File to append the packets to
+     * @return The new capture
+     * @throws IOException If the file couldn't be opened
+     */
+    public static PacketCapture start(File file) throws IOException {
+        PacketCapture capture = new PacketCapture(file);
+        PacketCapture previous = ACTIVE;
+        ACTIVE = capture;
+        if (previous != null) {
+            previous.close();
+        }
+        return capture;
+    }
+
+    /**
+     * Stops the running capture, if there is one, and flushes it to disk.
+     */
+    public static void stop() {
+        PacketCapture capture = ACTIVE;
+        ACTIVE = null;
+        if (capture != null) {
+            capture.close();
+        }
+    }
+
+    /**
+     * @return The running capture, null if no packets are captured
+     */
+    public static @Nullable PacketCapture getActive() {
+        return ACTIVE;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return Amount of packets dropped because the writer thread couldn't keep up
+     */
+    public long getDroppedPackets() {
+        return droppedPackets.get();
+    }
+
+    /**
+     * Appends the readable bytes of the buffer, without modifying its indices.
+     *
+     * @param side                    Side that sent the packet
+     * @param user                    User the packet belongs to
+     * @param buffer                  Buffer starting with the packet id
+     * @param autoProtocolTranslation Whether the packet is decoded with the server version
+     */
+    public void record(PacketSide side, User user, Object buffer, boolean autoProtocolTranslation) {
+        // Same version the event decodes the packet with
+        ClientVersion version = autoProtocolTranslation || user.getClientVersion() == null
+                ? PacketEvents.getAPI().getServerManager().getVersion().toClientVersion()
+                : user.getClientVersion();
+        byte[] data = new byte[ByteBufHelper.readableBytes(buffer)];
+        ByteBufHelper.getBytes(buffer, ByteBufHelper.readerIndex(buffer), data);
+        int sideAndState = (side == PacketSide.SERVER ? 1 : 0)
+                | (side == PacketSide.SERVER ? user.getEncoderState() : user.getDecoderState()).ordinal() << 1;
+
+        if (closed) {
+            return;
+        }
+        if (!queue.offer(new Record(System.currentTimeMillis(), user, sideAndState,
+                version.getProtocolVersion(), data))) {
+            droppedPackets.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops accepting packets and waits for the queued ones to be written.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        writer.interrupt();
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long dropped = droppedPackets.get();
+        if (dropped != 0) {
+            PacketEvents.getAPI().getLogger().warning("The packet capture " + file + " dropped " + dropped
+                    + " packets, as they couldn't be written fast enough.");
+        }
+    }
+
+    private void writeRecords() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Record record;
+                try {
+                    record = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    // Woken up by close, write what is left
+                    continue;
+                }
+                if (record == null) {
+                    continue;
+                }
+                write(record);
+                if (queue.isEmpty()) {
+                    output.flush();
+                }
+            }
+        } catch (IOException e) {
+            PacketEvents.getAPI().getLogger().log(Level.WARNING, "Failed to write to the packet capture " + file + ", stopping it.", e);
+            closed = true;
+            if (ACTIVE == this) {
+                ACTIVE = null;
+            }
+            queue.clear();
+        } finally {
+            try {
+                output.close();
+            } catch (IOException e) {
+                PacketEvents.getAPI().getLogger().log(Level.WARNING, "Failed to close the packet capture " + file, e);
+            }
+        }
+    }
+
+    private void write(Record record) throws IOException {
+        Integer connectionId = connectionIds.get(record.user);
+        if (connectionId == null) {
+            connectionId = nextConnectionId++;
+            connectionIds.put(record.user, connectionId);
+        }
+        output.writeLong(record.timestamp);
+        writeVarInt(output, connectionId);
+        output.writeByte(record.sideAndState);
+        writeVarInt(output, record.protocolVersion);
+        writeVarInt(output, record.data.length);
+        output.write(record.data);
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static final class Record {
+        private final long timestamp;
+        private final User user;
+        private final int sideAndState;
+        private final int protocolVersion;
+        private final byte[] data;
+
+        private Record(long timestamp, User user, int sideAndState, int protocolVersion, byte[] data) {
+            this.timestamp = timestamp;
+            this.user = user;
+            this.sideAndState = sideAndState;
+            this.protocolVersion = protocolVersion;
+            this.data = data;
+        }
+    }
+}
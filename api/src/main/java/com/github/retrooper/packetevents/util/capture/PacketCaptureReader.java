@@ -0,0 +1,109 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.util.capture;
+
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.PacketSide;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the packets of a file written by {@link PacketCapture}, in the order they were captured.
+ */
+public final class PacketCaptureReader implements Closeable {
+    private static final ConnectionState[] STATES = ConnectionState.values();
+
+    private final DataInputStream input;
+
+    public PacketCaptureReader(File file) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (input.readInt() != PacketCapture.MAGIC) {
+                throw new IOException(file + " is not a packet capture");
+            }
+            int version = input.readUnsignedByte();
+            if (version != PacketCapture.FORMAT_VERSION) {
+                throw new IOException("Unsupported packet capture format " + version + " in " + file);
+            }
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads all packets of the file.
+     */
+    public static List<CapturedPacket> readAll(File file) throws IOException {
+        List<CapturedPacket> packets = new ArrayList<>();
+        try (PacketCaptureReader reader = new PacketCaptureReader(file)) {
+            CapturedPacket packet;
+            while ((packet = reader.next()) != null) {
+                packets.add(packet);
+            }
+        }
+        return packets;
+    }
+
+    /**
+     * @return The next packet, null at the end of the file.
+     * A record cut off by a capture that didn't shut down properly counts as the end.
+     */
+    public @Nullable CapturedPacket next() throws IOException {
+        try {
+            long timestamp = input.readLong();
+            int connectionId = readVarInt();
+            int sideAndState = input.readUnsignedByte();
+            PacketSide side = (sideAndState & 1) != 0 ? PacketSide.SERVER : PacketSide.CLIENT;
+            ConnectionState state = STATES[sideAndState >> 1];
+            int protocolVersion = readVarInt();
+            byte[] data = new byte[readVarInt()];
+            input.readFully(data);
+            return new CapturedPacket(timestamp, connectionId, side, state, protocolVersion, data);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = input.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.util.capture;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.netty.buffer.UnpooledByteBufAllocationHelper;
+import com.github.retrooper.packetevents.protocol.PacketSide;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.protocol.player.UserProfile;
+import com.github.retrooper.packetevents.util.PacketEventsImplHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Feeds captured packets through the same handling as the platform encoders and decoders,
+ * so the registered listeners and the wrappers they use process them like live traffic.
+ * No server is needed, only an initialized {@link com.github.retrooper.packetevents.PacketEventsAPI}.
+ * <p>
+ * Packets are replayed as fast as possible, ignoring the time between them.
+ * Each simulated user replays the whole capture, with its own {@link User} per captured connection.
+ */
+public final class PacketReplay {
+    private final List<CapturedPacket> packets;
+
+    public PacketReplay(List<CapturedPacket> packets) {
+        this.packets = Collections.unmodifiableList(new ArrayList<>(packets));
+    }
+
+    public static PacketReplay load(File file) throws IOException {
+        return new PacketReplay(PacketCaptureReader.readAll(file));
+    }
+
+    public List<CapturedPacket> getPackets() {
+        return packets;
+    }
+
+    /**
+     * Replays the capture once on the calling thread.
+     */
+    public ReplayResult replay() {
+        return replay(1, 1);
+    }
+
+    /**
+     * Replays the capture for every simulated user, the users are spread over the given amount of threads.
+     * The packets of a single user are always replayed in order on one thread.
+     *
+     * @param users   Amount of simulated users
+     * @param threads Amount of threads to replay on, 1 replays on the calling thread
+     * @return Combined result of all users
+     */
+    public ReplayResult replay(int users, int threads) {
+        if (users < 1 || threads < 1) {
+            throw new IllegalArgumentException("Users and threads must be positive");
+        }
+        long start = System.nanoTime();
+        ReplayResult result = new ReplayResult();
+        if (threads == 1) {
+            for (int user = 0; user < users; user++) {
+                replayUser(result);
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<ReplayResult>> futures = new ArrayList<>(users);
+                for (int user = 0; user < users; user++) {
+                    futures.add(executor.submit(() -> replayUser(new ReplayResult())));
+                }
+                for (Future<ReplayResult> future : futures) {
+                    result.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while replaying", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to replay", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        result.setDurationNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    private ReplayResult replayUser(ReplayResult result) {
+        Map<Integer, User> connections = new HashMap<>();
+        for (CapturedPacket packet : packets) {
+            User user = connections.computeIfAbsent(packet.getConnectionId(), id -> new User(null,
+                    packet.getState(), packet.getClientVersion(), new UserProfile(UUID.randomUUID(), "Replay" + id)));
+            ClientVersion version = packet.getClientVersion();
+            if (user.getClientVersion() != version) {
+                user.setClientVersion(version);
+            }
+
+            byte[] data = packet.getData();
+            Object buffer = UnpooledByteBufAllocationHelper.buffer(data.length);
+            ByteBufHelper.writeBytes(buffer, data);
+            long start = System.nanoTime();
+            try {
+                if (packet.getSide() == PacketSide.SERVER) {
+                    if (user.getEncoderState() != packet.getState()) {
+                        user.setEncoderState(packet.getState());
+                    }
+                    PacketEventsImplHelper.handleClientBoundPacket(null, user, null, buffer, false);
+                } else {
+                    if (user.getDecoderState() != packet.getState()) {
+                        user.setDecoderState(packet.getState());
+                    }
+                    PacketEventsImplHelper.handleServerBoundPacket(null, user, null, buffer, false);
+                }
+                result.record(System.nanoTime() - start);
+            } catch (Exception e) {
+                result.recordFailure(e);
+            } finally {
+                ByteBufHelper.release(buffer);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.util.capture;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Throughput and latency of a {@link PacketReplay}.
+ * The latency of a packet is the time spent handling it, including all listeners.
+ */
+public final class ReplayResult {
+    private long packets;
+    private long failures;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private long durationNanos;
+    private Throwable firstFailure;
+
+    void record(long latencyNanos) {
+        packets++;
+        totalLatencyNanos += latencyNanos;
+        if (latencyNanos > maxLatencyNanos) {
+            maxLatencyNanos = latencyNanos;
+        }
+    }
+
+    void recordFailure(Throwable cause) {
+        failures++;
+        if (firstFailure == null) {
+            firstFailure = cause;
+        }
+    }
+
+    void add(ReplayResult result) {
+        packets += result.packets;
+        failures += result.failures;
+        totalLatencyNanos += result.totalLatencyNanos;
+        maxLatencyNanos = Math.max(maxLatencyNanos, result.maxLatencyNanos);
+        if (firstFailure == null) {
+            firstFailure = result.firstFailure;
+        }
+    }
+
+    void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return Amount of packets that were handled successfully
+     */
+    public long getPackets() {
+        return packets;
+    }
+
+    /**
+     * @return Amount of packets whose handling threw an exception, like packets unknown to the protocol version
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return Exception thrown by the first packet that failed, null if none did
+     */
+    public @Nullable Throwable getFirstFailure() {
+        return firstFailure;
+    }
+
+    /**
+     * @return Wall clock time of the whole replay
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public double getPacketsPerSecond() {
+        return durationNanos == 0 ? 0 : packets * 1_000_000_000D / durationNanos;
+    }
+
+    public double getAverageLatencyNanos() {
+        return packets == 0 ? 0 : (double) totalLatencyNanos / packets;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayResult{" +
+                "packets=" + packets +
+                ", failures=" + failures +
+                ", durationNanos=" + durationNanos +
+                ", packetsPerSecond=" + getPacketsPerSecond() +
+                ", averageLatencyNanos=" + getAverageLatencyNanos() +
+                ", maxLatencyNanos=" + maxLatencyNanos +
+                '}';
+    }
+}
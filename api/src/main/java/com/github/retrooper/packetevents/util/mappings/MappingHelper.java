@@ -23,21 +23,19 @@ import com.github.retrooper.packetevents.protocol.mapper.MappedEntity;
 import com.github.retrooper.packetevents.protocol.nbt.*;
 import com.github.retrooper.packetevents.protocol.nbt.serializer.DefaultNBTSerializer;
 import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.util.ZlibPool;
 
 import java.io.BufferedInputStream;
 import java.io.DataInputStream;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
 
 public class MappingHelper {
 
     public static NBTCompound decompress(final String path) {
         NBTLimiter limiter = new NBTLimiter();
-        try (final DataInputStream dataInput = new DataInputStream(new GZIPInputStream(new BufferedInputStream(
+        try (final DataInputStream dataInput = new DataInputStream(ZlibPool.createGZIPInputStream(new BufferedInputStream(
                 PacketEvents.getAPI().getSettings().getResourceProvider().apply( "assets/" + path + ".nbt"))))) {
             return (NBTCompound) DefaultNBTSerializer.INSTANCE.deserializeTag(limiter, dataInput);
         } catch (Exception e) {
@@ -45,55 +43,19 @@ public class MappingHelper {
         }
     }
 
-    public static ListDiff<String>[] createListDiff(final NBTCompound compound) {
-        final NBTList<NBTCompound> additions = compound.getCompoundListTagOrThrow("additions");
-        final NBTList<NBTCompound> removals = compound.getCompoundListTagOrThrow("removals");
-        final NBTList<NBTCompound> changes = compound.getCompoundListTagOrThrow("changes");
-
-        final ListDiff<String>[] diffs = new ListDiff[additions.size() + removals.size() + changes.size()];
-        int index = 0;
-        for (NBTCompound entry : removals.getTags()) {
-            diffs[index++] = new ListDiff.Removal<>(
-                    entry.getNumberTagOrThrow("pos").getAsInt(),
-                    entry.getNumberTagOrThrow("size").getAsInt()
-            );
-        }
-
-        for (NBTCompound entry : additions.getTags()) {
-            diffs[index++] = new ListDiff.Addition<>(
-                    entry.getNumberTagOrThrow("pos").getAsInt(),
-                    entry.getStringListTagOrThrow("lines").getTags().stream().map(NBTString::getValue).collect(Collectors.toList())
-            );
-        }
-
-        for (NBTCompound entry : changes.getTags()) {
-            diffs[index++] = new ListDiff.Changed<>(
-                    entry.getNumberTagOrThrow("pos").getAsInt(),
-                    entry.getNumberTagOrThrow("size").getAsInt(),
-                    entry.getStringListTagOrThrow("lines").getTags().stream().map(NBTString::getValue).collect(Collectors.toList())
-            );
-        }
-
-        Arrays.sort(diffs, Comparator.comparingInt(ListDiff::getIndex));
-
-        return diffs;
-    }
-
-    public static MapDiff<String, Integer>[] createDiff(final NBTCompound compound) {
-        final NBTCompound additions = compound.getCompoundTagOrThrow("additions");
-        final NBTCompound removal = compound.getCompoundTagOrThrow("removals");
-
-        final MapDiff<String, Integer>[] diffs = new MapDiff[additions.size() + removal.size()];
-        int index = 0;
-        for (Map.Entry<String, NBT> entry : removal.getTags().entrySet()) {
-            diffs[index++] = new MapDiff.Removal<>(entry.getKey());
+    /**
+     * Opens a mapping file written in the indexed format, see {@link TypesBuilder}.
+     */
+    public static DataInputStream openIndexed(final String path) {
+        final InputStream stream = PacketEvents.getAPI().getSettings().getResourceProvider().apply("assets/" + path + ".bin");
+        if (stream == null) {
+            throw new RuntimeException("Cannot find resource file " + path + ".bin");
         }
-
-        for (Map.Entry<String, NBT> entry : additions.getTags().entrySet()) {
-            diffs[index++] = new MapDiff.Addition<>(entry.getKey(), ((NBTNumber) entry.getValue()).getAsInt());
+        try {
+            return new DataInputStream(ZlibPool.createGZIPInputStream(new BufferedInputStream(stream)));
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot read resource file " + path + ".bin", e);
         }
-
-        return diffs;
     }
 
     public static  <T extends MappedEntity> void registerMapping(TypesBuilder builder, Map<String, T> typeMap, Map<Byte, Map<Integer, T>> typeIdMap, T type) {
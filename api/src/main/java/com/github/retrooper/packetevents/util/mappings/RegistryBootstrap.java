@@ -0,0 +1,158 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.util.mappings;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.protocol.component.ComponentTypes;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
+import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
+import com.github.retrooper.packetevents.protocol.item.type.ItemTypes;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.particle.type.ParticleTypes;
+import com.github.retrooper.packetevents.protocol.potion.PotionTypes;
+import com.github.retrooper.packetevents.protocol.sound.Sounds;
+import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
+import com.github.retrooper.packetevents.protocol.world.states.type.StateTypes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Initializes the registries while packetevents is loading, so the first packets of a connection
+ * never wait for a static initializer.
+ * Registries are initialized on a fork-join pool, each one as soon as the registries it depends on are done.
+ * <p>
+ * A registry must be listed after its dependencies. Registries without a dependency between them must not
+ * touch each other in their static initializers, as class initialization on two threads could deadlock.
+ */
+public final class RegistryBootstrap {
+
+    private static final List<Registry> REGISTRIES = new ArrayList<>();
+    private static volatile Map<String, Long> timings;
+
+    static {
+        register("StateTypes", () -> initialize(StateTypes.class));
+        register("ComponentTypes", () -> initialize(ComponentTypes.class));
+        register("PotionTypes", () -> initialize(PotionTypes.class));
+        // Item types reference the block they place, their default components and potions
+        register("ItemTypes", () -> initialize(ItemTypes.class), "StateTypes", "ComponentTypes", "PotionTypes");
+        register("EntityTypes", () -> initialize(EntityTypes.class));
+        register("EntityDataTypes", () -> initialize(EntityDataTypes.class));
+        register("ParticleTypes", () -> initialize(ParticleTypes.class));
+        register("Sounds", () -> initialize(Sounds.class));
+        // Clients of any version may connect through protocol translation or a proxy
+        register("BlockStates", WrappedBlockState::ensureLoadAll, "StateTypes");
+        register("PacketTypes", () -> {
+            if (!PacketType.isPrepared()) {
+                PacketType.prepare();
+            }
+        });
+    }
+
+    private RegistryBootstrap() {
+    }
+
+    private static void register(String name, Runnable loader, String... dependencies) {
+        REGISTRIES.add(new Registry(name, loader, dependencies));
+    }
+
+    private static void initialize(Class<?> registryClass) {
+        try {
+            Class.forName(registryClass.getName(), true, registryClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Initializes all registries, waiting until every registry is done.
+     * Calling this again after a successful bootstrap does nothing.
+     *
+     * @return Time it took to initialize each registry in nanoseconds, in registration order
+     */
+    public static synchronized Map<String, Long> bootstrap() {
+        if (timings != null) {
+            return timings;
+        }
+        int parallelism = Math.max(1, Math.min(REGISTRIES.size(), Runtime.getRuntime().availableProcessors()));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Map<String, Long> took = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<Void>> tasks = new HashMap<>();
+        long start = System.nanoTime();
+        try {
+            for (Registry registry : REGISTRIES) {
+                CompletableFuture<?>[] dependencies = new CompletableFuture[registry.dependencies.length];
+                for (int i = 0; i < dependencies.length; i++) {
+                    dependencies[i] = tasks.get(registry.dependencies[i]);
+                }
+                tasks.put(registry.name, CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                    long registryStart = System.nanoTime();
+                    registry.loader.run();
+                    took.put(registry.name, System.nanoTime() - registryStart);
+                }, pool));
+            }
+            CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to initialize the registries", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (Registry registry : REGISTRIES) {
+            long nanos = took.get(registry.name);
+            ordered.put(registry.name, nanos);
+            PacketEvents.getAPI().getLogManager().debug("Initialized " + registry.name + " in "
+                    + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms");
+        }
+        PacketEvents.getAPI().getLogManager().debug("Initialized all registries in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        timings = Collections.unmodifiableMap(ordered);
+        return timings;
+    }
+
+    /**
+     * @return Time it took to initialize each registry in nanoseconds, empty if {@link #bootstrap()} didn't run
+     */
+    public static Map<String, Long> getTimings() {
+        Map<String, Long> timings = RegistryBootstrap.timings;
+        return timings != null ? timings : Collections.emptyMap();
+    }
+
+    private static final class Registry {
+        private final String name;
+        private final Runnable loader;
+        private final String[] dependencies;
+
+        private Registry(String name, Runnable loader, String[] dependencies) {
+            this.name = name;
+            this.loader = loader;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -18,21 +18,27 @@
 
 package com.github.retrooper.packetevents.util.mappings;
 
-import com.github.retrooper.packetevents.protocol.nbt.*;
 import com.github.retrooper.packetevents.protocol.player.ClientVersion;
 import com.github.retrooper.packetevents.resources.ResourceLocation;
 import com.github.retrooper.packetevents.util.VersionMapper;
 
-import java.util.AbstractMap;
+import java.io.DataInputStream;
+import java.io.IOException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
+/**
+ * Loads the ids of a registry for every version from its mapping file.
+ * The file is written pre-indexed by the build: one string table shared by all versions and an id table
+ * per version, so defining an entry only looks up its index in the string table.
+ */
 public class TypesBuilder {
+    private static final int INDEXED_VERSION = 2;
+
     private final String mapPath;
-    private Map<ClientVersion, Map<String, Integer>> entries = new HashMap<>();
+    private Map<String, Integer> nameIndex;
+    // Id of every name in the string table, per version
+    private int[][] ids;
     private VersionMapper versionMapper;
 
     public TypesBuilder(String mapPath, boolean lazy) {
@@ -47,69 +53,49 @@ public class TypesBuilder {
     }
 
     public void load() {
-        final NBTCompound compound = MappingHelper.decompress("mappings/" + mapPath);
-        final ClientVersion start = ClientVersion.valueOf(compound.getStringTagValueOrThrow("start"));
-        final NBTCompound entries = compound.getCompoundTagOrThrow("entries");
-
-        final ClientVersion[] versions = new ClientVersion[entries.size()];
-        int index = 0;
-        for (final String name : entries.getTagNames()) {
-            versions[index] = ClientVersion.valueOf(name);
-            index++;
-        }
-
-        this.versionMapper = new VersionMapper(versions);
-
-        if (entries.getTagOrThrow(start.name()).getType().equals(NBTType.LIST)) {
-            loadAsArray(start, entries, versions);
-        } else {
-            loadAsMap(start, entries, versions);
-        }
-    }
-
-    private void loadAsArray(final ClientVersion start, final NBTCompound entries, final ClientVersion[] versions) {
-        final List<String> lastEntries = entries.getStringListTagOrThrow(start.name()).getTags().stream().map(NBTString::getValue).collect(Collectors.toList());
-
-        final Consumer<ClientVersion> mapLoader = version -> {
-            final Map<String, Integer> map = new HashMap<>();
-            for (int i = 0; i < lastEntries.size(); i++) {
-                map.put(lastEntries.get(i), i);
+        try (DataInputStream input = MappingHelper.openIndexed("mappings/" + mapPath)) {
+            int formatVersion = input.readUnsignedByte();
+            if (formatVersion != INDEXED_VERSION) {
+                throw new IOException("Unsupported mapping format " + formatVersion);
             }
-            this.entries.put(version, map);
-        };
-        mapLoader.accept(start);
 
-        for (int i = 1; i < versions.length; i++) {
-            final ClientVersion version = versions[i];
-            final ListDiff<String>[] diff = MappingHelper.createListDiff(entries.getCompoundTagOrThrow(version.name()));
+            final String[] names = new String[input.readInt()];
+            final Map<String, Integer> nameIndex = new HashMap<>((int) (names.length / 0.75f) + 1);
+            for (int i = 0; i < names.length; i++) {
+                names[i] = input.readUTF();
+                nameIndex.put(names[i], i);
+            }
 
-            for (int j = diff.length - 1; j >= 0; j--) {
-                diff[j].applyTo(lastEntries);
+            final ClientVersion[] versions = new ClientVersion[input.readUnsignedByte()];
+            final int[][] ids = new int[versions.length][];
+            for (int version = 0; version < versions.length; version++) {
+                versions[version] = ClientVersion.valueOf(input.readUTF());
+                final int[] table = new int[names.length];
+                for (int i = 0; i < table.length; i++) {
+                    // Ids are offset by one, so missing entries are -1
+                    table[i] = readVarInt(input) - 1;
+                }
+                ids[version] = table;
             }
-            mapLoader.accept(version);
+
+            this.nameIndex = nameIndex;
+            this.ids = ids;
+            this.versionMapper = new VersionMapper(versions);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot load mapping file " + mapPath, e);
         }
     }
 
-    private void loadAsMap(final ClientVersion start, final NBTCompound entries, final ClientVersion[] versions) {
-        final Map<String, Integer> lastEntries = entries.getCompoundTagOrThrow(start.name()).getTags().entrySet().stream()
-                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), ((NBTNumber) entry.getValue()).getAsInt()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        final Consumer<ClientVersion> mapLoader = version -> {
-            final Map<String, Integer> map = new HashMap<>(lastEntries);
-            this.entries.put(version, map);
-        };
-        mapLoader.accept(start);
-
-        for (int i = 1; i < versions.length; i++) {
-            final ClientVersion version = versions[i];
-            final MapDiff<String, Integer>[] diff = MappingHelper.createDiff(entries.getCompoundTagOrThrow(version.name()));
-
-            for (MapDiff<String, Integer> d : diff) {
-                d.applyTo(lastEntries);
-            }
-            mapLoader.accept(version);
-        }
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = input.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
     }
 
     public ClientVersion[] getVersions() {
@@ -125,24 +111,17 @@ public class TypesBuilder {
     }
 
     public void unloadFileMappings() {
-        entries.clear();
-        entries = null;
+        nameIndex = null;
+        ids = null;
     }
 
     public TypesBuilderData define(String key) {
         final ResourceLocation name = new ResourceLocation(key);
-        final int[] ids = new int[getVersions().length];
-        int index = 0;
-        for (ClientVersion v : getVersions()) {
-            final Map<String, Integer> map = entries.get(v);
-            if (map.containsKey(key)) {
-                int id = map.get(key);
-                ids[index] = id;
-            } else {
-                ids[index] = -1;
-            }
-            index++;
+        final int[] data = new int[ids.length];
+        final Integer index = nameIndex.get(key);
+        for (int version = 0; version < data.length; version++) {
+            data[version] = index != null ? ids[version][index] : -1;
         }
-        return new TypesBuilderData(name, ids);
+        return new TypesBuilderData(name, data);
     }
 }
@@ -0,0 +1,289 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.wrapper;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.nbt.NBT;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.resources.ResourceLocation;
+import com.github.retrooper.packetevents.wrapper.configuration.server.WrapperConfigServerRegistryData;
+import com.github.retrooper.packetevents.wrapper.configuration.server.WrapperConfigServerUpdateEnabledFeatures;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerTags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Every joining user receives the same large configuration payloads (registry data, feature flags, tags).
+ * This cache recognizes byte-identical payloads by content and protocol version and decodes each of them only once.
+ * Every wrapper receives its own deep copy of the decoded contents, so listeners may modify them freely.
+ * If the wrapper has to be re-encoded afterwards, contents equal to the decoded ones are re-emitted from the
+ * original bytes. Contents equal to ones encoded before (a listener setting the same prepared value for every user)
+ * are re-emitted from the bytes they have been encoded to the first time.
+ * <p>
+ * Only enabled if {@link com.github.retrooper.packetevents.settings.PacketEventsSettings#shouldCacheConfigurationPayloads()}.
+ */
+public final class ConfigurationPayloadCache {
+    private static final int MAX_PAYLOADS = 128;
+    // Modified contents remembered per payload
+    private static final int MAX_VARIANTS = 4;
+
+    private static final Map<Class<?>, CachedType> TYPES = new HashMap<>();
+    private static final Map<Payload, Entry> CACHE = new LinkedHashMap<Payload, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Payload, Entry> eldest) {
+            return size() > MAX_PAYLOADS;
+        }
+    };
+
+    static {
+        register(WrapperConfigServerRegistryData.class,
+                () -> new WrapperConfigServerRegistryData(null, null, null),
+                wrapper -> new Object[]{wrapper.getRegistryData(), wrapper.getRegistryKey(), wrapper.getElements()},
+                (target, source) -> {
+                    target.setRegistryData(source.getRegistryData() == null ? null : source.getRegistryData().copy());
+                    target.setRegistryKey(source.getRegistryKey());
+                    target.setElements(copyElements(source.getElements()));
+                });
+        register(WrapperConfigServerUpdateEnabledFeatures.class,
+                () -> new WrapperConfigServerUpdateEnabledFeatures((Set<ResourceLocation>) null),
+                wrapper -> new Object[]{wrapper.getFeatures()},
+                (target, source) -> target.setFeatures(source.getFeatures() == null ? null
+                        : new HashSet<>(source.getFeatures())));
+        // Only cached as configuration payload, tags sent during play differ from user to user
+        register(WrapperPlayServerTags.class,
+                () -> new WrapperPlayServerTags((Map<String, List<WrapperPlayServerTags.Tag>>) null),
+                wrapper -> new Object[]{wrapper.getTags()},
+                (target, source) -> target.setTags(copyTags(source.getTags())));
+    }
+
+    private ConfigurationPayloadCache() {
+    }
+
+    private static <T extends PacketWrapper<T>> void register(Class<T> wrapperClass, Supplier<T> factory,
+                                                              Function<T, Object[]> contents,
+                                                              BiConsumer<T, T> copyContents) {
+        TYPES.put(wrapperClass, new CachedType(factory, contents, copyContents));
+    }
+
+    /**
+     * Fills the wrapper with the shared decoded contents of its payload, decoding them first if they are unknown.
+     *
+     * @return false if the payload isn't cached and the wrapper has to read it on its own
+     */
+    static boolean read(PacketWrapper<?> wrapper) {
+        CachedType type = TYPES.get(wrapper.getClass());
+        if (type == null || !(wrapper.getPacketTypeData().getPacketType() instanceof PacketType.Configuration.Server)
+                || !PacketEvents.getAPI().getSettings().shouldCacheConfigurationPayloads()) {
+            return false;
+        }
+
+        Object buffer = wrapper.buffer;
+        Payload payload = new Payload(wrapper.getServerVersion(), ByteBufHelper.copyBytes(buffer));
+        Entry entry;
+        synchronized (CACHE) {
+            entry = CACHE.get(payload);
+            if (entry == null) {
+                entry = new Entry(payload.bytes);
+                CACHE.put(payload, entry);
+            }
+        }
+
+        PacketWrapper<?> decoded = entry.getDecoded(wrapper.getClass());
+        if (decoded == null) {
+            wrapper.read();
+            // The cache keeps its own copy, the wrapper's contents may be modified by listeners
+            decoded = type.factory.get();
+            type.copyContents.accept(decoded, wrapper);
+            entry.putDecoded(wrapper.getClass(), decoded);
+        } else {
+            type.copyContents.accept(wrapper, decoded);
+            ByteBufHelper.readerIndex(buffer, ByteBufHelper.writerIndex(buffer));
+        }
+        wrapper.payloadCacheEntry = entry;
+        return true;
+    }
+
+    /**
+     * Writes the wrapper, re-emitting cached bytes if its contents have been encoded before.
+     *
+     * @param wrapper Wrapper to write
+     */
+    public static void write(PacketWrapper<?> wrapper) {
+        Entry entry = wrapper.payloadCacheEntry;
+        CachedType type = entry != null ? TYPES.get(wrapper.getClass()) : null;
+        if (type == null) {
+            wrapper.write();
+            return;
+        }
+
+        Object[] contents = type.contents.apply(wrapper);
+        byte[] bytes = entry.getEncoded(wrapper.getClass(), contents, type);
+        if (bytes != null) {
+            ByteBufHelper.writeBytes(wrapper.buffer, bytes);
+            return;
+        }
+
+        int start = ByteBufHelper.writerIndex(wrapper.buffer);
+        wrapper.write();
+        bytes = new byte[ByteBufHelper.writerIndex(wrapper.buffer) - start];
+        ByteBufHelper.getBytes(wrapper.buffer, start, bytes);
+        // Snapshot the contents, the listener may still modify the objects it has set
+        PacketWrapper<?> snapshot = type.factory.get();
+        type.copyContents.accept(snapshot, wrapper);
+        entry.putEncoded(wrapper.getClass(), type.contents.apply(snapshot), bytes);
+    }
+
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    private static List<WrapperConfigServerRegistryData.RegistryElement> copyElements(
+            List<WrapperConfigServerRegistryData.RegistryElement> elements) {
+        if (elements == null) {
+            return null;
+        }
+        List<WrapperConfigServerRegistryData.RegistryElement> copy = new ArrayList<>(elements.size());
+        for (WrapperConfigServerRegistryData.RegistryElement element : elements) {
+            NBT data = element.getData();
+            copy.add(new WrapperConfigServerRegistryData.RegistryElement(element.getId(),
+                    data == null ? null : data.copy()));
+        }
+        return copy;
+    }
+
+    private static HashMap<String, List<WrapperPlayServerTags.Tag>> copyTags(
+            Map<String, List<WrapperPlayServerTags.Tag>> tags) {
+        if (tags == null) {
+            return null;
+        }
+        HashMap<String, List<WrapperPlayServerTags.Tag>> copy = new HashMap<>(tags.size());
+        for (Map.Entry<String, List<WrapperPlayServerTags.Tag>> entry : tags.entrySet()) {
+            List<WrapperPlayServerTags.Tag> tagList = new ArrayList<>(entry.getValue().size());
+            for (WrapperPlayServerTags.Tag tag : entry.getValue()) {
+                tagList.add(new WrapperPlayServerTags.Tag(tag.getName(), new ArrayList<>(tag.getValues())));
+            }
+            copy.put(entry.getKey(), tagList);
+        }
+        return copy;
+    }
+
+    private static final class CachedType {
+        private final Supplier<? extends PacketWrapper<?>> factory;
+        private final Function<PacketWrapper<?>, Object[]> contents;
+        private final BiConsumer<PacketWrapper<?>, PacketWrapper<?>> copyContents;
+
+        @SuppressWarnings("unchecked")
+        private <T extends PacketWrapper<T>> CachedType(Supplier<T> factory, Function<T, Object[]> contents,
+                                                        BiConsumer<T, T> copyContents) {
+            this.factory = factory;
+            this.contents = wrapper -> contents.apply((T) wrapper);
+            this.copyContents = (target, source) -> copyContents.accept((T) target, (T) source);
+        }
+    }
+
+    static final class Entry {
+        private final byte[] payload;
+        private final Map<Class<?>, PacketWrapper<?>> decoded = new IdentityHashMap<>(2);
+        private final List<Variant> variants = new ArrayList<>(MAX_VARIANTS);
+
+        private Entry(byte[] payload) {
+            this.payload = payload;
+        }
+
+        private synchronized PacketWrapper<?> getDecoded(Class<?> wrapperClass) {
+            return decoded.get(wrapperClass);
+        }
+
+        private synchronized void putDecoded(Class<?> wrapperClass, PacketWrapper<?> wrapper) {
+            decoded.put(wrapperClass, wrapper);
+        }
+
+        private synchronized byte[] getEncoded(Class<?> wrapperClass, Object[] contents, CachedType type) {
+            PacketWrapper<?> original = decoded.get(wrapperClass);
+            if (original != null && Arrays.equals(type.contents.apply(original), contents)) {
+                return payload;
+            }
+            for (Variant variant : variants) {
+                if (variant.wrapperClass == wrapperClass && Arrays.equals(variant.contents, contents)) {
+                    return variant.bytes;
+                }
+            }
+            return null;
+        }
+
+        private synchronized void putEncoded(Class<?> wrapperClass, Object[] contents, byte[] bytes) {
+            if (variants.size() == MAX_VARIANTS) {
+                variants.remove(0);
+            }
+            variants.add(new Variant(wrapperClass, contents, bytes));
+        }
+    }
+
+    private static final class Variant {
+        private final Class<?> wrapperClass;
+        private final Object[] contents;
+        private final byte[] bytes;
+
+        private Variant(Class<?> wrapperClass, Object[] contents, byte[] bytes) {
+            this.wrapperClass = wrapperClass;
+            this.contents = contents;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Payload {
+        private final ServerVersion serverVersion;
+        private final byte[] bytes;
+        private final int hash;
+
+        private Payload(ServerVersion serverVersion, byte[] bytes) {
+            this.serverVersion = serverVersion;
+            this.bytes = bytes;
+            this.hash = 31 * Arrays.hashCode(bytes) + serverVersion.ordinal();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Payload)) return false;
+            Payload other = (Payload) obj;
+            return hash == other.hash && serverVersion == other.serverVersion && Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.wrapper;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufOperator;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sizes of the packets encoded by {@link PacketWrapper#prepareForSend}, per packet type.
+ * <p>
+ * A resize is counted whenever a packet outgrew the buffer allocated for it, which means its
+ * {@link PacketWrapper#estimateSize()} is too low. Packets without an estimate are allocated
+ * with the size their packet type was last encoded with, so they are only resized when they grow.
+ */
+public final class EncodedSizeStatistics {
+    // The packet id is written in front of the wrapper, as a var int
+    private static final int MAX_PACKET_ID_SIZE = 5;
+    private static final Map<PacketTypeCommon, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private EncodedSizeStatistics() {
+    }
+
+    /**
+     * @return Capacity to allocate the buffer of the packet with, -1 for the default capacity
+     */
+    static int getInitialCapacity(@Nullable PacketTypeCommon packetType, int estimatedSize) {
+        if (estimatedSize >= 0) {
+            return estimatedSize + MAX_PACKET_ID_SIZE;
+        }
+        Entry entry = packetType == null ? null : ENTRIES.get(packetType);
+        return entry == null ? -1 : entry.lastSize;
+    }
+
+    static void record(@Nullable PacketTypeCommon packetType, ByteBufOperator operator, Object buffer,
+                       int initialCapacity) {
+        if (packetType == null) {
+            return;
+        }
+        Entry entry = ENTRIES.get(packetType);
+        if (entry == null) {
+            entry = ENTRIES.computeIfAbsent(packetType, type -> new Entry());
+        }
+        int size = operator.writerIndex(buffer);
+        if (entry.lastSize != size) {
+            entry.lastSize = size;
+        }
+        if (operator.capacity(buffer) != initialCapacity) {
+            entry.resizes.increment();
+        }
+    }
+
+    /**
+     * @return Number of times a packet of this type was resized while it was written
+     */
+    public static long getResizes(PacketTypeCommon packetType) {
+        Entry entry = ENTRIES.get(packetType);
+        return entry == null ? 0 : entry.resizes.sum();
+    }
+
+    /**
+     * @return Resize count of every packet type that has been resized
+     */
+    public static Map<PacketTypeCommon, Long> getResizes() {
+        Map<PacketTypeCommon, Long> resizes = new ConcurrentHashMap<>();
+        for (Map.Entry<PacketTypeCommon, Entry> entry : ENTRIES.entrySet()) {
+            long count = entry.getValue().resizes.sum();
+            if (count != 0) {
+                resizes.put(entry.getKey(), count);
+            }
+        }
+        return resizes;
+    }
+
+    public static void reset() {
+        ENTRIES.clear();
+    }
+
+    private static final class Entry {
+        private final LongAdder resizes = new LongAdder();
+        private volatile int lastSize = -1;
+    }
+}
@@ -25,6 +25,8 @@ import com.github.retrooper.packetevents.event.ProtocolPacketEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.manager.server.VersionComparison;
 import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufOperator;
+import com.github.retrooper.packetevents.netty.buffer.UnpooledByteBufAllocationHelper;
 import com.github.retrooper.packetevents.netty.channel.ChannelHelper;
 import com.github.retrooper.packetevents.protocol.PacketSide;
 import com.github.retrooper.packetevents.protocol.chat.ChatType;
@@ -65,9 +67,11 @@ import com.github.retrooper.packetevents.protocol.world.Dimension;
 import com.github.retrooper.packetevents.protocol.world.WorldBlockPosition;
 import com.github.retrooper.packetevents.resources.ResourceLocation;
 import com.github.retrooper.packetevents.util.KnownPack;
+import com.github.retrooper.packetevents.util.StringCache;
 import com.github.retrooper.packetevents.util.StringUtil;
 import com.github.retrooper.packetevents.util.Vector3i;
 import com.github.retrooper.packetevents.util.adventure.AdventureSerializer;
+import com.github.retrooper.packetevents.util.adventure.ComponentCache;
 import com.github.retrooper.packetevents.util.crypto.MinecraftEncryptionUtil;
 import com.github.retrooper.packetevents.util.crypto.SaltSignature;
 import com.github.retrooper.packetevents.util.crypto.SignatureData;
@@ -78,7 +82,6 @@ import org.jetbrains.annotations.ApiStatus.Experimental;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.nio.charset.StandardCharsets;
 import java.security.PublicKey;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -103,6 +106,15 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     protected ClientVersion clientVersion;
     protected ServerVersion serverVersion;
     private PacketTypeData packetTypeData;
+    // Bound once, so that buffer access doesn't have to go through the api on every call
+    private ByteBufOperator operator;
+    // Set if the contents are shared with other users, see ConfigurationPayloadCache
+    ConfigurationPayloadCache.Entry payloadCacheEntry;
+    // Set by the setters, packets are only re-encoded from modified wrappers
+    private boolean dirty;
+    // Undecoded rest of a lazily read packet, see deferRemaining
+    @Nullable
+    private byte[] deferredData;
     // For sending chunk data packets, which need this data
     @Nullable
     protected User user;
@@ -192,28 +204,38 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
 
     @ApiStatus.Internal
     public final void prepareForSend(Object channel, boolean outgoing, boolean proxy) {
-        // Null means the packet was manually created and wasn't sent by the server itself
-        // A reference count of 0 means that the packet was freed (it was already sent)
-        if (buffer == null || ByteBufHelper.refCnt(buffer) == 0) {
-            buffer = ChannelHelper.pooledByteBuf(channel);
-        }
-
+        int id;
         //On proxies, we must rewrite the packet ID in a format compatible for the targeted client version
         if (proxy) {
             User user = PacketEvents.getAPI().getProtocolManager().getUser(channel);
+            ClientVersion userVersion = user.getClientVersion();
             if (packetTypeData.getPacketType() == null) {
                 //Get the packet type with the local version packet type mappings.
                 packetTypeData.setPacketType(PacketType.getById(outgoing ? PacketSide.SERVER : PacketSide.CLIENT,
                         user.getConnectionState(), serverVersion.toClientVersion(), packetTypeData.getNativePacketId()));
             }
+            id = packetTypeData.getPacketType().getId(userVersion);
             //Change local version to user version so that the packet can be processed correctly.
-            serverVersion = user.getClientVersion().toServerVersion();
-            int id = packetTypeData.getPacketType().getId(user.getClientVersion());
-            writeVarInt(id);
+            setServerVersion(userVersion.toServerVersion());
         } else {
-            writeVarInt(packetTypeData.getNativePacketId());
+            id = packetTypeData.getNativePacketId();
         }
+
+        // Null means the packet was manually created and wasn't sent by the server itself
+        // A reference count of 0 means that the packet was freed (it was already sent)
+        int initialCapacity = -1;
+        if (buffer == null || operator().refCnt(buffer) == 0) {
+            // Estimated in the version the packet is written in
+            initialCapacity = EncodedSizeStatistics.getInitialCapacity(packetTypeData.getPacketType(), estimateSize());
+            buffer = initialCapacity < 0 ? ChannelHelper.pooledByteBuf(channel)
+                    : ChannelHelper.pooledByteBuf(channel, initialCapacity);
+            initialCapacity = operator().capacity(buffer);
+        }
+        writeVarInt(id);
         write();
+        if (initialCapacity != -1) {
+            EncodedSizeStatistics.record(packetTypeData.getPacketType(), operator(), buffer, initialCapacity);
+        }
     }
 
     @ApiStatus.Internal
@@ -228,6 +250,18 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
 
     }
 
+    /**
+     * Estimates the number of bytes {@link #write()} encodes the wrapper with, so that the buffer of the packet
+     * is allocated once when it is sent. The estimate must be exact where that is cheap and an upper bound otherwise,
+     * computing it should cost much less than writing the packet.
+     *
+     * @return Estimated size of the wrapper, without the packet id; -1 if unknown
+     * @see EncodedSizeStatistics
+     */
+    public int estimateSize() {
+        return -1;
+    }
+
     //TODO Rename to copyFrom, as it copies data from the passed in wrapper.
     public void copy(T wrapper) {
 
@@ -238,11 +272,18 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
 
     public final void readEvent(ProtocolPacketEvent<?> event) {
         PacketWrapper<?> last = event.getLastUsedWrapper();
+        // Copying may go through the getters of the last wrapper, which mark it as modified
+        boolean lastDirty = last != null && last.dirty;
         if (last != null) {
             copy((T) last);
-        } else {
+            if (last.getClass() == getClass()) {
+                this.payloadCacheEntry = last.payloadCacheEntry;
+            }
+        } else if (!ConfigurationPayloadCache.read(this)) {
             read();
         }
+        // Reading and copying may go through the setters, only changes made by listeners count
+        this.dirty = lastDirty;
         event.setLastUsedWrapper(this);
     }
 
@@ -259,6 +300,8 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public void setServerVersion(ServerVersion serverVersion) {
+        // Deferred data is encoded in the previous version
+        ensureDecoded();
         this.serverVersion = serverVersion;
     }
 
@@ -266,6 +309,47 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
         return buffer;
     }
 
+    /**
+     * Marks this wrapper as modified, so the packet gets re-encoded from it.
+     * The setters call this automatically. So do getters which hand out mutable objects (lists, arrays,
+     * item stacks, nested data classes, ...), as changes made to those can't be tracked.
+     */
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    /**
+     * Forgets the modifications of this wrapper, for internal listeners which only read mutable objects.
+     */
+    @ApiStatus.Internal
+    public void clearDirty() {
+        this.dirty = false;
+    }
+
+    /**
+     * Whether this wrapper has been modified since it was read from a packet event.
+     *
+     * @return True if the packet has to be re-encoded from this wrapper
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * The buffer operator of the current platform. Wrappers should use it for buffer access
+     * instead of {@link ByteBufHelper}, which looks the operator up on every call.
+     *
+     * @return Buffer operator
+     */
+    protected final ByteBufOperator operator() {
+        ByteBufOperator operator = this.operator;
+        if (operator == null) {
+            operator = PacketEvents.getAPI().getNettyManager().getByteBufOperator();
+            this.operator = operator;
+        }
+        return operator;
+    }
+
 
     /**
      * Gets the Packet ID for the current platform version
@@ -307,23 +391,23 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
 
     @Deprecated
     public void resetByteBuf() {
-        ByteBufHelper.clear(buffer);
+        operator().clear(buffer);
     }
 
     public void resetBuffer() {
-        ByteBufHelper.clear(buffer);
+        operator().clear(buffer);
     }
 
     public byte readByte() {
-        return ByteBufHelper.readByte(buffer);
+        return operator().readByte(buffer);
     }
 
     public void writeByte(int value) {
-        ByteBufHelper.writeByte(buffer, value);
+        operator().writeByte(buffer, value);
     }
 
     public short readUnsignedByte() {
-        return ByteBufHelper.readUnsignedByte(buffer);
+        return operator().readUnsignedByte(buffer);
     }
 
     public boolean readBoolean() {
@@ -335,37 +419,19 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public int readInt() {
-        return ByteBufHelper.readInt(buffer);
+        return operator().readInt(buffer);
     }
 
     public void writeInt(int value) {
-        ByteBufHelper.writeInt(buffer, value);
+        operator().writeInt(buffer, value);
     }
 
     public int readVarInt() {
-        int value = 0;
-        int length = 0;
-        byte currentByte;
-        do {
-            currentByte = readByte();
-            value |= (currentByte & 0x7F) << (length * 7);
-            length++;
-            if (length > 5) {
-                throw new RuntimeException("VarInt is too large. Must be smaller than 5 bytes.");
-            }
-        } while ((currentByte & 0x80) == 0x80);
-        return value;
+        return operator().readVarInt(buffer);
     }
 
     public void writeVarInt(int value) {
-        while (true) {
-            if ((value & ~0x7F) == 0) {
-                writeByte(value);
-                break;
-            }
-            writeByte((value & 0x7F) | 0x80);
-            value >>>= 7;
-        }
+        operator().writeVarInt(buffer, value);
     }
 
     public <K, V> Map<K, V> readMap(Reader<K> keyFunction, Reader<V> valueFunction) {
@@ -573,6 +639,21 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public String readString(int maxLen) {
+        return readString(maxLen, false);
+    }
+
+    /**
+     * Reads a string which is likely to be sent over and over again, like team names,
+     * objective names or identifiers. Recently decoded strings are returned from a cache.
+     *
+     * @param maxLen Maximum length of the string
+     * @return String
+     */
+    public String readInternedString(int maxLen) {
+        return readString(maxLen, true);
+    }
+
+    private String readString(int maxLen, boolean intern) {
         int j = readVarInt();
         // TODO: Don't throw an exception if the string is too long (but still cut it off and probably kick the player)
         if (j > maxLen * 4) {
@@ -580,8 +661,7 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
         } else if (j < 0) {
             throw new RuntimeException("The received encoded string buffer length is less than zero! Weird string!");
         } else {
-            String s = ByteBufHelper.toString(buffer, ByteBufHelper.readerIndex(buffer), j, StandardCharsets.UTF_8);
-            ByteBufHelper.readerIndex(buffer, ByteBufHelper.readerIndex(buffer) + j);
+            String s = intern ? StringCache.decode(operator(), buffer, j) : operator().readUtf8(buffer, j);
             if (s.length() > maxLen) {
                 throw new RuntimeException("The received string length is longer than maximum allowed (" + j + " > " + maxLen + ")");
             } else {
@@ -608,12 +688,12 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
         if (substr) {
             s = StringUtil.maximizeLength(s, maxLen);
         }
-        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
-        if (!substr && bytes.length > maxLen) {
-            throw new IllegalStateException("String too big (was " + bytes.length + " bytes encoded, max " + maxLen + ")");
+        int length = StringUtil.utf8Length(s);
+        if (!substr && length > maxLen) {
+            throw new IllegalStateException("String too big (was " + length + " bytes encoded, max " + maxLen + ")");
         } else {
-            writeVarInt(bytes.length);
-            ByteBufHelper.writeBytes(buffer, bytes);
+            writeVarInt(length);
+            operator().writeUtf8(buffer, s, length);
         }
     }
 
@@ -624,8 +704,20 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public Component readComponent() {
-        return this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_3)
+        ComponentCache cache = AdventureSerializer.getComponentCache();
+        if (cache == null || !cache.isRetainingRawComponents()) {
+            return this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_3)
+                    ? this.readComponentAsNBT() : this.readComponentAsJSON();
+        }
+        int start = operator().readerIndex(buffer);
+        Component component = this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_3)
                 ? this.readComponentAsNBT() : this.readComponentAsJSON();
+        if (component != null) {
+            byte[] bytes = new byte[operator().readerIndex(buffer) - start];
+            operator().getBytes(buffer, start, bytes);
+            cache.retain(component, this.serverVersion, bytes);
+        }
+        return component;
     }
 
     public Component readComponentAsNBT() {
@@ -638,6 +730,11 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public void writeComponent(Component component) {
+        ComponentCache cache = AdventureSerializer.getComponentCache();
+        if (cache != null && component != null) {
+            this.writeBytes(cache.encode(component, this.serverVersion));
+            return;
+        }
         if (this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_3)) {
             this.writeComponentAsNBT(component);
         } else {
@@ -663,7 +760,7 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public ResourceLocation readIdentifier(int maxLen) {
-        return new ResourceLocation(readString(maxLen));
+        return new ResourceLocation(readInternedString(maxLen));
     }
 
     public ResourceLocation readIdentifier() {
@@ -679,15 +776,15 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public int readUnsignedShort() {
-        return ByteBufHelper.readUnsignedShort(buffer);
+        return operator().readUnsignedShort(buffer);
     }
 
     public short readShort() {
-        return ByteBufHelper.readShort(buffer);
+        return operator().readShort(buffer);
     }
 
     public void writeShort(int value) {
-        ByteBufHelper.writeShort(buffer, value);
+        operator().writeShort(buffer, value);
     }
 
     public int readVarShort() {
@@ -713,60 +810,124 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public long readLong() {
-        return ByteBufHelper.readLong(buffer);
+        return operator().readLong(buffer);
     }
 
     public void writeLong(long value) {
-        ByteBufHelper.writeLong(buffer, value);
+        operator().writeLong(buffer, value);
     }
 
     public long readVarLong() {
-        long value = 0;
-        int size = 0;
-        int b;
-        while (((b = readByte()) & 0x80) == 0x80) {
-            value |= (long) (b & 0x7F) << (size++ * 7);
-        }
-        return value | ((long) (b & 0x7F) << (size * 7));
+        return operator().readVarLong(buffer);
     }
 
     public void writeVarLong(long l) {
-        while ((l & ~0x7F) != 0) {
-            this.writeByte((int) (l & 0x7F) | 0x80);
-            l >>>= 7;
-        }
-
-        this.writeByte((int) l);
+        operator().writeVarLong(buffer, l);
     }
 
     public float readFloat() {
-        return ByteBufHelper.readFloat(buffer);
+        return operator().readFloat(buffer);
     }
 
     public void writeFloat(float value) {
-        ByteBufHelper.writeFloat(buffer, value);
+        operator().writeFloat(buffer, value);
     }
 
     public double readDouble() {
-        return ByteBufHelper.readDouble(buffer);
+        return operator().readDouble(buffer);
     }
 
     public void writeDouble(double value) {
-        ByteBufHelper.writeDouble(buffer, value);
+        operator().writeDouble(buffer, value);
+    }
+
+    /**
+     * Keeps the rest of the packet undecoded if lazy decoding is enabled.
+     * The wrapper decodes it in {@link #readDeferred()} once {@link #ensureDecoded()} is called,
+     * until then {@link #writeDeferred()} writes the original bytes.
+     * The rest of the packet is copied, so only defer fields which are a lot more expensive to decode than to copy.
+     *
+     * @return True if the rest of the packet has been deferred
+     * @see com.github.retrooper.packetevents.settings.PacketEventsSettings#decodeLazily(boolean)
+     */
+    protected final boolean deferRemaining() {
+        if (!PacketEvents.getAPI().getSettings().shouldDecodeLazily()) {
+            return false;
+        }
+        // Copied, as the packet buffer is reused once the event is over
+        this.deferredData = readRemainingBytes();
+        return true;
+    }
+
+    /**
+     * Decodes the deferred rest of the packet, if there is any.
+     * Getters and setters of the deferred fields have to call this first.
+     */
+    protected final void ensureDecoded() {
+        byte[] data = this.deferredData;
+        if (data == null) {
+            return;
+        }
+        this.deferredData = null;
+        Object buffer = this.buffer;
+        boolean dirty = this.dirty;
+        this.buffer = UnpooledByteBufAllocationHelper.wrappedBuffer(data);
+        try {
+            readDeferred();
+        } finally {
+            ByteBufHelper.release(this.buffer);
+            this.buffer = buffer;
+            this.dirty = dirty;
+        }
+    }
+
+    /**
+     * Shares the deferred rest of the packet with this wrapper, for {@link #copy} to call instead of decoding it.
+     * The deferred bytes are never modified, so both wrappers can decode them independently.
+     *
+     * @param wrapper Wrapper which is copied
+     * @return True if the rest of the packet is still deferred, the deferred fields must not be copied then
+     */
+    protected final boolean copyDeferred(PacketWrapper<?> wrapper) {
+        // Deferred data is decoded in the version of the wrapper it belongs to
+        if (wrapper.serverVersion != this.serverVersion) {
+            wrapper.ensureDecoded();
+        }
+        this.deferredData = wrapper.deferredData;
+        return this.deferredData != null;
+    }
+
+    /**
+     * Reads the fields which have been deferred by {@link #deferRemaining()}.
+     */
+    protected void readDeferred() {
+    }
+
+    /**
+     * Writes the deferred rest of the packet as is, if it hasn't been decoded.
+     *
+     * @return True if the original bytes have been written
+     */
+    protected final boolean writeDeferred() {
+        if (this.deferredData == null) {
+            return false;
+        }
+        writeBytes(this.deferredData);
+        return true;
     }
 
     public byte[] readRemainingBytes() {
-        return readBytes(ByteBufHelper.readableBytes(buffer));
+        return readBytes(operator().readableBytes(buffer));
     }
 
     public byte[] readBytes(int size) {
         byte[] bytes = new byte[size];
-        ByteBufHelper.readBytes(buffer, bytes);
+        operator().readBytes(buffer, bytes);
         return bytes;
     }
 
     public void writeBytes(byte[] array) {
-        ByteBufHelper.writeBytes(buffer, array);
+        operator().writeBytes(buffer, array);
     }
 
     public byte[] readByteArray(int maxLength) {
@@ -778,7 +939,7 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public byte[] readByteArray() {
-        return readByteArray(ByteBufHelper.readableBytes(buffer));
+        return readByteArray(operator().readableBytes(buffer));
     }
 
     public void writeByteArray(byte[] array) {
@@ -787,24 +948,20 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     }
 
     public int[] readVarIntArray() {
-        int readableBytes = ByteBufHelper.readableBytes(buffer);
+        int readableBytes = operator().readableBytes(buffer);
         int size = readVarInt();
         if (size > readableBytes) {
             throw new IllegalStateException("VarIntArray with size " + size + " is bigger than allowed " + readableBytes);
         }
 
         int[] array = new int[size];
-        for (int i = 0; i < size; i++) {
-            array[i] = readVarInt();
-        }
+        operator().readVarIntArray(buffer, array);
         return array;
     }
 
     public void writeVarIntArray(int[] array) {
         writeVarInt(array.length);
-        for (int i : array) {
-            writeVarInt(i);
-        }
+        operator().writeVarIntArray(buffer, array);
     }
 
     public long[] readLongArray(int size) {
@@ -818,47 +975,52 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
 
     public byte[] readByteArrayOfSize(int size) {
         byte[] array = new byte[size];
-        ByteBufHelper.readBytes(buffer, array);
+        operator().readBytes(buffer, array);
         return array;
     }
 
     public void writeByteArrayOfSize(byte[] array) {
-        ByteBufHelper.writeBytes(buffer, array);
+        operator().writeBytes(buffer, array);
     }
 
     public int[] readVarIntArrayOfSize(int size) {
         int[] array = new int[size];
-        for (int i = 0; i < array.length; i++) {
-            array[i] = readVarInt();
-        }
+        operator().readVarIntArray(buffer, array);
         return array;
     }
 
     public void writeVarIntArrayOfSize(int[] array) {
-        for (int i : array) {
-            writeVarInt(i);
-        }
+        operator().writeVarIntArray(buffer, array);
     }
 
     public long[] readLongArray() {
-        int readableBytes = ByteBufHelper.readableBytes(buffer) / 8;
+        int readableBytes = operator().readableBytes(buffer) / 8;
         int size = readVarInt();
         if (size > readableBytes) {
             throw new IllegalStateException("LongArray with size " + size + " is bigger than allowed " + readableBytes);
         }
         long[] array = new long[size];
-
-        for (int i = 0; i < array.length; i++) {
-            array[i] = readLong();
-        }
+        operator().readLongs(buffer, array);
         return array;
     }
 
     public void writeLongArray(long[] array) {
         writeVarInt(array.length);
-        for (long l : array) {
-            writeLong(l);
-        }
+        operator().writeLongs(buffer, array);
+    }
+
+    public void writeLongArrayOfSize(long[] array) {
+        operator().writeLongs(buffer, array);
+    }
+
+    /**
+     * Reserves room for at least the given amount of bytes in the buffer,
+     * so the buffer isn't grown multiple times while writing a large packet.
+     *
+     * @param length Amount of bytes about to be written
+     */
+    public void ensureWritable(int length) {
+        operator().ensureWritable(buffer, length);
     }
 
     public UUID readUUID() {
@@ -893,14 +1055,15 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
 
     public List<EntityData> readEntityMetadata() {
         List<EntityData> list = new ArrayList<>();
+        ClientVersion clientVersion = serverVersion.toClientVersion();
         if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
             boolean v1_10 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_10);
             short index;
             while ((index = readUnsignedByte()) != 255) {
                 int typeID = v1_10 ? readVarInt() : readUnsignedByte();
-                EntityDataType<?> type = EntityDataTypes.getById(serverVersion.toClientVersion(), typeID);
+                EntityDataType<?> type = EntityDataTypes.getById(clientVersion, typeID);
                 if (type == null) {
-                    throw new IllegalStateException("Unknown entity metadata type id: " + typeID + " version " + serverVersion.toClientVersion());
+                    throw new IllegalStateException("Unknown entity metadata type id: " + typeID + " version " + clientVersion);
                 }
                 Object value = type.getDataDeserializer().apply(this);
                 list.add(new EntityData(index, type, value));
@@ -909,7 +1072,7 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
             for (byte data = readByte(); data != Byte.MAX_VALUE; data = readByte()) {
                 int typeID = (data & 0xE0) >> 5;
                 int index = data & 0x1F;
-                EntityDataType<?> type = EntityDataTypes.getById(serverVersion.toClientVersion(), typeID);
+                EntityDataType<?> type = EntityDataTypes.getById(clientVersion, typeID);
                 Object value = type.getDataDeserializer().apply(this);
                 EntityData entityData = new EntityData(index, type, value);
                 list.add(entityData);
@@ -922,21 +1085,22 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
         if (list == null) {
             list = new ArrayList<>();
         }
+        ClientVersion clientVersion = serverVersion.toClientVersion();
         if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
             boolean v1_10 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_10);
             for (EntityData entityData : list) {
                 writeByte(entityData.getIndex());
                 if (v1_10) {
-                    writeVarInt(entityData.getType().getId(serverVersion.toClientVersion()));
+                    writeVarInt(entityData.getType().getId(clientVersion));
                 } else {
-                    writeByte(entityData.getType().getId(serverVersion.toClientVersion()));
+                    writeByte(entityData.getType().getId(clientVersion));
                 }
                 entityData.getType().getDataSerializer().accept(this, entityData.getValue());
             }
             writeByte(255); // End of metadata array
         } else {
             for (EntityData entityData : list) {
-                int typeID = entityData.getType().getId(serverVersion.toClientVersion());
+                int typeID = entityData.getType().getId(clientVersion);
                 int index = entityData.getIndex();
                 int data = (typeID << 5 | index & 31) & 255;
                 writeByte(data);
@@ -1301,7 +1465,7 @@ public class PacketWrapper<T extends PacketWrapper<T>> {
     public <T extends Enum<T>> EnumSet<T> readEnumSet(Class<T> enumClazz) {
         T[] values = enumClazz.getEnumConstants();
         byte[] bytes = new byte[-Math.floorDiv(-values.length, 8)];
-        ByteBufHelper.readBytes(getBuffer(), bytes);
+        operator().readBytes(getBuffer(), bytes);
         BitSet bitSet = BitSet.valueOf(bytes);
         EnumSet<T> set = EnumSet.noneOf(enumClazz);
         for (int i = 0; i < values.length; i++) {
@@ -0,0 +1,43 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.wrapper.codec;
+
+/**
+ * Encoding of a {@link SchemaField}.
+ * Integral types may be stored in a wider or narrower primitive field, they are cast when read and written.
+ */
+public enum FieldType {
+    BOOLEAN,
+    BYTE,
+    UNSIGNED_BYTE,
+    SHORT,
+    UNSIGNED_SHORT,
+    INT,
+    VAR_INT,
+    LONG,
+    VAR_LONG,
+    FLOAT,
+    DOUBLE,
+    /**
+     * A rotation in degrees, stored in a {@code float} and encoded as a byte of 1/256th of a full turn.
+     */
+    ANGLE,
+    STRING,
+    UUID
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.wrapper.codec;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A field of a {@link WrapperSchema} wrapper, encoded as the given type between two server versions.
+ * Fields whose encoding changed are annotated once for every encoding, with ranges that don't overlap:
+ * <pre>{@code
+ * @SchemaField(value = FieldType.INT, until = ServerVersion.V_1_7_10)
+ * @SchemaField(value = FieldType.VAR_INT, since = ServerVersion.V_1_8)
+ * int entityId;
+ * }</pre>
+ * Outside of its ranges the field is not part of the packet and keeps its value when the packet is read.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+@Repeatable(SchemaField.List.class)
+public @interface SchemaField {
+    FieldType value();
+
+    /**
+     * @return First server version the field is encoded in
+     */
+    ServerVersion since() default ServerVersion.V_1_7_10;
+
+    /**
+     * @return Last server version the field is encoded in, {@link ServerVersion#ERROR} if it still is
+     */
+    ServerVersion until() default ServerVersion.ERROR;
+
+    @Target(ElementType.FIELD)
+    @Retention(RetentionPolicy.SOURCE)
+    @interface List {
+        SchemaField[] value();
+    }
+}
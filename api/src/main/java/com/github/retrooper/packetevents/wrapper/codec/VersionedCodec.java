@@ -0,0 +1,79 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.wrapper.codec;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+
+import java.util.function.Function;
+
+/**
+ * The codec of a wrapper for every server version, resolved once when the wrapper class is initialized.
+ * Reading and writing a packet then runs the code of its version without evaluating any version checks.
+ * <p>
+ * Wrappers should invoke the codec from their own {@link PacketWrapper#read()} and {@link PacketWrapper#write()}:
+ * <pre>{@code
+ * public void read() {
+ *     CODEC.reader(serverVersion).read(this);
+ * }
+ * }</pre>
+ * That way every wrapper has its own call site, which only ever sees the codec of the server's version
+ * and is inlined by the JIT.
+ *
+ * @param <W> Wrapper type
+ */
+public final class VersionedCodec<W extends PacketWrapper<?>> {
+    private final WrapperCodec.Reader<W>[] readers;
+    private final WrapperCodec.Writer<W>[] writers;
+    private final WrapperCodec.Sizer<W>[] sizers;
+
+    @SuppressWarnings("unchecked")
+    private VersionedCodec(Function<ServerVersion, WrapperCodec<W>> resolver) {
+        ServerVersion[] versions = ServerVersion.values();
+        this.readers = new WrapperCodec.Reader[versions.length];
+        this.writers = new WrapperCodec.Writer[versions.length];
+        this.sizers = new WrapperCodec.Sizer[versions.length];
+        for (ServerVersion version : versions) {
+            WrapperCodec<W> codec = resolver.apply(version);
+            this.readers[version.ordinal()] = codec.getReader();
+            this.writers[version.ordinal()] = codec.getWriter();
+            this.sizers[version.ordinal()] = codec.getSizer();
+        }
+    }
+
+    /**
+     * @param resolver Returns the codec of a server version, it is called once for every version
+     * @return Codec of every server version
+     */
+    public static <W extends PacketWrapper<?>> VersionedCodec<W> resolve(Function<ServerVersion, WrapperCodec<W>> resolver) {
+        return new VersionedCodec<>(resolver);
+    }
+
+    public WrapperCodec.Reader<W> reader(ServerVersion version) {
+        return readers[version.ordinal()];
+    }
+
+    public WrapperCodec.Writer<W> writer(ServerVersion version) {
+        return writers[version.ordinal()];
+    }
+
+    public WrapperCodec.Sizer<W> sizer(ServerVersion version) {
+        return sizers[version.ordinal()];
+    }
+}
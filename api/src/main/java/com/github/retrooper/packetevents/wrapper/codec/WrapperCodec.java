@@ -0,0 +1,82 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.wrapper.codec;
+
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+
+/**
+ * Reads and writes the fields of a wrapper in the format of one or more versions, without checking the version.
+ * The reader and writer are usually method references to private methods of the wrapper,
+ * or to the methods generated for a {@link WrapperSchema}.
+ *
+ * @param <W> Wrapper type
+ * @see VersionedCodec
+ */
+public final class WrapperCodec<W extends PacketWrapper<?>> {
+    private final Reader<W> reader;
+    private final Writer<W> writer;
+    private final Sizer<W> sizer;
+
+    private WrapperCodec(Reader<W> reader, Writer<W> writer, Sizer<W> sizer) {
+        this.reader = reader;
+        this.writer = writer;
+        this.sizer = sizer;
+    }
+
+    /**
+     * The encoded size of the wrapper is unknown.
+     */
+    public static <W extends PacketWrapper<?>> WrapperCodec<W> of(Reader<W> reader, Writer<W> writer) {
+        return new WrapperCodec<>(reader, writer, wrapper -> -1);
+    }
+
+    public static <W extends PacketWrapper<?>> WrapperCodec<W> of(Reader<W> reader, Writer<W> writer, Sizer<W> sizer) {
+        return new WrapperCodec<>(reader, writer, sizer);
+    }
+
+    public Reader<W> getReader() {
+        return reader;
+    }
+
+    public Writer<W> getWriter() {
+        return writer;
+    }
+
+    public Sizer<W> getSizer() {
+        return sizer;
+    }
+
+    @FunctionalInterface
+    public interface Reader<W extends PacketWrapper<?>> {
+        void read(W wrapper);
+    }
+
+    @FunctionalInterface
+    public interface Writer<W extends PacketWrapper<?>> {
+        void write(W wrapper);
+    }
+
+    @FunctionalInterface
+    public interface Sizer<W extends PacketWrapper<?>> {
+        /**
+         * @return Number of bytes the wrapper is written with, or an upper bound of it; -1 if unknown
+         */
+        int estimateSize(W wrapper);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.wrapper.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a wrapper whose codec is generated from the {@link SchemaField} annotations on its fields.
+ * The fields are written in the order they are declared in.
+ * <p>
+ * For a wrapper named {@code WrapperPlayServerCamera}, the {@code WrapperPlayServerCameraCodec} class is generated
+ * into the same package. It has static {@code read}, {@code write}, {@code copy} and {@code estimateSize}
+ * methods, which the wrapper delegates its {@code read()}, {@code write()}, {@code copy()}
+ * and {@code estimateSize()} to:
+ * <pre>{@code
+ * @WrapperSchema
+ * public class WrapperPlayServerCamera extends PacketWrapper<WrapperPlayServerCamera> {
+ *     @SchemaField(FieldType.VAR_INT)
+ *     int cameraId;
+ *
+ *     @Override
+ *     public void read() {
+ *         WrapperPlayServerCameraCodec.read(this);
+ *     }
+ * }
+ * }</pre>
+ * The annotated fields must not be private, as the generated class accesses them directly.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface WrapperSchema {
+}
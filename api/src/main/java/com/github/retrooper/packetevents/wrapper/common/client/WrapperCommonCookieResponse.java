@@ -64,6 +64,7 @@ public abstract class WrapperCommonCookieResponse<T extends WrapperCommonCookieR
     }
 
     public void setKey(ResourceLocation key) {
+        markDirty();
         this.key = key;
     }
 
@@ -72,6 +73,7 @@ public abstract class WrapperCommonCookieResponse<T extends WrapperCommonCookieR
     }
 
     public void setPayload(byte @Nullable [] payload) {
+        markDirty();
         this.payload = payload;
     }
 }
@@ -54,10 +54,12 @@ public class WrapperConfigClientSelectKnownPacks extends PacketWrapper<WrapperCo
     }
 
     public List<KnownPack> getKnownPacks() {
+        markDirty();
         return this.knownPacks;
     }
 
     public void setKnownPacks(List<KnownPack> knownPacks) {
+        markDirty();
         this.knownPacks = knownPacks;
     }
 }
@@ -69,14 +69,17 @@ public class WrapperConfigServerPluginMessage extends PacketWrapper<WrapperConfi
     }
 
     public void setChannelName(String channelName) {
+        markDirty();
         this.channelName = channelName;
     }
 
     public byte[] getData() {
+        markDirty();
         return this.data;
     }
 
     public void setData(byte[] data) {
+        markDirty();
         this.data = data;
     }
 }
@@ -106,11 +106,13 @@ public class WrapperConfigServerRegistryData extends PacketWrapper<WrapperConfig
 
     @ApiStatus.Obsolete
     public @Nullable NBTCompound getRegistryData() {
+        markDirty();
         return this.registryData;
     }
 
     @ApiStatus.Obsolete
     public void setRegistryData(NBTCompound registryData) {
+        markDirty();
         this.registryData = registryData;
     }
 
@@ -119,14 +121,17 @@ public class WrapperConfigServerRegistryData extends PacketWrapper<WrapperConfig
     }
 
     public void setRegistryKey(ResourceLocation registryKey) {
+        markDirty();
         this.registryKey = registryKey;
     }
 
     public @Nullable List<RegistryElement> getElements() {
+        markDirty();
         return this.elements;
     }
 
     public void setElements(List<RegistryElement> elements) {
+        markDirty();
         this.elements = elements;
     }
 
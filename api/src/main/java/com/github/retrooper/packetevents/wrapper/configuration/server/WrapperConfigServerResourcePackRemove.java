@@ -58,6 +58,7 @@ public class WrapperConfigServerResourcePackRemove extends PacketWrapper<Wrapper
     }
 
     public void setPackId(@Nullable UUID packId) {
+        markDirty();
         this.packId = packId;
     }
 }
@@ -60,6 +60,7 @@ public class WrapperConfigServerTransfer extends PacketWrapper<WrapperConfigServ
     }
 
     public void setHost(String host) {
+        markDirty();
         this.host = host;
     }
 
@@ -68,6 +69,7 @@ public class WrapperConfigServerTransfer extends PacketWrapper<WrapperConfigServ
     }
 
     public void setPort(int port) {
+        markDirty();
         this.port = port;
     }
 }
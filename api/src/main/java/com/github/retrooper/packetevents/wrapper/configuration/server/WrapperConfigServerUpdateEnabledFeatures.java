@@ -55,10 +55,12 @@ public class WrapperConfigServerUpdateEnabledFeatures extends PacketWrapper<Wrap
     }
 
     public Set<ResourceLocation> getFeatures() {
+        markDirty();
         return this.features;
     }
 
     public void setFeatures(Set<ResourceLocation> features) {
+        markDirty();
         this.features = features;
     }
 }
@@ -91,10 +91,12 @@ public class WrapperLoginClientEncryptionResponse extends PacketWrapper<WrapperL
     }
 
     public byte[] getEncryptedSharedSecret() {
+        markDirty();
         return this.encryptedSharedSecret;
     }
 
     public void setEncryptedSharedSecret(byte[] encryptedSharedSecret) {
+        markDirty();
         this.encryptedSharedSecret = encryptedSharedSecret;
     }
 
@@ -110,22 +112,27 @@ public class WrapperLoginClientEncryptionResponse extends PacketWrapper<WrapperL
 
     //TODO: Confirm is this is correct
     public void setSharedKey(SecretKey key, PublicKey publicKey) {
+        markDirty();
         this.encryptedSharedSecret = MinecraftEncryptionUtil.encrypt(publicKey.getAlgorithm(), publicKey, key.getEncoded());
     }
 
     public Optional<byte[]> getEncryptedVerifyToken() {
+        markDirty();
         return Optional.ofNullable(this.encryptedVerifyToken);
     }
 
     public void setEncryptedVerifyToken(byte[] encryptedVerifyToken) {
+        markDirty();
         this.encryptedVerifyToken = encryptedVerifyToken;
     }
 
     public Optional<SaltSignature> getSaltSignature() {
+        markDirty();
         return Optional.ofNullable(this.saltSignature);
     }
 
     public void setSaltSignature(@Nullable SaltSignature saltSignature) {
+        markDirty();
         this.saltSignature = saltSignature;
     }
 }
@@ -72,6 +72,7 @@ public class WrapperLoginClientPluginResponse extends PacketWrapper<WrapperLogin
     }
 
     public void setMessageId(int messageID) {
+        markDirty();
         this.messageID = messageID;
     }
 
@@ -80,14 +81,17 @@ public class WrapperLoginClientPluginResponse extends PacketWrapper<WrapperLogin
     }
 
     public void setSuccessful(boolean successful) {
+        markDirty();
         this.successful = successful;
     }
 
     public byte[] getData() {
+        markDirty();
         return this.data;
     }
 
     public void setData(byte[] data) {
+        markDirty();
         this.data = data;
     }
 }
@@ -104,14 +104,17 @@ public class WrapperLoginServerEncryptionRequest extends PacketWrapper<WrapperLo
     }
 
     public void setServerId(String serverID) {
+        markDirty();
         this.serverID = serverID;
     }
 
     public byte[] getPublicKeyBytes() {
+        markDirty();
         return publicKeyBytes;
     }
 
     public void setPublicKeyBytes(byte[] publicKeyBytes) {
+        markDirty();
         this.publicKeyBytes = publicKeyBytes;
     }
 
@@ -128,6 +131,7 @@ public class WrapperLoginServerEncryptionRequest extends PacketWrapper<WrapperLo
     }
 
     public void setPublicKey(PublicKey publicKey) {
+        markDirty();
         this.publicKeyBytes = publicKey.getEncoded();
     }
 
@@ -138,10 +142,12 @@ public class WrapperLoginServerEncryptionRequest extends PacketWrapper<WrapperLo
      * @return Verify token
      */
     public byte[] getVerifyToken() {
+        markDirty();
         return verifyToken;
     }
 
     public void setVerifyToken(byte[] verifyToken) {
+        markDirty();
         this.verifyToken = verifyToken;
     }
 
@@ -150,6 +156,7 @@ public class WrapperLoginServerEncryptionRequest extends PacketWrapper<WrapperLo
     }
 
     public void setShouldAuthenticate(boolean shouldAuthenticate) {
+        markDirty();
         this.shouldAuthenticate = shouldAuthenticate;
     }
 }
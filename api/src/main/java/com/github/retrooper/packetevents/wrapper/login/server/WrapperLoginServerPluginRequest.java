@@ -65,6 +65,7 @@ public class WrapperLoginServerPluginRequest extends PacketWrapper<WrapperLoginS
     }
 
     public void setMessageId(int messageID) {
+        markDirty();
         this.messageID = messageID;
     }
 
@@ -73,14 +74,17 @@ public class WrapperLoginServerPluginRequest extends PacketWrapper<WrapperLoginS
     }
 
     public void setChannelName(String channelName) {
+        markDirty();
         this.channelName = channelName;
     }
 
     public byte[] getData() {
+        markDirty();
         return data;
     }
 
     public void setData(byte[] data) {
+        markDirty();
         this.data = data;
     }
 }
\ No newline at end of file
@@ -54,6 +54,7 @@ public class WrapperLoginServerSetCompression extends PacketWrapper<WrapperLogin
     }
 
     public void setThreshold(int threshold) {
+        markDirty();
         this.threshold = threshold;
     }
 }
\ No newline at end of file
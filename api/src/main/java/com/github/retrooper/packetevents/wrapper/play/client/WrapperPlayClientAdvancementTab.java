@@ -66,6 +66,7 @@ public class WrapperPlayClientAdvancementTab extends PacketWrapper<WrapperPlayCl
     }
 
     public void setAction(Action action) {
+        markDirty();
         this.action = action;
     }
 
@@ -74,6 +75,7 @@ public class WrapperPlayClientAdvancementTab extends PacketWrapper<WrapperPlayCl
     }
 
     public void setTabId(String tabID) {
+        markDirty();
         this.tabID = tabID;
     }
 
@@ -24,11 +24,19 @@ import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.player.ClientVersion;
 import com.github.retrooper.packetevents.protocol.player.InteractionHand;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 /**
  * This packet is sent when the client swings their arm.
  */
 public class WrapperPlayClientAnimation extends PacketWrapper<WrapperPlayClientAnimation> {
+    private static final VersionedCodec<WrapperPlayClientAnimation> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isNewerThanOrEquals(ServerVersion.V_1_9)) {
+            return WrapperCodec.of(WrapperPlayClientAnimation::readV1_9, WrapperPlayClientAnimation::writeV1_9);
+        }
+        return WrapperCodec.of(WrapperPlayClientAnimation::readLegacy, WrapperPlayClientAnimation::writeLegacy);
+    });
     private InteractionHand interactionHand;
 
     public WrapperPlayClientAnimation(PacketReceiveEvent event) {
@@ -42,11 +50,7 @@ public class WrapperPlayClientAnimation extends PacketWrapper<WrapperPlayClientA
 
     @Override
     public void read() {
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-            this.interactionHand = InteractionHand.getById(readVarInt());
-        } else {
-            this.interactionHand = InteractionHand.MAIN_HAND;
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
@@ -56,9 +60,22 @@ public class WrapperPlayClientAnimation extends PacketWrapper<WrapperPlayClientA
 
     @Override
     public void write() {
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-            writeVarInt(interactionHand.getId());
-        }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readLegacy() {
+        this.interactionHand = InteractionHand.MAIN_HAND;
+    }
+
+    private void writeLegacy() {
+    }
+
+    private void readV1_9() {
+        this.interactionHand = InteractionHand.getById(readVarInt());
+    }
+
+    private void writeV1_9() {
+        writeVarInt(interactionHand.getId());
     }
 
     /**
@@ -81,6 +98,7 @@ public class WrapperPlayClientAnimation extends PacketWrapper<WrapperPlayClientA
      * @param interactionHand Hand used for the animation
      */
     public void setHand(InteractionHand interactionHand) {
+        markDirty();
         this.interactionHand = interactionHand;
     }
 }
@@ -71,14 +71,17 @@ public class WrapperPlayClientChatAck extends PacketWrapper<WrapperPlayClientCha
     }
 
     public void setOffset(int offset) {
+        markDirty();
         this.offset = offset;
     }
 
     public LastSeenMessages.LegacyUpdate getLastSeenMessages() {
+        markDirty();
         return lastSeenMessages;
     }
 
     public void setLastSeenMessages(LastSeenMessages.LegacyUpdate lastSeenMessages) {
+        markDirty();
         this.lastSeenMessages = lastSeenMessages;
     }
 }
@@ -93,38 +93,47 @@ public class WrapperPlayClientChatCommand extends PacketWrapper<WrapperPlayClien
     }
 
     public void setCommand(String command) {
+        markDirty();
         this.command = command;
     }
 
     public MessageSignData getMessageSignData() {
+        markDirty();
         return messageSignData;
     }
 
     public void setMessageSignData(MessageSignData messageSignData) {
+        markDirty();
         this.messageSignData = messageSignData;
     }
 
     public List<SignedCommandArgument> getSignedArguments() {
+        markDirty();
         return signedArguments;
     }
 
     public void setSignedArguments(List<SignedCommandArgument> signedArguments) {
+        markDirty();
         this.signedArguments = signedArguments;
     }
 
     public LastSeenMessages.@Nullable Update getLastSeenMessages() {
+        markDirty();
         return lastSeenMessages;
     }
 
     public void setLastSeenMessages(LastSeenMessages.@Nullable Update lastSeenMessages) {
+        markDirty();
         this.lastSeenMessages = lastSeenMessages;
     }
 
     public @Nullable LastSeenMessages.LegacyUpdate getLegacyLastSeenMessages() {
+        markDirty();
         return legacyLastSeenMessages;
     }
 
     public void setLegacyLastSeenMessages(@Nullable LastSeenMessages.LegacyUpdate lastSeenMessages) {
+        markDirty();
         this.legacyLastSeenMessages = lastSeenMessages;
     }
 }
\ No newline at end of file
@@ -128,30 +128,37 @@ public class WrapperPlayClientChatMessage extends PacketWrapper<WrapperPlayClien
      * @param message Message
      */
     public void setMessage(String message) {
+        markDirty();
         this.message = message;
     }
 
     public Optional<MessageSignData> getMessageSignData() {
+        markDirty();
         return Optional.ofNullable(messageSignData);
     }
 
     public void setMessageSignData(@Nullable MessageSignData messageSignData) {
+        markDirty();
         this.messageSignData = messageSignData;
     }
 
     public @Nullable LastSeenMessages.Update getLastSeenMessages() {
+        markDirty();
         return lastSeenMessages;
     }
 
     public void setLastSeenMessages(LastSeenMessages.@Nullable Update lastSeenMessages) {
+        markDirty();
         this.lastSeenMessages = lastSeenMessages;
     }
 
     public @Nullable LastSeenMessages.LegacyUpdate getLegacyLastSeenMessages() {
+        markDirty();
         return legacyLastSeenMessages;
     }
 
     public void setLegacyLastSeenMessages(@Nullable LastSeenMessages.LegacyUpdate lastSeenMessages) {
+        markDirty();
         this.legacyLastSeenMessages = lastSeenMessages;
     }
 }
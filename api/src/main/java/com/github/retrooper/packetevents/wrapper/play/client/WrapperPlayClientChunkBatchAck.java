@@ -55,6 +55,7 @@ public class WrapperPlayClientChunkBatchAck extends PacketWrapper<WrapperPlayCli
     }
 
     public void setDesiredChunksPerTick(float desiredChunksPerTick) {
+        markDirty();
         this.desiredChunksPerTick = desiredChunksPerTick;
     }
 }
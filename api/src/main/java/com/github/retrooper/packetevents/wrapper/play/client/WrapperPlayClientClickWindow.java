@@ -120,6 +120,7 @@ public class WrapperPlayClientClickWindow extends PacketWrapper<WrapperPlayClien
     }
 
     public void setWindowId(int windowID) {
+        markDirty();
         this.windowID = windowID;
     }
 
@@ -128,6 +129,7 @@ public class WrapperPlayClientClickWindow extends PacketWrapper<WrapperPlayClien
     }
 
     public void setStateID(Optional<Integer> stateID) {
+        markDirty();
         this.stateID = stateID;
     }
 
@@ -136,6 +138,7 @@ public class WrapperPlayClientClickWindow extends PacketWrapper<WrapperPlayClien
     }
 
     public void setSlot(int slot) {
+        markDirty();
         this.slot = slot;
     }
 
@@ -144,6 +147,7 @@ public class WrapperPlayClientClickWindow extends PacketWrapper<WrapperPlayClien
     }
 
     public void setButton(int button) {
+        markDirty();
         this.button = button;
     }
 
@@ -152,6 +156,7 @@ public class WrapperPlayClientClickWindow extends PacketWrapper<WrapperPlayClien
     }
 
     public void setActionNumber(int button) {
+        markDirty();
         this.actionNumber = Optional.of(button);
     }
 
@@ -160,22 +165,27 @@ public class WrapperPlayClientClickWindow extends PacketWrapper<WrapperPlayClien
     }
 
     public void setWindowClickType(WindowClickType windowClickType) {
+        markDirty();
         this.windowClickType = windowClickType;
     }
 
     public Optional<Map<Integer, ItemStack>> getSlots() {
+        markDirty();
         return slots;
     }
 
     public void setSlots(Optional<Map<Integer, ItemStack>> slots) {
+        markDirty();
         this.slots = slots;
     }
 
     public ItemStack getCarriedItemStack() {
+        markDirty();
         return carriedItemStack;
     }
 
     public void setCarriedItemStack(ItemStack carriedItemStack) {
+        markDirty();
         this.carriedItemStack = carriedItemStack;
     }
 
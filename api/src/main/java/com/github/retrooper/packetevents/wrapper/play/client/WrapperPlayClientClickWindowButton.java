@@ -72,6 +72,7 @@ public class WrapperPlayClientClickWindowButton extends PacketWrapper<WrapperPla
      * @param windowID Window ID
      */
     public void setWindowId(int windowID) {
+        markDirty();
         this.windowID = windowID;
     }
 
@@ -92,6 +93,7 @@ public class WrapperPlayClientClickWindowButton extends PacketWrapper<WrapperPla
      * @param buttonID Button ID
      */
     public void setButtonId(int buttonID) {
+        markDirty();
         this.buttonID = buttonID;
     }
 }
@@ -62,6 +62,7 @@ public class WrapperPlayClientClientStatus extends PacketWrapper<WrapperPlayClie
     }
 
     public void setAction(Action action) {
+        markDirty();
         this.action = action;
     }
 
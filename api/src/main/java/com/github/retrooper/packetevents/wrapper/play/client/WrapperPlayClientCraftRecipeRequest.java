@@ -83,6 +83,7 @@ public class WrapperPlayClientCraftRecipeRequest extends PacketWrapper<WrapperPl
     }
 
     public void setWindowId(int windowId) {
+        markDirty();
         this.windowId = windowId;
     }
 
@@ -103,6 +104,7 @@ public class WrapperPlayClientCraftRecipeRequest extends PacketWrapper<WrapperPl
     }
 
     public void setMakeAll(boolean makeAll) {
+        markDirty();
         this.makeAll = makeAll;
     }
 }
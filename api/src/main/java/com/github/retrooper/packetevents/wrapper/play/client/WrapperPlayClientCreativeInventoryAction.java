@@ -62,14 +62,17 @@ public class WrapperPlayClientCreativeInventoryAction extends PacketWrapper<Wrap
     }
 
     public void setSlot(int slot) {
+        markDirty();
         this.slot = slot;
     }
 
     public ItemStack getItemStack() {
+        markDirty();
         return itemStack;
     }
 
     public void setItemStack(ItemStack itemStack) {
+        markDirty();
         this.itemStack = itemStack;
     }
 }
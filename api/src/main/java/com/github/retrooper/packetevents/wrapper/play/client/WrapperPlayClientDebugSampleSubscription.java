@@ -56,6 +56,7 @@ public class WrapperPlayClientDebugSampleSubscription extends PacketWrapper<Wrap
     }
 
     public void setSampleType(SampleType sampleType) {
+        markDirty();
         this.sampleType = sampleType;
     }
 }
@@ -80,14 +80,17 @@ public class WrapperPlayClientEditBook extends PacketWrapper<WrapperPlayClientEd
     }
 
     public void setSlot(int slot) {
+        markDirty();
         this.slot = slot;
     }
 
     public List<String> getPages() {
+        markDirty();
         return pages;
     }
 
     public void setPages(List<String> pages) {
+        markDirty();
         this.pages = pages;
     }
 
@@ -96,6 +99,7 @@ public class WrapperPlayClientEditBook extends PacketWrapper<WrapperPlayClientEd
     }
 
     public void setTitle(@Nullable String title) {
+        markDirty();
         this.title = title;
     }
 }
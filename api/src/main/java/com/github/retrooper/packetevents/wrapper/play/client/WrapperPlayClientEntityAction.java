@@ -22,8 +22,16 @@ import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayClientEntityAction extends PacketWrapper<WrapperPlayClientEntityAction> {
+    private static final VersionedCodec<WrapperPlayClientEntityAction> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isNewerThanOrEquals(ServerVersion.V_1_8)) {
+            return WrapperCodec.of(WrapperPlayClientEntityAction::readV1_8, WrapperPlayClientEntityAction::writeV1_8);
+        }
+        return WrapperCodec.of(WrapperPlayClientEntityAction::readV1_7_10, WrapperPlayClientEntityAction::writeV1_7_10);
+    });
     private int entityID;
     private Action action;
     private int jumpBoost;
@@ -41,27 +49,36 @@ public class WrapperPlayClientEntityAction extends PacketWrapper<WrapperPlayClie
 
     @Override
     public void read() {
-        boolean v1_8 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_8);
-        entityID = v1_8 ? readVarInt() : readInt();
-        int id = v1_8 ? readVarInt() : readByte();
-        action = Action.getById(serverVersion, id);
-        jumpBoost = v1_8 ? readVarInt() : readInt();
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        boolean v1_8 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_8);
-        if (v1_8) {
-            writeVarInt(entityID);
-            int actionIndex = action.getId(serverVersion);
-            writeVarInt(actionIndex);
-            writeVarInt(jumpBoost);
-        } else {
-            writeInt(entityID);
-            int actionIndex = action.getId(serverVersion);
-            writeByte(actionIndex);
-            writeInt(jumpBoost);
-        }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        entityID = readInt();
+        action = Action.getById(serverVersion, readByte());
+        jumpBoost = readInt();
+    }
+
+    private void writeV1_7_10() {
+        writeInt(entityID);
+        writeByte(action.getId(serverVersion));
+        writeInt(jumpBoost);
+    }
+
+    private void readV1_8() {
+        entityID = readVarInt();
+        action = Action.getById(serverVersion, readVarInt());
+        jumpBoost = readVarInt();
+    }
+
+    private void writeV1_8() {
+        writeVarInt(entityID);
+        writeVarInt(action.getId(serverVersion));
+        writeVarInt(jumpBoost);
     }
 
     @Override
@@ -76,6 +93,7 @@ public class WrapperPlayClientEntityAction extends PacketWrapper<WrapperPlayClie
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -84,6 +102,7 @@ public class WrapperPlayClientEntityAction extends PacketWrapper<WrapperPlayClie
     }
 
     public void setAction(Action action) {
+        markDirty();
         this.action = action;
     }
 
@@ -92,6 +111,7 @@ public class WrapperPlayClientEntityAction extends PacketWrapper<WrapperPlayClie
     }
 
     public void setJumpBoost(int jumpBoost) {
+        markDirty();
         this.jumpBoost = jumpBoost;
     }
 
@@ -21,12 +21,17 @@ package com.github.retrooper.packetevents.wrapper.play.client;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
 /**
  * This packet is sent when the player changes their slot selection.
  */
+@WrapperSchema
 public class WrapperPlayClientHeldItemChange extends PacketWrapper<WrapperPlayClientHeldItemChange> {
-    private int slot;
+    @SchemaField(FieldType.SHORT)
+    int slot;
 
     public WrapperPlayClientHeldItemChange(PacketReceiveEvent event) {
         super(event);
@@ -39,17 +44,22 @@ public class WrapperPlayClientHeldItemChange extends PacketWrapper<WrapperPlayCl
 
     @Override
     public void read() {
-        this.slot = readShort();
+        WrapperPlayClientHeldItemChangeCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeShort(slot);
+        WrapperPlayClientHeldItemChangeCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayClientHeldItemChange wrapper) {
-        this.slot = wrapper.slot;
+        WrapperPlayClientHeldItemChangeCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayClientHeldItemChangeCodec.estimateSize(this);
     }
 
     /**
@@ -67,6 +77,7 @@ public class WrapperPlayClientHeldItemChange extends PacketWrapper<WrapperPlayCl
      * @param slot Target slot
      */
     public void setSlot(int slot) {
+        markDirty();
         this.slot = slot;
     }
 }
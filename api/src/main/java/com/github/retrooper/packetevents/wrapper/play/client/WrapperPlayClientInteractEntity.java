@@ -24,6 +24,8 @@ import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.player.InteractionHand;
 import com.github.retrooper.packetevents.util.Vector3f;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 import java.util.Optional;
 
@@ -33,6 +35,16 @@ import java.util.Optional;
  * Please note that this packet is NOT sent whenever the client middle-clicks, the {@link WrapperPlayClientCreativeInventoryAction} packet is sent instead.
  */
 public class WrapperPlayClientInteractEntity extends PacketWrapper<WrapperPlayClientInteractEntity> {
+    private static final VersionedCodec<WrapperPlayClientInteractEntity> CODEC = VersionedCodec.resolve(version -> {
+        if (version == ServerVersion.V_1_7_10) {
+            return WrapperCodec.of(WrapperPlayClientInteractEntity::readV1_7_10, WrapperPlayClientInteractEntity::writeV1_7_10);
+        } else if (version.isOlderThan(ServerVersion.V_1_9)) {
+            return WrapperCodec.of(WrapperPlayClientInteractEntity::readV1_8, WrapperPlayClientInteractEntity::writeV1_8);
+        } else if (version.isOlderThan(ServerVersion.V_1_16)) {
+            return WrapperCodec.of(WrapperPlayClientInteractEntity::readV1_9, WrapperPlayClientInteractEntity::writeV1_9);
+        }
+        return WrapperCodec.of(WrapperPlayClientInteractEntity::readV1_16, WrapperPlayClientInteractEntity::writeV1_16);
+    });
     private int entityID;
     private InteractAction interactAction;
     private Optional<Vector3f> target;
@@ -54,63 +66,98 @@ public class WrapperPlayClientInteractEntity extends PacketWrapper<WrapperPlayCl
 
     @Override
     public void read() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            this.entityID = readInt();
-            byte typeIndex = readByte();
-            this.interactAction = InteractAction.VALUES[typeIndex];
-            this.target = Optional.empty();
-            this.interactionHand = InteractionHand.MAIN_HAND;
-            this.sneaking = Optional.empty();
-        } else {
-            this.entityID = readVarInt();
-            int typeIndex = readVarInt();
-            this.interactAction = InteractAction.VALUES[typeIndex];
-            if (interactAction == InteractAction.INTERACT_AT) {
-                float x = readFloat();
-                float y = readFloat();
-                float z = readFloat();
-                this.target = Optional.of(new Vector3f(x, y, z));
-            } else {
-                this.target = Optional.empty();
-            }
-
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9) && (interactAction == InteractAction.INTERACT || interactAction == InteractAction.INTERACT_AT)) {
-                int handID = readVarInt();
-                this.interactionHand = InteractionHand.getById(handID);
-            } else {
-                this.interactionHand = InteractionHand.MAIN_HAND;
-            }
-
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_16)) {
-                this.sneaking = Optional.of(readBoolean());
-            } else {
-                this.sneaking = Optional.empty();
-            }
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeInt(entityID);
-            writeByte(interactAction.ordinal());
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        this.entityID = readInt();
+        byte typeIndex = readByte();
+        this.interactAction = InteractAction.VALUES[typeIndex];
+        this.target = Optional.empty();
+        this.interactionHand = InteractionHand.MAIN_HAND;
+        this.sneaking = Optional.empty();
+    }
+
+    private void writeV1_7_10() {
+        writeInt(entityID);
+        writeByte(interactAction.ordinal());
+    }
+
+    private void readV1_8() {
+        readActionAndTarget();
+        this.interactionHand = InteractionHand.MAIN_HAND;
+        this.sneaking = Optional.empty();
+    }
+
+    private void writeV1_8() {
+        writeActionAndTarget();
+    }
+
+    private void readV1_9() {
+        readActionAndTarget();
+        readHand();
+        this.sneaking = Optional.empty();
+    }
+
+    private void writeV1_9() {
+        writeActionAndTarget();
+        writeHand();
+    }
+
+    private void readV1_16() {
+        readActionAndTarget();
+        readHand();
+        this.sneaking = Optional.of(readBoolean());
+    }
+
+    private void writeV1_16() {
+        writeActionAndTarget();
+        writeHand();
+        writeBoolean(sneaking.orElse(false));
+    }
+
+    private void readActionAndTarget() {
+        this.entityID = readVarInt();
+        int typeIndex = readVarInt();
+        this.interactAction = InteractAction.VALUES[typeIndex];
+        if (interactAction == InteractAction.INTERACT_AT) {
+            float x = readFloat();
+            float y = readFloat();
+            float z = readFloat();
+            this.target = Optional.of(new Vector3f(x, y, z));
         } else {
-            writeVarInt(entityID);
-            writeVarInt(interactAction.ordinal());
-            if (interactAction == InteractAction.INTERACT_AT) {
-                Vector3f targetVec = target.orElse(new Vector3f(0.0F, 0.0F, 0.0F));
-                writeFloat(targetVec.x);
-                writeFloat(targetVec.y);
-                writeFloat(targetVec.z);
-            }
-
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9) && (interactAction == InteractAction.INTERACT || interactAction == InteractAction.INTERACT_AT)) {
-                writeVarInt(interactionHand.getId());
-            }
-
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_16)) {
-                writeBoolean(sneaking.orElse(false));
-            }
+            this.target = Optional.empty();
+        }
+    }
+
+    private void writeActionAndTarget() {
+        writeVarInt(entityID);
+        writeVarInt(interactAction.ordinal());
+        if (interactAction == InteractAction.INTERACT_AT) {
+            Vector3f targetVec = target.orElse(new Vector3f(0.0F, 0.0F, 0.0F));
+            writeFloat(targetVec.x);
+            writeFloat(targetVec.y);
+            writeFloat(targetVec.z);
+        }
+    }
+
+    private void readHand() {
+        if (interactAction == InteractAction.INTERACT || interactAction == InteractAction.INTERACT_AT) {
+            int handID = readVarInt();
+            this.interactionHand = InteractionHand.getById(handID);
+        } else {
+            this.interactionHand = InteractionHand.MAIN_HAND;
+        }
+    }
+
+    private void writeHand() {
+        if (interactAction == InteractAction.INTERACT || interactAction == InteractAction.INTERACT_AT) {
+            writeVarInt(interactionHand.getId());
         }
     }
 
@@ -128,6 +175,7 @@ public class WrapperPlayClientInteractEntity extends PacketWrapper<WrapperPlayCl
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -136,6 +184,7 @@ public class WrapperPlayClientInteractEntity extends PacketWrapper<WrapperPlayCl
     }
 
     public void setAction(InteractAction interactAction) {
+        markDirty();
         this.interactAction = interactAction;
     }
 
@@ -144,6 +193,7 @@ public class WrapperPlayClientInteractEntity extends PacketWrapper<WrapperPlayCl
     }
 
     public void setHand(InteractionHand interactionHand) {
+        markDirty();
         this.interactionHand = interactionHand;
     }
 
@@ -152,6 +202,7 @@ public class WrapperPlayClientInteractEntity extends PacketWrapper<WrapperPlayCl
     }
 
     public void setTarget(Optional<Vector3f> target) {
+        markDirty();
         this.target = target;
     }
 
@@ -160,6 +211,7 @@ public class WrapperPlayClientInteractEntity extends PacketWrapper<WrapperPlayCl
     }
 
     public void setSneaking(Optional<Boolean> sneaking) {
+        markDirty();
         this.sneaking = sneaking;
     }
 
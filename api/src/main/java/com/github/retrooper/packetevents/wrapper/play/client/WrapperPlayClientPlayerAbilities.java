@@ -118,6 +118,7 @@ public class WrapperPlayClientPlayerAbilities extends PacketWrapper<WrapperPlayC
     }
 
     public void setFlying(boolean flying) {
+        markDirty();
         this.flying = flying;
     }
 
@@ -126,6 +127,7 @@ public class WrapperPlayClientPlayerAbilities extends PacketWrapper<WrapperPlayC
     }
 
     public void setInGodMode(Optional<Boolean> godMode) {
+        markDirty();
         this.godMode = godMode;
     }
 
@@ -134,6 +136,7 @@ public class WrapperPlayClientPlayerAbilities extends PacketWrapper<WrapperPlayC
     }
 
     public void setFlightAllowed(Optional<Boolean> flightAllowed) {
+        markDirty();
         this.flightAllowed = flightAllowed;
     }
 
@@ -142,6 +145,7 @@ public class WrapperPlayClientPlayerAbilities extends PacketWrapper<WrapperPlayC
     }
 
     public void setCreativeMode(Optional<Boolean> creativeMode) {
+        markDirty();
         this.creativeMode = creativeMode;
     }
 
@@ -150,6 +154,7 @@ public class WrapperPlayClientPlayerAbilities extends PacketWrapper<WrapperPlayC
     }
 
     public void setFlySpeed(Optional<Float> flySpeed) {
+        markDirty();
         this.flySpeed = flySpeed;
     }
 
@@ -158,6 +163,7 @@ public class WrapperPlayClientPlayerAbilities extends PacketWrapper<WrapperPlayC
     }
 
     public void setWalkSpeed(Optional<Float> walkSpeed) {
+        markDirty();
         this.walkSpeed = walkSpeed;
     }
 }
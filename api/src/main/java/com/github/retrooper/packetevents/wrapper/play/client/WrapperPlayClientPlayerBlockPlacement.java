@@ -147,6 +147,7 @@ public class WrapperPlayClientPlayerBlockPlacement extends PacketWrapper<Wrapper
     }
 
     public void setHand(InteractionHand interactionHand) {
+        markDirty();
         this.interactionHand = interactionHand;
     }
 
@@ -155,6 +156,7 @@ public class WrapperPlayClientPlayerBlockPlacement extends PacketWrapper<Wrapper
     }
 
     public void setBlockPosition(Vector3i blockPosition) {
+        markDirty();
         this.blockPosition = blockPosition;
     }
 
@@ -163,6 +165,7 @@ public class WrapperPlayClientPlayerBlockPlacement extends PacketWrapper<Wrapper
     }
 
     public void setFace(BlockFace face) {
+        markDirty();
         this.face = face;
     }
 
@@ -171,14 +174,17 @@ public class WrapperPlayClientPlayerBlockPlacement extends PacketWrapper<Wrapper
     }
 
     public void setCursorPosition(Vector3f cursorPosition) {
+        markDirty();
         this.cursorPosition = cursorPosition;
     }
 
     public Optional<ItemStack> getItemStack() {
+        markDirty();
         return itemStack;
     }
 
     public void setItemStack(Optional<ItemStack> itemStack) {
+        markDirty();
         this.itemStack = itemStack;
     }
 
@@ -187,6 +193,7 @@ public class WrapperPlayClientPlayerBlockPlacement extends PacketWrapper<Wrapper
     }
 
     public void setInsideBlock(Optional<Boolean> insideBlock) {
+        markDirty();
         this.insideBlock = insideBlock;
     }
 
@@ -195,6 +202,7 @@ public class WrapperPlayClientPlayerBlockPlacement extends PacketWrapper<Wrapper
     }
 
     public void setSequence(int sequence) {
+        markDirty();
         this.sequence = sequence;
     }
 }
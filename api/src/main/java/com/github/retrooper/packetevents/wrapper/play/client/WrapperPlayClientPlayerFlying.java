@@ -25,8 +25,16 @@ import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
 import com.github.retrooper.packetevents.protocol.world.Location;
 import com.github.retrooper.packetevents.util.Vector3d;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayClientPlayerFlying extends PacketWrapper<WrapperPlayClientPlayerFlying> {
+    private static final VersionedCodec<WrapperPlayClientPlayerFlying> CODEC = VersionedCodec.resolve(version -> {
+        if (version == ServerVersion.V_1_7_10) {
+            return WrapperCodec.of(WrapperPlayClientPlayerFlying::readV1_7_10, WrapperPlayClientPlayerFlying::writeV1_7_10);
+        }
+        return WrapperCodec.of(WrapperPlayClientPlayerFlying::readV1_8, WrapperPlayClientPlayerFlying::writeV1_8);
+    });
     private boolean positionChanged;
     private boolean rotationChanged;
     private Location location;
@@ -60,38 +68,67 @@ public class WrapperPlayClientPlayerFlying extends PacketWrapper<WrapperPlayClie
 
     @Override
     public void read() {
+        CODEC.reader(serverVersion).read(this);
+    }
+
+    @Override
+    public void write() {
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
         Vector3d position = new Vector3d();
-        float yaw = 0.0f;
-        float pitch = 0.0f;
         if (positionChanged) {
             double x = readDouble();
             double y = readDouble();
-            if (serverVersion == ServerVersion.V_1_7_10) {
-                //Can be ignored, cause stance = (y + 1.62)
-                double stance = readDouble();
-            }
+            //Can be ignored, cause stance = (y + 1.62)
+            double stance = readDouble();
             double z = readDouble();
             position = new Vector3d(x, y, z);
         }
-        if (rotationChanged) {
-            yaw = readFloat();
-            pitch = readFloat();
+        readRotationAndGround(position);
+    }
+
+    private void writeV1_7_10() {
+        if (positionChanged) {
+            writeDouble(location.getPosition().getX());
+            //Can be ignored, cause stance = (y + 1.62)
+            writeDouble(location.getPosition().getY() + 1.62);
+            writeDouble(location.getPosition().getY());
+            writeDouble(location.getPosition().getZ());
         }
-        location = new Location(position, yaw, pitch);
-        onGround = readBoolean();
+        writeRotationAndGround();
     }
 
-    @Override
-    public void write() {
+    private void readV1_8() {
+        Vector3d position = new Vector3d();
+        if (positionChanged) {
+            position = new Vector3d(readDouble(), readDouble(), readDouble());
+        }
+        readRotationAndGround(position);
+    }
+
+    private void writeV1_8() {
         if (positionChanged) {
             writeDouble(location.getPosition().getX());
-            if (serverVersion == ServerVersion.V_1_7_10) {
-                //Can be ignored, cause stance = (y + 1.62)
-                writeDouble(location.getPosition().getY() + 1.62);
-            }
             writeDouble(location.getPosition().getY());
             writeDouble(location.getPosition().getZ());
         }
+        writeRotationAndGround();
+    }
+
+    private void readRotationAndGround(Vector3d position) {
+        float yaw = 0.0f;
+        float pitch = 0.0f;
+        if (rotationChanged) {
+            yaw = readFloat();
+            pitch = readFloat();
+        }
+        location = new Location(position, yaw, pitch);
+        onGround = readBoolean();
+    }
+
+    private void writeRotationAndGround() {
         if (rotationChanged) {
             writeFloat(location.getYaw());
             writeFloat(location.getPitch());
@@ -108,10 +145,12 @@ public class WrapperPlayClientPlayerFlying extends PacketWrapper<WrapperPlayClie
     }
 
     public Location getLocation() {
+        markDirty();
         return location;
     }
 
     public void setLocation(Location location) {
+        markDirty();
         this.location = location;
     }
 
@@ -120,6 +159,7 @@ public class WrapperPlayClientPlayerFlying extends PacketWrapper<WrapperPlayClie
     }
 
     public void setPositionChanged(boolean positionChanged) {
+        markDirty();
         this.positionChanged = positionChanged;
     }
 
@@ -128,6 +168,7 @@ public class WrapperPlayClientPlayerFlying extends PacketWrapper<WrapperPlayClie
     }
 
     public void setRotationChanged(boolean rotationChanged) {
+        markDirty();
         this.rotationChanged = rotationChanged;
     }
 
@@ -136,6 +177,7 @@ public class WrapperPlayClientPlayerFlying extends PacketWrapper<WrapperPlayClie
     }
 
     public void setOnGround(boolean onGround) {
+        markDirty();
         this.onGround = onGround;
     }
 }
@@ -36,6 +36,7 @@ public class WrapperPlayClientPlayerPosition extends WrapperPlayClientPlayerFlyi
     }
 
     public void setPosition(Vector3d position) {
+        markDirty();
         getLocation().setPosition(position);
     }
 }
@@ -40,6 +40,7 @@ public class WrapperPlayClientPlayerPositionAndRotation extends WrapperPlayClien
     }
 
     public void setPosition(Vector3d position) {
+        markDirty();
         getLocation().setPosition(position);
     }
 
@@ -48,6 +49,7 @@ public class WrapperPlayClientPlayerPositionAndRotation extends WrapperPlayClien
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         getLocation().setYaw(yaw);
     }
 
@@ -56,6 +58,7 @@ public class WrapperPlayClientPlayerPositionAndRotation extends WrapperPlayClien
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         getLocation().setPitch(pitch);
     }
 }
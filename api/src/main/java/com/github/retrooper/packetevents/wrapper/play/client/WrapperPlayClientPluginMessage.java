@@ -100,6 +100,7 @@ public class WrapperPlayClientPluginMessage extends PacketWrapper<WrapperPlayCli
      * @param channelName The channel name.
      */
     public void setChannelName(String channelName) {
+        markDirty();
         this.channelName = channelName;
     }
 
@@ -109,6 +110,7 @@ public class WrapperPlayClientPluginMessage extends PacketWrapper<WrapperPlayCli
      * @return The data.
      */
     public byte[] getData() {
+        markDirty();
         return data;
     }
 
@@ -118,6 +120,7 @@ public class WrapperPlayClientPluginMessage extends PacketWrapper<WrapperPlayCli
      * @param data The data.
      */
     public void setData(byte[] data) {
+        markDirty();
         this.data = data;
     }
 }
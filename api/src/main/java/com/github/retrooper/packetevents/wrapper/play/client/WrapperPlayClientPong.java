@@ -21,6 +21,9 @@ package com.github.retrooper.packetevents.wrapper.play.client;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerPing;
 
 /**
@@ -30,8 +33,10 @@ import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerPi
  *
  * @see WrapperPlayServerPing
  */
+@WrapperSchema
 public class WrapperPlayClientPong extends PacketWrapper<WrapperPlayClientPong> {
-    private int id;
+    @SchemaField(FieldType.INT)
+    int id;
 
     public WrapperPlayClientPong(PacketReceiveEvent event) {
         super(event);
@@ -44,17 +49,22 @@ public class WrapperPlayClientPong extends PacketWrapper<WrapperPlayClientPong>
 
     @Override
     public void read() {
-        this.id = readInt();
+        WrapperPlayClientPongCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeInt(id);
+        WrapperPlayClientPongCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayClientPong wrapper) {
-        this.id = wrapper.id;
+        WrapperPlayClientPongCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayClientPongCodec.estimateSize(this);
     }
 
     /**
@@ -67,6 +77,7 @@ public class WrapperPlayClientPong extends PacketWrapper<WrapperPlayClientPong>
     }
 
     public void setId(int id) {
+        markDirty();
         this.id = id;
     }
 }
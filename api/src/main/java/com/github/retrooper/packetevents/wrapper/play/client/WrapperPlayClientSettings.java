@@ -152,6 +152,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setLocale(String locale) {
+        markDirty();
         this.locale = locale;
     }
 
@@ -160,6 +161,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setViewDistance(int viewDistance) {
+        markDirty();
         this.viewDistance = viewDistance;
     }
 
@@ -168,6 +170,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setVisibility(ChatVisibility visibility) {
+        markDirty();
         this.visibility = visibility;
     }
 
@@ -176,6 +179,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setChatColorable(boolean chatColorable) {
+        markDirty();
         this.chatColorable = chatColorable;
     }
 
@@ -184,6 +188,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setVisibleSkinSectionMask(byte visibleSkinSectionMask) {
+        markDirty();
         this.visibleSkinSectionMask = visibleSkinSectionMask;
     }
 
@@ -192,6 +197,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setVisibleSkinSections(SkinSection visibleSkinSection) {
+        markDirty();
         this.visibleSkinSectionMask = visibleSkinSection.getMask();
     }
 
@@ -200,6 +206,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setSkinSectionVisible(SkinSection section, boolean visible) {
+        markDirty();
         visibleSkinSectionMask = section.set(visibleSkinSectionMask, visible);
     }
 
@@ -208,6 +215,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setMainHand(HumanoidArm hand) {
+        markDirty();
         this.hand = hand;
     }
 
@@ -216,6 +224,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setTextFilteringEnabled(boolean textFilteringEnabled) {
+        markDirty();
         this.textFilteringEnabled = textFilteringEnabled;
     }
 
@@ -224,6 +233,7 @@ public class WrapperPlayClientSettings extends PacketWrapper<WrapperPlayClientSe
     }
 
     public void setServerListingAllowed(boolean allowServerListings) {
+        markDirty();
         this.allowServerListings = allowServerListings;
     }
 }
@@ -21,6 +21,9 @@ package com.github.retrooper.packetevents.wrapper.play.client;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
 /**
  * Not to be confused with {@link WrapperPlayClientSteerBoat}
@@ -30,10 +33,14 @@ import com.github.retrooper.packetevents.wrapper.PacketWrapper;
  * On 1.8 and older, vehicle control is server sided.  This packet includes inputs for movement.
  * On 1.9 and newer, plugins may use this packet to create vehicles out of ordinary entities.
  */
+@WrapperSchema
 public class WrapperPlayClientSteerVehicle extends PacketWrapper<WrapperPlayClientSteerVehicle> {
-    private float sideways;
-    private float forward;
-    private byte flags;
+    @SchemaField(FieldType.FLOAT)
+    float sideways;
+    @SchemaField(FieldType.FLOAT)
+    float forward;
+    @SchemaField(FieldType.BYTE)
+    byte flags;
 
     public WrapperPlayClientSteerVehicle(PacketReceiveEvent event) {
         super(event);
@@ -48,23 +55,22 @@ public class WrapperPlayClientSteerVehicle extends PacketWrapper<WrapperPlayClie
 
     @Override
     public void read() {
-        this.sideways = readFloat();
-        this.forward = readFloat();
-        this.flags = readByte();
+        WrapperPlayClientSteerVehicleCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeFloat(sideways);
-        writeFloat(forward);
-        writeByte(flags);
+        WrapperPlayClientSteerVehicleCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayClientSteerVehicle wrapper) {
-        this.sideways = wrapper.sideways;
-        this.forward = wrapper.forward;
-        this.flags = wrapper.flags;
+        WrapperPlayClientSteerVehicleCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayClientSteerVehicleCodec.estimateSize(this);
     }
 
     public float getSideways() {
@@ -72,6 +78,7 @@ public class WrapperPlayClientSteerVehicle extends PacketWrapper<WrapperPlayClie
     }
 
     public void setSideways(float sideways) {
+        markDirty();
         this.sideways = sideways;
     }
 
@@ -80,6 +87,7 @@ public class WrapperPlayClientSteerVehicle extends PacketWrapper<WrapperPlayClie
     }
 
     public void setForward(float forward) {
+        markDirty();
         this.forward = forward;
     }
 
@@ -88,6 +96,7 @@ public class WrapperPlayClientSteerVehicle extends PacketWrapper<WrapperPlayClie
     }
 
     public void setFlags(byte flags) {
+        markDirty();
         this.flags = flags;
     }
 
@@ -96,6 +105,7 @@ public class WrapperPlayClientSteerVehicle extends PacketWrapper<WrapperPlayClie
     }
 
     public void setJump(boolean jump) {
+        markDirty();
         if (jump) {
             flags |= 0x01;
         } else {
@@ -108,6 +118,7 @@ public class WrapperPlayClientSteerVehicle extends PacketWrapper<WrapperPlayClie
     }
 
     public void setUnmount(boolean unmount) {
+        markDirty();
         if (unmount) {
             flags |= 0x02;
         } else {
@@ -64,6 +64,7 @@ public class WrapperPlayClientUpdateCommandBlockMinecart extends PacketWrapper<W
     }
 
     public void setEntityId(int entityId) {
+        markDirty();
         this.entityId = entityId;
     }
 
@@ -72,6 +73,7 @@ public class WrapperPlayClientUpdateCommandBlockMinecart extends PacketWrapper<W
     }
 
     public void setCommand(String command) {
+        markDirty();
         this.command = command;
     }
 
@@ -80,6 +82,7 @@ public class WrapperPlayClientUpdateCommandBlockMinecart extends PacketWrapper<W
     }
 
     public void setTrackOutput(boolean trackOutput) {
+        markDirty();
         this.trackOutput = trackOutput;
     }
 }
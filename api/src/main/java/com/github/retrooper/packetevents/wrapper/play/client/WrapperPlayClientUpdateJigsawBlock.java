@@ -123,6 +123,7 @@ public class WrapperPlayClientUpdateJigsawBlock extends PacketWrapper<WrapperPla
     }
 
     public void setPosition(Vector3i position) {
+        markDirty();
         this.position = position;
     }
 
@@ -131,6 +132,7 @@ public class WrapperPlayClientUpdateJigsawBlock extends PacketWrapper<WrapperPla
     }
 
     public void setName(ResourceLocation name) {
+        markDirty();
         this.name = name;
     }
 
@@ -139,6 +141,7 @@ public class WrapperPlayClientUpdateJigsawBlock extends PacketWrapper<WrapperPla
     }
 
     public void setTarget(@Nullable ResourceLocation target) {
+        markDirty();
         this.target = target;
     }
 
@@ -147,6 +150,7 @@ public class WrapperPlayClientUpdateJigsawBlock extends PacketWrapper<WrapperPla
     }
 
     public void setPool(ResourceLocation pool) {
+        markDirty();
         this.pool = pool;
     }
 
@@ -155,6 +159,7 @@ public class WrapperPlayClientUpdateJigsawBlock extends PacketWrapper<WrapperPla
     }
 
     public void setFinalState(String finalState) {
+        markDirty();
         this.finalState = finalState;
     }
 
@@ -163,6 +168,7 @@ public class WrapperPlayClientUpdateJigsawBlock extends PacketWrapper<WrapperPla
     }
 
     public void setJointType(@Nullable JointType jointType) {
+        markDirty();
         this.jointType = jointType;
     }
 
@@ -171,6 +177,7 @@ public class WrapperPlayClientUpdateJigsawBlock extends PacketWrapper<WrapperPla
     }
 
     public void setSelectionPriority(int selectionPriority) {
+        markDirty();
         this.selectionPriority = selectionPriority;
     }
 
@@ -179,6 +186,7 @@ public class WrapperPlayClientUpdateJigsawBlock extends PacketWrapper<WrapperPla
     }
 
     public void setPlacementPriority(int placementPriority) {
+        markDirty();
         this.placementPriority = placementPriority;
     }
 }
@@ -104,6 +104,7 @@ public class WrapperPlayClientUpdateSign extends PacketWrapper<WrapperPlayClient
      * @param blockPosition Sign position
      */
     public void setBlockPosition(Vector3i blockPosition) {
+        markDirty();
         this.blockPosition = blockPosition;
     }
 
@@ -113,6 +114,7 @@ public class WrapperPlayClientUpdateSign extends PacketWrapper<WrapperPlayClient
      * @return Sign content
      */
     public String[] getTextLines() {
+        markDirty();
         return textLines;
     }
 
@@ -122,6 +124,7 @@ public class WrapperPlayClientUpdateSign extends PacketWrapper<WrapperPlayClient
      * @param textLines Sign content
      */
     public void setTextLines(String[] textLines) {
+        markDirty();
         this.textLines = textLines;
     }
 
@@ -130,6 +133,7 @@ public class WrapperPlayClientUpdateSign extends PacketWrapper<WrapperPlayClient
     }
 
     public void setFrontText(boolean frontText) {
+        markDirty();
         isFrontText = frontText;
     }
 }
@@ -64,6 +64,7 @@ public class WrapperPlayClientUseItem extends PacketWrapper<WrapperPlayClientUse
     }
 
     public void setHand(InteractionHand hand) {
+        markDirty();
         this.hand = hand;
     }
 
@@ -72,6 +73,7 @@ public class WrapperPlayClientUseItem extends PacketWrapper<WrapperPlayClientUse
     }
 
     public void setSequence(int sequence) {
+        markDirty();
         this.sequence = sequence;
     }
 }
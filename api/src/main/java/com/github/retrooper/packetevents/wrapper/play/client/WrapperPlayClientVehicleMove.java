@@ -70,6 +70,7 @@ public class WrapperPlayClientVehicleMove extends PacketWrapper<WrapperPlayClien
     }
 
     public void setPosition(Vector3d position) {
+        markDirty();
         this.position = position;
     }
 
@@ -78,6 +79,7 @@ public class WrapperPlayClientVehicleMove extends PacketWrapper<WrapperPlayClien
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         this.yaw = yaw;
     }
 
@@ -86,6 +88,7 @@ public class WrapperPlayClientVehicleMove extends PacketWrapper<WrapperPlayClien
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 }
@@ -79,6 +79,7 @@ public class WrapperPlayClientWindowConfirmation extends PacketWrapper<WrapperPl
     }
 
     public void setWindowId(int windowID) {
+        markDirty();
         this.windowId = windowID;
     }
 
@@ -87,6 +88,7 @@ public class WrapperPlayClientWindowConfirmation extends PacketWrapper<WrapperPl
     }
 
     public void setActionId(short actionId) {
+        markDirty();
         this.actionId = actionId;
     }
 
@@ -95,6 +97,7 @@ public class WrapperPlayClientWindowConfirmation extends PacketWrapper<WrapperPl
     }
 
     public void setAccepted(boolean accepted) {
+        markDirty();
         this.accepted = accepted;
     }
 }
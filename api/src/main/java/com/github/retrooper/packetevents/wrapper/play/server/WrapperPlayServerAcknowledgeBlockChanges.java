@@ -36,6 +36,7 @@ public class WrapperPlayServerAcknowledgeBlockChanges extends PacketWrapper<Wrap
     }
 
     public void setSequence(int sequence) {
+        markDirty();
         this.sequence = sequence;
     }
 }
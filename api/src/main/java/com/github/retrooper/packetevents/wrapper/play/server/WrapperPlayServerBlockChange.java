@@ -24,8 +24,16 @@ import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
 import com.github.retrooper.packetevents.util.Vector3i;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayServerBlockChange extends PacketWrapper<WrapperPlayServerBlockChange> {
+    private static final VersionedCodec<WrapperPlayServerBlockChange> CODEC = VersionedCodec.resolve(version -> {
+        if (version == ServerVersion.V_1_7_10) {
+            return WrapperCodec.of(WrapperPlayServerBlockChange::readV1_7_10, WrapperPlayServerBlockChange::writeV1_7_10);
+        }
+        return WrapperCodec.of(WrapperPlayServerBlockChange::readV1_8, WrapperPlayServerBlockChange::writeV1_8);
+    });
     private Vector3i blockPosition;
     private int blockID;
 
@@ -41,29 +49,37 @@ public class WrapperPlayServerBlockChange extends PacketWrapper<WrapperPlayServe
 
     @Override
     public void read() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            blockPosition = new Vector3i(readInt(), readUnsignedByte(), readInt());
-            int block = readVarInt();
-            int blockData = readUnsignedByte();
-            blockID = block | (blockData << 12);
-        } else {
-            blockPosition = readBlockPosition();
-            blockID = readVarInt();
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeInt(blockPosition.getX());
-            writeByte(blockPosition.getY());
-            writeInt(blockPosition.getZ());
-            writeVarInt(blockID & 0xff);
-            writeByte(blockID >> 12);
-        } else {
-            writeBlockPosition(blockPosition);
-            writeVarInt(blockID);
-        }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        blockPosition = new Vector3i(readInt(), readUnsignedByte(), readInt());
+        int block = readVarInt();
+        int blockData = readUnsignedByte();
+        blockID = block | (blockData << 12);
+    }
+
+    private void writeV1_7_10() {
+        writeInt(blockPosition.getX());
+        writeByte(blockPosition.getY());
+        writeInt(blockPosition.getZ());
+        writeVarInt(blockID & 0xff);
+        writeByte(blockID >> 12);
+    }
+
+    private void readV1_8() {
+        blockPosition = readBlockPosition();
+        blockID = readVarInt();
+    }
+
+    private void writeV1_8() {
+        writeBlockPosition(blockPosition);
+        writeVarInt(blockID);
     }
 
     @Override
@@ -77,6 +93,7 @@ public class WrapperPlayServerBlockChange extends PacketWrapper<WrapperPlayServe
     }
 
     public void setBlockPosition(Vector3i blockPosition) {
+        markDirty();
         this.blockPosition = blockPosition;
     }
 
@@ -85,6 +102,7 @@ public class WrapperPlayServerBlockChange extends PacketWrapper<WrapperPlayServe
     }
 
     public void setBlockID(int blockID) {
+        markDirty();
         this.blockID = blockID;
     }
 
@@ -93,6 +111,7 @@ public class WrapperPlayServerBlockChange extends PacketWrapper<WrapperPlayServe
     }
 
     public void setBlockState(WrappedBlockState blockState) {
+        markDirty();
         this.blockID = blockState.getGlobalId();
     }
 }
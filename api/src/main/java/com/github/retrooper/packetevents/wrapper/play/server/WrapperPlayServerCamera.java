@@ -21,9 +21,14 @@ package com.github.retrooper.packetevents.wrapper.play.server;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
+@WrapperSchema
 public class WrapperPlayServerCamera extends PacketWrapper<WrapperPlayServerCamera> {
-    private int cameraId;
+    @SchemaField(FieldType.VAR_INT)
+    int cameraId;
 
     public WrapperPlayServerCamera(PacketSendEvent event) {
         super(event);
@@ -36,17 +41,22 @@ public class WrapperPlayServerCamera extends PacketWrapper<WrapperPlayServerCame
 
     @Override
     public void read() {
-        this.cameraId = readVarInt();
+        WrapperPlayServerCameraCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeVarInt(this.cameraId);
+        WrapperPlayServerCameraCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayServerCamera wrapper) {
-        this.cameraId = wrapper.cameraId;
+        WrapperPlayServerCameraCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerCameraCodec.estimateSize(this);
     }
 
     public int getCameraId() {
@@ -54,6 +64,7 @@ public class WrapperPlayServerCamera extends PacketWrapper<WrapperPlayServerCame
     }
 
     public void setCameraId(int cameraId) {
+        markDirty();
         this.cameraId = cameraId;
     }
 }
@@ -69,10 +69,12 @@ public class WrapperPlayServerChatMessage extends PacketWrapper<WrapperPlayServe
     }
 
     public ChatMessage getMessage() {
+        markDirty();
         return message;
     }
 
     public void setMessage(ChatMessage message) {
+        markDirty();
         this.message = message;
     }
 
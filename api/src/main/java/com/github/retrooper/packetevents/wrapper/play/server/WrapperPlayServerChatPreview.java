@@ -45,6 +45,7 @@ public class WrapperPlayServerChatPreview extends PacketWrapper<WrapperPlayServe
     }
 
     public void setQueryId(int queryId) {
+        markDirty();
         this.queryId = queryId;
     }
 
@@ -53,6 +54,7 @@ public class WrapperPlayServerChatPreview extends PacketWrapper<WrapperPlayServe
     }
 
     public void setMessage(@Nullable Component message) {
+        markDirty();
         this.message = message;
     }
 }
\ No newline at end of file
@@ -23,7 +23,6 @@ import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.nbt.NBTCompound;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.stream.NetStreamInput;
-import com.github.retrooper.packetevents.protocol.stream.NetStreamOutput;
 import com.github.retrooper.packetevents.protocol.world.chunk.BaseChunk;
 import com.github.retrooper.packetevents.protocol.world.chunk.Column;
 import com.github.retrooper.packetevents.protocol.world.chunk.NetworkChunkData;
@@ -32,16 +31,16 @@ import com.github.retrooper.packetevents.protocol.world.chunk.impl.v1_16.Chunk_v
 import com.github.retrooper.packetevents.protocol.world.chunk.impl.v1_7.Chunk_v1_7;
 import com.github.retrooper.packetevents.protocol.world.chunk.impl.v1_8.Chunk_v1_8;
 import com.github.retrooper.packetevents.protocol.world.chunk.impl.v_1_18.Chunk_v1_18;
+import com.github.retrooper.packetevents.protocol.world.chunk.impl.v_1_18.EncodedSectionCache;
 import com.github.retrooper.packetevents.protocol.world.chunk.reader.ChunkReader;
 import com.github.retrooper.packetevents.protocol.world.chunk.reader.impl.*;
+import com.github.retrooper.packetevents.util.ZlibPool;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.zip.DataFormatException;
-import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
 public class WrapperPlayServerChunkData extends PacketWrapper<WrapperPlayServerChunkData> {
@@ -96,8 +95,8 @@ public class WrapperPlayServerChunkData extends PacketWrapper<WrapperPlayServerC
 
     private void writeChunkMask(BitSet chunkMask) {
         if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_17)) {
-            //Write primary bit mask
-            long[] longArray = chunkMask.toLongArray();
+            //Write primary bit mask, the light masks are unset when the wrapper was created from a column
+            long[] longArray = chunkMask != null ? chunkMask.toLongArray() : new long[0];
             writeLongArray(longArray);
         } else if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
             //Write primary bit mask
@@ -282,7 +281,7 @@ public class WrapperPlayServerChunkData extends PacketWrapper<WrapperPlayServerC
 
         byte[] data = new byte[len];
         // Inflate chunk data.
-        Inflater inflater = new Inflater();
+        Inflater inflater = ZlibPool.acquireInflater(false);
         inflater.setInput(toDeflate, 0, toDeflate.length);
 
         try {
@@ -290,7 +289,7 @@ public class WrapperPlayServerChunkData extends PacketWrapper<WrapperPlayServerC
         } catch (DataFormatException e) {
             e.printStackTrace();
         } finally {
-            inflater.end();
+            ZlibPool.release(inflater);
         }
 
         return data;
@@ -322,20 +321,15 @@ public class WrapperPlayServerChunkData extends PacketWrapper<WrapperPlayServerC
         //TODO Decompress data on 1.7.10
         //https://github.com/retrooper/packetevents/blob/794ad6b042c1c89a931d322f4f83317b573e891a/src/main/java/io/github/retrooper/packetevents/wrapper/play/server/WrapperPlayServerChunkData.java
 
-        ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
-        NetStreamOutput dataOut = new NetStreamOutput(dataBytes);
-
         BitSet chunkMask = new BitSet();
         BaseChunk[] chunks = column.getChunks();
 
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-            for (int index = 0; index < chunks.length; index++) {
-                BaseChunk chunk = chunks[index];
-                if (v1_18) {
-                    Chunk_v1_18.write(dataOut, (Chunk_v1_18) chunk);
-                } else if (v1_9 && chunk != null) {
-                    chunkMask.set(index);
-                    Chunk_v1_9.write(dataOut, (Chunk_v1_9) chunk);
+        if (v1_9) {
+            if (!v1_18) {
+                for (int index = 0; index < chunks.length; index++) {
+                    if (chunks[index] != null) {
+                        chunkMask.set(index);
+                    }
                 }
             }
         } else if (v1_8) {
@@ -345,39 +339,18 @@ public class WrapperPlayServerChunkData extends PacketWrapper<WrapperPlayServerC
             return;
         } else {
             NetworkChunkData data = ChunkReader_v1_7.chunksToData((Chunk_v1_7[]) chunks, column.getBiomeDataBytes());
-            Deflater deflater = new Deflater(-1);
-
-            byte deflated[] = new byte[data.getData().length];
-            int len = deflated.length;
-            try {
-                deflater.setInput(data.getData(), 0, data.getData().length);
-                deflater.finish();
-                len = deflater.deflate(deflated);
-            } finally {
-                deflater.end();
-            }
             writeShort(data.getMask());
             writeShort(data.getExtendedChunkMask());
+            int lengthIndex = operator().writerIndex(buffer);
+            writeInt(0); // Deflated length, filled in once it is known
+            int len = ZlibPool.deflate(buffer, data.getData());
+            int writerIndex = operator().writerIndex(buffer);
+            operator().writerIndex(buffer, lengthIndex);
             writeInt(len);
-            for (int i = 0; i < len; i++) {
-                dataOut.writeByte(deflated[i]);
-            }
+            operator().writerIndex(buffer, writerIndex);
             return;
         }
 
-        if (column.isFullChunk() && serverVersion.isOlderThan(ServerVersion.V_1_15)) {
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_13)) {
-                for (int i : column.getBiomeDataInts()) {
-                    dataOut.writeInt(i);
-                }
-            } else {
-                for (byte i : column.getBiomeDataBytes()) {
-                    dataOut.writeByte(i);
-                }
-            }
-            hasWrittenBiomeData = true;
-        }
-
         if (!v1_18) {
             writeChunkMask(chunkMask);
         }
@@ -409,8 +382,52 @@ public class WrapperPlayServerChunkData extends PacketWrapper<WrapperPlayServerC
             hasWrittenBiomeData = true;
         }
 
-        byte[] data = dataBytes.toByteArray();
-        writeByteArray(data);
+        // The section data is prefixed with its length, so compute it up front
+        // and write every section straight into the buffer
+        boolean biomesInData = column.isFullChunk() && serverVersion.isOlderThan(ServerVersion.V_1_15);
+        boolean intBiomes = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_13);
+        // Unmodified sections are spliced in from the bytes they have been read from,
+        // modified ones are looked up in the section cache if it is enabled
+        EncodedSectionCache sectionCache = v1_18 ? EncodedSectionCache.getInstance() : null;
+        int dataSize = 0;
+        for (BaseChunk chunk : chunks) {
+            if (v1_18) {
+                dataSize += EncodedSectionCache.getWrittenSize((Chunk_v1_18) chunk, sectionCache);
+            } else if (chunk != null) {
+                dataSize += ((Chunk_v1_9) chunk).getSerializedSize(serverVersion);
+            }
+        }
+        if (biomesInData) {
+            dataSize += intBiomes ? column.getBiomeDataInts().length * 4 : column.getBiomeDataBytes().length;
+        }
+
+        writeVarInt(dataSize);
+        ensureWritable(dataSize);
+        int dataStart = operator().writerIndex(buffer);
+
+        for (BaseChunk chunk : chunks) {
+            if (v1_18) {
+                EncodedSectionCache.write(this, (Chunk_v1_18) chunk, sectionCache);
+            } else if (chunk != null) {
+                Chunk_v1_9.write(this, (Chunk_v1_9) chunk);
+            }
+        }
+
+        if (biomesInData) {
+            if (intBiomes) {
+                for (int i : column.getBiomeDataInts()) {
+                    writeInt(i);
+                }
+            } else {
+                writeBytes(column.getBiomeDataBytes());
+            }
+            hasWrittenBiomeData = true;
+        }
+
+        int writtenSize = operator().writerIndex(buffer) - dataStart;
+        if (writtenSize != dataSize) {
+            throw new IllegalStateException("Chunk data size mismatch, expected " + dataSize + " bytes but wrote " + writtenSize);
+        }
 
         if (column.hasBiomeData() && !hasWrittenBiomeData) {
             byte[] biomeDataBytes = new byte[256];
@@ -475,10 +492,12 @@ public class WrapperPlayServerChunkData extends PacketWrapper<WrapperPlayServerC
     }
 
     public Column getColumn() {
+        markDirty();
         return column;
     }
 
     public void setColumn(Column column) {
+        markDirty();
         this.column = column;
     }
 
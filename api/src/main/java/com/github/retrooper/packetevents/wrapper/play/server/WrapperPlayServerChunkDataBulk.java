@@ -26,13 +26,13 @@ import com.github.retrooper.packetevents.protocol.world.chunk.impl.v1_7.Chunk_v1
 import com.github.retrooper.packetevents.protocol.world.chunk.impl.v1_8.Chunk_v1_8;
 import com.github.retrooper.packetevents.protocol.world.chunk.reader.impl.ChunkReader_v1_7;
 import com.github.retrooper.packetevents.protocol.world.chunk.reader.impl.ChunkReader_v1_8;
+import com.github.retrooper.packetevents.util.ZlibPool;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.zip.DataFormatException;
-import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
 // Credit to MCProtocolLib for this wrapper
@@ -92,7 +92,7 @@ public class WrapperPlayServerChunkDataBulk extends PacketWrapper<WrapperPlaySer
         byte[] deflatedBytes = readBytes(deflatedLength);
         // Inflate chunk data.
         byte[] inflated = new byte[196864 * columns];
-        Inflater inflater = new Inflater();
+        Inflater inflater = ZlibPool.acquireInflater(false);
         inflater.setInput(deflatedBytes, 0, deflatedLength);
         try {
             inflater.inflate(inflated);
@@ -100,7 +100,7 @@ public class WrapperPlayServerChunkDataBulk extends PacketWrapper<WrapperPlaySer
             new IOException("Bad compressed data format").printStackTrace();
             return;
         } finally {
-            inflater.end();
+            ZlibPool.release(inflater);
         }
 
         this.x = new int[columns];
@@ -191,51 +191,34 @@ public class WrapperPlayServerChunkDataBulk extends PacketWrapper<WrapperPlaySer
         int[] chunkMask = new int[this.chunks.length];
         int[] extendedChunkMask = new int[this.chunks.length];
         // Determine values to be written by cycling through columns.
-        int pos = 0;
-        byte[] bytes = new byte[0];
+        byte[][] columnData = new byte[this.chunks.length][];
         boolean skylight = false;
 
         for (int count = 0; count < this.chunks.length; ++count) {
             BaseChunk[] column = this.chunks[count];
             // Convert chunks into network data.
             NetworkChunkData data = ChunkReader_v1_7.chunksToData((Chunk_v1_7[]) column, this.biomeData[count]);
-            if (bytes.length < pos + data.getData().length) {
-                byte[] newArray = new byte[pos + data.getData().length];
-                System.arraycopy(bytes, 0, newArray, 0, bytes.length);
-                bytes = newArray;
-            }
-
             if (data.hasSkyLight()) {
                 skylight = true;
             }
 
-            // Copy column data into data array.
-            System.arraycopy(data.getData(), 0, bytes, pos, data.getData().length);
-            pos += data.getData().length;
+            columnData[count] = data.getData();
             // Set column-specific values.
             chunkMask[count] = data.getMask();
             extendedChunkMask[count] = data.getExtendedChunkMask();
         }
 
-        // Deflate chunk data.
-        Deflater deflater = new Deflater(-1);
-        byte[] deflatedData = new byte[pos];
-        int deflatedLength = pos;
-        try {
-            deflater.setInput(bytes, 0, pos);
-            deflater.finish();
-            deflatedLength = deflater.deflate(deflatedData);
-        } finally {
-            deflater.end();
-        }
-
         // Write data to the network.
         writeShort(this.chunks.length);
-        writeInt(deflatedLength);
+        int lengthIndex = operator().writerIndex(buffer);
+        writeInt(0); // Deflated length, filled in once it is known
         writeBoolean(skylight);
-        for (int i = 0; i < deflatedLength; i++) {
-            writeByte(deflatedData[i]);
-        }
+        // Deflate the chunk data of all columns straight into the buffer
+        int deflatedLength = ZlibPool.deflate(buffer, columnData);
+        int writerIndex = operator().writerIndex(buffer);
+        operator().writerIndex(buffer, lengthIndex);
+        writeInt(deflatedLength);
+        operator().writerIndex(buffer, writerIndex);
 
         for (int count = 0; count < this.chunks.length; ++count) {
             writeInt(this.x[count]);
@@ -246,18 +229,22 @@ public class WrapperPlayServerChunkDataBulk extends PacketWrapper<WrapperPlaySer
     }
 
     public int[] getX() {
+        markDirty();
         return x;
     }
 
     public int[] getZ() {
+        markDirty();
         return z;
     }
 
     public BaseChunk[][] getChunks() {
+        markDirty();
         return chunks;
     }
 
     public byte[][] getBiomeData() {
+        markDirty();
         return biomeData;
     }
 }
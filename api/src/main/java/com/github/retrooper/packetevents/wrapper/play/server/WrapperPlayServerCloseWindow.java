@@ -62,6 +62,7 @@ public class WrapperPlayServerCloseWindow extends PacketWrapper<WrapperPlayServe
      */
     @Deprecated
     public void setWindowId(int windowId) {
+        markDirty();
         this.windowId = windowId;
     }
 }
@@ -22,11 +22,20 @@ import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
+@WrapperSchema
 public class WrapperPlayServerCollectItem extends PacketWrapper<WrapperPlayServerCollectItem> {
-    private int collectedEntityId;
-    private int collectorEntityId;
-    private int pickupItemCount;
+    @SchemaField(value = FieldType.INT, until = ServerVersion.V_1_7_10)
+    @SchemaField(value = FieldType.VAR_INT, since = ServerVersion.V_1_8)
+    int collectedEntityId;
+    @SchemaField(value = FieldType.INT, until = ServerVersion.V_1_7_10)
+    @SchemaField(value = FieldType.VAR_INT, since = ServerVersion.V_1_8)
+    int collectorEntityId;
+    @SchemaField(value = FieldType.VAR_INT, since = ServerVersion.V_1_11)
+    int pickupItemCount;
 
     public WrapperPlayServerCollectItem(PacketSendEvent event) {
         super(event);
@@ -41,37 +50,22 @@ public class WrapperPlayServerCollectItem extends PacketWrapper<WrapperPlayServe
 
     @Override
     public void read() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            collectedEntityId = readInt();
-            collectorEntityId = readInt();
-        } else {
-            collectedEntityId = readVarInt();
-            collectorEntityId = readVarInt();
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_11)) {
-                pickupItemCount = readVarInt();
-            }
-        }
+        WrapperPlayServerCollectItemCodec.read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeInt(collectedEntityId);
-            writeInt(collectorEntityId);
-        } else {
-            writeVarInt(collectedEntityId);
-            writeVarInt(collectorEntityId);
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_11)) {
-                writeVarInt(pickupItemCount);
-            }
-        }
+        WrapperPlayServerCollectItemCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayServerCollectItem wrapper) {
-        collectedEntityId = wrapper.collectedEntityId;
-        collectorEntityId = wrapper.collectorEntityId;
-        pickupItemCount = wrapper.pickupItemCount;
+        WrapperPlayServerCollectItemCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerCollectItemCodec.estimateSize(this);
     }
 
     public int getCollectedEntityId() {
@@ -79,6 +73,7 @@ public class WrapperPlayServerCollectItem extends PacketWrapper<WrapperPlayServe
     }
 
     public void setCollectedEntityId(int collectedEntityId) {
+        markDirty();
         this.collectedEntityId = collectedEntityId;
     }
 
@@ -87,6 +82,7 @@ public class WrapperPlayServerCollectItem extends PacketWrapper<WrapperPlayServe
     }
 
     public void setCollectorEntityId(int collectorEntityId) {
+        markDirty();
         this.collectorEntityId = collectorEntityId;
     }
 
@@ -95,6 +91,7 @@ public class WrapperPlayServerCollectItem extends PacketWrapper<WrapperPlayServe
     }
 
     public void setPickupItemCount(int pickupItemCount) {
+        markDirty();
         this.pickupItemCount = pickupItemCount;
     }
 }
@@ -56,6 +56,7 @@ public class WrapperPlayServerCookieRequest extends PacketWrapper<WrapperPlaySer
     }
 
     public void setKey(ResourceLocation key) {
+        markDirty();
         this.key = key;
     }
 }
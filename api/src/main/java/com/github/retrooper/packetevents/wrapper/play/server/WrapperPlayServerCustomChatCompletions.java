@@ -62,14 +62,17 @@ public class WrapperPlayServerCustomChatCompletions extends PacketWrapper<Wrappe
     }
 
     public void setAction(ChatCompletionAction action) {
+        markDirty();
         this.action = action;
     }
 
     public List<String> getEntries() {
+        markDirty();
         return entries;
     }
 
     public void setEntries(List<String> entries) {
+        markDirty();
         this.entries = entries;
     }
 }
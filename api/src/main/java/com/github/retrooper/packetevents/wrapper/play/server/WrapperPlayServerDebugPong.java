@@ -55,6 +55,7 @@ public class WrapperPlayServerDebugPong extends PacketWrapper<WrapperPlayServerD
     }
 
     public void setTimestamp(long timestamp) {
+        markDirty();
         this.timestamp = timestamp;
     }
 }
@@ -56,10 +56,12 @@ public class WrapperPlayServerDebugSample extends PacketWrapper<WrapperPlayServe
     }
 
     public long[] getSample() {
+        markDirty();
         return this.sample;
     }
 
     public void setSample(long[] sample) {
+        markDirty();
         this.sample = sample;
     }
 
@@ -68,6 +70,7 @@ public class WrapperPlayServerDebugSample extends PacketWrapper<WrapperPlayServe
     }
 
     public void setSampleType(SampleType sampleType) {
+        markDirty();
         this.sampleType = sampleType;
     }
 
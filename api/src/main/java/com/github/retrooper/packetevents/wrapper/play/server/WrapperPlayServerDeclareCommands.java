@@ -20,13 +20,19 @@
 package com.github.retrooper.packetevents.wrapper.play.server;
 
 import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.protocol.chat.CommandGraph;
 import com.github.retrooper.packetevents.protocol.chat.Node;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.BitSet;
 import java.util.List;
 
 public class WrapperPlayServerDeclareCommands extends PacketWrapper<WrapperPlayServerDeclareCommands> {
+    // Either the shared graph (with an optional visibility mask) or a mutable node list is present
+    private CommandGraph graph;
+    private @Nullable BitSet visibleNodes;
     private List<Node> nodes;
     private int rootIndex;
 
@@ -40,24 +46,109 @@ public class WrapperPlayServerDeclareCommands extends PacketWrapper<WrapperPlayS
         this.rootIndex = rootIndex;
     }
 
+    public WrapperPlayServerDeclareCommands(CommandGraph graph) {
+        super(PacketType.Play.Server.DECLARE_COMMANDS);
+        this.graph = graph;
+        this.rootIndex = graph.getRootIndex();
+    }
+
     @Override
     public void read() {
-        nodes = readList(PacketWrapper::readNode);
-        rootIndex = readVarInt();
+        graph = CommandGraph.read(this);
+        rootIndex = graph.getRootIndex();
     }
 
     @Override
     public void write() {
+        if (nodes == null) {
+            graph.write(this, visibleNodes);
+            return;
+        }
         writeList(nodes, PacketWrapper::writeNode);
         writeVarInt(rootIndex);
     }
 
+    @Override
+    public int estimateSize() {
+        return nodes == null ? graph.estimateSize(serverVersion) : -1;
+    }
+
+    @Override
+    public void copy(WrapperPlayServerDeclareCommands wrapper) {
+        graph = wrapper.graph;
+        visibleNodes = wrapper.visibleNodes == null ? null : (BitSet) wrapper.visibleNodes.clone();
+        nodes = wrapper.nodes;
+        rootIndex = wrapper.rootIndex;
+    }
+
+    /**
+     * The returned list is a mutable copy of the shared command graph with the visibility mask applied.
+     * Prefer {@link #getGraph()} and {@link #setVisibleNodes(BitSet)} for filtering, which avoid this copy.
+     *
+     * @return Mutable node list
+     */
     public List<Node> getNodes() {
+        if (nodes == null) {
+            nodes = graph.copyNodes(visibleNodes);
+            rootIndex = graph.getRootIndex(visibleNodes);
+            graph = null;
+            visibleNodes = null;
+        }
+        markDirty();
         return nodes;
     }
 
     public void setNodes(List<Node> nodes) {
+        markDirty();
         this.nodes = nodes;
+        this.graph = null;
+        this.visibleNodes = null;
+    }
+
+    /**
+     * The returned graph may be shared with other packets, it holds its own copies of the nodes and can't be modified.
+     * A node list set through {@link #setNodes(List)} is copied into a new graph, later changes to it are ignored.
+     * Hide nodes using {@link #setVisibleNodes(BitSet)} or replace them using {@link CommandGraph#withNode(int, Node)}.
+     *
+     * @return Shared command graph
+     */
+    public CommandGraph getGraph() {
+        if (graph == null) {
+            graph = new CommandGraph(nodes, rootIndex, serverVersion);
+            nodes = null;
+        }
+        return graph;
+    }
+
+    public void setGraph(CommandGraph graph) {
+        markDirty();
+        this.graph = graph;
+        this.rootIndex = graph.getRootIndex();
+        this.nodes = null;
+        this.visibleNodes = null;
+    }
+
+    /**
+     * Indices of the nodes of {@link #getGraph()} which will be sent, null if every node is sent.
+     *
+     * @return Visibility mask
+     */
+    public @Nullable BitSet getVisibleNodes() {
+        markDirty();
+        return visibleNodes;
+    }
+
+    public void setVisibleNodes(@Nullable BitSet visibleNodes) {
+        markDirty();
+        getGraph();
+        this.visibleNodes = visibleNodes;
+    }
+
+    public void hideNode(int index) {
+        if (visibleNodes == null) {
+            setVisibleNodes(getGraph().createVisibilityMask());
+        }
+        visibleNodes.clear(index);
     }
 
     public int getRootIndex() {
@@ -65,6 +156,8 @@ public class WrapperPlayServerDeclareCommands extends PacketWrapper<WrapperPlayS
     }
 
     public void setRootIndex(int rootIndex) {
+        markDirty();
+        getNodes();
         this.rootIndex = rootIndex;
     }
 }
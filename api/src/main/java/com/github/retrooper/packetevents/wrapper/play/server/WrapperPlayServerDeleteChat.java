@@ -50,10 +50,12 @@ public class WrapperPlayServerDeleteChat extends PacketWrapper<WrapperPlayServer
     }
 
     public byte[] getSignature() {
+        markDirty();
         return signature;
     }
 
     public void setSignature(byte[] signature) {
+        markDirty();
         this.signature = signature;
     }
 }
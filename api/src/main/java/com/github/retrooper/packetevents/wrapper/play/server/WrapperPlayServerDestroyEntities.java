@@ -22,8 +22,19 @@ import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayServerDestroyEntities extends PacketWrapper<WrapperPlayServerDestroyEntities> {
+    private static final VersionedCodec<WrapperPlayServerDestroyEntities> CODEC = VersionedCodec.resolve(version -> {
+        if (version == ServerVersion.V_1_7_10) {
+            return WrapperCodec.of(WrapperPlayServerDestroyEntities::readV1_7_10, WrapperPlayServerDestroyEntities::writeV1_7_10);
+        } else if (version == ServerVersion.V_1_17) {
+            // 1.17 only destroys a single entity per packet
+            return WrapperCodec.of(WrapperPlayServerDestroyEntities::readV1_17, WrapperPlayServerDestroyEntities::writeV1_17);
+        }
+        return WrapperCodec.of(WrapperPlayServerDestroyEntities::readV1_8, WrapperPlayServerDestroyEntities::writeV1_8);
+    });
     private int[] entityIDs;
 
     public WrapperPlayServerDestroyEntities(PacketSendEvent event) {
@@ -42,54 +53,64 @@ public class WrapperPlayServerDestroyEntities extends PacketWrapper<WrapperPlayS
 
     @Override
     public void read() {
-        if (serverVersion == ServerVersion.V_1_17) {
-            entityIDs = new int[]{readVarInt()};
-        } else {
-            if (serverVersion == ServerVersion.V_1_7_10) {
-                int entityIDCount = readUnsignedByte();
-                entityIDs = new int[entityIDCount];
-                for (int i = 0; i < entityIDCount; i++) {
-                    entityIDs[i] = readInt();
-                }
-            } else {
-                int entityIDCount = readVarInt();
-                entityIDs = new int[entityIDCount];
-                for (int i = 0; i < entityIDCount; i++) {
-                    entityIDs[i] = readVarInt();
-                }
-            }
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion == ServerVersion.V_1_17) {
-            writeVarInt(entityIDs[0]);
-        } else {
-            if (serverVersion == ServerVersion.V_1_7_10) {
-                writeByte(entityIDs.length);
-                for (int entityID : entityIDs) {
-                    writeInt(entityID);
-                }
-            } else {
-                writeVarInt(entityIDs.length);
-                for (int entityID : entityIDs) {
-                    writeVarInt(entityID);
-                }
-            }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        int entityIDCount = readUnsignedByte();
+        entityIDs = new int[entityIDCount];
+        for (int i = 0; i < entityIDCount; i++) {
+            entityIDs[i] = readInt();
         }
     }
 
+    private void writeV1_7_10() {
+        writeByte(entityIDs.length);
+        for (int entityID : entityIDs) {
+            writeInt(entityID);
+        }
+    }
+
+    private void readV1_8() {
+        int entityIDCount = readVarInt();
+        entityIDs = new int[entityIDCount];
+        for (int i = 0; i < entityIDCount; i++) {
+            entityIDs[i] = readVarInt();
+        }
+    }
+
+    private void writeV1_8() {
+        writeVarInt(entityIDs.length);
+        for (int entityID : entityIDs) {
+            writeVarInt(entityID);
+        }
+    }
+
+    private void readV1_17() {
+        entityIDs = new int[]{readVarInt()};
+    }
+
+    private void writeV1_17() {
+        writeVarInt(entityIDs[0]);
+    }
+
     @Override
     public void copy(WrapperPlayServerDestroyEntities wrapper) {
         entityIDs = wrapper.entityIDs;
     }
 
     public int[] getEntityIds() {
+        markDirty();
         return entityIDs;
     }
 
     public void setEntityIds(int[] entityIDs) {
+        markDirty();
         this.entityIDs = entityIDs;
     }
 }
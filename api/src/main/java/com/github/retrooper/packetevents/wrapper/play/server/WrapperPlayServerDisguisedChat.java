@@ -61,6 +61,7 @@ public class WrapperPlayServerDisguisedChat extends PacketWrapper<WrapperPlaySer
     }
 
     public void setMessage(Component message) {
+        markDirty();
         this.message = message;
     }
 
@@ -69,6 +70,7 @@ public class WrapperPlayServerDisguisedChat extends PacketWrapper<WrapperPlaySer
     }
 
     public void setChatType(ChatMessage_v1_19_1.ChatTypeBoundNetwork chatType) {
+        markDirty();
         this.chatType = chatType;
     }
 }
@@ -45,9 +45,9 @@ public class WrapperPlayServerDisplayScoreboard extends PacketWrapper<WrapperPla
             position = readByte();
         }
         if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_18)) {
-            scoreName = readString();
+            scoreName = readInternedString(32767);
         } else {
-            scoreName = readString(16);
+            scoreName = readInternedString(16);
         }
     }
 
@@ -76,6 +76,7 @@ public class WrapperPlayServerDisplayScoreboard extends PacketWrapper<WrapperPla
     }
 
     public void setPosition(int position) {
+        markDirty();
         this.position = position;
     }
 
@@ -84,6 +85,7 @@ public class WrapperPlayServerDisplayScoreboard extends PacketWrapper<WrapperPla
     }
 
     public void setScoreName(String scoreName) {
+        markDirty();
         this.scoreName = scoreName;
     }
 }
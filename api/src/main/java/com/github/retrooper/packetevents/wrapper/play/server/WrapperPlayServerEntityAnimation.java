@@ -59,6 +59,7 @@ public class WrapperPlayServerEntityAnimation extends PacketWrapper<WrapperPlayS
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -67,6 +68,7 @@ public class WrapperPlayServerEntityAnimation extends PacketWrapper<WrapperPlayS
     }
 
     public void setType(EntityAnimationType type) {
+        markDirty();
         this.type = type;
     }
 
@@ -96,6 +96,7 @@ public class WrapperPlayServerEntityEffect extends PacketWrapper<WrapperPlayServ
     }
 
     public void setPotionType(PotionType potionType) {
+        markDirty();
         this.potionType = potionType;
     }
 
@@ -104,6 +105,7 @@ public class WrapperPlayServerEntityEffect extends PacketWrapper<WrapperPlayServ
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -112,6 +114,7 @@ public class WrapperPlayServerEntityEffect extends PacketWrapper<WrapperPlayServ
     }
 
     public void setEffectAmplifier(int effectAmplifier) {
+        markDirty();
         this.effectAmplifier = effectAmplifier;
     }
 
@@ -120,6 +123,7 @@ public class WrapperPlayServerEntityEffect extends PacketWrapper<WrapperPlayServ
     }
 
     public void setEffectDurationTicks(int effectDurationTicks) {
+        markDirty();
         this.effectDurationTicks = effectDurationTicks;
     }
 
@@ -132,10 +136,12 @@ public class WrapperPlayServerEntityEffect extends PacketWrapper<WrapperPlayServ
     }
 
     public @Nullable NBTCompound getFactorData() {
+        markDirty();
         return factorData;
     }
 
     public void setFactorData(@Nullable NBTCompound factorData) {
+        markDirty();
         this.factorData = factorData;
     }
 
@@ -156,6 +162,7 @@ public class WrapperPlayServerEntityEffect extends PacketWrapper<WrapperPlayServ
     }
 
     public void setAmbient(boolean isAmbient) {
+        markDirty();
         if (serverVersion.isNewerThan(ServerVersion.V_1_8_8)) {
             // used as a boolean in 1.9, works either way though
             setFlags(constructFlags(isVisible(), isAmbient, isShowIcon()));
@@ -175,6 +182,7 @@ public class WrapperPlayServerEntityEffect extends PacketWrapper<WrapperPlayServ
     }
 
     public void setVisible(boolean isVisible) {
+        markDirty();
         if (serverVersion.isOlderThan(ServerVersion.V_1_10)) {
             return;
         }
@@ -189,6 +197,7 @@ public class WrapperPlayServerEntityEffect extends PacketWrapper<WrapperPlayServ
     }
 
     public void setShowIcon(boolean showIcon) {
+        markDirty();
         if (serverVersion.isOlderThanOrEquals(ServerVersion.V_1_13_2)) {
             return;
         }
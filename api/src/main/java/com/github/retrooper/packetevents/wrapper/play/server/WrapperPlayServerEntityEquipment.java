@@ -25,11 +25,23 @@ import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.player.Equipment;
 import com.github.retrooper.packetevents.protocol.player.EquipmentSlot;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class WrapperPlayServerEntityEquipment extends PacketWrapper<WrapperPlayServerEntityEquipment> {
+    private static final VersionedCodec<WrapperPlayServerEntityEquipment> CODEC = VersionedCodec.resolve(version -> {
+        if (version == ServerVersion.V_1_7_10) {
+            return WrapperCodec.of(WrapperPlayServerEntityEquipment::readV1_7_10, WrapperPlayServerEntityEquipment::writeV1_7_10);
+        } else if (version.isOlderThan(ServerVersion.V_1_9)) {
+            return WrapperCodec.of(WrapperPlayServerEntityEquipment::readV1_8, WrapperPlayServerEntityEquipment::writeV1_8);
+        } else if (version.isOlderThan(ServerVersion.V_1_16)) {
+            return WrapperCodec.of(WrapperPlayServerEntityEquipment::readV1_9, WrapperPlayServerEntityEquipment::writeV1_9);
+        }
+        return WrapperCodec.of(WrapperPlayServerEntityEquipment::readV1_16, WrapperPlayServerEntityEquipment::writeV1_16);
+    });
     private int entityId;
     private List<Equipment> equipment;
 
@@ -45,52 +57,74 @@ public class WrapperPlayServerEntityEquipment extends PacketWrapper<WrapperPlayS
 
     @Override
     public void read() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            entityId = readInt();
-        } else {
-            entityId = readVarInt();
-        }
-        equipment = new ArrayList<>();
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_16)) {
-            byte value;
-            do {
-                value = readByte();
-                EquipmentSlot equipmentSlot = EquipmentSlot.getById(serverVersion, value & Byte.MAX_VALUE);
-                ItemStack itemStack = readItemStack();
-                equipment.add(new Equipment(equipmentSlot, itemStack));
-            } while ((value & Byte.MIN_VALUE) != 0);
-        } else {
-            EquipmentSlot slot;
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-                slot = EquipmentSlot.getById(serverVersion, readVarInt());
-            } else {
-                slot = EquipmentSlot.getById(serverVersion, readShort());
-            }
-            equipment.add(new Equipment(slot, readItemStack()));
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeInt(entityId);
-        } else {
-            writeVarInt(entityId);
-        }
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_16)) {
-            for (int i = 0; i < this.equipment.size(); i++) {
-                Equipment equipment = this.equipment.get(i);
-                boolean last = i == (this.equipment.size() - 1);
-                writeByte(last ? equipment.getSlot().getId(serverVersion) : (equipment.getSlot().getId(serverVersion) | Byte.MIN_VALUE));
-                writeItemStack(equipment.getItem());
-            }
-        } else {
-            Equipment equipment = this.equipment.get(0);
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-                writeVarInt(equipment.getSlot().getId(serverVersion));
-            } else {
-                writeShort(equipment.getSlot().getId(serverVersion));
-            }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        entityId = readInt();
+        EquipmentSlot slot = EquipmentSlot.getById(serverVersion, readShort());
+        equipment = new ArrayList<>();
+        equipment.add(new Equipment(slot, readItemStack()));
+    }
+
+    private void writeV1_7_10() {
+        writeInt(entityId);
+        Equipment equipment = this.equipment.get(0);
+        writeShort(equipment.getSlot().getId(serverVersion));
+        writeItemStack(equipment.getItem());
+    }
+
+    private void readV1_8() {
+        entityId = readVarInt();
+        EquipmentSlot slot = EquipmentSlot.getById(serverVersion, readShort());
+        equipment = new ArrayList<>();
+        equipment.add(new Equipment(slot, readItemStack()));
+    }
+
+    private void writeV1_8() {
+        writeVarInt(entityId);
+        Equipment equipment = this.equipment.get(0);
+        writeShort(equipment.getSlot().getId(serverVersion));
+        writeItemStack(equipment.getItem());
+    }
+
+    private void readV1_9() {
+        entityId = readVarInt();
+        EquipmentSlot slot = EquipmentSlot.getById(serverVersion, readVarInt());
+        equipment = new ArrayList<>();
+        equipment.add(new Equipment(slot, readItemStack()));
+    }
+
+    private void writeV1_9() {
+        writeVarInt(entityId);
+        Equipment equipment = this.equipment.get(0);
+        writeVarInt(equipment.getSlot().getId(serverVersion));
+        writeItemStack(equipment.getItem());
+    }
+
+    private void readV1_16() {
+        entityId = readVarInt();
+        equipment = new ArrayList<>();
+        byte value;
+        do {
+            value = readByte();
+            EquipmentSlot equipmentSlot = EquipmentSlot.getById(serverVersion, value & Byte.MAX_VALUE);
+            ItemStack itemStack = readItemStack();
+            equipment.add(new Equipment(equipmentSlot, itemStack));
+        } while ((value & Byte.MIN_VALUE) != 0);
+    }
+
+    private void writeV1_16() {
+        writeVarInt(entityId);
+        for (int i = 0; i < this.equipment.size(); i++) {
+            Equipment equipment = this.equipment.get(i);
+            boolean last = i == (this.equipment.size() - 1);
+            writeByte(last ? equipment.getSlot().getId(serverVersion) : (equipment.getSlot().getId(serverVersion) | Byte.MIN_VALUE));
             writeItemStack(equipment.getItem());
         }
     }
@@ -106,14 +140,17 @@ public class WrapperPlayServerEntityEquipment extends PacketWrapper<WrapperPlayS
     }
 
     public void setEntityId(int entityId) {
+        markDirty();
         this.entityId = entityId;
     }
 
     public List<Equipment> getEquipment() {
+        markDirty();
         return equipment;
     }
 
     public void setEquipment(List<Equipment> equipment) {
+        markDirty();
         this.equipment = equipment;
     }
 }
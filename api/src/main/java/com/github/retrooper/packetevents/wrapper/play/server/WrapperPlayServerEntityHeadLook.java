@@ -21,11 +21,16 @@ package com.github.retrooper.packetevents.wrapper.play.server;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
+@WrapperSchema
 public class WrapperPlayServerEntityHeadLook extends PacketWrapper<WrapperPlayServerEntityHeadLook> {
-    private static final float ROTATION_FACTOR = 256.0F / 360.0F;
-    private int entityID;
-    private float headYaw;
+    @SchemaField(FieldType.VAR_INT)
+    int entityID;
+    @SchemaField(FieldType.ANGLE)
+    float headYaw;
 
     public WrapperPlayServerEntityHeadLook(PacketSendEvent event) {
         super(event);
@@ -39,20 +44,22 @@ public class WrapperPlayServerEntityHeadLook extends PacketWrapper<WrapperPlaySe
 
     @Override
     public void read() {
-        entityID = readVarInt();
-        headYaw = readByte() / ROTATION_FACTOR;
+        WrapperPlayServerEntityHeadLookCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeVarInt(entityID);
-        writeByte((int) (headYaw * ROTATION_FACTOR));
+        WrapperPlayServerEntityHeadLookCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayServerEntityHeadLook wrapper) {
-        entityID = wrapper.entityID;
-        headYaw = wrapper.headYaw;
+        WrapperPlayServerEntityHeadLookCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerEntityHeadLookCodec.estimateSize(this);
     }
 
     public int getEntityId() {
@@ -60,6 +67,7 @@ public class WrapperPlayServerEntityHeadLook extends PacketWrapper<WrapperPlaySe
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -68,6 +76,7 @@ public class WrapperPlayServerEntityHeadLook extends PacketWrapper<WrapperPlaySe
     }
 
     public void setHeadYaw(float headYaw) {
+        markDirty();
         this.headYaw = headYaw;
     }
 }
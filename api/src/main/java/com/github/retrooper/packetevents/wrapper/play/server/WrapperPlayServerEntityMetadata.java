@@ -25,10 +25,18 @@ import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
 import com.github.retrooper.packetevents.protocol.entity.data.EntityMetadataProvider;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 import java.util.List;
 
 public class WrapperPlayServerEntityMetadata extends PacketWrapper<WrapperPlayServerEntityMetadata> {
+    private static final VersionedCodec<WrapperPlayServerEntityMetadata> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isNewerThanOrEquals(ServerVersion.V_1_8)) {
+            return WrapperCodec.of(WrapperPlayServerEntityMetadata::readV1_8, WrapperPlayServerEntityMetadata::writeV1_8);
+        }
+        return WrapperCodec.of(WrapperPlayServerEntityMetadata::readV1_7_10, WrapperPlayServerEntityMetadata::writeV1_7_10);
+    });
     private int entityID;
     private List<EntityData> entityMetadata;
 
@@ -48,17 +56,31 @@ public class WrapperPlayServerEntityMetadata extends PacketWrapper<WrapperPlaySe
 
     @Override
     public void read() {
-        entityID = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_8) ? readVarInt() : readInt();
-        entityMetadata = readEntityMetadata();
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_8)) {
-            writeVarInt(entityID);
-        } else {
-            writeInt(entityID);
-        }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        entityID = readInt();
+        entityMetadata = readEntityMetadata();
+    }
+
+    private void writeV1_7_10() {
+        writeInt(entityID);
+        writeEntityMetadata(entityMetadata);
+    }
+
+    private void readV1_8() {
+        entityID = readVarInt();
+        entityMetadata = readEntityMetadata();
+    }
+
+    private void writeV1_8() {
+        writeVarInt(entityID);
         writeEntityMetadata(entityMetadata);
     }
 
@@ -73,18 +95,22 @@ public class WrapperPlayServerEntityMetadata extends PacketWrapper<WrapperPlaySe
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
     public List<EntityData> getEntityMetadata() {
+        markDirty();
         return entityMetadata;
     }
 
     public void setEntityMetadata(List<EntityData> entityMetadata) {
+        markDirty();
         this.entityMetadata = entityMetadata;
     }
 
     public void setEntityMetadata(EntityMetadataProvider metadata) {
+        markDirty();
         this.entityMetadata = metadata.entityData(serverVersion.toClientVersion());
     }
 }
@@ -54,6 +54,7 @@ public class WrapperPlayServerEntityMovement extends PacketWrapper<WrapperPlaySe
     }
 
     public void setEntityId(int entityId) {
+        markDirty();
         this.entityId = entityId;
     }
 }
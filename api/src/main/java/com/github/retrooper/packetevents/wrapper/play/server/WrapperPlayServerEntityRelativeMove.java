@@ -22,8 +22,16 @@ import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayServerEntityRelativeMove extends PacketWrapper<WrapperPlayServerEntityRelativeMove> {
+    private static final VersionedCodec<WrapperPlayServerEntityRelativeMove> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isNewerThanOrEquals(ServerVersion.V_1_9)) {
+            return WrapperCodec.of(WrapperPlayServerEntityRelativeMove::readV1_9, WrapperPlayServerEntityRelativeMove::writeV1_9);
+        }
+        return WrapperCodec.of(WrapperPlayServerEntityRelativeMove::readLegacy, WrapperPlayServerEntityRelativeMove::writeLegacy);
+    });
     //(Short.MAX_VALUE + 1) / 8.0
     private static double MODERN_DELTA_DIVISOR = 4096.0;
     //(Byte.MAX_VALUE + 1) / 4.0
@@ -49,33 +57,43 @@ public class WrapperPlayServerEntityRelativeMove extends PacketWrapper<WrapperPl
 
     @Override
     public void read() {
-        entityID = readVarInt();
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-            deltaX = readShort() / MODERN_DELTA_DIVISOR;
-            deltaY = readShort() / MODERN_DELTA_DIVISOR;
-            deltaZ = readShort() / MODERN_DELTA_DIVISOR;
-        }
-        else {
-            deltaX = readByte() / LEGACY_DELTA_DIVISOR;
-            deltaY = readByte() / LEGACY_DELTA_DIVISOR;
-            deltaZ = readByte() / LEGACY_DELTA_DIVISOR;
-        }
-        onGround = readBoolean();
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readLegacy() {
+        entityID = readVarInt();
+        deltaX = readByte() / LEGACY_DELTA_DIVISOR;
+        deltaY = readByte() / LEGACY_DELTA_DIVISOR;
+        deltaZ = readByte() / LEGACY_DELTA_DIVISOR;
+        onGround = readBoolean();
+    }
+
+    private void writeLegacy() {
         writeVarInt(entityID);
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-            writeShort((short) (deltaX * MODERN_DELTA_DIVISOR));
-            writeShort((short) (deltaY * MODERN_DELTA_DIVISOR));
-            writeShort((short) (deltaZ * MODERN_DELTA_DIVISOR));
-        }
-        else {
-            writeByte((byte) (deltaX * LEGACY_DELTA_DIVISOR));
-            writeByte((byte) (deltaY * LEGACY_DELTA_DIVISOR));
-            writeByte((byte) (deltaZ * LEGACY_DELTA_DIVISOR));
-        }
+        writeByte((byte) (deltaX * LEGACY_DELTA_DIVISOR));
+        writeByte((byte) (deltaY * LEGACY_DELTA_DIVISOR));
+        writeByte((byte) (deltaZ * LEGACY_DELTA_DIVISOR));
+        writeBoolean(onGround);
+    }
+
+    private void readV1_9() {
+        entityID = readVarInt();
+        deltaX = readShort() / MODERN_DELTA_DIVISOR;
+        deltaY = readShort() / MODERN_DELTA_DIVISOR;
+        deltaZ = readShort() / MODERN_DELTA_DIVISOR;
+        onGround = readBoolean();
+    }
+
+    private void writeV1_9() {
+        writeVarInt(entityID);
+        writeShort((short) (deltaX * MODERN_DELTA_DIVISOR));
+        writeShort((short) (deltaY * MODERN_DELTA_DIVISOR));
+        writeShort((short) (deltaZ * MODERN_DELTA_DIVISOR));
         writeBoolean(onGround);
     }
 
@@ -93,6 +111,7 @@ public class WrapperPlayServerEntityRelativeMove extends PacketWrapper<WrapperPl
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -101,6 +120,7 @@ public class WrapperPlayServerEntityRelativeMove extends PacketWrapper<WrapperPl
     }
 
     public void setDeltaX(double deltaX) {
+        markDirty();
         this.deltaX = deltaX;
     }
 
@@ -109,6 +129,7 @@ public class WrapperPlayServerEntityRelativeMove extends PacketWrapper<WrapperPl
     }
 
     public void setDeltaY(double deltaY) {
+        markDirty();
         this.deltaY = deltaY;
     }
 
@@ -117,6 +138,7 @@ public class WrapperPlayServerEntityRelativeMove extends PacketWrapper<WrapperPl
     }
 
     public void setDeltaZ(double deltaZ) {
+        markDirty();
         this.deltaZ = deltaZ;
     }
 
@@ -125,6 +147,7 @@ public class WrapperPlayServerEntityRelativeMove extends PacketWrapper<WrapperPl
     }
 
     public void setOnGround(boolean onGround) {
+        markDirty();
         this.onGround = onGround;
     }
 }
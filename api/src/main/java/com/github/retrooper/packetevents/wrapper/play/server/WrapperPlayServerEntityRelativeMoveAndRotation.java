@@ -22,11 +22,19 @@ import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrapper<WrapperPlayServerEntityRelativeMoveAndRotation> {
     private static final float ROTATION_FACTOR = 256.0F / 360.0F;
     private static final double MODERN_DELTA_DIVISOR = 4096.0;
     private static final double LEGACY_DELTA_DIVISOR = 32.0;
+    private static final VersionedCodec<WrapperPlayServerEntityRelativeMoveAndRotation> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isNewerThanOrEquals(ServerVersion.V_1_9)) {
+            return WrapperCodec.of(WrapperPlayServerEntityRelativeMoveAndRotation::readV1_9, WrapperPlayServerEntityRelativeMoveAndRotation::writeV1_9);
+        }
+        return WrapperCodec.of(WrapperPlayServerEntityRelativeMoveAndRotation::readLegacy, WrapperPlayServerEntityRelativeMoveAndRotation::writeLegacy);
+    });
 
     private int entityID;
     private double deltaX;
@@ -54,33 +62,49 @@ public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrappe
 
     @Override
     public void read() {
+        CODEC.reader(serverVersion).read(this);
+    }
+
+    @Override
+    public void write() {
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readLegacy() {
         entityID = readVarInt();
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-            deltaX = readShort() / MODERN_DELTA_DIVISOR;
-            deltaY = readShort() / MODERN_DELTA_DIVISOR;
-            deltaZ = readShort() / MODERN_DELTA_DIVISOR;
-        } else {
-            deltaX = readByte() / LEGACY_DELTA_DIVISOR;
-            deltaY = readByte() / LEGACY_DELTA_DIVISOR;
-            deltaZ = readByte() / LEGACY_DELTA_DIVISOR;
-        }
+        deltaX = readByte() / LEGACY_DELTA_DIVISOR;
+        deltaY = readByte() / LEGACY_DELTA_DIVISOR;
+        deltaZ = readByte() / LEGACY_DELTA_DIVISOR;
         yaw = readByte() / ROTATION_FACTOR;
         pitch = readByte() / ROTATION_FACTOR;
         onGround = readBoolean();
     }
 
-    @Override
-    public void write() {
+    private void writeLegacy() {
         writeVarInt(entityID);
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-            writeShort((short) (deltaX * MODERN_DELTA_DIVISOR));
-            writeShort((short) (deltaY * MODERN_DELTA_DIVISOR));
-            writeShort((short) (deltaZ * MODERN_DELTA_DIVISOR));
-        } else {
-            writeByte((byte) (deltaX * LEGACY_DELTA_DIVISOR));
-            writeByte((byte) (deltaY * LEGACY_DELTA_DIVISOR));
-            writeByte((byte) (deltaZ * LEGACY_DELTA_DIVISOR));
-        }
+        writeByte((byte) (deltaX * LEGACY_DELTA_DIVISOR));
+        writeByte((byte) (deltaY * LEGACY_DELTA_DIVISOR));
+        writeByte((byte) (deltaZ * LEGACY_DELTA_DIVISOR));
+        writeByte((int) (yaw * ROTATION_FACTOR));
+        writeByte((int) (pitch * ROTATION_FACTOR));
+        writeBoolean(onGround);
+    }
+
+    private void readV1_9() {
+        entityID = readVarInt();
+        deltaX = readShort() / MODERN_DELTA_DIVISOR;
+        deltaY = readShort() / MODERN_DELTA_DIVISOR;
+        deltaZ = readShort() / MODERN_DELTA_DIVISOR;
+        yaw = readByte() / ROTATION_FACTOR;
+        pitch = readByte() / ROTATION_FACTOR;
+        onGround = readBoolean();
+    }
+
+    private void writeV1_9() {
+        writeVarInt(entityID);
+        writeShort((short) (deltaX * MODERN_DELTA_DIVISOR));
+        writeShort((short) (deltaY * MODERN_DELTA_DIVISOR));
+        writeShort((short) (deltaZ * MODERN_DELTA_DIVISOR));
         writeByte((int) (yaw * ROTATION_FACTOR));
         writeByte((int) (pitch * ROTATION_FACTOR));
         writeBoolean(onGround);
@@ -102,6 +126,7 @@ public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrappe
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -110,6 +135,7 @@ public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrappe
     }
 
     public void setDeltaX(double deltaX) {
+        markDirty();
         this.deltaX = deltaX;
     }
 
@@ -118,6 +144,7 @@ public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrappe
     }
 
     public void setDeltaY(double deltaY) {
+        markDirty();
         this.deltaY = deltaY;
     }
 
@@ -126,6 +153,7 @@ public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrappe
     }
 
     public void setDeltaZ(double deltaZ) {
+        markDirty();
         this.deltaZ = deltaZ;
     }
 
@@ -134,6 +162,7 @@ public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrappe
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         this.yaw = yaw;
     }
 
@@ -142,6 +171,7 @@ public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrappe
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
@@ -150,6 +180,7 @@ public class WrapperPlayServerEntityRelativeMoveAndRotation extends PacketWrappe
     }
 
     public void setOnGround(boolean onGround) {
+        markDirty();
         this.onGround = onGround;
     }
 }
@@ -21,13 +21,20 @@ package com.github.retrooper.packetevents.wrapper.play.server;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
+@WrapperSchema
 public class WrapperPlayServerEntityRotation extends PacketWrapper<WrapperPlayServerEntityRotation> {
-    private static final float ROTATION_FACTOR = 256.0F / 360.0F;
-    private int entityID;
-    private float yaw;
-    private float pitch;
-    private boolean onGround;
+    @SchemaField(FieldType.VAR_INT)
+    int entityID;
+    @SchemaField(FieldType.ANGLE)
+    float yaw;
+    @SchemaField(FieldType.ANGLE)
+    float pitch;
+    @SchemaField(FieldType.BOOLEAN)
+    boolean onGround;
 
     public WrapperPlayServerEntityRotation(PacketSendEvent event) {
         super(event);
@@ -43,26 +50,22 @@ public class WrapperPlayServerEntityRotation extends PacketWrapper<WrapperPlaySe
 
     @Override
     public void read() {
-        entityID = readVarInt();
-        yaw = readByte() / ROTATION_FACTOR;
-        pitch = readByte() / ROTATION_FACTOR;
-        onGround = readBoolean();
+        WrapperPlayServerEntityRotationCodec.read(this);
     }
 
     @Override
     public void copy(WrapperPlayServerEntityRotation wrapper) {
-        entityID = wrapper.entityID;
-        yaw = wrapper.yaw;
-        pitch = wrapper.pitch;
-        onGround = wrapper.onGround;
+        WrapperPlayServerEntityRotationCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerEntityRotationCodec.estimateSize(this);
     }
 
     @Override
     public void write() {
-        writeVarInt(entityID);
-        writeByte((int) (yaw * ROTATION_FACTOR));
-        writeByte((int) (pitch * ROTATION_FACTOR));
-        writeBoolean(onGround);
+        WrapperPlayServerEntityRotationCodec.write(this);
     }
 
     public int getEntityId() {
@@ -70,6 +73,7 @@ public class WrapperPlayServerEntityRotation extends PacketWrapper<WrapperPlaySe
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -78,6 +82,7 @@ public class WrapperPlayServerEntityRotation extends PacketWrapper<WrapperPlaySe
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         this.yaw = yaw;
     }
 
@@ -86,6 +91,7 @@ public class WrapperPlayServerEntityRotation extends PacketWrapper<WrapperPlaySe
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
@@ -94,6 +100,7 @@ public class WrapperPlayServerEntityRotation extends PacketWrapper<WrapperPlaySe
     }
 
     public void setOnGround(boolean onGround) {
+        markDirty();
         this.onGround = onGround;
     }
 }
@@ -100,6 +100,7 @@ public class WrapperPlayServerEntitySoundEffect extends PacketWrapper<WrapperPla
     }
 
     public void setSound(Sound sound) {
+        markDirty();
         this.sound = sound;
     }
 
@@ -110,6 +111,7 @@ public class WrapperPlayServerEntitySoundEffect extends PacketWrapper<WrapperPla
 
     @Deprecated
     public void setSoundId(int soundId) {
+        markDirty();
         this.setSound(Sounds.getById(this.serverVersion.toClientVersion(), soundId));
     }
 
@@ -118,6 +120,7 @@ public class WrapperPlayServerEntitySoundEffect extends PacketWrapper<WrapperPla
     }
 
     public void setSoundCategory(SoundCategory soundCategory) {
+        markDirty();
         this.soundCategory = soundCategory;
     }
 
@@ -126,6 +129,7 @@ public class WrapperPlayServerEntitySoundEffect extends PacketWrapper<WrapperPla
     }
 
     public void setEntityId(int entityId) {
+        markDirty();
         this.entityId = entityId;
     }
 
@@ -134,6 +138,7 @@ public class WrapperPlayServerEntitySoundEffect extends PacketWrapper<WrapperPla
     }
 
     public void setVolume(float volume) {
+        markDirty();
         this.volume = volume;
     }
 
@@ -142,6 +147,7 @@ public class WrapperPlayServerEntitySoundEffect extends PacketWrapper<WrapperPla
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 }
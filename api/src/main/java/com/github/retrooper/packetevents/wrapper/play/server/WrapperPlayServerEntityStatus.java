@@ -21,10 +21,16 @@ package com.github.retrooper.packetevents.wrapper.play.server;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
+@WrapperSchema
 public class WrapperPlayServerEntityStatus extends PacketWrapper<WrapperPlayServerEntityStatus> {
-    private int entityID;
-    private int status;
+    @SchemaField(FieldType.INT)
+    int entityID;
+    @SchemaField(FieldType.BYTE)
+    int status;
 
     public WrapperPlayServerEntityStatus(PacketSendEvent event) {
         super(event);
@@ -38,20 +44,22 @@ public class WrapperPlayServerEntityStatus extends PacketWrapper<WrapperPlayServ
 
     @Override
     public void read() {
-        entityID = readInt();
-        status = readByte();
+        WrapperPlayServerEntityStatusCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeInt(entityID);
-        writeByte(status);
+        WrapperPlayServerEntityStatusCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayServerEntityStatus wrapper) {
-        entityID = wrapper.entityID;
-        status = wrapper.status;
+        WrapperPlayServerEntityStatusCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerEntityStatusCodec.estimateSize(this);
     }
 
     public int getEntityId() {
@@ -59,6 +67,7 @@ public class WrapperPlayServerEntityStatus extends PacketWrapper<WrapperPlayServ
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -67,6 +76,7 @@ public class WrapperPlayServerEntityStatus extends PacketWrapper<WrapperPlayServ
     }
 
     public void setStatus(int status) {
+        markDirty();
         this.status = status;
     }
 }
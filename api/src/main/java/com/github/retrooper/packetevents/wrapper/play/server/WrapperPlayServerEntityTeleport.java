@@ -25,6 +25,8 @@ import com.github.retrooper.packetevents.protocol.world.Location;
 import com.github.retrooper.packetevents.util.MathUtil;
 import com.github.retrooper.packetevents.util.Vector3d;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 /**
  * This is not for teleporting players, but for teleporting other entities the player can see - such as mobs, animals, etc.
@@ -32,6 +34,14 @@ import com.github.retrooper.packetevents.wrapper.PacketWrapper;
  */
 public class WrapperPlayServerEntityTeleport extends PacketWrapper<WrapperPlayServerEntityTeleport> {
     private static final float ROTATION_FACTOR = 256.0F / 360.0F;
+    private static final VersionedCodec<WrapperPlayServerEntityTeleport> CODEC = VersionedCodec.resolve(version -> {
+        if (version == ServerVersion.V_1_7_10) {
+            return WrapperCodec.of(WrapperPlayServerEntityTeleport::readV1_7_10, WrapperPlayServerEntityTeleport::writeV1_7_10);
+        } else if (version.isOlderThanOrEquals(ServerVersion.V_1_8_8)) {
+            return WrapperCodec.of(WrapperPlayServerEntityTeleport::readV1_8, WrapperPlayServerEntityTeleport::writeV1_8);
+        }
+        return WrapperCodec.of(WrapperPlayServerEntityTeleport::readV1_9, WrapperPlayServerEntityTeleport::writeV1_9);
+    });
 
     private int entityID;
     private Vector3d position;
@@ -57,46 +67,67 @@ public class WrapperPlayServerEntityTeleport extends PacketWrapper<WrapperPlaySe
 
     @Override
     public void read() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            entityID = readInt();
-        } else {
-            entityID = readVarInt();
-        }
-        if (serverVersion.isOlderThanOrEquals(ServerVersion.V_1_8_8)) {
-            position = new Vector3d((readInt() / 32.0), (readInt() / 32.0), (readInt() / 32.0));
-        } else {
-            position = new Vector3d(readDouble(), readDouble(), readDouble());
-        }
-        yaw = readByte() / ROTATION_FACTOR;
-        pitch = readByte() / ROTATION_FACTOR;
-        if (serverVersion != ServerVersion.V_1_7_10) {
-            onGround = readBoolean();
-        } else {
-            onGround = false;
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeInt(entityID);
-        } else {
-            writeVarInt(entityID);
-        }
-        if (serverVersion.isOlderThanOrEquals(ServerVersion.V_1_8_8)) {
-            writeInt(MathUtil.floor(position.x * 32.0));
-            writeInt(MathUtil.floor(position.y * 32.0));
-            writeInt(MathUtil.floor(position.z * 32.0));
-        } else {
-            writeDouble(position.x);
-            writeDouble(position.y);
-            writeDouble(position.z);
-        }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        entityID = readInt();
+        readFixedPointPosition();
+        onGround = false;
+    }
+
+    private void writeV1_7_10() {
+        writeInt(entityID);
+        writeFixedPointPosition();
+    }
+
+    private void readV1_8() {
+        entityID = readVarInt();
+        readFixedPointPosition();
+        onGround = readBoolean();
+    }
+
+    private void writeV1_8() {
+        writeVarInt(entityID);
+        writeFixedPointPosition();
+        writeBoolean(onGround);
+    }
+
+    private void readV1_9() {
+        entityID = readVarInt();
+        position = new Vector3d(readDouble(), readDouble(), readDouble());
+        yaw = readByte() / ROTATION_FACTOR;
+        pitch = readByte() / ROTATION_FACTOR;
+        onGround = readBoolean();
+    }
+
+    private void writeV1_9() {
+        writeVarInt(entityID);
+        writeDouble(position.x);
+        writeDouble(position.y);
+        writeDouble(position.z);
+        writeByte((int) (yaw * ROTATION_FACTOR));
+        writeByte((int) (pitch * ROTATION_FACTOR));
+        writeBoolean(onGround);
+    }
+
+    private void readFixedPointPosition() {
+        position = new Vector3d((readInt() / 32.0), (readInt() / 32.0), (readInt() / 32.0));
+        yaw = readByte() / ROTATION_FACTOR;
+        pitch = readByte() / ROTATION_FACTOR;
+    }
+
+    private void writeFixedPointPosition() {
+        writeInt(MathUtil.floor(position.x * 32.0));
+        writeInt(MathUtil.floor(position.y * 32.0));
+        writeInt(MathUtil.floor(position.z * 32.0));
         writeByte((int) (yaw * ROTATION_FACTOR));
         writeByte((int) (pitch * ROTATION_FACTOR));
-        if (serverVersion != ServerVersion.V_1_7_10) {
-            writeBoolean(onGround);
-        }
     }
 
     @Override
@@ -113,6 +144,7 @@ public class WrapperPlayServerEntityTeleport extends PacketWrapper<WrapperPlaySe
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -121,6 +153,7 @@ public class WrapperPlayServerEntityTeleport extends PacketWrapper<WrapperPlaySe
     }
 
     public void setPosition(Vector3d position) {
+        markDirty();
         this.position = position;
     }
 
@@ -129,6 +162,7 @@ public class WrapperPlayServerEntityTeleport extends PacketWrapper<WrapperPlaySe
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         this.yaw = yaw;
     }
 
@@ -137,6 +171,7 @@ public class WrapperPlayServerEntityTeleport extends PacketWrapper<WrapperPlaySe
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
@@ -145,6 +180,7 @@ public class WrapperPlayServerEntityTeleport extends PacketWrapper<WrapperPlaySe
     }
 
     public void setOnGround(boolean onGround) {
+        markDirty();
         this.onGround = onGround;
     }
 }
@@ -23,8 +23,16 @@ import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.util.Vector3d;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayServerEntityVelocity extends PacketWrapper<WrapperPlayServerEntityVelocity> {
+    private static final VersionedCodec<WrapperPlayServerEntityVelocity> CODEC = VersionedCodec.resolve(version -> {
+        if (version == ServerVersion.V_1_7_10) {
+            return WrapperCodec.of(WrapperPlayServerEntityVelocity::readV1_7_10, WrapperPlayServerEntityVelocity::writeV1_7_10);
+        }
+        return WrapperCodec.of(WrapperPlayServerEntityVelocity::readV1_8, WrapperPlayServerEntityVelocity::writeV1_8);
+    });
     private int entityID;
     private Vector3d velocity;
 
@@ -40,24 +48,42 @@ public class WrapperPlayServerEntityVelocity extends PacketWrapper<WrapperPlaySe
 
     @Override
     public void read() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            entityID = readInt();
-        } else {
-            entityID = readVarInt();
-        }
+        CODEC.reader(serverVersion).read(this);
+    }
+
+    @Override
+    public void write() {
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        entityID = readInt();
+        readVelocity();
+    }
+
+    private void writeV1_7_10() {
+        writeInt(entityID);
+        writeVelocity();
+    }
+
+    private void readV1_8() {
+        entityID = readVarInt();
+        readVelocity();
+    }
+
+    private void writeV1_8() {
+        writeVarInt(entityID);
+        writeVelocity();
+    }
+
+    private void readVelocity() {
         double velX = (double) readShort() / 8000.0;
         double velY = (double) readShort() / 8000.0;
         double velZ = (double) readShort() / 8000.0;
         velocity = new Vector3d(velX, velY, velZ);
     }
 
-    @Override
-    public void write() {
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeInt(entityID);
-        } else {
-            writeVarInt(entityID);
-        }
+    private void writeVelocity() {
         writeShort((int) (velocity.x * 8000.0));
         writeShort((int) (velocity.y * 8000.0));
         writeShort((int) (velocity.z * 8000.0));
@@ -74,6 +100,7 @@ public class WrapperPlayServerEntityVelocity extends PacketWrapper<WrapperPlaySe
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -82,6 +109,7 @@ public class WrapperPlayServerEntityVelocity extends PacketWrapper<WrapperPlaySe
     }
 
     public void setVelocity(Vector3d velocity) {
+        markDirty();
         this.velocity = velocity;
     }
 }
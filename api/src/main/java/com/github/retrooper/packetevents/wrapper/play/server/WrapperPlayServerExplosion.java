@@ -197,6 +197,7 @@ public class WrapperPlayServerExplosion extends PacketWrapper<WrapperPlayServerE
     }
 
     public void setPosition(Vector3d position) {
+        markDirty();
         this.position = position;
     }
 
@@ -205,14 +206,17 @@ public class WrapperPlayServerExplosion extends PacketWrapper<WrapperPlayServerE
     }
 
     public void setStrength(float strength) {
+        markDirty();
         this.strength = strength;
     }
 
     public List<Vector3i> getRecords() {
+        markDirty();
         return records;
     }
 
     public void setRecords(List<Vector3i> records) {
+        markDirty();
         this.records = records;
     }
 
@@ -221,22 +225,27 @@ public class WrapperPlayServerExplosion extends PacketWrapper<WrapperPlayServerE
     }
 
     public void setPlayerMotion(Vector3f playerMotion) {
+        markDirty();
         this.playerMotion = playerMotion;
     }
 
     public Particle<?> getSmallExplosionParticles() {
+        markDirty();
         return this.smallExplosionParticles;
     }
 
     public void setSmallExplosionParticles(Particle<?> smallExplosionParticles) {
+        markDirty();
         this.smallExplosionParticles = smallExplosionParticles;
     }
 
     public Particle<?> getLargeExplosionParticles() {
+        markDirty();
         return this.largeExplosionParticles;
     }
 
     public void setLargeExplosionParticles(Particle<?> largeExplosionParticles) {
+        markDirty();
         this.largeExplosionParticles = largeExplosionParticles;
     }
 
@@ -245,6 +254,7 @@ public class WrapperPlayServerExplosion extends PacketWrapper<WrapperPlayServerE
     }
 
     public void setBlockInteraction(BlockInteraction blockInteraction) {
+        markDirty();
         this.blockInteraction = blockInteraction;
     }
 
@@ -253,6 +263,7 @@ public class WrapperPlayServerExplosion extends PacketWrapper<WrapperPlayServerE
     }
 
     public void setExplosionSoundKey(ResourceLocation explosionSoundKey) {
+        markDirty();
         this.explosionSound = new StaticSound(explosionSoundKey, this.explosionSound.getRange());
     }
 
@@ -261,6 +272,7 @@ public class WrapperPlayServerExplosion extends PacketWrapper<WrapperPlayServerE
     }
 
     public void setExplosionSoundRange(@Nullable Float explosionSoundRange) {
+        markDirty();
         this.explosionSound = new StaticSound(this.explosionSound.getSoundId(), explosionSoundRange);
     }
 
@@ -269,6 +281,7 @@ public class WrapperPlayServerExplosion extends PacketWrapper<WrapperPlayServerE
     }
 
     public void setExplosionSound(Sound explosionSound) {
+        markDirty();
         this.explosionSound = explosionSound;
     }
 
@@ -71,6 +71,7 @@ public class WrapperPlayServerFacePlayer extends PacketWrapper<WrapperPlayServer
     }
 
     public void setAimUnit(EntitySection aimUnit) {
+        markDirty();
         this.aimUnit = aimUnit;
     }
 
@@ -79,15 +80,18 @@ public class WrapperPlayServerFacePlayer extends PacketWrapper<WrapperPlayServer
     }
 
     public void setTargetPosition(Vector3d targetPosition) {
+        markDirty();
         this.targetPosition = targetPosition;
     }
 
     @Nullable
     public TargetEntity getTargetEntity() {
+        markDirty();
         return targetEntity;
     }
 
     public void setTargetEntity(@Nullable TargetEntity targetEntity) {
+        markDirty();
         this.targetEntity = targetEntity;
     }
 
@@ -21,9 +21,14 @@ package com.github.retrooper.packetevents.wrapper.play.server;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
+@WrapperSchema
 public class WrapperPlayServerHeldItemChange extends PacketWrapper<WrapperPlayServerHeldItemChange> {
-    private int slot;
+    @SchemaField(FieldType.BYTE)
+    int slot;
 
     public WrapperPlayServerHeldItemChange(PacketSendEvent event) {
         super(event);
@@ -36,17 +41,22 @@ public class WrapperPlayServerHeldItemChange extends PacketWrapper<WrapperPlaySe
 
     @Override
     public void read() {
-        this.slot = readByte();
+        WrapperPlayServerHeldItemChangeCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeByte(slot);
+        WrapperPlayServerHeldItemChangeCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayServerHeldItemChange wrapper) {
-        this.slot = wrapper.slot;
+        WrapperPlayServerHeldItemChangeCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerHeldItemChangeCodec.estimateSize(this);
     }
 
     public int getSlot() {
@@ -54,6 +64,7 @@ public class WrapperPlayServerHeldItemChange extends PacketWrapper<WrapperPlaySe
     }
 
     public void setSlot(int slot) {
+        markDirty();
         this.slot = slot;
     }
 }
@@ -29,6 +29,7 @@ import com.github.retrooper.packetevents.protocol.world.DimensionType;
 import com.github.retrooper.packetevents.protocol.world.WorldBlockPosition;
 import com.github.retrooper.packetevents.protocol.world.WorldType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
@@ -45,6 +46,8 @@ public class WrapperPlayServerJoinGame extends PacketWrapper<WrapperPlayServerJo
 
     private List<String> worldNames;
     private NBTCompound dimensionCodec;
+    // As read from the packet, so that users who received the same codec can share their dimension types
+    private byte @Nullable [] encodedDimensionCodec;
     private Dimension dimension;
     private Difficulty difficulty;
     private String worldName;
@@ -125,6 +128,13 @@ public class WrapperPlayServerJoinGame extends PacketWrapper<WrapperPlayServerJo
     @Override
     public void read() {
         entityID = readInt();
+        if (!deferRemaining()) {
+            readDeferred();
+        }
+    }
+
+    @Override
+    protected void readDeferred() {
         boolean v1_20_2 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_2);
         boolean v1_19 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19);
         boolean v1_18 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_18);
@@ -152,7 +162,10 @@ public class WrapperPlayServerJoinGame extends PacketWrapper<WrapperPlayServerJo
                 worldNames.add(readString());
             }
             if (!v1_20_2) {
+                int codecStart = operator().readerIndex(buffer);
                 dimensionCodec = readNBT();
+                encodedDimensionCodec = new byte[operator().readerIndex(buffer) - codecStart];
+                operator().getBytes(buffer, codecStart, encodedDimensionCodec);
                 dimension = readDimension();
                 worldName = readString();
             }
@@ -210,6 +223,9 @@ public class WrapperPlayServerJoinGame extends PacketWrapper<WrapperPlayServerJo
     @Override
     public void write() {
         writeInt(entityID);
+        if (writeDeferred()) {
+            return;
+        }
         boolean v1_20_2 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_2);
         boolean v1_19 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19);
         boolean v1_18 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_18);
@@ -314,11 +330,15 @@ public class WrapperPlayServerJoinGame extends PacketWrapper<WrapperPlayServerJo
     @Override
     public void copy(WrapperPlayServerJoinGame wrapper) {
         entityID = wrapper.entityID;
+        if (copyDeferred(wrapper)) {
+            return;
+        }
         hardcore = wrapper.hardcore;
         gameMode = wrapper.gameMode;
         previousGameMode = wrapper.previousGameMode;
         worldNames = wrapper.worldNames;
         dimensionCodec = wrapper.dimensionCodec;
+        encodedDimensionCodec = wrapper.encodedDimensionCodec;
         dimension = wrapper.dimension;
         difficulty = wrapper.difficulty;
         worldName = wrapper.worldName;
@@ -341,167 +361,243 @@ public class WrapperPlayServerJoinGame extends PacketWrapper<WrapperPlayServerJo
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
     public boolean isHardcore() {
+        ensureDecoded();
         return hardcore;
     }
 
     public void setHardcore(boolean hardcore) {
+        ensureDecoded();
+        markDirty();
         this.hardcore = hardcore;
     }
 
     public GameMode getGameMode() {
+        ensureDecoded();
         return gameMode;
     }
 
     public void setGameMode(GameMode gameMode) {
+        ensureDecoded();
+        markDirty();
         this.gameMode = gameMode;
     }
 
     @Nullable
     public GameMode getPreviousGameMode() {
+        ensureDecoded();
         return previousGameMode;
     }
 
     public void setPreviousGameMode(@Nullable GameMode previousGameMode) {
+        ensureDecoded();
+        markDirty();
         this.previousGameMode = previousGameMode;
     }
 
     public List<String> getWorldNames() {
+        ensureDecoded();
+        markDirty();
         return worldNames;
     }
 
     public void setWorldNames(List<String> worldNames) {
+        ensureDecoded();
+        markDirty();
         this.worldNames = worldNames;
     }
 
     public NBTCompound getDimensionCodec() {
+        ensureDecoded();
+        markDirty();
         return dimensionCodec;
     }
 
     public void setDimensionCodec(NBTCompound dimensionCodec) {
+        ensureDecoded();
+        markDirty();
         this.dimensionCodec = dimensionCodec;
+        this.encodedDimensionCodec = null;
+    }
+
+    /**
+     * @return the dimension codec as it has been read from the packet, null if the packet didn't contain one
+     * or it has been replaced since
+     */
+    @ApiStatus.Internal
+    public byte @Nullable [] getEncodedDimensionCodec() {
+        ensureDecoded();
+        return encodedDimensionCodec;
     }
 
     public Dimension getDimension() {
+        ensureDecoded();
+        markDirty();
         return dimension;
     }
 
     public void setDimension(Dimension dimension) {
+        ensureDecoded();
+        markDirty();
         this.dimension = dimension;
     }
 
     public Difficulty getDifficulty() {
+        ensureDecoded();
         return difficulty;
     }
 
     public void setDifficulty(Difficulty difficulty) {
+        ensureDecoded();
+        markDirty();
         this.difficulty = difficulty;
     }
 
     public String getWorldName() {
+        ensureDecoded();
         return worldName;
     }
 
     public void setWorldName(String worldName) {
+        ensureDecoded();
+        markDirty();
         this.worldName = worldName;
     }
 
     public long getHashedSeed() {
+        ensureDecoded();
         return hashedSeed;
     }
 
     public void setHashedSeed(long hashedSeed) {
+        ensureDecoded();
+        markDirty();
         this.hashedSeed = hashedSeed;
     }
 
     public int getMaxPlayers() {
+        ensureDecoded();
         return maxPlayers;
     }
 
     public void setMaxPlayers(int maxPlayers) {
+        ensureDecoded();
+        markDirty();
         this.maxPlayers = maxPlayers;
     }
 
     public int getViewDistance() {
+        ensureDecoded();
         return viewDistance;
     }
 
     public void setViewDistance(int viewDistance) {
+        ensureDecoded();
+        markDirty();
         this.viewDistance = viewDistance;
     }
 
     public int getSimulationDistance() {
+        ensureDecoded();
         return simulationDistance;
     }
 
     public void setSimulationDistance(int simulationDistance) {
+        ensureDecoded();
+        markDirty();
         this.simulationDistance = simulationDistance;
     }
 
     public boolean isReducedDebugInfo() {
+        ensureDecoded();
         return reducedDebugInfo;
     }
 
     public void setReducedDebugInfo(boolean reducedDebugInfo) {
+        ensureDecoded();
+        markDirty();
         this.reducedDebugInfo = reducedDebugInfo;
     }
 
     public boolean isRespawnScreenEnabled() {
+        ensureDecoded();
         return enableRespawnScreen;
     }
 
     public void setRespawnScreenEnabled(boolean enableRespawnScreen) {
+        ensureDecoded();
+        markDirty();
         this.enableRespawnScreen = enableRespawnScreen;
     }
 
     public boolean isLimitedCrafting() {
+        ensureDecoded();
         return this.limitedCrafting;
     }
 
     public void setLimitedCrafting(boolean limitedCrafting) {
+        ensureDecoded();
+        markDirty();
         this.limitedCrafting = limitedCrafting;
     }
 
     public boolean isDebug() {
+        ensureDecoded();
         return isDebug;
     }
 
     public void setDebug(boolean isDebug) {
+        ensureDecoded();
+        markDirty();
         this.isDebug = isDebug;
     }
 
     public boolean isFlat() {
+        ensureDecoded();
         return isFlat;
     }
 
     public void setFlat(boolean isFlat) {
+        ensureDecoded();
+        markDirty();
         this.isFlat = isFlat;
     }
 
     public @Nullable WorldBlockPosition getLastDeathPosition() {
+        ensureDecoded();
+        markDirty();
         return lastDeathPosition;
     }
 
     public void setLastDeathPosition(@Nullable WorldBlockPosition lastDeathPosition) {
+        ensureDecoded();
+        markDirty();
         this.lastDeathPosition = lastDeathPosition;
     }
 
     public Optional<Integer> getPortalCooldown() {
+        ensureDecoded();
         return Optional.ofNullable(portalCooldown);
     }
 
     public void setPortalCooldown(int portalCooldown) {
+        ensureDecoded();
+        markDirty();
         this.portalCooldown = portalCooldown;
     }
 
     public boolean isEnforcesSecureChat() {
+        ensureDecoded();
         return this.enforcesSecureChat;
     }
 
     public void setEnforcesSecureChat(boolean enforcesSecureChat) {
+        ensureDecoded();
+        markDirty();
         this.enforcesSecureChat = enforcesSecureChat;
     }
 }
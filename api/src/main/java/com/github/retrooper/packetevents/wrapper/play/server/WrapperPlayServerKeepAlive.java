@@ -22,6 +22,8 @@ import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 /**
  * This is the server-bound keep-alive packet.
@@ -29,6 +31,14 @@ import com.github.retrooper.packetevents.wrapper.PacketWrapper;
  * The client is expected to respond with a (server-bound) keep-alive, containing the same ID that the server sent out.
  */
 public class WrapperPlayServerKeepAlive extends PacketWrapper<WrapperPlayServerKeepAlive> {
+    private static final VersionedCodec<WrapperPlayServerKeepAlive> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isNewerThanOrEquals(ServerVersion.V_1_12)) {
+            return WrapperCodec.of(WrapperPlayServerKeepAlive::readV1_12, WrapperPlayServerKeepAlive::writeV1_12);
+        } else if (version.isNewerThanOrEquals(ServerVersion.V_1_8)) {
+            return WrapperCodec.of(WrapperPlayServerKeepAlive::readV1_8, WrapperPlayServerKeepAlive::writeV1_8);
+        }
+        return WrapperCodec.of(WrapperPlayServerKeepAlive::readV1_7_10, WrapperPlayServerKeepAlive::writeV1_7_10);
+    });
     private long id;
 
     public WrapperPlayServerKeepAlive(PacketSendEvent event) {
@@ -42,24 +52,36 @@ public class WrapperPlayServerKeepAlive extends PacketWrapper<WrapperPlayServerK
 
     @Override
     public void read() {
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_12)) {
-            this.id = readLong();
-        } else if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_8)) {
-            this.id = readVarInt();
-        } else {
-            this.id = readInt();
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_12)) {
-            writeLong(id);
-        } else if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_8)) {
-            writeVarInt((int) id);
-        } else {
-            writeInt((int) id);
-        }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        this.id = readInt();
+    }
+
+    private void writeV1_7_10() {
+        writeInt((int) id);
+    }
+
+    private void readV1_8() {
+        this.id = readVarInt();
+    }
+
+    private void writeV1_8() {
+        writeVarInt((int) id);
+    }
+
+    private void readV1_12() {
+        this.id = readLong();
+    }
+
+    private void writeV1_12() {
+        writeLong(id);
     }
 
     @Override
@@ -72,6 +94,7 @@ public class WrapperPlayServerKeepAlive extends PacketWrapper<WrapperPlayServerK
     }
 
     public void setId(long id) {
+        markDirty();
         this.id = id;
     }
 }
@@ -25,10 +25,20 @@ import com.github.retrooper.packetevents.protocol.player.ClientVersion;
 import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
 import com.github.retrooper.packetevents.util.Vector3i;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 import org.jetbrains.annotations.Nullable;
 
 // Inspired heavily by MCProtocolLib
 public class WrapperPlayServerMultiBlockChange extends PacketWrapper<WrapperPlayServerMultiBlockChange> {
+    private static final VersionedCodec<WrapperPlayServerMultiBlockChange> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isOlderThan(ServerVersion.V_1_16)) {
+            return WrapperCodec.of(WrapperPlayServerMultiBlockChange::readLegacy, WrapperPlayServerMultiBlockChange::writeLegacy);
+        } else if (version.isOlderThanOrEquals(ServerVersion.V_1_19_4)) {
+            return WrapperCodec.of(WrapperPlayServerMultiBlockChange::readV1_16, WrapperPlayServerMultiBlockChange::writeV1_16);
+        }
+        return WrapperCodec.of(WrapperPlayServerMultiBlockChange::readV1_20, WrapperPlayServerMultiBlockChange::writeV1_20);
+    });
     private Vector3i chunkPosition;
     //Suppress light
     private Boolean trustEdges;
@@ -47,67 +57,95 @@ public class WrapperPlayServerMultiBlockChange extends PacketWrapper<WrapperPlay
 
     @Override
     public void read() {
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_16)) {
-            long encodedPosition = readLong();
-
-            int sectionX = (int) (encodedPosition >> 42);
-            int sectionY = (int) (encodedPosition << 44 >> 44);
-            int sectionZ = (int) (encodedPosition << 22 >> 42);
-            chunkPosition = new Vector3i(sectionX, sectionY, sectionZ);
-
-            if (serverVersion.isOlderThanOrEquals(ServerVersion.V_1_19_4)) {
-                trustEdges = readBoolean();
-            }
-
-            blockData = new EncodedBlock[readVarInt()];
-            for (int i = 0; i < blockData.length; i++) {
-                blockData[i] = new EncodedBlock(chunkPosition, readVarLong());
-            }
-        } else { // Copied from MCProtocolLib
-            int chunkX = readInt();
-            int chunkZ = readInt();
-            chunkPosition = new Vector3i(chunkX, 0, chunkZ);
-            int len = readVarInt();
-            blockData = new EncodedBlock[len];
-            for (int i = 0; i < len; i++) {
-                short pos = readShort();
-                //chunkX << 4 = chunkX * 16
-                int x = (chunkX << 4) + (pos >> 12 & 15);
-                int y = pos & 255;
-                int z = (chunkZ << 4) + (pos >> 8 & 15);
-                int blockId = readVarInt();
-                this.blockData[i] = new EncodedBlock(blockId, x, y, z);
-            }
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_16)) {
-            long encodedPos = 0;
-            encodedPos |= (chunkPosition.getX() & 0x3FFFFFL) << 42;
-            encodedPos |= (chunkPosition.getZ() & 0x3FFFFFL) << 20;
-            writeLong(encodedPos | (chunkPosition.getY() & 0xFFFFFL));
-
-            if (serverVersion.isOlderThanOrEquals(ServerVersion.V_1_19_4)) {
-                writeBoolean(Boolean.TRUE.equals(trustEdges));
-            }
-
-            writeVarInt(blockData.length);
-            for (EncodedBlock blockDatum : blockData) {
-                writeVarLong(blockDatum.toLong());
-            }
-        } else { // Copied from MCProtocolLib
-            writeInt(chunkPosition.getX());
-            writeInt(chunkPosition.getZ());
-            writeVarInt(this.blockData.length);
-            for (EncodedBlock record : blockData) {
-                int x = record.getX() & 0xF;
-                int z = record.getZ() & 0xF;
-                short pos = (short) (x << 12 | z << 8 | record.getY());
-                writeShort(pos);
-                writeVarInt(record.getBlockId());
-            }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    // Copied from MCProtocolLib
+    private void readLegacy() {
+        int chunkX = readInt();
+        int chunkZ = readInt();
+        chunkPosition = new Vector3i(chunkX, 0, chunkZ);
+        int len = readVarInt();
+        blockData = new EncodedBlock[len];
+        for (int i = 0; i < len; i++) {
+            short pos = readShort();
+            //chunkX << 4 = chunkX * 16
+            int x = (chunkX << 4) + (pos >> 12 & 15);
+            int y = pos & 255;
+            int z = (chunkZ << 4) + (pos >> 8 & 15);
+            int blockId = readVarInt();
+            this.blockData[i] = new EncodedBlock(blockId, x, y, z);
+        }
+    }
+
+    // Copied from MCProtocolLib
+    private void writeLegacy() {
+        writeInt(chunkPosition.getX());
+        writeInt(chunkPosition.getZ());
+        writeVarInt(this.blockData.length);
+        for (EncodedBlock record : blockData) {
+            int x = record.getX() & 0xF;
+            int z = record.getZ() & 0xF;
+            short pos = (short) (x << 12 | z << 8 | record.getY());
+            writeShort(pos);
+            writeVarInt(record.getBlockId());
+        }
+    }
+
+    private void readV1_16() {
+        readSectionPosition();
+        trustEdges = readBoolean();
+        readEncodedBlocks();
+    }
+
+    private void writeV1_16() {
+        writeSectionPosition();
+        writeBoolean(Boolean.TRUE.equals(trustEdges));
+        writeEncodedBlocks();
+    }
+
+    private void readV1_20() {
+        readSectionPosition();
+        readEncodedBlocks();
+    }
+
+    private void writeV1_20() {
+        writeSectionPosition();
+        writeEncodedBlocks();
+    }
+
+    private void readSectionPosition() {
+        long encodedPosition = readLong();
+
+        int sectionX = (int) (encodedPosition >> 42);
+        int sectionY = (int) (encodedPosition << 44 >> 44);
+        int sectionZ = (int) (encodedPosition << 22 >> 42);
+        chunkPosition = new Vector3i(sectionX, sectionY, sectionZ);
+    }
+
+    private void writeSectionPosition() {
+        long encodedPos = 0;
+        encodedPos |= (chunkPosition.getX() & 0x3FFFFFL) << 42;
+        encodedPos |= (chunkPosition.getZ() & 0x3FFFFFL) << 20;
+        writeLong(encodedPos | (chunkPosition.getY() & 0xFFFFFL));
+    }
+
+    private void readEncodedBlocks() {
+        blockData = new EncodedBlock[readVarInt()];
+        for (int i = 0; i < blockData.length; i++) {
+            blockData[i] = new EncodedBlock(chunkPosition, readVarLong());
+        }
+    }
+
+    private void writeEncodedBlocks() {
+        writeVarInt(blockData.length);
+        for (EncodedBlock blockDatum : blockData) {
+            writeVarLong(blockDatum.toLong());
         }
     }
 
@@ -123,6 +161,7 @@ public class WrapperPlayServerMultiBlockChange extends PacketWrapper<WrapperPlay
     }
 
     public void setChunkPosition(Vector3i chunkPosition) {
+        markDirty();
         this.chunkPosition = chunkPosition;
     }
 
@@ -131,14 +170,17 @@ public class WrapperPlayServerMultiBlockChange extends PacketWrapper<WrapperPlay
     }
 
     public void setTrustEdges(Boolean trustEdges) {
+        markDirty();
         this.trustEdges = trustEdges;
     }
 
     public EncodedBlock[] getBlocks() {
+        markDirty();
         return blockData;
     }
 
     public void setBlocks(EncodedBlock[] blocks) {
+        markDirty();
         this.blockData = blocks;
     }
 
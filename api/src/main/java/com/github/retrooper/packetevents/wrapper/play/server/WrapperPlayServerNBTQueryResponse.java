@@ -60,14 +60,17 @@ public class WrapperPlayServerNBTQueryResponse extends PacketWrapper<WrapperPlay
     }
 
     public void setTransactionId(int transactionId) {
+        markDirty();
         this.transactionId = transactionId;
     }
 
     public NBTCompound getTag() {
+        markDirty();
         return tag;
     }
 
     public void setTag(NBTCompound tag) {
+        markDirty();
         this.tag = tag;
     }
 }
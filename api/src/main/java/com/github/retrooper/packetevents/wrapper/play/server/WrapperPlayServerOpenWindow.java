@@ -160,6 +160,7 @@ public class WrapperPlayServerOpenWindow extends PacketWrapper<WrapperPlayServer
     }
 
     public void setContainerId(int containerId) {
+        markDirty();
         this.containerId = containerId;
     }
 
@@ -168,6 +169,7 @@ public class WrapperPlayServerOpenWindow extends PacketWrapper<WrapperPlayServer
     }
 
     public void setType(int type) {
+        markDirty();
         this.type = type;
     }
 
@@ -176,6 +178,7 @@ public class WrapperPlayServerOpenWindow extends PacketWrapper<WrapperPlayServer
     }
 
     public void setLegacyType(String legacyType) {
+        markDirty();
         this.legacyType = legacyType;
     }
 
@@ -184,6 +187,7 @@ public class WrapperPlayServerOpenWindow extends PacketWrapper<WrapperPlayServer
     }
 
     public void setLegacySlots(int legacySlots) {
+        markDirty();
         this.legacySlots = legacySlots;
     }
 
@@ -192,6 +196,7 @@ public class WrapperPlayServerOpenWindow extends PacketWrapper<WrapperPlayServer
     }
 
     public void setHorseId(int horseId) {
+        markDirty();
         this.horseId = horseId;
     }
 
@@ -200,6 +205,7 @@ public class WrapperPlayServerOpenWindow extends PacketWrapper<WrapperPlayServer
     }
 
     public void setTitle(Component title) {
+        markDirty();
         this.title = title;
     }
 
@@ -208,6 +214,7 @@ public class WrapperPlayServerOpenWindow extends PacketWrapper<WrapperPlayServer
     }
 
     public void setUseProvidedWindowTitle(boolean useProvidedWindowTitle) {
+        markDirty();
         this.useProvidedWindowTitle = useProvidedWindowTitle;
     }
 }
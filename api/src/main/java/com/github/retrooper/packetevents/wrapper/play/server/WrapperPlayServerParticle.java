@@ -30,10 +30,26 @@ import com.github.retrooper.packetevents.protocol.particle.type.ParticleTypes;
 import com.github.retrooper.packetevents.util.Vector3d;
 import com.github.retrooper.packetevents.util.Vector3f;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 //Might be worthy to document
 //TODO: Check changelog through out the versions
 public class WrapperPlayServerParticle extends PacketWrapper<WrapperPlayServerParticle> {
+    private static final VersionedCodec<WrapperPlayServerParticle> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isOlderThan(ServerVersion.V_1_8)) {
+            return WrapperCodec.of(WrapperPlayServerParticle::readV1_7_10, WrapperPlayServerParticle::writeV1_7_10);
+        } else if (version.isOlderThan(ServerVersion.V_1_13)) {
+            return WrapperCodec.of(WrapperPlayServerParticle::readV1_8, WrapperPlayServerParticle::writeV1_8);
+        } else if (version.isOlderThan(ServerVersion.V_1_15)) {
+            return WrapperCodec.of(WrapperPlayServerParticle::readV1_13, WrapperPlayServerParticle::writeV1_13);
+        } else if (version.isOlderThan(ServerVersion.V_1_19)) {
+            return WrapperCodec.of(WrapperPlayServerParticle::readV1_15, WrapperPlayServerParticle::writeV1_15);
+        } else if (version.isOlderThan(ServerVersion.V_1_20_5)) {
+            return WrapperCodec.of(WrapperPlayServerParticle::readV1_19, WrapperPlayServerParticle::writeV1_19);
+        }
+        return WrapperCodec.of(WrapperPlayServerParticle::readV1_20_5, WrapperPlayServerParticle::writeV1_20_5);
+    });
 
     private Particle<?> particle;
     private boolean longDistance;
@@ -57,87 +73,147 @@ public class WrapperPlayServerParticle extends PacketWrapper<WrapperPlayServerPa
         this.particleCount = particleCount;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void read() {
-        int particleTypeId = 0;
-        ParticleType<?> particleType = null;
-        boolean v1205 = this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_5);
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            String particleName = readString(64);
-            particleType = ParticleTypes.getByName("minecraft:" + particleName);
-        } else if (!v1205) {
-            particleTypeId = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19) ? readVarInt() : readInt();
-            particleType = ParticleTypes.getById(serverVersion.toClientVersion(), particleTypeId);
-        }
+        CODEC.reader(serverVersion).read(this);
+    }
+
+    @Override
+    public void write() {
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readV1_7_10() {
+        String particleName = readString(64);
+        ParticleType<?> particleType = ParticleTypes.getByName("minecraft:" + particleName);
+        readFloatPosition();
+        this.particle = new Particle<>((ParticleType<ParticleData>) particleType, ParticleData.emptyData());
+    }
+
+    //TODO on 1.7 we get particle type by 64 len string
+    private void writeV1_7_10() {
+        writeString(particle.getType().getName().getKey(), 64);
+        writeFloatPosition();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readV1_8() {
+        int particleTypeId = readInt();
+        ParticleType<?> particleType = ParticleTypes.getById(serverVersion.toClientVersion(), particleTypeId);
+        readFloatPosition();
+        //TODO Understand the legacy data: https://wiki.vg/index.php?title=Protocol&oldid=14204
+        ParticleData data = LegacyParticleData.read(this, particleTypeId);
+        this.particle = new Particle<>((ParticleType<ParticleData>) particleType, data);
+    }
+
+    private void writeV1_8() {
+        int id = this.particle.getType().getId(this.serverVersion.toClientVersion());
+        writeInt(id);
+        writeFloatPosition();
+        LegacyParticleData legacyData = this.particle.getData() instanceof LegacyConvertible
+                ? ((LegacyConvertible) this.particle.getData()).toLegacy(this.serverVersion.toClientVersion())
+                : LegacyParticleData.nullValue(id);
+        LegacyParticleData.write(this, id, legacyData);
+    }
+
+    private void readV1_13() {
+        ParticleType<?> particleType = ParticleTypes.getById(serverVersion.toClientVersion(), readInt());
+        readFloatPosition();
+        readParticleData(particleType);
+    }
+
+    private void writeV1_13() {
+        writeInt(this.particle.getType().getId(this.serverVersion.toClientVersion()));
+        writeFloatPosition();
+        writeParticleData();
+    }
+
+    private void readV1_15() {
+        ParticleType<?> particleType = ParticleTypes.getById(serverVersion.toClientVersion(), readInt());
+        readDoublePosition();
+        readParticleData(particleType);
+    }
+
+    private void writeV1_15() {
+        writeInt(this.particle.getType().getId(this.serverVersion.toClientVersion()));
+        writeDoublePosition();
+        writeParticleData();
+    }
+
+    private void readV1_19() {
+        ParticleType<?> particleType = ParticleTypes.getById(serverVersion.toClientVersion(), readVarInt());
+        readDoublePosition();
+        readParticleData(particleType);
+    }
+
+    private void writeV1_19() {
+        writeVarInt(this.particle.getType().getId(this.serverVersion.toClientVersion()));
+        writeDoublePosition();
+        writeParticleData();
+    }
+
+    private void readV1_20_5() {
+        readDoublePosition();
+        this.particle = Particle.read(this);
+    }
+
+    private void writeV1_20_5() {
+        writeDoublePosition();
+        Particle.write(this, this.particle);
+    }
+
+    private void readFloatPosition() {
         longDistance = readBoolean();
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_15)) {
-            position = new Vector3d(readDouble(), readDouble(), readDouble());
-        } else {
-            position = new Vector3d(readFloat(), readFloat(), readFloat());
-        }
+        position = new Vector3d(readFloat(), readFloat(), readFloat());
+        readSpread();
+    }
+
+    private void writeFloatPosition() {
+        writeBoolean(longDistance);
+        writeFloat((float) position.getX());
+        writeFloat((float) position.getY());
+        writeFloat((float) position.getZ());
+        writeSpread();
+    }
+
+    private void readDoublePosition() {
+        longDistance = readBoolean();
+        position = new Vector3d(readDouble(), readDouble(), readDouble());
+        readSpread();
+    }
+
+    private void writeDoublePosition() {
+        writeBoolean(longDistance);
+        writeDouble(position.getX());
+        writeDouble(position.getY());
+        writeDouble(position.getZ());
+        writeSpread();
+    }
+
+    private void readSpread() {
         offset = new Vector3f(readFloat(), readFloat(), readFloat());
         maxSpeed = readFloat();
         particleCount = readInt();
-
-        if (v1205) {
-            this.particle = Particle.read(this);
-        } else {
-            ParticleData data;
-            if (this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_13)) {
-                data = particleType.readData(this);
-            } else {
-                data = ParticleData.emptyData();
-                if (this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_8)) {
-                    //TODO Understand the legacy data: https://wiki.vg/index.php?title=Protocol&oldid=14204
-                    data = LegacyParticleData.read(this, particleTypeId);
-                }
-            }
-            this.particle = new Particle<>((ParticleType<ParticleData>) particleType, data);
-        }
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public void write() {
-        //TODO on 1.7 we get particle type by 64 len string
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeString(particle.getType().getName().getKey(), 64);
-        } else if (this.serverVersion.isOlderThan(ServerVersion.V_1_20_5)) {
-            int id = this.particle.getType().getId(this.serverVersion.toClientVersion());
-            if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19)) {
-                writeVarInt(id);
-            } else {
-                writeInt(id);
-            }
-        }
-        writeBoolean(longDistance);
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_15)) {
-            writeDouble(position.getX());
-            writeDouble(position.getY());
-            writeDouble(position.getZ());
-        } else {
-            writeFloat((float) position.getX());
-            writeFloat((float) position.getY());
-            writeFloat((float) position.getZ());
-        }
+    private void writeSpread() {
         writeFloat(offset.getX());
         writeFloat(offset.getY());
         writeFloat(offset.getZ());
         writeFloat(maxSpeed);
         writeInt(particleCount);
+    }
 
-        if (this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_5)) {
-            Particle.write(this, this.particle);
-        } else if (this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_13)) {
-            ((ParticleType<ParticleData>) this.particle.getType()).writeData(this, this.particle.getData());
-        } else if (this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_8)) {
-            int id = this.particle.getType().getId(this.serverVersion.toClientVersion());
-            LegacyParticleData legacyData = this.particle.getData() instanceof LegacyConvertible
-                    ? ((LegacyConvertible) this.particle.getData()).toLegacy(this.serverVersion.toClientVersion())
-                    : LegacyParticleData.nullValue(id);
-            LegacyParticleData.write(this, id, legacyData);
-        }
+    @SuppressWarnings("unchecked")
+    private void readParticleData(ParticleType<?> particleType) {
+        ParticleData data = particleType.readData(this);
+        this.particle = new Particle<>((ParticleType<ParticleData>) particleType, data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeParticleData() {
+        ((ParticleType<ParticleData>) this.particle.getType()).writeData(this, this.particle.getData());
     }
 
     @Override
@@ -151,10 +227,12 @@ public class WrapperPlayServerParticle extends PacketWrapper<WrapperPlayServerPa
     }
 
     public Particle<?> getParticle() {
+        markDirty();
         return particle;
     }
 
     public void setParticle(Particle<?> particle) {
+        markDirty();
         this.particle = particle;
     }
 
@@ -163,6 +241,7 @@ public class WrapperPlayServerParticle extends PacketWrapper<WrapperPlayServerPa
     }
 
     public void setLongDistance(boolean longDistance) {
+        markDirty();
         this.longDistance = longDistance;
     }
 
@@ -171,6 +250,7 @@ public class WrapperPlayServerParticle extends PacketWrapper<WrapperPlayServerPa
     }
 
     public void setPosition(Vector3d position) {
+        markDirty();
         this.position = position;
     }
 
@@ -179,6 +259,7 @@ public class WrapperPlayServerParticle extends PacketWrapper<WrapperPlayServerPa
     }
 
     public void setOffset(Vector3f offset) {
+        markDirty();
         this.offset = offset;
     }
 
@@ -187,6 +268,7 @@ public class WrapperPlayServerParticle extends PacketWrapper<WrapperPlayServerPa
     }
 
     public void setMaxSpeed(float maxSpeed) {
+        markDirty();
         this.maxSpeed = maxSpeed;
     }
 
@@ -195,6 +277,7 @@ public class WrapperPlayServerParticle extends PacketWrapper<WrapperPlayServerPa
     }
 
     public void setParticleCount(int particleCount) {
+        markDirty();
         this.particleCount = particleCount;
     }
 
@@ -21,6 +21,9 @@ package com.github.retrooper.packetevents.wrapper.play.server;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientPong;
 
 /**
@@ -30,8 +33,10 @@ import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientPo
  *
  * @see WrapperPlayClientPong
  */
+@WrapperSchema
 public class WrapperPlayServerPing extends PacketWrapper<WrapperPlayServerPing> {
-    private int id;
+    @SchemaField(FieldType.INT)
+    int id;
 
     public WrapperPlayServerPing(PacketSendEvent event) {
         super(event);
@@ -44,17 +49,22 @@ public class WrapperPlayServerPing extends PacketWrapper<WrapperPlayServerPing>
 
     @Override
     public void read() {
-        this.id = readInt();
+        WrapperPlayServerPingCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeInt(id);
+        WrapperPlayServerPingCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayServerPing wrapper) {
-        this.id = wrapper.id;
+        WrapperPlayServerPingCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerPingCodec.estimateSize(this);
     }
 
     public int getId() {
@@ -62,6 +72,7 @@ public class WrapperPlayServerPing extends PacketWrapper<WrapperPlayServerPing>
     }
 
     public void setId(int id) {
+        markDirty();
         this.id = id;
     }
 }
@@ -75,6 +75,7 @@ public class WrapperPlayServerPlayerChatHeader extends PacketWrapper<WrapperPlay
      * @return the previous message signature if exists.
      */
     public Optional<byte[]> getPreviousSignature() {
+        markDirty();
         return Optional.ofNullable(previousSignature);
     }
 
@@ -84,6 +85,7 @@ public class WrapperPlayServerPlayerChatHeader extends PacketWrapper<WrapperPlay
      * @param previousSignature the previous message signature.
      */
     public void setPreviousSignature(byte @Nullable [] previousSignature) {
+        markDirty();
         this.previousSignature = previousSignature;
     }
 
@@ -102,6 +104,7 @@ public class WrapperPlayServerPlayerChatHeader extends PacketWrapper<WrapperPlay
      * @param playerUUID The UUID of the message sender.
      */
     public void setPlayerUUID(UUID playerUUID) {
+        markDirty();
         this.playerUUID = playerUUID;
     }
 
@@ -111,6 +114,7 @@ public class WrapperPlayServerPlayerChatHeader extends PacketWrapper<WrapperPlay
      * @return The signature of the current message.
      */
     public byte[] getSignature() {
+        markDirty();
         return signature;
     }
 
@@ -120,6 +124,7 @@ public class WrapperPlayServerPlayerChatHeader extends PacketWrapper<WrapperPlay
      * @param signature The signature of the current message.
      */
     public void setSignature(byte[] signature) {
+        markDirty();
         this.signature = signature;
     }
 
@@ -129,6 +134,7 @@ public class WrapperPlayServerPlayerChatHeader extends PacketWrapper<WrapperPlay
      * @return the hash of the chat message.
      */
     public byte[] getHash() {
+        markDirty();
         return hash;
     }
 
@@ -138,6 +144,7 @@ public class WrapperPlayServerPlayerChatHeader extends PacketWrapper<WrapperPlay
      * @param hash the hash of the chat message.
      */
     public void setHash(byte[] hash) {
+        markDirty();
         this.hash = hash;
     }
 }
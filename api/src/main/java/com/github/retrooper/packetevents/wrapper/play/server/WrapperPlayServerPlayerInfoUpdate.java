@@ -149,6 +149,13 @@ public class WrapperPlayServerPlayerInfoUpdate extends PacketWrapper<WrapperPlay
     @Override
     public void read() {
         this.actions = readEnumSet(Action.class);
+        if (!deferRemaining()) {
+            readDeferred();
+        }
+    }
+
+    @Override
+    protected void readDeferred() {
         this.entries = readList(wrapper -> {
             UUID uuid = wrapper.readUUID();
             UserProfile gameProfile = new UserProfile(uuid, null);
@@ -196,6 +203,9 @@ public class WrapperPlayServerPlayerInfoUpdate extends PacketWrapper<WrapperPlay
     @Override
     public void write() {
         writeEnumSet(this.actions, Action.class);
+        if (writeDeferred()) {
+            return;
+        }
         writeList(this.entries, (wrapper, playerInfo) -> {
             wrapper.writeUUID(playerInfo.getProfileId());
             for (Action action : actions) {
@@ -230,23 +240,37 @@ public class WrapperPlayServerPlayerInfoUpdate extends PacketWrapper<WrapperPlay
 
     @Override
     public void copy(WrapperPlayServerPlayerInfoUpdate wrapper) {
-        this.actions = wrapper.actions;
+        // The deferred entries are decoded with these actions, so they can't be shared
+        this.actions = EnumSet.copyOf(wrapper.actions);
+        if (copyDeferred(wrapper)) {
+            return;
+        }
         this.entries = wrapper.entries;
     }
 
     public EnumSet<Action> getActions() {
+        // The deferred entries are encoded for these actions, modifying them requires the entries to be decoded
+        ensureDecoded();
+        markDirty();
         return actions;
     }
 
     public void setActions(EnumSet<Action> actions) {
+        // The deferred entries are encoded for the previous actions
+        ensureDecoded();
+        markDirty();
         this.actions = actions;
     }
 
     public List<PlayerInfo> getEntries() {
+        ensureDecoded();
+        markDirty();
         return entries;
     }
 
     public void setEntries(List<PlayerInfo> entries) {
+        ensureDecoded();
+        markDirty();
         this.entries = entries;
     }
 }
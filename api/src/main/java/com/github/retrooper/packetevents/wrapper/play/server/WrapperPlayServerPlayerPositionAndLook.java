@@ -85,6 +85,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setX(double x) {
+        markDirty();
         this.x = x;
     }
 
@@ -93,6 +94,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setY(double y) {
+        markDirty();
         this.y = y;
     }
 
@@ -101,6 +103,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setZ(double z) {
+        markDirty();
         this.z = z;
     }
 
@@ -109,6 +112,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         this.yaw = yaw;
     }
 
@@ -117,6 +121,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
@@ -125,6 +130,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setRelativeMask(byte relativeMask) {
+        markDirty();
         this.relativeMask = relativeMask;
     }
 
@@ -133,6 +139,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setRelative(RelativeFlag flag, boolean relative) {
+        markDirty();
         relativeMask = flag.set(relativeMask, relative);
     }
 
@@ -141,6 +148,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setRelativeFlags(RelativeFlag flags) {
+        markDirty();
         relativeMask = flags.getMask();
     }
 
@@ -149,6 +157,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setTeleportId(int teleportId) {
+        markDirty();
         this.teleportId = teleportId;
     }
 
@@ -157,6 +166,7 @@ public class WrapperPlayServerPlayerPositionAndLook extends PacketWrapper<Wrappe
     }
 
     public void setDismountVehicle(boolean dismountVehicle) {
+        markDirty();
         this.dismountVehicle = dismountVehicle;
     }
 }
\ No newline at end of file
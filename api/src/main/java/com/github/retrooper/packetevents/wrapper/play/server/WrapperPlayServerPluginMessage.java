@@ -98,6 +98,7 @@ public class WrapperPlayServerPluginMessage extends PacketWrapper<WrapperPlaySer
      * @param channelName The channel name.
      */
     public void setChannelName(String channelName) {
+        markDirty();
        this.channelName = channelName;
     }
 
@@ -107,6 +108,7 @@ public class WrapperPlayServerPluginMessage extends PacketWrapper<WrapperPlaySer
      * @return The data.
      */
     public byte[] getData() {
+        markDirty();
         return data;
     }
 
@@ -116,6 +118,7 @@ public class WrapperPlayServerPluginMessage extends PacketWrapper<WrapperPlaySer
      * @param data The data.
      */
     public void setData(byte[] data) {
+        markDirty();
         this.data = data;
     }
 }
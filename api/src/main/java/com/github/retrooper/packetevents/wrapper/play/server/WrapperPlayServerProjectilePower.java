@@ -70,6 +70,7 @@ public class WrapperPlayServerProjectilePower extends PacketWrapper<WrapperPlayS
     }
 
     public void setEntityId(int entityId) {
+        markDirty();
         this.entityId = entityId;
     }
 
@@ -78,6 +79,7 @@ public class WrapperPlayServerProjectilePower extends PacketWrapper<WrapperPlayS
     }
 
     public void setPowerX(double powerX) {
+        markDirty();
         this.powerX = powerX;
     }
 
@@ -86,6 +88,7 @@ public class WrapperPlayServerProjectilePower extends PacketWrapper<WrapperPlayS
     }
 
     public void setPowerY(double powerY) {
+        markDirty();
         this.powerY = powerY;
     }
 
@@ -94,6 +97,7 @@ public class WrapperPlayServerProjectilePower extends PacketWrapper<WrapperPlayS
     }
 
     public void setPowerZ(double powerZ) {
+        markDirty();
         this.powerZ = powerZ;
     }
 }
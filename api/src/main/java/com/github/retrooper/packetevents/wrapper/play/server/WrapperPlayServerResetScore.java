@@ -42,7 +42,7 @@ public class WrapperPlayServerResetScore extends PacketWrapper<WrapperPlayServer
     @Override
     public void read() {
         this.targetName = this.readString();
-        this.objective = this.readOptional(PacketWrapper::readString);
+        this.objective = this.readOptional(wrapper -> wrapper.readInternedString(32767));
     }
 
     @Override
@@ -70,6 +70,7 @@ public class WrapperPlayServerResetScore extends PacketWrapper<WrapperPlayServer
      * This can be an entity, player, or nothing at all.
      */
     public void setTargetName(String targetName) {
+        markDirty();
         this.targetName = targetName;
     }
 
@@ -78,6 +79,7 @@ public class WrapperPlayServerResetScore extends PacketWrapper<WrapperPlayServer
     }
 
     public void setObjective(@Nullable String objective) {
+        markDirty();
         this.objective = objective;
     }
 }
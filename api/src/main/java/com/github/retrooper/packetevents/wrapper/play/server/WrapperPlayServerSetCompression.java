@@ -54,6 +54,7 @@ public class WrapperPlayServerSetCompression extends PacketWrapper<WrapperPlaySe
     }
 
     public void setThreshold(int threshold) {
+        markDirty();
         this.threshold = threshold;
     }
 }
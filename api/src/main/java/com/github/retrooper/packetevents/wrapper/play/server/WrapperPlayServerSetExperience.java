@@ -22,11 +22,20 @@ import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
+@WrapperSchema
 public class WrapperPlayServerSetExperience extends PacketWrapper<WrapperPlayServerSetExperience> {
-    private float experienceBar;
-    private int level;
-    private int totalExperience;
+    @SchemaField(FieldType.FLOAT)
+    float experienceBar;
+    @SchemaField(value = FieldType.SHORT, until = ServerVersion.V_1_7_10)
+    @SchemaField(value = FieldType.VAR_INT, since = ServerVersion.V_1_8)
+    int level;
+    @SchemaField(value = FieldType.SHORT, until = ServerVersion.V_1_7_10)
+    @SchemaField(value = FieldType.VAR_INT, since = ServerVersion.V_1_8)
+    int totalExperience;
 
     public WrapperPlayServerSetExperience(PacketSendEvent event) {
         super(event);
@@ -41,33 +50,22 @@ public class WrapperPlayServerSetExperience extends PacketWrapper<WrapperPlaySer
 
     @Override
     public void read() {
-        experienceBar = readFloat();
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            level = readShort();
-            totalExperience = readShort();
-        } else {
-            level = readVarInt();
-            totalExperience = readVarInt();
-        }
+        WrapperPlayServerSetExperienceCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeFloat(experienceBar);
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeShort(level);
-            writeShort(totalExperience);
-        } else {
-            writeVarInt(level);
-            writeVarInt(totalExperience);
-        }
+        WrapperPlayServerSetExperienceCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayServerSetExperience wrapper) {
-        experienceBar = wrapper.experienceBar;
-        level = wrapper.level;
-        totalExperience = wrapper.totalExperience;
+        WrapperPlayServerSetExperienceCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerSetExperienceCodec.estimateSize(this);
     }
 
     public float getExperienceBar() {
@@ -75,6 +73,7 @@ public class WrapperPlayServerSetExperience extends PacketWrapper<WrapperPlaySer
     }
 
     public void setExperienceBar(float experienceBar) {
+        markDirty();
         this.experienceBar = experienceBar;
     }
 
@@ -83,6 +82,7 @@ public class WrapperPlayServerSetExperience extends PacketWrapper<WrapperPlaySer
     }
 
     public void setLevel(int level) {
+        markDirty();
         this.level = level;
     }
 
@@ -91,6 +91,7 @@ public class WrapperPlayServerSetExperience extends PacketWrapper<WrapperPlaySer
     }
 
     public void setTotalExperience(int totalExperience) {
+        markDirty();
         this.totalExperience = totalExperience;
     }
 }
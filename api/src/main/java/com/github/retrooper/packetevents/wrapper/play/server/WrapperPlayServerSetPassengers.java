@@ -59,14 +59,17 @@ public class WrapperPlayServerSetPassengers extends PacketWrapper<WrapperPlaySer
     }
 
     public void setEntityId(int entityId) {
+        markDirty();
         this.entityId = entityId;
     }
 
     public int[] getPassengers() {
+        markDirty();
         return passengers;
     }
 
     public void setPassengers(int[] passengers) {
+        markDirty();
         this.passengers = passengers;
     }
 }
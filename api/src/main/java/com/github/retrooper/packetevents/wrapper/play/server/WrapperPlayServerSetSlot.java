@@ -23,8 +23,16 @@ import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.item.ItemStack;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayServerSetSlot extends PacketWrapper<WrapperPlayServerSetSlot> {
+    private static final VersionedCodec<WrapperPlayServerSetSlot> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isNewerThanOrEquals(ServerVersion.V_1_17_1)) {
+            return WrapperCodec.of(WrapperPlayServerSetSlot::readV1_17_1, WrapperPlayServerSetSlot::writeV1_17_1);
+        }
+        return WrapperCodec.of(WrapperPlayServerSetSlot::readLegacy, WrapperPlayServerSetSlot::writeLegacy);
+    });
     private int windowID;
     private int stateID;
     private int slot;
@@ -44,20 +52,36 @@ public class WrapperPlayServerSetSlot extends PacketWrapper<WrapperPlayServerSet
 
     @Override
     public void read() {
+        CODEC.reader(serverVersion).read(this);
+    }
+
+    @Override
+    public void write() {
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readLegacy() {
         windowID = readByte();
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_17_1)) {
-            stateID = readVarInt();
-        }
         slot = readShort();
         item = readItemStack();
     }
 
-    @Override
-    public void write() {
+    private void writeLegacy() {
         writeByte(windowID);
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_17_1)) {
-            writeVarInt(stateID);
-        }
+        writeShort(slot);
+        writeItemStack(item);
+    }
+
+    private void readV1_17_1() {
+        windowID = readByte();
+        stateID = readVarInt();
+        slot = readShort();
+        item = readItemStack();
+    }
+
+    private void writeV1_17_1() {
+        writeByte(windowID);
+        writeVarInt(stateID);
         writeShort(slot);
         writeItemStack(item);
     }
@@ -75,6 +99,7 @@ public class WrapperPlayServerSetSlot extends PacketWrapper<WrapperPlayServerSet
     }
 
     public void setWindowId(int windowID) {
+        markDirty();
         this.windowID = windowID;
     }
 
@@ -83,6 +108,7 @@ public class WrapperPlayServerSetSlot extends PacketWrapper<WrapperPlayServerSet
     }
 
     public void setStateId(int stateID) {
+        markDirty();
         this.stateID = stateID;
     }
 
@@ -91,14 +117,17 @@ public class WrapperPlayServerSetSlot extends PacketWrapper<WrapperPlayServerSet
     }
 
     public void setSlot(int slot) {
+        markDirty();
         this.slot = slot;
     }
 
     public ItemStack getItem() {
+        markDirty();
         return item;
     }
 
     public void setItem(ItemStack item) {
+        markDirty();
         this.item = item;
     }
 }
@@ -64,6 +64,7 @@ public class WrapperPlayServerSetTitleText extends PacketWrapper<WrapperPlayServ
     }
 
     public void setTitle(Component title) {
+        markDirty();
         this.title = title;
     }
 
@@ -74,6 +75,7 @@ public class WrapperPlayServerSetTitleText extends PacketWrapper<WrapperPlayServ
 
     @Deprecated
     public void setTitleJson(String titleJson) {
+        markDirty();
         this.setTitle(AdventureSerializer.parseComponent(titleJson));
     }
 }
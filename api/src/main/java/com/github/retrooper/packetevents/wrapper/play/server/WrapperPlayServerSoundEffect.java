@@ -27,11 +27,25 @@ import com.github.retrooper.packetevents.protocol.sound.SoundCategory;
 import com.github.retrooper.packetevents.protocol.sound.Sounds;
 import com.github.retrooper.packetevents.util.Vector3i;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.ThreadLocalRandom;
 
 public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServerSoundEffect> {
+    private static final VersionedCodec<WrapperPlayServerSoundEffect> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isOlderThan(ServerVersion.V_1_9)) {
+            return WrapperCodec.of(WrapperPlayServerSoundEffect::readLegacy, WrapperPlayServerSoundEffect::writeLegacy);
+        } else if (version.isOlderThan(ServerVersion.V_1_10)) {
+            return WrapperCodec.of(WrapperPlayServerSoundEffect::readV1_9, WrapperPlayServerSoundEffect::writeV1_9);
+        } else if (version.isOlderThan(ServerVersion.V_1_19)) {
+            return WrapperCodec.of(WrapperPlayServerSoundEffect::readV1_10, WrapperPlayServerSoundEffect::writeV1_10);
+        } else if (version.isOlderThan(ServerVersion.V_1_19_3)) {
+            return WrapperCodec.of(WrapperPlayServerSoundEffect::readV1_19, WrapperPlayServerSoundEffect::writeV1_19);
+        }
+        return WrapperCodec.of(WrapperPlayServerSoundEffect::readV1_19_3, WrapperPlayServerSoundEffect::writeV1_19_3);
+    });
 
     private Sound sound;
     private SoundCategory soundCategory;
@@ -73,51 +87,93 @@ public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServe
 
     @Override
     public void read() {
-        this.sound = this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19_3) ? Sound.read(this)
-                : serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9) ? Sounds.getById(this.serverVersion.toClientVersion(), this.readVarInt())
-                //TODO Test
-                : Sounds.getByName(readString());
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)) {
-            soundCategory = SoundCategory.fromId(readVarInt());
-        }
-        effectPosition = new Vector3i(readInt(), readInt(), readInt());
-        volume = readFloat();
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_10)) {
-            pitch = readFloat();
-        }
-        else {
-            pitch = readUnsignedByte() / 63.5F;
-        }
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19)) {
-            this.seed = readLong();
-        }
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
-        if (this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19_3)) {
-            Sound.write(this, this.sound);
-        } else if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9)){
-            this.writeVarInt(this.sound.getId(this.serverVersion.toClientVersion()));
-        }
-        else {
-            //TODO Test
-            writeString(sound.getName().getKey());
-        }
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readLegacy() {
+        //TODO Test
+        sound = Sounds.getByName(readString());
+        readPositionAndVolume();
+        pitch = readUnsignedByte() / 63.5F;
+    }
+
+    private void writeLegacy() {
+        //TODO Test
+        writeString(sound.getName().getKey());
+        writeVarInt(soundCategory.ordinal());
+        writePositionAndVolume();
+        writeByte((int) (pitch * 63.5F));
+    }
+
+    private void readV1_9() {
+        sound = Sounds.getById(serverVersion.toClientVersion(), readVarInt());
+        soundCategory = SoundCategory.fromId(readVarInt());
+        readPositionAndVolume();
+        pitch = readUnsignedByte() / 63.5F;
+    }
+
+    private void writeV1_9() {
+        writeVarInt(sound.getId(serverVersion.toClientVersion()));
         writeVarInt(soundCategory.ordinal());
+        writePositionAndVolume();
+        writeByte((int) (pitch * 63.5F));
+    }
+
+    private void readV1_10() {
+        sound = Sounds.getById(serverVersion.toClientVersion(), readVarInt());
+        soundCategory = SoundCategory.fromId(readVarInt());
+        readPositionAndVolume();
+        pitch = readFloat();
+    }
+
+    private void writeV1_10() {
+        writeVarInt(sound.getId(serverVersion.toClientVersion()));
+        writeVarInt(soundCategory.ordinal());
+        writePositionAndVolume();
+        writeFloat(pitch);
+    }
+
+    private void readV1_19() {
+        readV1_10();
+        seed = readLong();
+    }
+
+    private void writeV1_19() {
+        writeV1_10();
+        writeLong(seed);
+    }
+
+    private void readV1_19_3() {
+        sound = Sound.read(this);
+        soundCategory = SoundCategory.fromId(readVarInt());
+        readPositionAndVolume();
+        pitch = readFloat();
+        seed = readLong();
+    }
+
+    private void writeV1_19_3() {
+        Sound.write(this, sound);
+        writeVarInt(soundCategory.ordinal());
+        writePositionAndVolume();
+        writeFloat(pitch);
+        writeLong(seed);
+    }
+
+    private void readPositionAndVolume() {
+        effectPosition = new Vector3i(readInt(), readInt(), readInt());
+        volume = readFloat();
+    }
+
+    private void writePositionAndVolume() {
         writeInt(effectPosition.x);
         writeInt(effectPosition.y);
         writeInt(effectPosition.z);
         writeFloat(volume);
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_10)) {
-            writeFloat(pitch);
-        }
-        else {
-            writeByte((int) (pitch * 63.5F));
-        }
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19)) {
-            writeLong(seed);
-        }
     }
 
     @Override
@@ -135,6 +191,7 @@ public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServe
     }
 
     public void setSound(Sound sound) {
+        markDirty();
         this.sound = sound;
     }
 
@@ -145,6 +202,7 @@ public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServe
 
     @Deprecated
     public void setSoundId(int soundId) {
+        markDirty();
         this.setSound(Sounds.getById(this.serverVersion.toClientVersion(), soundId));
     }
 
@@ -154,6 +212,7 @@ public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServe
     }
 
     public void setSoundCategory(SoundCategory soundCategory) {
+        markDirty();
         this.soundCategory = soundCategory;
     }
 
@@ -162,6 +221,7 @@ public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServe
     }
 
     public void setEffectPosition(Vector3i effectPosition) {
+        markDirty();
         this.effectPosition = effectPosition;
     }
 
@@ -170,6 +230,7 @@ public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServe
     }
 
     public void setVolume(float volume) {
+        markDirty();
         this.volume = volume;
     }
 
@@ -178,6 +239,7 @@ public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServe
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
@@ -196,6 +258,7 @@ public class WrapperPlayServerSoundEffect extends PacketWrapper<WrapperPlayServe
      * @param seed the seed to set
      */
     public void setSeed(long seed) {
+        markDirty();
         this.seed = seed;
     }
 }
@@ -27,6 +27,8 @@ import com.github.retrooper.packetevents.protocol.world.Location;
 import com.github.retrooper.packetevents.util.MathUtil;
 import com.github.retrooper.packetevents.util.Vector3d;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
@@ -35,6 +37,18 @@ import java.util.UUID;
 public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServerSpawnEntity> {
     private static final float ROTATION_FACTOR = 256.0F / 360.0F;
     private static final double VELOCITY_FACTOR = 8000.0;
+    private static final VersionedCodec<WrapperPlayServerSpawnEntity> CODEC = VersionedCodec.resolve(version -> {
+        if (version.isOlderThan(ServerVersion.V_1_9)) {
+            return WrapperCodec.of(WrapperPlayServerSpawnEntity::readLegacy, WrapperPlayServerSpawnEntity::writeLegacy);
+        } else if (version.isOlderThan(ServerVersion.V_1_14)) {
+            return WrapperCodec.of(WrapperPlayServerSpawnEntity::readV1_9, WrapperPlayServerSpawnEntity::writeV1_9);
+        } else if (version.isOlderThan(ServerVersion.V_1_15)) {
+            return WrapperCodec.of(WrapperPlayServerSpawnEntity::readV1_14, WrapperPlayServerSpawnEntity::writeV1_14);
+        } else if (version.isOlderThan(ServerVersion.V_1_19)) {
+            return WrapperCodec.of(WrapperPlayServerSpawnEntity::readV1_15, WrapperPlayServerSpawnEntity::writeV1_15);
+        }
+        return WrapperCodec.of(WrapperPlayServerSpawnEntity::readV1_19, WrapperPlayServerSpawnEntity::writeV1_19);
+    });
     private int entityID;
     private Optional<UUID> uuid;
     private EntityType entityType;
@@ -77,117 +91,171 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
 
     @Override
     public void read() {
-        entityID = readVarInt();
-        boolean v1_9 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9);
-        boolean v1_15 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_15);
-        boolean v1_19 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19);
-        if (v1_9) {
-            uuid = Optional.of(readUUID());
-        } else {
-            uuid = Optional.empty();
-        }
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_14)) {
-            entityType = EntityTypes.getById(serverVersion.toClientVersion(), readVarInt());
-        } else {
-            int id = readByte();
-            entityType = EntityTypes.getByLegacyId(serverVersion.toClientVersion(), id);
-            if (entityType == null) // Should not happen but anyway
-                entityType = EntityTypes.getById(serverVersion.toClientVersion(), id);
-        }
-        double x;
-        double y;
-        double z;
-        if (v1_9) {
-            x = readDouble();
-            y = readDouble();
-            z = readDouble();
-        } else {
-            x = readInt() / 32.0;
-            y = readInt() / 32.0;
-            z = readInt() / 32.0;
-        }
-        position = new Vector3d(x, y, z);
-
-        if (v1_15) {
-            pitch = readByte() / ROTATION_FACTOR;
-            yaw = readByte() / ROTATION_FACTOR;
-        } else {
-            yaw = readByte() / ROTATION_FACTOR;
-            pitch = readByte() / ROTATION_FACTOR;
-        }
+        CODEC.reader(serverVersion).read(this);
+    }
 
-        if (v1_19) {
-            headYaw = readByte() / ROTATION_FACTOR;
-            data = readVarInt();
-        } else {
-            data = readInt();
-        }
+    @Override
+    public void write() {
+        CODEC.writer(serverVersion).write(this);
+    }
 
+    private void readLegacy() {
+        entityID = readVarInt();
+        uuid = Optional.empty();
+        readLegacyEntityType();
+        position = new Vector3d(readInt() / 32.0, readInt() / 32.0, readInt() / 32.0);
+        yaw = readByte() / ROTATION_FACTOR;
+        pitch = readByte() / ROTATION_FACTOR;
+        data = readInt();
         //On 1.8 check if data > 0 before reading, or it won't be in the packet
-        if (v1_9 || data > 0) {
-            double velX = readShort() / VELOCITY_FACTOR;
-            double velY = readShort() / VELOCITY_FACTOR;
-            double velZ = readShort() / VELOCITY_FACTOR;
-            velocity = Optional.of(new Vector3d(velX, velY, velZ));
+        if (data > 0) {
+            readVelocity();
         } else {
             velocity = Optional.empty();
         }
     }
 
-    @Override
-    public void write() {
+    private void writeLegacy() {
         writeVarInt(entityID);
-        boolean v1_9 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_9);
-        boolean v1_15 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_15);
-        boolean v1_19 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_19);
-        if (v1_9) {
-            writeUUID(uuid.orElse(new UUID(0L, 0L)));
-        }
-        if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_14)) {
-            writeVarInt(entityType.getId(serverVersion.toClientVersion()));
-        } else {
-            if (entityType.getLegacyId(serverVersion.toClientVersion()) != -1) { // Will always be true if they use correct EntityTypes for this packet
-                writeByte(entityType.getLegacyId(serverVersion.toClientVersion()));
-            } else {
-                writeByte(entityType.getId(serverVersion.toClientVersion()));
-            }
+        writeLegacyEntityType();
+        writeInt(MathUtil.floor(position.x * 32.0));
+        writeInt(MathUtil.floor(position.y * 32.0));
+        writeInt(MathUtil.floor(position.z * 32.0));
+        writeByte(MathUtil.floor(yaw * ROTATION_FACTOR));
+        writeByte(MathUtil.floor(pitch * ROTATION_FACTOR));
+        writeInt(data);
+        //On 1.8 check if data > 0 before reading, or it won't be in the packet
+        if (data > 0) {
+            writeVelocity();
         }
+    }
 
-        if (v1_9) {
-            writeDouble(position.x);
-            writeDouble(position.y);
-            writeDouble(position.z);
-        } else {
-            writeInt(MathUtil.floor(position.x * 32.0));
-            writeInt(MathUtil.floor(position.y * 32.0));
-            writeInt(MathUtil.floor(position.z * 32.0));
-        }
+    private void readV1_9() {
+        entityID = readVarInt();
+        uuid = Optional.of(readUUID());
+        readLegacyEntityType();
+        position = new Vector3d(readDouble(), readDouble(), readDouble());
+        yaw = readByte() / ROTATION_FACTOR;
+        pitch = readByte() / ROTATION_FACTOR;
+        data = readInt();
+        readVelocity();
+    }
 
-        if (v1_15) {
-            writeByte(MathUtil.floor(pitch * ROTATION_FACTOR));
-            writeByte(MathUtil.floor(yaw * ROTATION_FACTOR));
-        } else {
-            writeByte(MathUtil.floor(yaw * ROTATION_FACTOR));
-            writeByte(MathUtil.floor(pitch * ROTATION_FACTOR));
-        }
+    private void writeV1_9() {
+        writeVarInt(entityID);
+        writeUUID(uuid.orElse(new UUID(0L, 0L)));
+        writeLegacyEntityType();
+        writePosition();
+        writeByte(MathUtil.floor(yaw * ROTATION_FACTOR));
+        writeByte(MathUtil.floor(pitch * ROTATION_FACTOR));
+        writeInt(data);
+        writeVelocity();
+    }
+
+    private void readV1_14() {
+        entityID = readVarInt();
+        uuid = Optional.of(readUUID());
+        entityType = EntityTypes.getById(serverVersion.toClientVersion(), readVarInt());
+        position = new Vector3d(readDouble(), readDouble(), readDouble());
+        yaw = readByte() / ROTATION_FACTOR;
+        pitch = readByte() / ROTATION_FACTOR;
+        data = readInt();
+        readVelocity();
+    }
+
+    private void writeV1_14() {
+        writeVarInt(entityID);
+        writeUUID(uuid.orElse(new UUID(0L, 0L)));
+        writeVarInt(entityType.getId(serverVersion.toClientVersion()));
+        writePosition();
+        writeByte(MathUtil.floor(yaw * ROTATION_FACTOR));
+        writeByte(MathUtil.floor(pitch * ROTATION_FACTOR));
+        writeInt(data);
+        writeVelocity();
+    }
 
-        if (v1_19) {
-            writeByte(MathUtil.floor(headYaw * ROTATION_FACTOR));
-            writeVarInt(data);
+    private void readV1_15() {
+        entityID = readVarInt();
+        uuid = Optional.of(readUUID());
+        entityType = EntityTypes.getById(serverVersion.toClientVersion(), readVarInt());
+        position = new Vector3d(readDouble(), readDouble(), readDouble());
+        pitch = readByte() / ROTATION_FACTOR;
+        yaw = readByte() / ROTATION_FACTOR;
+        data = readInt();
+        readVelocity();
+    }
+
+    private void writeV1_15() {
+        writeVarInt(entityID);
+        writeUUID(uuid.orElse(new UUID(0L, 0L)));
+        writeVarInt(entityType.getId(serverVersion.toClientVersion()));
+        writePosition();
+        writeByte(MathUtil.floor(pitch * ROTATION_FACTOR));
+        writeByte(MathUtil.floor(yaw * ROTATION_FACTOR));
+        writeInt(data);
+        writeVelocity();
+    }
+
+    private void readV1_19() {
+        entityID = readVarInt();
+        uuid = Optional.of(readUUID());
+        entityType = EntityTypes.getById(serverVersion.toClientVersion(), readVarInt());
+        position = new Vector3d(readDouble(), readDouble(), readDouble());
+        pitch = readByte() / ROTATION_FACTOR;
+        yaw = readByte() / ROTATION_FACTOR;
+        headYaw = readByte() / ROTATION_FACTOR;
+        data = readVarInt();
+        readVelocity();
+    }
+
+    private void writeV1_19() {
+        writeVarInt(entityID);
+        writeUUID(uuid.orElse(new UUID(0L, 0L)));
+        writeVarInt(entityType.getId(serverVersion.toClientVersion()));
+        writePosition();
+        writeByte(MathUtil.floor(pitch * ROTATION_FACTOR));
+        writeByte(MathUtil.floor(yaw * ROTATION_FACTOR));
+        writeByte(MathUtil.floor(headYaw * ROTATION_FACTOR));
+        writeVarInt(data);
+        writeVelocity();
+    }
+
+    private void readLegacyEntityType() {
+        int id = readByte();
+        entityType = EntityTypes.getByLegacyId(serverVersion.toClientVersion(), id);
+        if (entityType == null) // Should not happen but anyway
+            entityType = EntityTypes.getById(serverVersion.toClientVersion(), id);
+    }
+
+    private void writeLegacyEntityType() {
+        if (entityType.getLegacyId(serverVersion.toClientVersion()) != -1) { // Will always be true if they use correct EntityTypes for this packet
+            writeByte(entityType.getLegacyId(serverVersion.toClientVersion()));
         } else {
-            writeInt(data);
+            writeByte(entityType.getId(serverVersion.toClientVersion()));
         }
+    }
 
-        //On 1.8 check if data > 0 before reading, or it won't be in the packet
-        if (v1_9 || data > 0) {
-            Vector3d vel = velocity.orElse(new Vector3d(-1, -1, -1));
-            int velX = (int) (vel.x * VELOCITY_FACTOR);
-            int velY = (int) (vel.y * VELOCITY_FACTOR);
-            int velZ = (int) (vel.z * VELOCITY_FACTOR);
-            writeShort(velX);
-            writeShort(velY);
-            writeShort(velZ);
-        }
+    private void writePosition() {
+        writeDouble(position.x);
+        writeDouble(position.y);
+        writeDouble(position.z);
+    }
+
+    private void readVelocity() {
+        double velX = readShort() / VELOCITY_FACTOR;
+        double velY = readShort() / VELOCITY_FACTOR;
+        double velZ = readShort() / VELOCITY_FACTOR;
+        velocity = Optional.of(new Vector3d(velX, velY, velZ));
+    }
+
+    private void writeVelocity() {
+        Vector3d vel = velocity.orElse(new Vector3d(-1, -1, -1));
+        int velX = (int) (vel.x * VELOCITY_FACTOR);
+        int velY = (int) (vel.y * VELOCITY_FACTOR);
+        int velZ = (int) (vel.z * VELOCITY_FACTOR);
+        writeShort(velX);
+        writeShort(velY);
+        writeShort(velZ);
     }
 
     @Override
@@ -208,6 +276,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
@@ -216,6 +285,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setUUID(Optional<UUID> uuid) {
+        markDirty();
         this.uuid = uuid;
     }
 
@@ -224,6 +294,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setEntityType(EntityType entityType) {
+        markDirty();
         this.entityType = entityType;
     }
 
@@ -232,6 +303,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setPosition(Vector3d position) {
+        markDirty();
         this.position = position;
     }
 
@@ -240,6 +312,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
@@ -248,6 +321,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         this.yaw = yaw;
     }
 
@@ -256,6 +330,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setHeadYaw(float headYaw) {
+        markDirty();
         this.headYaw = headYaw;
     }
 
@@ -264,6 +339,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setData(int data) {
+        markDirty();
         this.data = data;
     }
 
@@ -272,6 +348,7 @@ public class WrapperPlayServerSpawnEntity extends PacketWrapper<WrapperPlayServe
     }
 
     public void setVelocity(Optional<Vector3d> velocity) {
+        markDirty();
         this.velocity = velocity;
     }
 }
@@ -63,14 +63,17 @@ public class WrapperPlayServerStoreCookie extends PacketWrapper<WrapperPlayServe
     }
 
     public void setKey(ResourceLocation key) {
+        markDirty();
         this.key = key;
     }
 
     public byte[] getPayload() {
+        markDirty();
         return this.payload;
     }
 
     public void setPayload(byte[] payload) {
+        markDirty();
         this.payload = payload;
     }
 }
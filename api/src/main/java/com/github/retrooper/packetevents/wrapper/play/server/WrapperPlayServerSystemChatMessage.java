@@ -127,6 +127,7 @@ public class WrapperPlayServerSystemChatMessage extends PacketWrapper<WrapperPla
 
     @Deprecated
     public void setType(@Nullable ChatType type) {
+        markDirty();
         this.type = type;
     }
 
@@ -137,6 +138,7 @@ public class WrapperPlayServerSystemChatMessage extends PacketWrapper<WrapperPla
 
     @Deprecated
     public void setMessageJson(String messageJson) {
+        markDirty();
         this.setMessage(AdventureSerializer.parseComponent(messageJson));
     }
 
@@ -145,6 +147,7 @@ public class WrapperPlayServerSystemChatMessage extends PacketWrapper<WrapperPla
     }
 
     public void setMessage(Component message) {
+        markDirty();
         this.message = message;
     }
 
@@ -153,6 +156,7 @@ public class WrapperPlayServerSystemChatMessage extends PacketWrapper<WrapperPla
     }
 
     public void setOverlay(boolean overlay) {
+        markDirty();
         this.overlay = overlay;
     }
 }
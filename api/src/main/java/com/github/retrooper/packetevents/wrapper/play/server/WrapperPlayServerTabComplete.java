@@ -118,6 +118,7 @@ public class WrapperPlayServerTabComplete extends PacketWrapper<WrapperPlayServe
     }
 
     public void setTransactionId(@Nullable Integer transactionID) {
+        markDirty();
         this.transactionID = Optional.ofNullable(transactionID);
     }
 
@@ -126,14 +127,17 @@ public class WrapperPlayServerTabComplete extends PacketWrapper<WrapperPlayServe
     }
 
     public void setCommandRange(@Nullable CommandRange commandRange) {
+        markDirty();
         this.commandRange = Optional.ofNullable(commandRange);
     }
 
     public List<CommandMatch> getCommandMatches() {
+        markDirty();
         return commandMatches;
     }
 
     public void setCommandMatches(List<CommandMatch> commandMatches) {
+        markDirty();
         this.commandMatches = commandMatches;
     }
 
@@ -19,12 +19,15 @@
 package com.github.retrooper.packetevents.wrapper.play.server;
 
 import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class WrapperPlayServerTags extends PacketWrapper<WrapperPlayServerTags> {
     private Map<String, List<Tag>> tags;
@@ -33,6 +36,11 @@ public class WrapperPlayServerTags extends PacketWrapper<WrapperPlayServerTags>
         super(event);
     }
 
+    public WrapperPlayServerTags(Map<String, List<Tag>> tags) {
+        super(PacketType.Play.Server.TAGS);
+        this.tags = tags;
+    }
+
     @Override
     public void read() {
         int count = readVarInt(); // Number of resource tags sent
@@ -79,16 +87,35 @@ public class WrapperPlayServerTags extends PacketWrapper<WrapperPlayServerTags>
         }
     }
 
+    @Override
+    public int estimateSize() {
+        int size = ByteBufHelper.getVarIntSize(tags.size());
+        for (Map.Entry<String, List<Tag>> entry : tags.entrySet()) {
+            size += ByteBufHelper.estimateStringSize(entry.getKey());
+            size += ByteBufHelper.getVarIntSize(entry.getValue().size());
+            for (Tag tag : entry.getValue()) {
+                size += ByteBufHelper.estimateStringSize(tag.getName());
+                size += ByteBufHelper.getVarIntSize(tag.getValues().size());
+                for (int value : tag.getValues()) {
+                    size += ByteBufHelper.getVarIntSize(value);
+                }
+            }
+        }
+        return size;
+    }
+
     @Override
     public void copy(WrapperPlayServerTags wrapper) {
         this.tags = wrapper.tags;
     }
 
     public Map<String, List<Tag>> getTags() {
+        markDirty();
         return tags;
     }
 
     public void setTags(HashMap<String, List<Tag>> tags) {
+        markDirty();
         this.tags = tags;
     }
 
@@ -116,5 +143,18 @@ public class WrapperPlayServerTags extends PacketWrapper<WrapperPlayServerTags>
         public void setValues(List<Integer> values) {
             this.values = values;
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Tag)) return false;
+            Tag tag = (Tag) obj;
+            return Objects.equals(name, tag.name) && Objects.equals(values, tag.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, values);
+        }
     }
 }
@@ -151,7 +151,7 @@ public class WrapperPlayServerTeams extends PacketWrapper<WrapperPlayServerTeams
     @Override
     public void read() {
         int teamNameLimit = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_18) ? 32767 : 16;
-        teamName = readString(teamNameLimit);
+        teamName = readInternedString(teamNameLimit);
         teamMode = TeamMode.values()[readByte()];
         ScoreBoardTeamInfo info = null;
         if (teamMode == TeamMode.CREATE || teamMode == TeamMode.UPDATE) {
@@ -273,6 +273,7 @@ public class WrapperPlayServerTeams extends PacketWrapper<WrapperPlayServerTeams
 
 
     public void setTeamName(String teamName) {
+        markDirty();
         this.teamName = teamName;
     }
 
@@ -281,22 +282,27 @@ public class WrapperPlayServerTeams extends PacketWrapper<WrapperPlayServerTeams
     }
 
     public void setTeamMode(TeamMode teamMode) {
+        markDirty();
         this.teamMode = teamMode;
     }
 
     public Collection<String> getPlayers() {
+        markDirty();
         return players;
     }
 
     public void setPlayers(Collection<String> players) {
+        markDirty();
         this.players = players;
     }
 
     public Optional<ScoreBoardTeamInfo> getTeamInfo() {
+        markDirty();
         return teamInfo;
     }
 
     public void setTeamInfo(@Nullable ScoreBoardTeamInfo teamInfo) {
+        markDirty();
         this.teamInfo = Optional.ofNullable(teamInfo);
     }
 
@@ -55,6 +55,7 @@ public class WrapperPlayServerTickingStep extends PacketWrapper<WrapperPlayServe
     }
 
     public void setTickSteps(int tickSteps) {
+        markDirty();
         this.tickSteps = tickSteps;
     }
 }
@@ -21,10 +21,16 @@ package com.github.retrooper.packetevents.wrapper.play.server;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.FieldType;
+import com.github.retrooper.packetevents.wrapper.codec.SchemaField;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperSchema;
 
+@WrapperSchema
 public class WrapperPlayServerTimeUpdate extends PacketWrapper<WrapperPlayServerTimeUpdate> {
-    private long worldAge;
-    private long timeOfDay;
+    @SchemaField(FieldType.LONG)
+    long worldAge;
+    @SchemaField(FieldType.LONG)
+    long timeOfDay;
 
     public WrapperPlayServerTimeUpdate(PacketSendEvent event) {
         super(event);
@@ -38,20 +44,22 @@ public class WrapperPlayServerTimeUpdate extends PacketWrapper<WrapperPlayServer
 
     @Override
     public void read() {
-        this.worldAge = readLong();
-        this.timeOfDay = readLong();
+        WrapperPlayServerTimeUpdateCodec.read(this);
     }
 
     @Override
     public void write() {
-        writeLong(this.worldAge);
-        writeLong(this.timeOfDay);
+        WrapperPlayServerTimeUpdateCodec.write(this);
     }
 
     @Override
     public void copy(WrapperPlayServerTimeUpdate wrapper) {
-        this.worldAge = wrapper.worldAge;
-        this.timeOfDay = wrapper.timeOfDay;
+        WrapperPlayServerTimeUpdateCodec.copy(wrapper, this);
+    }
+
+    @Override
+    public int estimateSize() {
+        return WrapperPlayServerTimeUpdateCodec.estimateSize(this);
     }
 
     public long getWorldAge() {
@@ -59,6 +67,7 @@ public class WrapperPlayServerTimeUpdate extends PacketWrapper<WrapperPlayServer
     }
 
     public void setWorldAge(long worldAge) {
+        markDirty();
         this.worldAge = worldAge;
     }
 
@@ -67,6 +76,7 @@ public class WrapperPlayServerTimeUpdate extends PacketWrapper<WrapperPlayServer
     }
 
     public void setTimeOfDay(long timeOfDay) {
+        markDirty();
         this.timeOfDay = timeOfDay;
     }
 }
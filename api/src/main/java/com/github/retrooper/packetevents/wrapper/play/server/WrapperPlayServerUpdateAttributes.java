@@ -175,14 +175,17 @@ public class WrapperPlayServerUpdateAttributes extends PacketWrapper<WrapperPlay
     }
 
     public void setEntityId(int entityID) {
+        markDirty();
         this.entityID = entityID;
     }
 
     public List<Property> getProperties() {
+        markDirty();
         return properties;
     }
 
     public void setProperties(List<Property> properties) {
+        markDirty();
         this.properties = properties;
     }
 
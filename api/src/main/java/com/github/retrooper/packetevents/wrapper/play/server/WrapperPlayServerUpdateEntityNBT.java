@@ -60,14 +60,17 @@ public class WrapperPlayServerUpdateEntityNBT extends PacketWrapper<WrapperPlayS
     }
 
     public void setEntityId(int entityId) {
+        markDirty();
         this.entityId = entityId;
     }
 
     public NBTCompound getNBTCompound() {
+        markDirty();
         return nbtCompound;
     }
 
     public void setNBTCompound(NBTCompound nbtCompound) {
+        markDirty();
         this.nbtCompound = nbtCompound;
     }
 }
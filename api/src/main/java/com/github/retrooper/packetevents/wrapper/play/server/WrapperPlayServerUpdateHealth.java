@@ -22,8 +22,16 @@ import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.manager.server.ServerVersion;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.codec.VersionedCodec;
+import com.github.retrooper.packetevents.wrapper.codec.WrapperCodec;
 
 public class WrapperPlayServerUpdateHealth extends PacketWrapper<WrapperPlayServerUpdateHealth> {
+    private static final VersionedCodec<WrapperPlayServerUpdateHealth> CODEC = VersionedCodec.resolve(version -> {
+        if (version == ServerVersion.V_1_7_10) {
+            return WrapperCodec.of(WrapperPlayServerUpdateHealth::readV1_7_10, WrapperPlayServerUpdateHealth::writeV1_7_10);
+        }
+        return WrapperCodec.of(WrapperPlayServerUpdateHealth::readV1_8, WrapperPlayServerUpdateHealth::writeV1_8);
+    });
     private float health;
     private int food;
     private float foodSaturation;
@@ -41,23 +49,35 @@ public class WrapperPlayServerUpdateHealth extends PacketWrapper<WrapperPlayServ
 
     @Override
     public void read() {
-        health = readFloat();
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            food = readShort();
-        } else {
-            food = readVarInt();
-        }
-        foodSaturation = readFloat();
+        CODEC.reader(serverVersion).read(this);
     }
 
     @Override
     public void write() {
+        CODEC.writer(serverVersion).write(this);
+    }
+
+    private void readV1_7_10() {
+        health = readFloat();
+        food = readShort();
+        foodSaturation = readFloat();
+    }
+
+    private void writeV1_7_10() {
         writeFloat(health);
-        if (serverVersion == ServerVersion.V_1_7_10) {
-            writeShort(food);
-        } else {
-            writeVarInt(food);
-        }
+        writeShort(food);
+        writeFloat(foodSaturation);
+    }
+
+    private void readV1_8() {
+        health = readFloat();
+        food = readVarInt();
+        foodSaturation = readFloat();
+    }
+
+    private void writeV1_8() {
+        writeFloat(health);
+        writeVarInt(food);
         writeFloat(foodSaturation);
     }
 
@@ -73,6 +93,7 @@ public class WrapperPlayServerUpdateHealth extends PacketWrapper<WrapperPlayServ
     }
 
     public void setHealth(float health) {
+        markDirty();
         this.health = health;
     }
 
@@ -81,6 +102,7 @@ public class WrapperPlayServerUpdateHealth extends PacketWrapper<WrapperPlayServ
     }
 
     public void setFood(int food) {
+        markDirty();
         this.food = food;
     }
 
@@ -89,6 +111,7 @@ public class WrapperPlayServerUpdateHealth extends PacketWrapper<WrapperPlayServ
     }
 
     public void setFoodSaturation(float foodSaturation) {
+        markDirty();
         this.foodSaturation = foodSaturation;
     }
 }
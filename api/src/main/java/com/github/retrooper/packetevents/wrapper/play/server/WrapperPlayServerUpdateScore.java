@@ -65,7 +65,7 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
     public void read() {
         if (this.serverVersion.isNewerThanOrEquals(ServerVersion.V_1_20_3)) {
             this.entityName = this.readString();
-            this.objectiveName = this.readString();
+            this.objectiveName = this.readInternedString(32767);
             this.value = Optional.of(this.readVarInt());
             this.entityDisplayName = this.readOptional(PacketWrapper::readComponent);
             this.scoreFormat = this.readOptional(ScoreFormatTypes::read);
@@ -73,7 +73,7 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
             entityName = readString(16);
             action = Action.VALUES[readByte()];
             if (action != Action.REMOVE_ITEM) {
-                objectiveName = readString(16);
+                objectiveName = readInternedString(16);
                 value = Optional.of(readInt());
             } else {
                 objectiveName = "";
@@ -87,9 +87,9 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
             }
             action = Action.VALUES[readByte()];
             if (serverVersion.isNewerThanOrEquals(ServerVersion.V_1_18)) {
-                objectiveName = readString();
+                objectiveName = readInternedString(32767);
             } else {
-                objectiveName = readString(16);
+                objectiveName = readInternedString(16);
             }
             if (action != Action.REMOVE_ITEM) {
                 value = Optional.of(readVarInt());
@@ -152,6 +152,7 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
     }
 
     public void setEntityName(String entityName) {
+        markDirty();
         this.entityName = entityName;
     }
 
@@ -160,6 +161,7 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
     }
 
     public void setAction(Action action) {
+        markDirty();
         this.action = action;
     }
 
@@ -168,6 +170,7 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
     }
 
     public void setObjectiveName(String objectiveName) {
+        markDirty();
         this.objectiveName = objectiveName;
     }
 
@@ -182,6 +185,7 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
      * Always present for >=1.20.3
      */
     public void setValue(Optional<Integer> value) {
+        markDirty();
         this.value = value;
     }
 
@@ -190,6 +194,7 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
     }
 
     public void setEntityDisplayName(@Nullable Component entityDisplayName) {
+        markDirty();
         this.entityDisplayName = entityDisplayName;
     }
 
@@ -198,6 +203,7 @@ public class WrapperPlayServerUpdateScore extends PacketWrapper<WrapperPlayServe
     }
 
     public void setScoreFormat(@Nullable ScoreFormat scoreFormat) {
+        markDirty();
         this.scoreFormat = scoreFormat;
     }
 
@@ -59,6 +59,7 @@ public class WrapperPlayServerUpdateViewPosition extends PacketWrapper<WrapperPl
     }
 
     public void setChunkX(int chunkX) {
+        markDirty();
         this.chunkX = chunkX;
     }
 
@@ -67,6 +68,7 @@ public class WrapperPlayServerUpdateViewPosition extends PacketWrapper<WrapperPl
     }
 
     public void setChunkZ(int chunkZ) {
+        markDirty();
         this.chunkZ = chunkZ;
     }
 }
@@ -54,7 +54,14 @@ public class WrapperPlayServerWindowItems extends PacketWrapper<WrapperPlayServe
         if (v1_17_1) {
             stateID = readVarInt();
         }
+        if (!deferRemaining()) {
+            readDeferred();
+        }
+    }
 
+    @Override
+    protected void readDeferred() {
+        boolean v1_17_1 = serverVersion.isNewerThanOrEquals(ServerVersion.V_1_17_1);
         int count = v1_17_1 ? readVarInt() : readShort();
         items = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
@@ -75,6 +82,9 @@ public class WrapperPlayServerWindowItems extends PacketWrapper<WrapperPlayServe
         if (v1_17_1) {
             writeVarInt(stateID);
         }
+        if (writeDeferred()) {
+            return;
+        }
         if (v1_17_1) {
             writeVarInt(items.size());
         } else {
@@ -92,6 +102,9 @@ public class WrapperPlayServerWindowItems extends PacketWrapper<WrapperPlayServe
     public void copy(WrapperPlayServerWindowItems wrapper) {
         windowID = wrapper.windowID;
         stateID = wrapper.stateID;
+        if (copyDeferred(wrapper)) {
+            return;
+        }
         items = wrapper.items;
         carriedItem = wrapper.carriedItem;
     }
@@ -101,6 +114,7 @@ public class WrapperPlayServerWindowItems extends PacketWrapper<WrapperPlayServe
     }
 
     public void setWindowId(int windowID) {
+        markDirty();
         this.windowID = windowID;
     }
 
@@ -109,22 +123,31 @@ public class WrapperPlayServerWindowItems extends PacketWrapper<WrapperPlayServe
     }
 
     public void setStateId(int stateID) {
+        markDirty();
         this.stateID = stateID;
     }
 
     public List<ItemStack> getItems() {
+        ensureDecoded();
+        markDirty();
         return items;
     }
 
     public void setItems(List<ItemStack> items) {
+        ensureDecoded();
+        markDirty();
         this.items = items;
     }
 
     public Optional<ItemStack> getCarriedItem() {
+        ensureDecoded();
+        markDirty();
         return carriedItem;
     }
 
     public void setCarriedItem(@Nullable ItemStack carriedItem) {
+        ensureDecoded();
+        markDirty();
         this.carriedItem = Optional.ofNullable(carriedItem);
     }
 }
\ No newline at end of file
@@ -64,6 +64,7 @@ public class WrapperPlayServerWindowProperty extends PacketWrapper<WrapperPlaySe
     }
 
     public void setWindowId(byte windowId) {
+        markDirty();
         this.windowId = windowId;
     }
 
@@ -72,6 +73,7 @@ public class WrapperPlayServerWindowProperty extends PacketWrapper<WrapperPlaySe
     }
 
     public void setId(int id) {
+        markDirty();
         this.id = id;
     }
 
@@ -80,6 +82,7 @@ public class WrapperPlayServerWindowProperty extends PacketWrapper<WrapperPlaySe
     }
 
     public void setValue(int value) {
+        markDirty();
         this.value = value;
     }
 }
\ No newline at end of file
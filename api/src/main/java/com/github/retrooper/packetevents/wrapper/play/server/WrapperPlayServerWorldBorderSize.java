@@ -54,6 +54,7 @@ public class WrapperPlayServerWorldBorderSize extends PacketWrapper<WrapperPlayS
     }
 
     public void setDiameter(double diameter) {
+        markDirty();
         this.diameter = diameter;
     }
 }
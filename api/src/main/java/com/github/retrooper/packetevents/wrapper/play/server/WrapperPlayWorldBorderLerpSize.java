@@ -72,14 +72,17 @@ public class WrapperPlayWorldBorderLerpSize extends PacketWrapper<WrapperPlayWor
     }
 
     public void setOldDiameter(double oldDiameter) {
+        markDirty();
         this.oldDiameter = oldDiameter;
     }
 
     public void setNewDiameter(double newDiameter) {
+        markDirty();
         this.newDiameter = newDiameter;
     }
 
     public void setSpeed(long speed) {
+        markDirty();
         this.speed = speed;
     }
 }
@@ -49,6 +49,7 @@ public class WrapperPlayWorldBorderWarningReach extends PacketWrapper<WrapperPla
     }
 
     public void setWarningBlocks(int warningBlocks) {
+        markDirty();
         this.warningBlocks = warningBlocks;
     }
 }
@@ -54,6 +54,7 @@ public class WrapperStatusServerPong extends PacketWrapper<WrapperStatusServerPo
     }
 
     public void setTime(long time) {
+        markDirty();
         this.time = time;
     }
 }
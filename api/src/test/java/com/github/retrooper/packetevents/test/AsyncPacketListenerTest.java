@@ -0,0 +1,217 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.event.AsyncPacketListener;
+import com.github.retrooper.packetevents.event.PacketListenerAbstract;
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.event.UserLoginEvent;
+import com.github.retrooper.packetevents.event.simple.PacketPlaySendEvent;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.protocol.player.UserProfile;
+import com.github.retrooper.packetevents.test.base.BaseDummyAPITest;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityStatus;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerHeldItemChange;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class AsyncPacketListenerTest extends BaseDummyAPITest {
+    private static final ServerVersion VERSION = ServerVersion.V_1_20_6;
+
+    @Test
+    @DisplayName("Test events of a user are processed in order and users take turns")
+    public void testOrdering() {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener delegate = new RecordingListener();
+        AsyncPacketListener listener = new AsyncPacketListener(delegate, executor, 1024,
+                AsyncPacketListener.OverflowPolicy.DROP_OLDEST);
+        User first = createUser();
+        User second = createUser();
+        for (int i = 0; i < 100; i++) {
+            listener.onUserLogin(new UserLoginEvent(first, i));
+            listener.onUserLogin(new UserLoginEvent(second, 1000 + i));
+        }
+        // One task per user, no matter how many events are queued
+        assertEquals(2, executor.tasks.size());
+
+        // A user only processes a batch of events before the other user gets a turn
+        executor.runNext();
+        assertEquals(64, delegate.logins.size());
+        assertEquals(range(0, 64), delegate.logins);
+        executor.runNext();
+        assertEquals(128, delegate.logins.size());
+        assertEquals(range(1000, 1064), delegate.logins.subList(64, 128));
+
+        executor.runAll();
+        List<Integer> firstLogins = new ArrayList<>();
+        List<Integer> secondLogins = new ArrayList<>();
+        for (int login : delegate.logins) {
+            (login < 1000 ? firstLogins : secondLogins).add(login);
+        }
+        assertEquals(range(0, 100), firstLogins);
+        assertEquals(range(1000, 1100), secondLogins);
+    }
+
+    @Test
+    @DisplayName("Test the overflow policies of a full queue")
+    public void testOverflow() {
+        assertEquals(Arrays.asList(0, 1), overflow(AsyncPacketListener.OverflowPolicy.DROP_NEWEST));
+        assertEquals(Arrays.asList(2, 3), overflow(AsyncPacketListener.OverflowPolicy.DROP_OLDEST));
+    }
+
+    @Test
+    @DisplayName("Test a full queue blocks the caller until there is room")
+    public void testOverflowBlock() throws InterruptedException {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener delegate = new RecordingListener();
+        AsyncPacketListener listener = new AsyncPacketListener(delegate, executor, 1,
+                AsyncPacketListener.OverflowPolicy.BLOCK);
+        User user = createUser();
+        listener.onUserLogin(new UserLoginEvent(user, 0));
+
+        Thread producer = new Thread(() -> listener.onUserLogin(new UserLoginEvent(user, 1)));
+        producer.start();
+        while (producer.getState() != Thread.State.WAITING) {
+            assertFalse(producer.getState() == Thread.State.TERMINATED, "The producer didn't block");
+            Thread.sleep(1);
+        }
+        assertEquals(Collections.emptyList(), delegate.logins);
+
+        executor.runNext();
+        producer.join(10_000);
+        assertFalse(producer.isAlive());
+        executor.runAll();
+        assertEquals(Arrays.asList(0, 1), delegate.logins);
+    }
+
+    @Test
+    @DisplayName("Test only packets of the handled types are copied and passed on")
+    public void testPacketTypeFilter() {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener delegate = new RecordingListener();
+        AsyncPacketListener listener = new AsyncPacketListener(delegate, executor, 1024,
+                AsyncPacketListener.OverflowPolicy.DROP_OLDEST,
+                Collections.singleton(PacketType.Play.Server.ENTITY_STATUS));
+        User user = createUser();
+
+        send(listener, user, new WrapperPlayServerHeldItemChange(4));
+        assertEquals(0, executor.tasks.size());
+        send(listener, user, new WrapperPlayServerEntityStatus(42, 3));
+        send(listener, user, new WrapperPlayServerHeldItemChange(5));
+        executor.runAll();
+        assertEquals(Collections.singletonList(PacketType.Play.Server.ENTITY_STATUS), delegate.packets);
+
+        // Without a filter every packet is passed on
+        RecordingListener unfiltered = new RecordingListener();
+        AsyncPacketListener all = new AsyncPacketListener(unfiltered, executor, 1024,
+                AsyncPacketListener.OverflowPolicy.DROP_OLDEST);
+        send(all, user, new WrapperPlayServerHeldItemChange(4));
+        send(all, user, new WrapperPlayServerEntityStatus(42, 3));
+        executor.runAll();
+        assertEquals(Arrays.asList(PacketType.Play.Server.HELD_ITEM_CHANGE, PacketType.Play.Server.ENTITY_STATUS),
+                unfiltered.packets);
+    }
+
+    /**
+     * Queues four events into a queue of two before any of them is processed.
+     */
+    private static List<Integer> overflow(AsyncPacketListener.OverflowPolicy policy) {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener delegate = new RecordingListener();
+        AsyncPacketListener listener = new AsyncPacketListener(delegate, executor, 2, policy);
+        User user = createUser();
+        for (int i = 0; i < 4; i++) {
+            listener.onUserLogin(new UserLoginEvent(user, i));
+        }
+        executor.runAll();
+        return delegate.logins;
+    }
+
+    private static void send(AsyncPacketListener listener, User user, PacketWrapper<?> wrapper) {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            wrapper.buffer = buffer;
+            wrapper.setServerVersion(VERSION);
+            wrapper.setClientVersion(VERSION.toClientVersion());
+            wrapper.writeVarInt(wrapper.getPacketTypeData().getPacketType().getId(VERSION.toClientVersion()));
+            wrapper.write();
+            PacketSendEvent event = new PacketPlaySendEvent(null, user, null, buffer, false);
+            event.call(listener);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static User createUser() {
+        return new User(null, ConnectionState.PLAY, VERSION.toClientVersion(),
+                new UserProfile(UUID.randomUUID(), "Test"));
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> range = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            range.add(i);
+        }
+        return range;
+    }
+
+    private static final class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        private void runNext() {
+            Runnable task;
+            synchronized (this) {
+                task = tasks.poll();
+            }
+            task.run();
+        }
+
+        private void runAll() {
+            while (true) {
+                synchronized (this) {
+                    if (tasks.isEmpty()) {
+                        return;
+                    }
+                }
+                runNext();
+            }
+        }
+    }
+
+    private static final class RecordingListener extends PacketListenerAbstract {
+        private final List<Integer> logins = Collections.synchronizedList(new ArrayList<>());
+        private final List<PacketTypeCommon> packets = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onUserLogin(UserLoginEvent event) {
+            logins.add((Integer) event.getPlayer());
+        }
+
+        @Override
+        public void onPacketSend(PacketSendEvent event) {
+            packets.add(event.getPacketType());
+        }
+    }
+}
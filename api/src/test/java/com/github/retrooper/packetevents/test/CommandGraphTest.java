@@ -0,0 +1,168 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.chat.CommandGraph;
+import com.github.retrooper.packetevents.protocol.chat.Node;
+import com.github.retrooper.packetevents.test.base.BaseDummyAPITest;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandGraphTest extends BaseDummyAPITest {
+
+    @Test
+    @DisplayName("Test replacing a node leaves the original graph unchanged")
+    public void testWithNode() {
+        List<Node> nodes = createNodes();
+        CommandGraph graph = new CommandGraph(nodes, 0, serverVersion());
+        byte[] original = encode(nodes, 0);
+
+        CommandGraph replaced = graph.withNode(3, literal("d"));
+        List<Node> expected = createNodes();
+        expected.set(3, literal("d"));
+        assertArrayEquals(encode(expected, 0), write(replaced, null));
+        assertArrayEquals(original, write(graph, null));
+
+        // Replacing a node of a graph with cached tails re-encodes only that node
+        graph.estimateSize(serverVersion());
+        assertArrayEquals(encode(expected, 0), write(graph.withNode(3, literal("d")), null));
+        assertArrayEquals(original, write(graph, null));
+    }
+
+    @Test
+    @DisplayName("Test the visibility mask remaps indices and always keeps the root")
+    public void testVisibilityMask() {
+        CommandGraph graph = new CommandGraph(createNodes(), 0, serverVersion());
+        BitSet visibleNodes = graph.createVisibilityMask();
+        visibleNodes.clear(0);
+        visibleNodes.clear(1);
+
+        // The root is kept, node 1 is dropped together with the redirect pointing at it
+        List<Node> expected = new ArrayList<>();
+        expected.add(root(1));
+        expected.add(literal("b"));
+        expected.add(literal("c"));
+        assertArrayEquals(encode(expected, 0), write(graph, visibleNodes));
+        assertEquals(0, graph.getRootIndex(visibleNodes));
+        assertArrayEquals(encode(expected, 0), encode(graph.copyNodes(visibleNodes), graph.getRootIndex(visibleNodes)));
+
+        // Hiding a leaf drops it from the children of its parent
+        visibleNodes = graph.createVisibilityMask();
+        visibleNodes.clear(3);
+        expected = new ArrayList<>();
+        expected.add(root(1, 2));
+        expected.add(literal("a"));
+        expected.add(redirect("b", 1));
+        assertArrayEquals(encode(expected, 0), write(graph, visibleNodes));
+    }
+
+    @Test
+    @DisplayName("Test the cached node tails are written like the plain nodes")
+    public void testCachedTails() {
+        List<Node> nodes = createNodes();
+        CommandGraph graph = new CommandGraph(nodes, 0, serverVersion());
+        byte[] expected = encode(nodes, 0);
+        assertArrayEquals(expected, write(graph, null));
+
+        int estimatedSize = graph.estimateSize(serverVersion());
+        assertTrue(estimatedSize >= expected.length);
+        assertArrayEquals(expected, write(graph, null));
+
+        BitSet visibleNodes = graph.createVisibilityMask();
+        visibleNodes.clear(2);
+        assertTrue(estimatedSize >= write(graph, visibleNodes).length);
+        assertEquals(-1, graph.estimateSize(ServerVersion.V_1_8_8));
+    }
+
+    @Test
+    @DisplayName("Test the graph can't be modified through the nodes it was created from or hands out")
+    public void testIsolation() {
+        List<Node> nodes = createNodes();
+        CommandGraph graph = new CommandGraph(nodes, 0, serverVersion());
+        byte[] expected = encode(createNodes(), 0);
+
+        nodes.get(1).setName(Optional.of("x"));
+        nodes.get(0).getChildren().add(3);
+        nodes.set(2, literal("y"));
+        assertArrayEquals(expected, write(graph, null));
+
+        List<Node> copy = graph.getNodes();
+        copy.get(1).setName(Optional.of("x"));
+        copy.get(0).getChildren().clear();
+        graph.getNode(3).setName(Optional.of("z"));
+        assertNotSame(graph.getNodes().get(0), graph.getNodes().get(0));
+        assertArrayEquals(expected, write(graph, null));
+        assertArrayEquals(expected, encode(graph.getNodes(), graph.getRootIndex()));
+    }
+
+    private static ServerVersion serverVersion() {
+        return PacketWrapper.createUniversalPacketWrapper(Unpooled.EMPTY_BUFFER).getServerVersion();
+    }
+
+    /**
+     * Root with the literals a and b, a has the child c and b redirects to a.
+     */
+    private static List<Node> createNodes() {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(root(1, 2));
+        nodes.add(new Node((byte) 1, new ArrayList<>(Collections.singletonList(3)), 0, "a", null, null, null));
+        nodes.add(redirect("b", 1));
+        nodes.add(literal("c"));
+        return nodes;
+    }
+
+    private static Node root(Integer... children) {
+        return new Node((byte) 0, new ArrayList<>(Arrays.asList(children)), 0, null, null, null, null);
+    }
+
+    private static Node literal(String name) {
+        return new Node((byte) 1, new ArrayList<>(), 0, name, null, null, null);
+    }
+
+    private static Node redirect(String name, int redirectNodeIndex) {
+        return new Node((byte) (1 | 0x08), new ArrayList<>(), redirectNodeIndex, name, null, null, null);
+    }
+
+    private static byte[] encode(List<Node> nodes, int rootIndex) {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            PacketWrapper<?> wrapper = PacketWrapper.createUniversalPacketWrapper(buffer);
+            wrapper.writeList(nodes, PacketWrapper::writeNode);
+            wrapper.writeVarInt(rootIndex);
+            return toArray(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static byte[] write(CommandGraph graph, BitSet visibleNodes) {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            graph.write(PacketWrapper.createUniversalPacketWrapper(buffer), visibleNodes);
+            return toArray(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static byte[] toArray(ByteBuf buffer) {
+        byte[] bytes = new byte[ByteBufHelper.readableBytes(buffer)];
+        buffer.readBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.protocol.nbt.NBTCompound;
+import com.github.retrooper.packetevents.protocol.nbt.NBTInt;
+import com.github.retrooper.packetevents.protocol.nbt.NBTList;
+import com.github.retrooper.packetevents.protocol.nbt.NBTString;
+import com.github.retrooper.packetevents.protocol.nbt.NBTType;
+import com.github.retrooper.packetevents.protocol.world.DimensionTypeRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DimensionTypeRegistryTest {
+
+    @Test
+    @DisplayName("Test the registry doesn't share the passed in compounds")
+    public void testDeepCopy() {
+        NBTCompound dimensionType = createDimensionType("minecraft:overworld", 0, 384);
+        DimensionTypeRegistry registry = DimensionTypeRegistry.create(Collections.singletonList(dimensionType));
+
+        dimensionType.setTag("name", new NBTString("minecraft:the_nether"));
+        dimensionType.getCompoundTagOrThrow("element").setTag("height", new NBTInt(256));
+
+        NBTCompound interned = registry.getById(0);
+        assertNotNull(interned);
+        assertEquals(interned, registry.getByName("minecraft:overworld"));
+        assertNull(registry.getByName("minecraft:the_nether"));
+        assertEquals(384, interned.getCompoundTagOrThrow("element").getNumberTagOrThrow("height").getAsInt());
+    }
+
+    @Test
+    @DisplayName("Test the registry contents can't be modified")
+    public void testReadOnly() {
+        DimensionTypeRegistry registry = DimensionTypeRegistry.create(
+                Collections.singletonList(createDimensionType("minecraft:overworld", 0, 384)));
+        NBTCompound dimensionType = registry.getById(0);
+        assertNotNull(dimensionType);
+        NBTCompound element = dimensionType.getCompoundTagOrThrow("element");
+        NBTList<NBTString> effects = element.getStringListTagOrThrow("effects");
+
+        assertThrows(UnsupportedOperationException.class, () -> dimensionType.setTag("id", new NBTInt(1)));
+        assertThrows(UnsupportedOperationException.class, () -> element.removeTag("height"));
+        assertThrows(UnsupportedOperationException.class, () -> effects.addTag(new NBTString("minecraft:the_end")));
+        assertThrows(UnsupportedOperationException.class, () -> effects.removeTag(0));
+        assertThrows(UnsupportedOperationException.class, () -> registry.getDimensionTypes().clear());
+
+        // Copies are mutable again
+        NBTCompound copy = element.copy();
+        copy.setTag("height", new NBTInt(256));
+        copy.getStringListTagOrThrow("effects").addTag(new NBTString("minecraft:the_end"));
+        assertEquals(384, element.getNumberTagOrThrow("height").getAsInt());
+        assertEquals(1, effects.size());
+    }
+
+    private static NBTCompound createDimensionType(String name, int id, int height) {
+        NBTCompound element = new NBTCompound();
+        element.setTag("height", new NBTInt(height));
+        NBTList<NBTString> effects = new NBTList<>(NBTType.STRING);
+        effects.addTag(new NBTString("minecraft:overworld"));
+        element.setTag("effects", effects);
+
+        NBTCompound dimensionType = new NBTCompound();
+        dimensionType.setTag("name", new NBTString(name));
+        dimensionType.setTag("id", new NBTInt(id));
+        dimensionType.setTag("element", element);
+        return dimensionType;
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.stream.NetStreamInput;
+import com.github.retrooper.packetevents.protocol.world.chunk.impl.v_1_18.Chunk_v1_18;
+import com.github.retrooper.packetevents.protocol.world.chunk.impl.v_1_18.EncodedSectionCache;
+import com.github.retrooper.packetevents.test.base.BaseDummyAPITest;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EncodedSectionCacheTest extends BaseDummyAPITest {
+
+    @Test
+    @DisplayName("Test unmodified sections are spliced from their source bytes")
+    public void testSplice() {
+        byte[] encoded = serialize(createSection(1));
+        byte[] source = new byte[encoded.length + 6];
+        System.arraycopy(encoded, 0, source, 3, encoded.length);
+
+        Chunk_v1_18 section = Chunk_v1_18.read(new NetStreamInput(new ByteArrayInputStream(encoded)));
+        EncodedSectionCache.retainSource(section, source, 3, encoded.length);
+        assertEquals(encoded.length, EncodedSectionCache.getWrittenSize(section, null));
+        assertArrayEquals(encoded, write(section, null));
+
+        // Once modified, the source bytes are stale
+        section.set(0, 0, 0, 7);
+        byte[] expected = serialize(section);
+        assertEquals(expected.length, EncodedSectionCache.getWrittenSize(section, null));
+        assertArrayEquals(expected, write(section, null));
+
+        // Direct modifications are picked up through markModified
+        Chunk_v1_18 direct = Chunk_v1_18.read(new NetStreamInput(new ByteArrayInputStream(encoded)));
+        EncodedSectionCache.retainSource(direct, source, 3, encoded.length);
+        swapFirstEntry(direct);
+        direct.getChunkData().markModified();
+        assertArrayEquals(serialize(direct), write(direct, null));
+    }
+
+    @Test
+    @DisplayName("Test modified sections are served from the cache")
+    public void testCacheHit() {
+        EncodedSectionCache cache = new EncodedSectionCache(1 << 20);
+        Chunk_v1_18 first = createSection(1);
+        byte[] expected = serialize(first);
+        assertArrayEquals(expected, write(first, cache));
+        assertEquals(expected.length, cache.getCachedBytes());
+
+        Chunk_v1_18 second = createSection(1);
+        assertEquals(expected.length, EncodedSectionCache.getWrittenSize(second, cache));
+        assertArrayEquals(expected, write(second, cache));
+        assertEquals(expected.length, cache.getCachedBytes());
+    }
+
+    @Test
+    @DisplayName("Test a section with a colliding hash isn't served from the cache")
+    public void testHashCollision() {
+        EncodedSectionCache cache = new EncodedSectionCache(1 << 20);
+        Chunk_v1_18 cached = createSection(1);
+        byte[] cachedBytes = write(cached, cache);
+
+        // Memoize the hash of an identical section, then modify it behind its back,
+        // leaving it with the hash and size of the cached section but a different content
+        Chunk_v1_18 colliding = createSection(1);
+        assertEquals(cached.getContentHash(), colliding.getContentHash());
+        swapFirstEntry(colliding);
+        byte[] expected = serialize(colliding);
+        assertEquals(cachedBytes.length, expected.length);
+        assertFalse(Arrays.equals(cachedBytes, expected));
+
+        assertEquals(expected.length, EncodedSectionCache.getWrittenSize(colliding, cache));
+        assertArrayEquals(expected, write(colliding, cache));
+    }
+
+    @Test
+    @DisplayName("Test the least recently used sections are evicted")
+    public void testEviction() {
+        int length = serialize(createSection(1)).length;
+        EncodedSectionCache cache = new EncodedSectionCache(length * 2L);
+        write(createSection(1), cache);
+        write(createSection(2), cache);
+        assertEquals(length * 2L, cache.getCachedBytes());
+
+        // Touch the first section, so the second one is evicted
+        assertTrue(isCached(cache, 1));
+        write(createSection(3), cache);
+        assertEquals(length * 2L, cache.getCachedBytes());
+        assertTrue(isCached(cache, 1));
+        assertTrue(isCached(cache, 3));
+        assertFalse(isCached(cache, 2));
+
+        // Sections larger than the whole cache are never stored
+        EncodedSectionCache small = new EncodedSectionCache(length - 1);
+        write(createSection(1), small);
+        assertEquals(0, small.getCachedBytes());
+        assertFalse(isCached(small, 1));
+
+        cache.clear();
+        assertEquals(0, cache.getCachedBytes());
+        assertFalse(isCached(cache, 1));
+    }
+
+    /**
+     * A section found in the cache is written from the cached bytes, even if it is modified behind its back.
+     */
+    private static boolean isCached(EncodedSectionCache cache, int variant) {
+        Chunk_v1_18 section = createSection(variant);
+        EncodedSectionCache.getWrittenSize(section, cache);
+        swapFirstEntry(section);
+        return Arrays.equals(serialize(createSection(variant)), write(section, null));
+    }
+
+    private static Chunk_v1_18 createSection(int variant) {
+        Chunk_v1_18 section = new Chunk_v1_18();
+        for (int i = 0; i < 16; i++) {
+            section.set(i, 0, 0, i % 2 == 0 ? 1 : 10 + variant);
+            section.set(0, i, 0, 3);
+        }
+        section.setBlockCount(31);
+        return section;
+    }
+
+    /**
+     * Points the first block at another palette entry without going through {@link Chunk_v1_18#set(int, int, int, int)}.
+     */
+    private static void swapFirstEntry(Chunk_v1_18 section) {
+        int index = section.getChunkData().storage.get(0);
+        section.getChunkData().storage.set(0, index == 0 ? 1 : 0);
+    }
+
+    private static byte[] serialize(Chunk_v1_18 section) {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            Chunk_v1_18.write(PacketWrapper.createUniversalPacketWrapper(buffer), section);
+            return toArray(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static byte[] write(Chunk_v1_18 section, EncodedSectionCache cache) {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            EncodedSectionCache.write(PacketWrapper.createUniversalPacketWrapper(buffer), section, cache);
+            return toArray(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static byte[] toArray(ByteBuf buffer) {
+        byte[] bytes = new byte[ByteBufHelper.readableBytes(buffer)];
+        buffer.readBytes(bytes);
+        return bytes;
+    }
+}
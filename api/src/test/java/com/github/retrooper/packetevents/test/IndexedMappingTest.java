@@ -0,0 +1,124 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.test.base.BaseDummyAPITest;
+import com.github.retrooper.packetevents.util.mappings.TypesBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The diff-replay format losslessly encoded the source json of every version, replaying it gave back exactly
+ * the json ids. Comparing the pre-indexed files against the json therefore checks them against the old format.
+ */
+public class IndexedMappingTest extends BaseDummyAPITest {
+
+    // Mapping files written with JsonArrayCompressionStrategy
+    private static final String[] ARRAY_MAPPINGS = {
+            "attribute/attribute_mappings",
+            "block/block_entity_type_mappings",
+            "block/block_type_mappings",
+            "chat/chat_type_mappings",
+            "command/argument_parser_mappings",
+            "entity/entity_data_type_mappings",
+            "item/item_armor_material_mappings",
+            "item/item_banner_pattern_mappings",
+            "item/item_component_mappings",
+            "item/item_instrument_mappings",
+            "item/item_map_decoration_type_mappings",
+            "item/item_potion_mappings",
+            "item/item_trim_material_mappings",
+            "item/item_trim_pattern_mappings",
+            "particle/particle_type_mappings",
+            "sound/sound_mappings",
+            "world/world_position_source_mappings",
+    };
+    // Mapping files written with JsonObjectCompressionStrategy
+    private static final String[] OBJECT_MAPPINGS = {
+            "enchantment/enchantment_type_mappings",
+            "entity/entity_effect_mappings",
+            "entity/entity_type_mappings",
+            "entity/legacy_entity_type_mappings",
+            "item/item_type_mappings",
+    };
+
+    @Test
+    @DisplayName("Test indexed array mappings against their json source")
+    public void testArrayMappings() throws IOException {
+        for (String path : ARRAY_MAPPINGS) {
+            Map<ClientVersion, Map<String, Integer>> expected = new TreeMap<>();
+            for (Map.Entry<String, JsonElement> entry : loadJson(path).entrySet()) {
+                Map<String, Integer> ids = new HashMap<>();
+                JsonArray names = entry.getValue().getAsJsonArray();
+                for (int i = 0; i < names.size(); i++) {
+                    // Like the list replay, a name listed twice keeps its last id
+                    ids.put(names.get(i).getAsString(), i);
+                }
+                expected.put(ClientVersion.valueOf(entry.getKey()), ids);
+            }
+            assertMappings(path, expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Test indexed object mappings against their json source")
+    public void testObjectMappings() throws IOException {
+        for (String path : OBJECT_MAPPINGS) {
+            Map<ClientVersion, Map<String, Integer>> expected = new TreeMap<>();
+            for (Map.Entry<String, JsonElement> entry : loadJson(path).entrySet()) {
+                Map<String, Integer> ids = new HashMap<>();
+                for (Map.Entry<String, JsonElement> id : entry.getValue().getAsJsonObject().entrySet()) {
+                    ids.put(id.getKey(), id.getValue().getAsInt());
+                }
+                expected.put(ClientVersion.valueOf(entry.getKey()), ids);
+            }
+            assertMappings(path, expected);
+        }
+    }
+
+    private static void assertMappings(String path, Map<ClientVersion, Map<String, Integer>> expected) {
+        TypesBuilder builder = new TypesBuilder(path);
+        ClientVersion[] versions = expected.keySet().toArray(new ClientVersion[0]);
+        assertArrayEquals(versions, builder.getVersions(), path);
+
+        Set<String> names = new LinkedHashSet<>();
+        for (Map<String, Integer> ids : expected.values()) {
+            names.addAll(ids.keySet());
+        }
+        names.add("packetevents:missing_entry");
+        for (String name : names) {
+            int[] data = builder.define(name).getData();
+            for (ClientVersion version : versions) {
+                int id = expected.get(version).getOrDefault(name, -1);
+                assertEquals(id, data[builder.getDataIndex(version)], () -> path + " " + version + " " + name
+                        + " " + Arrays.toString(data));
+            }
+        }
+    }
+
+    private static JsonObject loadJson(String path) throws IOException {
+        Path file = Paths.get(System.getProperty("packetevents.mappings", "../mappings"), path + ".json");
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        }
+    }
+}
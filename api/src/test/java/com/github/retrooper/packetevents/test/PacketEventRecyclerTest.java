@@ -0,0 +1,120 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
+import com.github.retrooper.packetevents.event.PacketListenerAbstract;
+import com.github.retrooper.packetevents.event.PacketListenerCommon;
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.exception.PacketProcessException;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.protocol.player.UserProfile;
+import com.github.retrooper.packetevents.test.base.BaseDummyAPITest;
+import com.github.retrooper.packetevents.util.PacketEventsImplHelper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PacketEventRecyclerTest extends BaseDummyAPITest {
+
+    private static final ClientVersion VERSION = ServerVersion.getLatest().toClientVersion();
+
+    @Test
+    @DisplayName("Test released events reject access in debug mode")
+    public void testReleasedAccessInDebugMode() throws PacketProcessException {
+        PacketEvents.getAPI().getSettings().recycleEvents(true).debug(true);
+        PacketEventRecycler recycler = PacketEventRecycler.create();
+        assertNotNull(recycler);
+        User user = new User(null, ConnectionState.PLAY, VERSION, new UserProfile(UUID.randomUUID(), "test"));
+
+        ByteBuf first = keepAlive();
+        PacketSendEvent event = recycler.obtainSendEvent(null, user, null, first, true);
+        assertEquals(PacketType.Play.Server.KEEP_ALIVE, event.getPacketType());
+        recycler.release(event);
+        assertThrows(IllegalStateException.class, event::getPacketType);
+        assertThrows(IllegalStateException.class, event::getByteBuf);
+        assertThrows(IllegalStateException.class, () -> event.setCancelled(true));
+
+        // Reusing the event makes it accessible again
+        ByteBuf second = keepAlive();
+        assertSame(event, recycler.obtainSendEvent(null, user, null, second, true));
+        assertSame(second, event.getByteBuf());
+        recycler.release(event);
+
+        first.release();
+        second.release();
+    }
+
+    @Test
+    @DisplayName("Test released events are not checked outside of debug mode")
+    public void testReleasedAccessWithoutDebugMode() throws PacketProcessException {
+        PacketEvents.getAPI().getSettings().recycleEvents(true).debug(false);
+        PacketEventRecycler recycler = PacketEventRecycler.create();
+        assertNotNull(recycler);
+        User user = new User(null, ConnectionState.PLAY, VERSION, new UserProfile(UUID.randomUUID(), "test"));
+
+        ByteBuf buffer = keepAlive();
+        PacketSendEvent event = recycler.obtainSendEvent(null, user, null, buffer, true);
+        recycler.release(event);
+        assertEquals(PacketType.Play.Server.KEEP_ALIVE, event.getPacketType());
+        buffer.release();
+    }
+
+    @Test
+    @DisplayName("Test only events which escape the pool are returned after handling")
+    public void testHandledEventReturned() throws Exception {
+        PacketEvents.getAPI().getSettings().recycleEvents(true).debug(true);
+        PacketEventRecycler recycler = PacketEventRecycler.create();
+        assertNotNull(recycler);
+        User user = new User(null, ConnectionState.PLAY, VERSION, new UserProfile(UUID.randomUUID(), "test"));
+
+        ByteBuf buffer = keepAlive();
+        assertNull(PacketEventsImplHelper.handleClientBoundPacket(null, user, null, buffer, false, recycler));
+        PacketSendEvent pooled = recycler.obtainSendEvent(null, user, null, buffer.readerIndex(0), false);
+        assertTrue(recycler.release(pooled));
+
+        // Tasks after send run once the packet was written, so the event leaves the pool
+        PacketListenerCommon listener = PacketEvents.getAPI().getEventManager().registerListener(new PacketListenerAbstract() {
+            @Override
+            public void onPacketSend(PacketSendEvent event) {
+                event.getTasksAfterSend().add(() -> {
+                });
+            }
+        });
+        try {
+            buffer.readerIndex(0);
+            PacketSendEvent event = PacketEventsImplHelper.handleClientBoundPacket(null, user, null, buffer, false, recycler);
+            assertSame(pooled, event);
+            assertTrue(event.hasTasksAfterSend());
+            assertEquals(PacketType.Play.Server.KEEP_ALIVE, event.getPacketType());
+            assertNotSame(event, recycler.obtainSendEvent(null, user, null, buffer.readerIndex(0), false));
+            assertFalse(recycler.release(event));
+        } finally {
+            PacketEvents.getAPI().getEventManager().unregisterListener(listener);
+            buffer.release();
+        }
+    }
+
+    private static ByteBuf keepAlive() {
+        ByteBuf buffer = Unpooled.buffer();
+        ByteBufHelper.writeVarInt(buffer, PacketType.Play.Server.KEEP_ALIVE.getId(VERSION));
+        buffer.writeLong(1L);
+        return buffer;
+    }
+}
@@ -0,0 +1,238 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.item.ItemStack;
+import com.github.retrooper.packetevents.protocol.packettype.PacketField;
+import com.github.retrooper.packetevents.protocol.packettype.PacketFieldLayout;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.player.Equipment;
+import com.github.retrooper.packetevents.protocol.player.EquipmentSlot;
+import com.github.retrooper.packetevents.protocol.player.InteractionHand;
+import com.github.retrooper.packetevents.test.base.BaseDummyAPITest;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.util.Vector3i;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientHeldItemChange;
+import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientInteractEntity;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerBlockChange;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityAnimation;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityEquipment;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityHeadLook;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRelativeMove;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRelativeMoveAndRotation;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRotation;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityStatus;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityVelocity;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerHeldItemChange;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSetSlot;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PacketFieldLayoutTest extends BaseDummyAPITest {
+    // A two byte packet id, so the fields don't start at the beginning of the buffer
+    private static final int PACKET_ID = 200;
+    private static final int PAYLOAD_INDEX = 2;
+    private static final ServerVersion[] ENTITY_VERSIONS = {ServerVersion.V_1_7_10, ServerVersion.V_1_8_8,
+            ServerVersion.V_1_12_2, ServerVersion.V_1_16_5, ServerVersion.V_1_20_6};
+
+    @Test
+    @DisplayName("Test the entity id layouts match the wrappers")
+    public void testEntityIds() {
+        for (ServerVersion version : ENTITY_VERSIONS) {
+            checkEntityId(version, () -> new WrapperPlayServerEntityTeleport(1234, new Vector3d(1, 64, -2), 90f, 0f, true));
+            checkEntityId(version, () -> new WrapperPlayServerEntityVelocity(1234, new Vector3d(0.5, 0, -0.25)));
+            checkEntityId(version, () -> new WrapperPlayServerEntityMetadata(1234, new ArrayList<>()));
+            checkEntityId(version, () -> new WrapperPlayServerEntityHeadLook(1234, 45f));
+            checkEntityId(version, () -> new WrapperPlayServerEntityAnimation(1234,
+                    WrapperPlayServerEntityAnimation.EntityAnimationType.SWING_MAIN_ARM));
+            checkEntityId(version, () -> new WrapperPlayServerEntityStatus(1234, 3));
+            checkEntityId(version, () -> new WrapperPlayClientInteractEntity(1234,
+                    WrapperPlayClientInteractEntity.InteractAction.ATTACK, InteractionHand.MAIN_HAND,
+                    Optional.empty(), Optional.of(false)));
+            if (version != ServerVersion.V_1_7_10) {
+                // 1.7.10 uses other packets for relative moves
+                checkEntityId(version, () -> new WrapperPlayServerEntityRelativeMove(1234, 0.5, 0, -0.25, true));
+                checkEntityId(version, () -> new WrapperPlayServerEntityRelativeMoveAndRotation(1234,
+                        0.5, 0, -0.25, 90f, 0f, true));
+                checkEntityId(version, () -> new WrapperPlayServerEntityRotation(1234, 90f, 0f, true));
+            }
+        }
+        checkEntityId(ServerVersion.V_1_20_6, () -> new WrapperPlayServerEntityEquipment(1234,
+                Collections.singletonList(new Equipment(EquipmentSlot.MAIN_HAND, ItemStack.EMPTY))));
+    }
+
+    @Test
+    @DisplayName("Test var int fields can grow and shrink")
+    public void testVarIntResize() {
+        ServerVersion version = ServerVersion.V_1_20_6;
+        // 1234 takes two bytes, grow to three and five bytes, shrink to one
+        Supplier<WrapperPlayServerEntityTeleport> teleport =
+                () -> new WrapperPlayServerEntityTeleport(1234, new Vector3d(1, 64, -2), 90f, 0f, true);
+        assertEquals(PacketFieldLayout.Type.VAR_INT, layout(teleport.get(), version).getType(PacketField.ENTITY_ID));
+        check(version, teleport, PacketField.ENTITY_ID,
+                WrapperPlayServerEntityTeleport::getEntityId, WrapperPlayServerEntityTeleport::setEntityId,
+                300000, -1, 5);
+
+        // The slot after the state id moves with it
+        Supplier<WrapperPlayServerSetSlot> setSlot = () -> new WrapperPlayServerSetSlot(2, 1234, 36, ItemStack.EMPTY);
+        check(version, setSlot, PacketField.STATE_ID,
+                WrapperPlayServerSetSlot::getStateId, WrapperPlayServerSetSlot::setStateId, 300000, 5);
+        for (int stateId : new int[]{5, 1234, 300000}) {
+            check(version, () -> new WrapperPlayServerSetSlot(2, stateId, 36, ItemStack.EMPTY), PacketField.SLOT,
+                    WrapperPlayServerSetSlot::getSlot, WrapperPlayServerSetSlot::setSlot, 0, 45, -1);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the slot layouts match the wrappers")
+    public void testSlots() {
+        for (ServerVersion version : new ServerVersion[]{ServerVersion.V_1_8_8, ServerVersion.V_1_16_5, ServerVersion.V_1_20_6}) {
+            Supplier<WrapperPlayServerSetSlot> setSlot = () -> new WrapperPlayServerSetSlot(2, 7, 36, ItemStack.EMPTY);
+            check(version, setSlot, PacketField.WINDOW_ID,
+                    WrapperPlayServerSetSlot::getWindowId, WrapperPlayServerSetSlot::setWindowId, 0, -1, 100);
+            check(version, setSlot, PacketField.SLOT,
+                    WrapperPlayServerSetSlot::getSlot, WrapperPlayServerSetSlot::setSlot, 0, 45, -1);
+            assertEquals(version.isNewerThanOrEquals(ServerVersion.V_1_17_1),
+                    layout(setSlot.get(), version).hasField(PacketField.STATE_ID));
+
+            check(version, () -> new WrapperPlayServerHeldItemChange(4), PacketField.SLOT,
+                    WrapperPlayServerHeldItemChange::getSlot, WrapperPlayServerHeldItemChange::setSlot, 0, 8);
+            check(version, () -> new WrapperPlayClientHeldItemChange(4), PacketField.SLOT,
+                    WrapperPlayClientHeldItemChange::getSlot, WrapperPlayClientHeldItemChange::setSlot, 0, 8);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the block position layout matches the wrapper")
+    public void testBlockPosition() {
+        assertNull(PacketFieldLayout.getLayout(PacketType.Play.Server.BLOCK_CHANGE, ServerVersion.V_1_7_10));
+        for (ServerVersion version : new ServerVersion[]{ServerVersion.V_1_8_8, ServerVersion.V_1_16_5, ServerVersion.V_1_20_6}) {
+            Vector3i position = new Vector3i(-100, 70, 2000);
+            // Negative heights only exist since 1.18
+            Vector3i moved = new Vector3i(3, version.isNewerThanOrEquals(ServerVersion.V_1_18) ? -60 : 5, -4);
+            Supplier<WrapperPlayServerBlockChange> blockChange = () -> new WrapperPlayServerBlockChange(position, 1);
+            ByteBuf encoded = encode(blockChange.get(), version);
+            try {
+                PacketFieldLayout layout = layout(blockChange.get(), version);
+                assertEquals(position.getSerializedPosition(version),
+                        layout.read(encoded, PAYLOAD_INDEX, PacketField.BLOCK_POSITION));
+
+                layout.write(encoded, PAYLOAD_INDEX, PacketField.BLOCK_POSITION, moved.getSerializedPosition(version));
+                WrapperPlayServerBlockChange decoded = decode(blockChange.get(), encoded, version);
+                assertEquals(moved, decoded.getBlockPosition());
+                assertEquals(1, decoded.getBlockId());
+            } finally {
+                encoded.release();
+            }
+        }
+    }
+
+    private static <T extends PacketWrapper<T>> void checkEntityId(ServerVersion version, Supplier<T> factory) {
+        // Every entity wrapper has the same accessors, but they aren't part of a common type
+        ToIntFunction<T> getter = wrapper -> invoke(wrapper, "getEntityId");
+        ObjIntConsumer<T> setter = (wrapper, value) -> {
+            try {
+                wrapper.getClass().getMethod("setEntityId", int.class).invoke(wrapper, value);
+            } catch (ReflectiveOperationException e) {
+                throw new AssertionError(e);
+            }
+        };
+        check(version, factory, PacketField.ENTITY_ID, getter, setter, 0, 1, 300000);
+    }
+
+    private static int invoke(Object wrapper, String method) {
+        try {
+            return (int) wrapper.getClass().getMethod(method).invoke(wrapper);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Compares the field read through the layout with the wrapper, then patches every value in and reads it back.
+     * Apart from the patched field, the packet has to stay the same.
+     */
+    private static <T extends PacketWrapper<T>> void check(ServerVersion version, Supplier<T> factory, PacketField field,
+                                                           ToIntFunction<T> getter, ObjIntConsumer<T> setter,
+                                                           int... values) {
+        String name = factory.get().getClass().getSimpleName() + " " + field + " " + version;
+        ByteBuf encoded = encode(factory.get(), version);
+        try {
+            PacketFieldLayout layout = layout(factory.get(), version);
+            assertTrue(layout.hasField(field), name);
+            T decoded = decode(factory.get(), encoded, version);
+            int original = getter.applyAsInt(decoded);
+            assertEquals(original, layout.read(encoded, PAYLOAD_INDEX, field), name);
+
+            for (int value : values) {
+                ByteBuf patched = encoded.copy();
+                try {
+                    patched.readerIndex(PAYLOAD_INDEX);
+                    layout.write(patched, PAYLOAD_INDEX, field, value);
+                    assertEquals(PAYLOAD_INDEX, patched.readerIndex(), name);
+                    assertEquals(value, layout.read(patched, PAYLOAD_INDEX, field), name);
+
+                    T read = decode(factory.get(), patched, version);
+                    assertEquals(value, getter.applyAsInt(read), name);
+                    setter.accept(read, original);
+                    assertArrayEquals(toArray(encoded), toArray(encode(read, version)), name);
+                } finally {
+                    patched.release();
+                }
+            }
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private static PacketFieldLayout layout(PacketWrapper<?> wrapper, ServerVersion version) {
+        PacketFieldLayout layout = PacketFieldLayout.getLayout(wrapper.getPacketTypeData().getPacketType(), version);
+        assertNotNull(layout, wrapper.getClass().getSimpleName() + " " + version);
+        return layout;
+    }
+
+    private static ByteBuf encode(PacketWrapper<?> wrapper, ServerVersion version) {
+        ByteBuf buffer = Unpooled.buffer();
+        wrapper.buffer = buffer;
+        wrapper.setServerVersion(version);
+        wrapper.setClientVersion(version.toClientVersion());
+        wrapper.writeVarInt(PACKET_ID);
+        wrapper.write();
+        return buffer;
+    }
+
+    private static <T extends PacketWrapper<T>> T decode(T wrapper, ByteBuf encoded, ServerVersion version) {
+        ByteBuf buffer = encoded.duplicate();
+        buffer.readerIndex(PAYLOAD_INDEX);
+        wrapper.buffer = buffer;
+        wrapper.setServerVersion(version);
+        wrapper.setClientVersion(version.toClientVersion());
+        wrapper.read();
+        assertEquals(0, ByteBufHelper.readableBytes(buffer), wrapper.getClass().getSimpleName() + " " + version);
+        return wrapper;
+    }
+
+    private static byte[] toArray(ByteBuf buffer) {
+        byte[] bytes = new byte[buffer.writerIndex()];
+        buffer.getBytes(0, bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.test.base.BaseDummyAPITest;
+import com.github.retrooper.packetevents.util.StringCache;
+import com.github.retrooper.packetevents.util.StringUtil;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import io.github.retrooper.packetevents.impl.netty.buffer.ByteBufOperations;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StringCodecTest extends BaseDummyAPITest {
+
+    private static final String[] STRINGS = {
+            "",
+            "ascii only",
+            "été über", // two byte chars
+            "☃ snow €", // three byte chars
+            "😀 pair 🎉", // surrogate pairs, four bytes each
+            "mixed aé☃😀z",
+    };
+    // Unpaired surrogates are encoded as '?', like String#getBytes does
+    private static final String[] LONE_SURROGATES = {
+            "\ud83d",
+            "\ude00",
+            "a\ud83db",
+            "a\ude00\ud83d",
+            "end\ud83d",
+    };
+
+    @Test
+    @DisplayName("Test UTF-8 length against String#getBytes")
+    public void testUtf8Length() {
+        for (String value : STRINGS) {
+            assertEquals(value.getBytes(StandardCharsets.UTF_8).length, StringUtil.utf8Length(value), value);
+        }
+        for (String value : LONE_SURROGATES) {
+            assertEquals(value.getBytes(StandardCharsets.UTF_8).length, StringUtil.utf8Length(value), value);
+        }
+    }
+
+    @Test
+    @DisplayName("Test UTF-8 round trips on heap and direct buffers")
+    public void testUtf8RoundTrip() {
+        for (ByteBuf buffer : new ByteBuf[]{Unpooled.buffer(), Unpooled.directBuffer()}) {
+            try {
+                for (String value : STRINGS) {
+                    int length = StringUtil.utf8Length(value);
+                    ByteBufOperations.writeUtf8(buffer, value, length);
+                    assertEquals(length, buffer.readableBytes(), value);
+                    assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), ByteBufHelper.copyBytes(buffer), value);
+                    assertEquals(value, ByteBufOperations.readUtf8(buffer, length));
+                    assertFalse(buffer.isReadable());
+                    buffer.clear();
+                }
+            } finally {
+                buffer.release();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test lone surrogates are written as '?'")
+    public void testLoneSurrogates() {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            for (String value : LONE_SURROGATES) {
+                int length = StringUtil.utf8Length(value);
+                ByteBufOperations.writeUtf8(buffer, value, length);
+                assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), ByteBufHelper.copyBytes(buffer), value);
+                assertEquals(replaceSurrogates(value), ByteBufOperations.readUtf8(buffer, length));
+                buffer.clear();
+            }
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    @DisplayName("Test the string cache returns equal and repeated instances")
+    public void testStringCache() {
+        for (String value : STRINGS) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            String first = StringCache.decode(bytes.clone());
+            assertEquals(value, first);
+            assertSame(first, StringCache.decode(bytes.clone()), value);
+        }
+
+        ByteBuf buffer = Unpooled.directBuffer();
+        try {
+            for (String value : STRINGS) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                String cached = StringCache.decode(bytes);
+                buffer.writeBytes(bytes);
+                buffer.writeByte(0x7F); // Must be left unread
+                assertSame(cached, StringCache.decode(PacketEvents.getAPI().getNettyManager().getByteBufOperator(), buffer, bytes.length), value);
+                assertEquals(1, buffer.readableBytes());
+                buffer.clear();
+            }
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    @DisplayName("Test strings over the maximum length are rejected")
+    public void testMaxLength() {
+        String value = "☃☃☃☃";
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            PacketWrapper<?> wrapper = PacketWrapper.createUniversalPacketWrapper(buffer);
+            assertThrows(IllegalStateException.class, () -> wrapper.writeString(value, 4, false));
+
+            wrapper.writeString(value, 4);
+            assertEquals(value, wrapper.readString(4));
+            wrapper.writeString(value, 4);
+            assertEquals(value, wrapper.readInternedString(4));
+
+            wrapper.writeString(value);
+            assertThrows(RuntimeException.class, () -> wrapper.readString(3));
+            buffer.clear();
+            wrapper.writeString(value);
+            assertThrows(RuntimeException.class, () -> wrapper.readInternedString(3));
+            buffer.clear();
+
+            // Encoded length over four bytes per char is rejected before decoding
+            ByteBufHelper.writeVarInt(buffer, 13);
+            buffer.writeZero(13);
+            assertThrows(RuntimeException.class, () -> wrapper.readString(3));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static String replaceSurrogates(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            builder.append(Character.isSurrogate(c) ? '?' : c);
+        }
+        return builder.toString();
+    }
+}
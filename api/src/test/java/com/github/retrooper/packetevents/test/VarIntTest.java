@@ -0,0 +1,142 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import io.github.retrooper.packetevents.impl.netty.buffer.ByteBufOperations;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VarIntTest {
+
+    private static final int[] INTS = {0, 1, 127, 128, 255, 16383, 16384, 2097151, 2097152,
+            268435455, 268435456, Integer.MAX_VALUE, -1, -128, Integer.MIN_VALUE};
+    private static final long[] LONGS = {0L, 1L, 127L, 128L, 16384L, Integer.MAX_VALUE, 1L << 35,
+            1L << 56, (1L << 63) - 1, Long.MAX_VALUE, -1L, Integer.MIN_VALUE, Long.MIN_VALUE};
+
+    // Heap buffers take the array fast path, direct buffers the byte by byte one
+    private static final Supplier<ByteBuf> HEAP = Unpooled::buffer;
+    private static final Supplier<ByteBuf> DIRECT = Unpooled::directBuffer;
+
+    @Test
+    @DisplayName("Test VarInt round trips and encoded lengths")
+    public void testVarInt() {
+        for (Supplier<ByteBuf> factory : buffers()) {
+            for (int value : INTS) {
+                ByteBuf buffer = factory.get();
+                ByteBufOperations.writeVarInt(buffer, value);
+                assertEquals(ByteBufHelper.getVarIntSize(value), buffer.readableBytes(), "Size of " + value);
+                assertEquals(value, ByteBufOperations.readVarInt(buffer), "Value " + value);
+                assertFalse(buffer.isReadable(), "Trailing bytes after " + value);
+                buffer.release();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test VarInt boundary lengths")
+    public void testVarIntLengths() {
+        assertEquals(1, encodedVarInt(0));
+        assertEquals(1, encodedVarInt(127));
+        assertEquals(2, encodedVarInt(128));
+        assertEquals(5, encodedVarInt(Integer.MAX_VALUE));
+        assertEquals(5, encodedVarInt(-1));
+    }
+
+    @Test
+    @DisplayName("Test VarLong round trips and encoded lengths")
+    public void testVarLong() {
+        for (Supplier<ByteBuf> factory : buffers()) {
+            for (long value : LONGS) {
+                ByteBuf buffer = factory.get();
+                ByteBufOperations.writeVarLong(buffer, value);
+                assertEquals(ByteBufHelper.getVarLongSize(value), buffer.readableBytes(), "Size of " + value);
+                assertEquals(value, ByteBufOperations.readVarLong(buffer), "Value " + value);
+                assertFalse(buffer.isReadable(), "Trailing bytes after " + value);
+                buffer.release();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test VarLong boundary lengths")
+    public void testVarLongLengths() {
+        assertEquals(1, encodedVarLong(0L));
+        assertEquals(1, encodedVarLong(127L));
+        assertEquals(2, encodedVarLong(128L));
+        assertEquals(5, encodedVarLong(Integer.MAX_VALUE));
+        assertEquals(9, encodedVarLong(Long.MAX_VALUE));
+        assertEquals(10, encodedVarLong(-1L));
+        assertEquals(10, encodedVarLong(Long.MIN_VALUE));
+    }
+
+    @Test
+    @DisplayName("Test VarInt and VarLong array round trips")
+    public void testArrays() {
+        for (Supplier<ByteBuf> factory : buffers()) {
+            ByteBuf buffer = factory.get();
+            ByteBufOperations.writeVarIntArray(buffer, INTS);
+            ByteBufOperations.writeVarLongArray(buffer, LONGS);
+
+            int[] ints = new int[INTS.length];
+            long[] longs = new long[LONGS.length];
+            ByteBufOperations.readVarIntArray(buffer, ints);
+            ByteBufOperations.readVarLongArray(buffer, longs);
+            assertArrayEquals(INTS, ints);
+            assertArrayEquals(LONGS, longs);
+            assertFalse(buffer.isReadable());
+            buffer.release();
+        }
+    }
+
+    @Test
+    @DisplayName("Test overlong VarInt and VarLong input is rejected")
+    public void testOverlong() {
+        for (Supplier<ByteBuf> factory : buffers()) {
+            // Six continuation bytes followed by a terminator, one byte more than a VarInt may use
+            ByteBuf varInt = overlong(factory.get(), 6);
+            assertThrows(RuntimeException.class, () -> ByteBufOperations.readVarInt(varInt));
+            varInt.release();
+
+            ByteBuf varLong = overlong(factory.get(), 11);
+            assertThrows(RuntimeException.class, () -> ByteBufOperations.readVarLong(varLong));
+            varLong.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<ByteBuf>[] buffers() {
+        return new Supplier[]{HEAP, DIRECT};
+    }
+
+    private static ByteBuf overlong(ByteBuf buffer, int continuationBytes) {
+        for (int i = 0; i < continuationBytes; i++) {
+            buffer.writeByte(0x80);
+        }
+        buffer.writeByte(0x00);
+        return buffer;
+    }
+
+    private static int encodedVarInt(int value) {
+        ByteBuf buffer = Unpooled.buffer();
+        ByteBufOperations.writeVarInt(buffer, value);
+        int size = buffer.readableBytes();
+        buffer.release();
+        return size;
+    }
+
+    private static int encodedVarLong(long value) {
+        ByteBuf buffer = Unpooled.buffer();
+        ByteBufOperations.writeVarLong(buffer, value);
+        int size = buffer.readableBytes();
+        buffer.release();
+        return size;
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.retrooper.packetevents.test;
+
+import com.github.retrooper.packetevents.util.ZlibPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ZlibPoolTest {
+
+    private static final int[] SIZES = {0, 1, 100, 5000, 200000};
+
+    @Test
+    @DisplayName("Test pooled GZIP output against the JDK input stream")
+    public void testPooledOutput() throws IOException {
+        for (int size : SIZES) {
+            byte[] data = createData(size);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = ZlibPool.createGZIPOutputStream(compressed)) {
+                out.write(data);
+            }
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+                assertArrayEquals(data, readAll(in), "Size " + size);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test pooled GZIP input against the JDK output stream")
+    public void testPooledInput() throws IOException {
+        for (int size : SIZES) {
+            byte[] data = createData(size);
+            try (InputStream in = ZlibPool.createGZIPInputStream(new ByteArrayInputStream(compressWithJdk(data)))) {
+                assertArrayEquals(data, readAll(in), "Size " + size);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test the GZIP trailer is verified")
+    public void testCorruptTrailer() throws IOException {
+        byte[] compressed = compressWithJdk(createData(5000));
+        // CRC32
+        compressed[compressed.length - 8] ^= 1;
+        assertThrows(ZipException.class, () -> readPooled(compressed));
+        compressed[compressed.length - 8] ^= 1;
+        // Uncompressed size
+        compressed[compressed.length - 1] ^= 1;
+        assertThrows(ZipException.class, () -> readPooled(compressed));
+    }
+
+    @Test
+    @DisplayName("Test releasing an inflater on another thread frees its slot")
+    public void testCrossThreadRelease() throws InterruptedException {
+        Inflater inflater = ZlibPool.acquireInflater(true);
+        Thread thread = new Thread(() -> ZlibPool.release(inflater));
+        thread.start();
+        thread.join();
+        Inflater next = ZlibPool.acquireInflater(true);
+        try {
+            assertSame(inflater, next);
+        } finally {
+            ZlibPool.release(next);
+        }
+    }
+
+    private static byte[] createData(int size) {
+        // Few distinct values, so the data actually compresses
+        Random random = new Random(size);
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) random.nextInt(4);
+        }
+        return data;
+    }
+
+    private static byte[] compressWithJdk(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(data);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] readPooled(byte[] compressed) throws IOException {
+        try (InputStream in = ZlibPool.createGZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return readAll(in);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[777];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+// papermc repo needed for mockbukkit, which the dummy api of the tests depends on
+repositories {
+    mavenCentral()
+    maven("https://oss.sonatype.org/content/groups/public/")
+    maven("https://repo.papermc.io/repository/maven-public/")
+}
+
+evaluationDependsOn(":api")
+
+dependencies {
+    jmh(project(":api"))
+    jmh(project(":netty-common"))
+    // Reuse the dummy api the tests are built with
+    jmh(project(":api").extensions.getByType<SourceSetContainer>()["test"].output)
+    jmh(libs.bundles.adventure)
+    jmh(libs.netty)
+    jmh(testlibs.mockbukkit)
+    jmh(testlibs.slf4j)
+}
+
+jmh {
+    // Allocation rates are reported next to the throughput
+    profilers = listOf("gc")
+    includes = providers.gradleProperty("jmh.includes").map { listOf(it) }.orElse(listOf())
+    resultFormat = "JSON"
+}
+
+tasks {
+    withType<JavaCompile> {
+        options.encoding = Charsets.UTF_8.name()
+    }
+}
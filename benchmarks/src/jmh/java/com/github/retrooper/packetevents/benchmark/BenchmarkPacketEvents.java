@@ -0,0 +1,99 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.benchmark;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketReceiveEvent;
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.event.simple.PacketPlayReceiveEvent;
+import com.github.retrooper.packetevents.event.simple.PacketPlaySendEvent;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.protocol.player.UserProfile;
+import com.github.retrooper.packetevents.settings.PacketEventsSettings;
+import com.github.retrooper.packetevents.test.base.TestPacketEventsBuilder;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.UUID;
+
+public final class BenchmarkPacketEvents {
+
+    private BenchmarkPacketEvents() {
+    }
+
+    /**
+     * Sets up the dummy api used by the tests, without a running (mock) server.
+     */
+    public static void init() {
+        init(new PacketEventsSettings());
+    }
+
+    public static void init(PacketEventsSettings settings) {
+        // The plugin is only needed to name the pipeline handlers when loading
+        PacketEvents.setAPI(TestPacketEventsBuilder.buildNoCache(null, settings.checkForUpdates(false)));
+        if (!PacketType.isPrepared()) {
+            PacketType.prepare();
+        }
+    }
+
+    /**
+     * Creates a user in the play state, which the packets are read and written for.
+     */
+    public static User createUser(ServerVersion version) {
+        return new User(null, ConnectionState.PLAY, version.toClientVersion(),
+                new UserProfile(UUID.randomUUID(), "Benchmark"));
+    }
+
+    /**
+     * Encodes the wrapper for the version, prefixed with the packet id like the platforms send it.
+     */
+    public static ByteBuf encode(PacketWrapper<?> wrapper, ServerVersion version) {
+        ByteBuf buffer = Unpooled.buffer();
+        PacketTypeCommon packetType = wrapper.getPacketTypeData().getPacketType();
+        wrapper.buffer = buffer;
+        wrapper.setServerVersion(version);
+        wrapper.setClientVersion(version.toClientVersion());
+        wrapper.writeVarInt(packetType.getId(version.toClientVersion()));
+        wrapper.write();
+        wrapper.buffer = null;
+        return buffer;
+    }
+
+    /**
+     * Creates the event a platform would call for the encoded server packet, the reader index is reset first.
+     */
+    public static PacketSendEvent sendEvent(User user, ByteBuf encoded) {
+        encoded.readerIndex(0);
+        return new PacketPlaySendEvent(null, user, null, encoded, false);
+    }
+
+    /**
+     * Creates the event a platform would call for the encoded client packet, the reader index is reset first.
+     */
+    public static PacketReceiveEvent receiveEvent(User user, ByteBuf encoded) {
+        encoded.readerIndex(0);
+        return new PacketPlayReceiveEvent(null, user, null, encoded, false);
+    }
+}
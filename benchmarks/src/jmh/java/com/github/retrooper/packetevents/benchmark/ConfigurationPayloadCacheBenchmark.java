@@ -0,0 +1,135 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark;
+
+import com.github.retrooper.packetevents.event.simple.PacketConfigSendEvent;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.nbt.NBTByte;
+import com.github.retrooper.packetevents.protocol.nbt.NBTCompound;
+import com.github.retrooper.packetevents.protocol.nbt.NBTFloat;
+import com.github.retrooper.packetevents.protocol.nbt.NBTInt;
+import com.github.retrooper.packetevents.protocol.nbt.NBTString;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.protocol.player.UserProfile;
+import com.github.retrooper.packetevents.resources.ResourceLocation;
+import com.github.retrooper.packetevents.settings.PacketEventsSettings;
+import com.github.retrooper.packetevents.wrapper.ConfigurationPayloadCache;
+import com.github.retrooper.packetevents.wrapper.configuration.server.WrapperConfigServerRegistryData;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a plain decode of a registry data payload with a read from the configuration payload cache,
+ * which hands out a deep copy of the cached contents and compares them by equality when writing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationPayloadCacheBenchmark {
+    private static final ServerVersion VERSION = ServerVersion.V_1_20_6;
+
+    // A vanilla server sends roughly 64 biomes
+    @Param({"8", "64"})
+    public int elements;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private User user;
+    private ByteBuf encoded;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setup() {
+        BenchmarkPacketEvents.init(new PacketEventsSettings().cacheConfigurationPayloads(cache));
+        ConfigurationPayloadCache.clear();
+        user = new User(null, ConnectionState.CONFIGURATION, VERSION.toClientVersion(),
+                new UserProfile(UUID.randomUUID(), "Benchmark"));
+        encoded = BenchmarkPacketEvents.encode(createRegistryData(elements), VERSION);
+        buffer = Unpooled.buffer(encoded.readableBytes());
+        // The first read decodes the payload, every later one is served from the cache
+        read();
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+        buffer.release();
+        ConfigurationPayloadCache.clear();
+    }
+
+    private static WrapperConfigServerRegistryData createRegistryData(int count) {
+        List<WrapperConfigServerRegistryData.RegistryElement> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            NBTCompound effects = new NBTCompound();
+            effects.setTag("fog_color", new NBTInt(12638463));
+            effects.setTag("sky_color", new NBTInt(7907327 + i));
+            effects.setTag("water_color", new NBTInt(4159204));
+            effects.setTag("water_fog_color", new NBTInt(329011));
+            NBTCompound data = new NBTCompound();
+            data.setTag("has_precipitation", new NBTByte(true));
+            data.setTag("temperature", new NBTFloat(0.8f));
+            data.setTag("downfall", new NBTFloat(0.4f));
+            data.setTag("temperature_modifier", new NBTString("none"));
+            data.setTag("effects", effects);
+            elements.add(new WrapperConfigServerRegistryData.RegistryElement(
+                    new ResourceLocation("minecraft", "biome_" + i), data));
+        }
+        return new WrapperConfigServerRegistryData(new ResourceLocation("minecraft", "worldgen/biome"), elements);
+    }
+
+    @Benchmark
+    public WrapperConfigServerRegistryData read() {
+        encoded.readerIndex(0);
+        return new WrapperConfigServerRegistryData(new PacketConfigSendEvent(null, user, null, encoded, false));
+    }
+
+    /**
+     * Reads and re-encodes the payload, like a listener which modified something unrelated would.
+     */
+    @Benchmark
+    public ByteBuf readAndWrite() {
+        WrapperConfigServerRegistryData wrapper = read();
+        buffer.clear();
+        wrapper.buffer = buffer;
+        ConfigurationPayloadCache.write(wrapper);
+        return buffer;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
+import com.github.retrooper.packetevents.event.PacketListenerAbstract;
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.settings.PacketEventsSettings;
+import com.github.retrooper.packetevents.util.PacketEventsImplHelper;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passes an outgoing packet through the same handling as the platform encoders, with a number of listeners.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventManagerBenchmark {
+    @Param({"1", "10", "50"})
+    public int listeners;
+
+    // Whether every listener reads the packet through its wrapper, instead of only checking the packet type
+    @Param({"false", "true"})
+    public boolean readWrapper;
+
+    @Param({"false", "true"})
+    public boolean recycleEvents;
+
+    private User user;
+    private ByteBuf encoded;
+    private PacketEventRecycler recycler;
+
+    @Setup
+    public void setup() {
+        BenchmarkPacketEvents.init(new PacketEventsSettings().recycleEvents(recycleEvents));
+        ServerVersion version = PacketEvents.getAPI().getServerManager().getVersion();
+        user = BenchmarkPacketEvents.createUser(version);
+        encoded = BenchmarkPacketEvents.encode(new WrapperPlayServerEntityTeleport(42,
+                new Vector3d(128.5, 64, -256.5), 90f, 10f, true), version);
+        recycler = PacketEventRecycler.create();
+        for (int i = 0; i < listeners; i++) {
+            PacketEvents.getAPI().getEventManager().registerListener(new PacketListenerAbstract() {
+                @Override
+                public void onPacketSend(PacketSendEvent event) {
+                    if (event.getPacketType() == PacketType.Play.Server.ENTITY_TELEPORT && readWrapper) {
+                        new WrapperPlayServerEntityTeleport(event).getEntityId();
+                    }
+                }
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        PacketEvents.getAPI().getEventManager().unregisterAllListeners();
+        encoded.release();
+    }
+
+    @Benchmark
+    public ByteBuf handle() throws Exception {
+        encoded.readerIndex(0);
+        // Recycled events aren't returned, the processed buffer is consumed instead
+        PacketEventsImplHelper.handleClientBoundPacket(null, user, null, encoded, false, recycler);
+        return encoded;
+    }
+}
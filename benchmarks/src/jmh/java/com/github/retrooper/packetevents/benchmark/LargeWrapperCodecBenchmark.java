@@ -0,0 +1,158 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.nbt.NBTCompound;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.player.GameMode;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.protocol.player.UserProfile;
+import com.github.retrooper.packetevents.protocol.world.chunk.BaseChunk;
+import com.github.retrooper.packetevents.protocol.world.chunk.Column;
+import com.github.retrooper.packetevents.protocol.world.chunk.TileEntity;
+import com.github.retrooper.packetevents.protocol.world.chunk.impl.v_1_18.Chunk_v1_18;
+import com.github.retrooper.packetevents.protocol.world.chunk.palette.DataPalette;
+import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
+import com.github.retrooper.packetevents.protocol.world.states.type.StateTypes;
+import com.github.retrooper.packetevents.settings.PacketEventsSettings;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerChunkData;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerPlayerInfoUpdate;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes the large packets sent when joining a world.
+ * Only the 1.18+ chunk format is covered, the older chunk readers depend on the version of the server itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LargeWrapperCodecBenchmark {
+    private static final int PLAYERS = 100;
+    // Height of the overworld since 1.18
+    private static final int WORLD_HEIGHT = 384;
+
+    @Param({"PLAYER_INFO_UPDATE", "CHUNK_DATA"})
+    public String packet;
+
+    @Param({"V_1_19_4", "V_1_20_2", "V_1_20_6"})
+    public String version;
+
+    @Param({"false", "true"})
+    public boolean decodeLazily;
+
+    private User user;
+    private PacketWrapper<?> wrapper;
+    private ByteBuf encoded;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setup() {
+        BenchmarkPacketEvents.init(new PacketEventsSettings().decodeLazily(decodeLazily));
+        ServerVersion serverVersion = ServerVersion.valueOf(version);
+        user = BenchmarkPacketEvents.createUser(serverVersion);
+        user.setTotalWorldHeight(WORLD_HEIGHT);
+        wrapper = "CHUNK_DATA".equals(packet) ? createChunkData(serverVersion.toClientVersion()) : createPlayerInfo();
+        encoded = BenchmarkPacketEvents.encode(wrapper, serverVersion);
+        buffer = Unpooled.buffer(encoded.readableBytes());
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+        buffer.release();
+    }
+
+    private static PacketWrapper<?> createPlayerInfo() {
+        List<WrapperPlayServerPlayerInfoUpdate.PlayerInfo> entries = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            UserProfile profile = new UserProfile(UUID.randomUUID(), "Player" + i);
+            entries.add(new WrapperPlayServerPlayerInfoUpdate.PlayerInfo(profile, true, i,
+                    GameMode.SURVIVAL, Component.text("Player " + i), null));
+        }
+        return new WrapperPlayServerPlayerInfoUpdate(EnumSet.of(
+                WrapperPlayServerPlayerInfoUpdate.Action.ADD_PLAYER,
+                WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_GAME_MODE,
+                WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_LISTED,
+                WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_LATENCY,
+                WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_DISPLAY_NAME), entries);
+    }
+
+    private static PacketWrapper<?> createChunkData(ClientVersion version) {
+        int stone = WrappedBlockState.getDefaultState(version, StateTypes.STONE).getGlobalId();
+        int dirt = WrappedBlockState.getDefaultState(version, StateTypes.DIRT).getGlobalId();
+        BaseChunk[] chunks = new BaseChunk[WORLD_HEIGHT >> 4];
+        for (int section = 0; section < chunks.length; section++) {
+            Chunk_v1_18 chunk = new Chunk_v1_18(0, DataPalette.createForChunk(), DataPalette.createForBiome());
+            // Terrain in the lower half, with some variety so the sections don't use a single value palette
+            if (section < chunks.length / 2) {
+                for (int y = 0; y < 16; y++) {
+                    for (int z = 0; z < 16; z++) {
+                        for (int x = 0; x < 16; x++) {
+                            chunk.set(x, y, z, (x + y + z) % 5 == 0 ? dirt : stone);
+                        }
+                    }
+                }
+            }
+            chunks[section] = chunk;
+        }
+        Column column = new Column(0, 0, true, chunks, new TileEntity[0], new NBTCompound());
+        return new WrapperPlayServerChunkData(column);
+    }
+
+    @Benchmark
+    public PacketWrapper<?> read() {
+        if ("CHUNK_DATA".equals(packet)) {
+            return new WrapperPlayServerChunkData(BenchmarkPacketEvents.sendEvent(user, encoded));
+        }
+        return new WrapperPlayServerPlayerInfoUpdate(BenchmarkPacketEvents.sendEvent(user, encoded));
+    }
+
+    @Benchmark
+    public ByteBuf write() {
+        buffer.clear();
+        wrapper.buffer = buffer;
+        wrapper.write();
+        return buffer;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark;
+
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.PacketSide;
+import com.github.retrooper.packetevents.protocol.item.type.ItemType;
+import com.github.retrooper.packetevents.protocol.item.type.ItemTypes;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
+import com.github.retrooper.packetevents.protocol.world.states.type.StateTypes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the registry entries the wrappers resolve for every packet they read.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+    @Param({"V_1_8", "V_1_12_2", "V_1_16_4", "V_1_20_5"})
+    public String version;
+
+    private ClientVersion clientVersion;
+    private int packetId;
+    private int blockStateId;
+    private String blockStateString;
+    private int itemId;
+    private String itemName;
+
+    @Setup
+    public void setup() {
+        BenchmarkPacketEvents.init();
+        clientVersion = ClientVersion.valueOf(version);
+        packetId = PacketType.Play.Server.ENTITY_TELEPORT.getId(clientVersion);
+        WrappedBlockState state = WrappedBlockState.getDefaultState(clientVersion, StateTypes.OAK_STAIRS);
+        blockStateId = state.getGlobalId();
+        blockStateString = state.toString();
+        itemId = ItemTypes.DIAMOND_SWORD.getId(clientVersion);
+        itemName = ItemTypes.DIAMOND_SWORD.getName().toString();
+    }
+
+    @Benchmark
+    public PacketTypeCommon packetTypeById() {
+        return PacketType.getById(PacketSide.SERVER, ConnectionState.PLAY, clientVersion, packetId);
+    }
+
+    @Benchmark
+    public WrappedBlockState blockStateByGlobalId() {
+        return WrappedBlockState.getByGlobalId(clientVersion, blockStateId);
+    }
+
+    @Benchmark
+    public WrappedBlockState blockStateByString() {
+        return WrappedBlockState.getByString(clientVersion, blockStateString);
+    }
+
+    @Benchmark
+    public ItemType itemTypeById() {
+        return ItemTypes.getById(clientVersion, itemId);
+    }
+
+    @Benchmark
+    public ItemType itemTypeByName() {
+        return ItemTypes.getByName(itemName);
+    }
+}
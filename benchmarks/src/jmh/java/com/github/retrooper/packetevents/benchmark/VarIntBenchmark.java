@@ -0,0 +1,172 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.github.retrooper.packetevents.benchmark;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VarIntBenchmark {
+    private static final int ARRAY_LENGTH = 256;
+
+    // Encoded size of the values in bytes
+    @Param({"1", "2", "3", "5"})
+    public int size;
+
+    @Param({"heap", "direct"})
+    public String bufferType;
+
+    private int value;
+    private long longValue;
+    private int[] array;
+    private long[] longArray;
+    private ByteBuf buffer;
+    private ByteBuf encoded;
+    private ByteBuf encodedArray;
+    private ByteBuf encodedLong;
+
+    @Setup
+    public void setup() {
+        BenchmarkPacketEvents.init();
+        switch (size) {
+            case 1:
+                value = 42;
+                break;
+            case 2:
+                value = 300;
+                break;
+            case 3:
+                value = 70_000;
+                break;
+            default:
+                value = -1;
+                break;
+        }
+        longValue = (long) value << 28;
+        array = new int[ARRAY_LENGTH];
+        longArray = new long[ARRAY_LENGTH];
+        for (int i = 0; i < ARRAY_LENGTH; i++) {
+            array[i] = value;
+            longArray[i] = longValue;
+        }
+
+        buffer = allocate(ARRAY_LENGTH * 10);
+        encoded = allocate(5);
+        ByteBufHelper.writeVarInt(encoded, value);
+        encodedArray = allocate(ARRAY_LENGTH * 5);
+        ByteBufHelper.writeVarIntArray(encodedArray, array);
+        encodedLong = allocate(10);
+        ByteBufHelper.writeVarLong(encodedLong, longValue);
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.release();
+        encoded.release();
+        encodedArray.release();
+        encodedLong.release();
+    }
+
+    private ByteBuf allocate(int capacity) {
+        return "direct".equals(bufferType) ? Unpooled.directBuffer(capacity) : Unpooled.buffer(capacity);
+    }
+
+    @Benchmark
+    public int readVarInt() {
+        encoded.readerIndex(0);
+        return ByteBufHelper.readVarInt(encoded);
+    }
+
+    // Baseline, the way varints were read before the operator had varint support
+    @Benchmark
+    public int readVarIntPerByte() {
+        encoded.readerIndex(0);
+        int value = 0;
+        int length = 0;
+        byte currentByte;
+        do {
+            currentByte = ByteBufHelper.readByte(encoded);
+            value |= (currentByte & 0x7F) << (length++ * 7);
+        } while ((currentByte & 0x80) == 0x80);
+        return value;
+    }
+
+    @Benchmark
+    public ByteBuf writeVarInt() {
+        buffer.clear();
+        ByteBufHelper.writeVarInt(buffer, value);
+        return buffer;
+    }
+
+    @Benchmark
+    public int[] readVarIntArray() {
+        encodedArray.readerIndex(0);
+        int[] result = new int[ARRAY_LENGTH];
+        ByteBufHelper.readVarIntArray(encodedArray, result);
+        return result;
+    }
+
+    @Benchmark
+    public ByteBuf writeVarIntArray() {
+        buffer.clear();
+        ByteBufHelper.writeVarIntArray(buffer, array);
+        return buffer;
+    }
+
+    @Benchmark
+    public long readVarLong() {
+        encodedLong.readerIndex(0);
+        return ByteBufHelper.readVarLong(encodedLong);
+    }
+
+    @Benchmark
+    public ByteBuf writeVarLong() {
+        buffer.clear();
+        ByteBufHelper.writeVarLong(buffer, longValue);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuf writeVarLongArray() {
+        buffer.clear();
+        ByteBufHelper.writeVarLongArray(buffer, longArray);
+        return buffer;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark;
+
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.util.MathUtil;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-version codec of the entity teleport wrapper against the branching implementation it replaced,
+ * which checks the server version on every field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionedCodecBenchmark {
+    @Param({"V_1_8_8", "V_1_12_2", "V_1_20_6"})
+    public String version;
+
+    private User user;
+    private WrapperPlayServerEntityTeleport codec;
+    private BranchingEntityTeleport branching;
+    private ByteBuf encoded;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setup() {
+        BenchmarkPacketEvents.init();
+        ServerVersion serverVersion = ServerVersion.valueOf(version);
+        user = BenchmarkPacketEvents.createUser(serverVersion);
+        codec = new WrapperPlayServerEntityTeleport(42, new Vector3d(128.5, 64, -256.5), 90f, 10f, true);
+        encoded = BenchmarkPacketEvents.encode(codec, serverVersion);
+        buffer = Unpooled.buffer(encoded.readableBytes());
+        branching = new BranchingEntityTeleport(BenchmarkPacketEvents.sendEvent(user, encoded));
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+        buffer.release();
+    }
+
+    @Benchmark
+    public PacketWrapper<?> readCodec() {
+        return new WrapperPlayServerEntityTeleport(BenchmarkPacketEvents.sendEvent(user, encoded));
+    }
+
+    @Benchmark
+    public PacketWrapper<?> readBranching() {
+        return new BranchingEntityTeleport(BenchmarkPacketEvents.sendEvent(user, encoded));
+    }
+
+    @Benchmark
+    public ByteBuf writeCodec() {
+        buffer.clear();
+        codec.buffer = buffer;
+        codec.write();
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuf writeBranching() {
+        buffer.clear();
+        branching.buffer = buffer;
+        branching.write();
+        return buffer;
+    }
+
+    /**
+     * The entity teleport wrapper as it was before it resolved a codec per server version.
+     */
+    static final class BranchingEntityTeleport extends PacketWrapper<BranchingEntityTeleport> {
+        private static final float ROTATION_FACTOR = 256.0F / 360.0F;
+
+        private int entityID;
+        private Vector3d position;
+        private float yaw, pitch;
+        private boolean onGround;
+
+        BranchingEntityTeleport(PacketSendEvent event) {
+            super(event);
+        }
+
+        @Override
+        public void read() {
+            if (serverVersion == ServerVersion.V_1_7_10) {
+                entityID = readInt();
+            } else {
+                entityID = readVarInt();
+            }
+            if (serverVersion.isOlderThanOrEquals(ServerVersion.V_1_8_8)) {
+                position = new Vector3d((readInt() / 32.0), (readInt() / 32.0), (readInt() / 32.0));
+            } else {
+                position = new Vector3d(readDouble(), readDouble(), readDouble());
+            }
+            yaw = readByte() / ROTATION_FACTOR;
+            pitch = readByte() / ROTATION_FACTOR;
+            if (serverVersion != ServerVersion.V_1_7_10) {
+                onGround = readBoolean();
+            } else {
+                onGround = false;
+            }
+        }
+
+        @Override
+        public void write() {
+            if (serverVersion == ServerVersion.V_1_7_10) {
+                writeInt(entityID);
+            } else {
+                writeVarInt(entityID);
+            }
+            if (serverVersion.isOlderThanOrEquals(ServerVersion.V_1_8_8)) {
+                writeInt(MathUtil.floor(position.x * 32.0));
+                writeInt(MathUtil.floor(position.y * 32.0));
+                writeInt(MathUtil.floor(position.z * 32.0));
+            } else {
+                writeDouble(position.x);
+                writeDouble(position.y);
+                writeDouble(position.z);
+            }
+            writeByte((int) (yaw * ROTATION_FACTOR));
+            writeByte((int) (pitch * ROTATION_FACTOR));
+            if (serverVersion != ServerVersion.V_1_7_10) {
+                writeBoolean(onGround);
+            }
+        }
+
+        @Override
+        public void copy(BranchingEntityTeleport wrapper) {
+            entityID = wrapper.entityID;
+            position = wrapper.position;
+            yaw = wrapper.yaw;
+            pitch = wrapper.pitch;
+            onGround = wrapper.onGround;
+        }
+    }
+}
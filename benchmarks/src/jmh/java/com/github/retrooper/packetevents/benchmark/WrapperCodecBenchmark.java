@@ -0,0 +1,147 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark;
+
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
+import com.github.retrooper.packetevents.protocol.item.ItemStack;
+import com.github.retrooper.packetevents.protocol.item.type.ItemTypes;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientPlayerPosition;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRelativeMove;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerWindowItems;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes common play packets across the protocol versions, the way a listener reading the wrapper
+ * and the re-encoding of a modified packet do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WrapperCodecBenchmark {
+    // Size of a player inventory, including the crafting and armor slots
+    private static final int WINDOW_SIZE = 46;
+
+    @Param({"ENTITY_TELEPORT", "ENTITY_RELATIVE_MOVE", "PLAYER_POSITION", "ENTITY_METADATA", "WINDOW_ITEMS"})
+    public String packet;
+
+    @Param({"V_1_8_8", "V_1_12_2", "V_1_16_5", "V_1_19_4", "V_1_20_6"})
+    public String version;
+
+    private User user;
+    private PacketWrapper<?> wrapper;
+    private ByteBuf encoded;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setup() {
+        BenchmarkPacketEvents.init();
+        ServerVersion serverVersion = ServerVersion.valueOf(version);
+        user = BenchmarkPacketEvents.createUser(serverVersion);
+        wrapper = createWrapper();
+        encoded = BenchmarkPacketEvents.encode(wrapper, serverVersion);
+        buffer = Unpooled.buffer(encoded.readableBytes());
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+        buffer.release();
+    }
+
+    private PacketWrapper<?> createWrapper() {
+        switch (packet) {
+            case "ENTITY_TELEPORT":
+                return new WrapperPlayServerEntityTeleport(42, new Vector3d(128.5, 64, -256.5), 90f, 10f, true);
+            case "ENTITY_RELATIVE_MOVE":
+                return new WrapperPlayServerEntityRelativeMove(42, 0.25, -0.5, 0.125, false);
+            case "PLAYER_POSITION":
+                return new WrapperPlayClientPlayerPosition(new Vector3d(128.5, 64, -256.5), true);
+            case "ENTITY_METADATA":
+                return new WrapperPlayServerEntityMetadata(42, Arrays.asList(
+                        new EntityData(0, EntityDataTypes.BYTE, (byte) 0x02),
+                        new EntityData(1, EntityDataTypes.INT, 300),
+                        new EntityData(9, EntityDataTypes.FLOAT, 20f)));
+            case "WINDOW_ITEMS":
+                List<ItemStack> items = new ArrayList<>(WINDOW_SIZE);
+                for (int i = 0; i < WINDOW_SIZE; i++) {
+                    if (i % 3 == 0) {
+                        items.add(ItemStack.EMPTY);
+                    } else {
+                        items.add(ItemStack.builder().type(i % 2 == 0 ? ItemTypes.STONE : ItemTypes.OAK_PLANKS)
+                                .amount(i).build());
+                    }
+                }
+                return new WrapperPlayServerWindowItems(0, 1, items, null);
+            default:
+                throw new IllegalArgumentException("Unknown packet " + packet);
+        }
+    }
+
+    @Benchmark
+    public PacketWrapper<?> read() {
+        switch (packet) {
+            case "ENTITY_TELEPORT":
+                return new WrapperPlayServerEntityTeleport(BenchmarkPacketEvents.sendEvent(user, encoded));
+            case "ENTITY_RELATIVE_MOVE":
+                return new WrapperPlayServerEntityRelativeMove(BenchmarkPacketEvents.sendEvent(user, encoded));
+            case "PLAYER_POSITION":
+                return new WrapperPlayClientPlayerPosition(BenchmarkPacketEvents.receiveEvent(user, encoded));
+            case "ENTITY_METADATA":
+                return new WrapperPlayServerEntityMetadata(BenchmarkPacketEvents.sendEvent(user, encoded));
+            default:
+                return new WrapperPlayServerWindowItems(BenchmarkPacketEvents.sendEvent(user, encoded));
+        }
+    }
+
+    @Benchmark
+    public ByteBuf write() {
+        buffer.clear();
+        wrapper.buffer = buffer;
+        wrapper.write();
+        return buffer;
+    }
+}
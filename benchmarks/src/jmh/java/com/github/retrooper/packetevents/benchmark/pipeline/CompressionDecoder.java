@@ -0,0 +1,66 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark.pipeline;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompresses the packets written by {@link CompressionEncoder}.
+ */
+public class CompressionDecoder extends MessageToMessageDecoder<ByteBuf> {
+    private final Inflater inflater = new Inflater();
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) {
+        int size = ByteBufHelper.readVarInt(msg);
+        if (size == 0) {
+            // The input is released after decoding
+            out.add(msg.retain());
+            return;
+        }
+        byte[] input = new byte[msg.readableBytes()];
+        msg.readBytes(input);
+        byte[] output = new byte[size];
+        inflater.setInput(input);
+        try {
+            if (inflater.inflate(output) != size) {
+                throw new DecoderException("Decompressed packet is shorter than its length of " + size);
+            }
+        } catch (DataFormatException e) {
+            throw new DecoderException(e);
+        } finally {
+            inflater.reset();
+        }
+        out.add(ctx.alloc().buffer(size).writeBytes(output));
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        inflater.end();
+        super.handlerRemoved(ctx);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark.pipeline;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+import java.util.zip.Deflater;
+
+/**
+ * Compresses packets at or above the threshold in the format of the server, the uncompressed length
+ * is written in front of the data, or 0 if the packet was left uncompressed.
+ */
+public class CompressionEncoder extends MessageToByteEncoder<ByteBuf> {
+    private final Deflater deflater = new Deflater();
+    private final byte[] chunk = new byte[8192];
+    private final int threshold;
+
+    public CompressionEncoder(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) {
+        int size = msg.readableBytes();
+        if (size < threshold) {
+            ByteBufHelper.writeVarInt(out, 0);
+            out.writeBytes(msg);
+            return;
+        }
+        byte[] input = new byte[size];
+        msg.readBytes(input);
+        ByteBufHelper.writeVarInt(out, size);
+        deflater.setInput(input);
+        deflater.finish();
+        while (!deflater.finished()) {
+            out.writeBytes(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.reset();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        deflater.end();
+        super.handlerRemoved(ctx);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark.pipeline;
+
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.util.PacketEventsImplHelper;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+/**
+ * Passes incoming packets through packetevents like the platform decoders do,
+ * positioned after decompression.
+ * Cancelled packets are released instead of being passed on.
+ */
+public class HarnessPacketDecoder extends ChannelInboundHandlerAdapter {
+    private final User user;
+    private final PacketEventRecycler eventRecycler;
+
+    public HarnessPacketDecoder(User user) {
+        this.user = user;
+        this.eventRecycler = PacketEventRecycler.create();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof ByteBuf)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        ByteBuf buffer = (ByteBuf) msg;
+        try {
+            PacketEventsImplHelper.handleServerBoundPacket(ctx.channel(), user, null, buffer, false, eventRecycler);
+        } catch (Exception e) {
+            buffer.release();
+            throw e;
+        }
+        if (buffer.isReadable()) {
+            ctx.fireChannelRead(buffer);
+        } else {
+            buffer.release();
+        }
+    }
+}
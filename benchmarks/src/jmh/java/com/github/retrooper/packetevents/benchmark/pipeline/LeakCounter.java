@@ -0,0 +1,88 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark.pipeline;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetectorFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the leaks reported by Netty's leak detector, which tracks every buffer in paranoid mode.
+ * Has to be installed before the first buffer is allocated, the detector of the buffers is created only once.
+ */
+public final class LeakCounter {
+    private static final AtomicInteger LEAKS = new AtomicInteger();
+    private static boolean installed;
+
+    private LeakCounter() {
+    }
+
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        ResourceLeakDetectorFactory.setResourceLeakDetectorFactory(new ResourceLeakDetectorFactory() {
+            @Override
+            @SuppressWarnings("deprecation")
+            public <T> ResourceLeakDetector<T> newResourceLeakDetector(Class<T> resource, int samplingInterval, long maxActive) {
+                return new CountingLeakDetector<>(resource, samplingInterval);
+            }
+        });
+    }
+
+    /**
+     * Collects unreachable buffers and returns the amount of leaks reported so far.
+     * Leaks are only reported when the detector tracks the next buffer, so a few are allocated after collecting.
+     */
+    public static int collectLeaks() {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            PooledByteBufAllocator.DEFAULT.buffer(1).release();
+        }
+        return LEAKS.get();
+    }
+
+    private static final class CountingLeakDetector<T> extends ResourceLeakDetector<T> {
+        private CountingLeakDetector(Class<?> resourceType, int samplingInterval) {
+            super(resourceType, samplingInterval);
+        }
+
+        @Override
+        protected void reportTracedLeak(String resourceType, String records) {
+            LEAKS.incrementAndGet();
+            super.reportTracedLeak(resourceType, records);
+        }
+
+        @Override
+        protected void reportUntracedLeak(String resourceType) {
+            LEAKS.incrementAndGet();
+            super.reportUntracedLeak(resourceType);
+        }
+    }
+}
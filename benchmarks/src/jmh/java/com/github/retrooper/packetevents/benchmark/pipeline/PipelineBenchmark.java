@@ -0,0 +1,227 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark.pipeline;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.benchmark.BenchmarkPacketEvents;
+import com.github.retrooper.packetevents.event.PacketListenerAbstract;
+import com.github.retrooper.packetevents.event.PacketReceiveEvent;
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.ConnectionState;
+import com.github.retrooper.packetevents.protocol.PacketSide;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
+import com.github.retrooper.packetevents.protocol.item.ItemStack;
+import com.github.retrooper.packetevents.protocol.item.type.ItemTypes;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.util.capture.CapturedPacket;
+import com.github.retrooper.packetevents.util.capture.PacketCaptureReader;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientKeepAlive;
+import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientPlayerPosition;
+import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientPlayerPositionAndRotation;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRelativeMove;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerWindowItems;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pumps a batch of packets in both directions through a {@link PipelineHarness}.
+ * Every buffer is tracked by the leak detector, the trial fails if any buffer was leaked.
+ * <p>
+ * The traffic is synthetic, unless a file written by
+ * {@link com.github.retrooper.packetevents.util.capture.PacketCapture} is passed with {@code -p capture=<file>},
+ * of which the packets of the play state are used.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+    // Synthetic packets per direction and batch
+    private static final int BATCH = 100;
+
+    static {
+        LeakCounter.install();
+    }
+
+    @Param({"-1", "256"})
+    public int compressionThreshold;
+
+    // What the listener does with every packet: "none", "read" its wrapper or "cancel" it
+    @Param({"none", "read", "cancel"})
+    public String listener;
+
+    @Param({""})
+    public String capture;
+
+    private PipelineHarness harness;
+    private final List<byte[]> outbound = new ArrayList<>();
+    private byte[] inboundFrames;
+    private int inboundPackets;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkPacketEvents.init();
+        ServerVersion version = PacketEvents.getAPI().getServerManager().getVersion();
+        List<byte[]> inbound = new ArrayList<>();
+        User user;
+        if (capture.isEmpty()) {
+            user = BenchmarkPacketEvents.createUser(version);
+            createSyntheticTraffic(version, inbound);
+        } else {
+            user = null;
+            for (CapturedPacket packet : PacketCaptureReader.readAll(new File(capture))) {
+                if (packet.getState() != ConnectionState.PLAY) {
+                    continue;
+                }
+                if (user == null) {
+                    user = BenchmarkPacketEvents.createUser(packet.getClientVersion().toServerVersion());
+                }
+                (packet.getSide() == PacketSide.SERVER ? outbound : inbound).add(packet.getData());
+            }
+            if (user == null) {
+                throw new IllegalArgumentException("The capture " + capture + " has no packets in the play state");
+            }
+        }
+
+        harness = new PipelineHarness(user, compressionThreshold);
+        ByteBuf frames = Unpooled.buffer();
+        for (byte[] packet : inbound) {
+            ByteBuf frame = harness.frame(Unpooled.wrappedBuffer(packet));
+            frames.writeBytes(frame);
+            frame.release();
+        }
+        inboundFrames = new byte[frames.readableBytes()];
+        frames.readBytes(inboundFrames);
+        frames.release();
+        inboundPackets = inbound.size();
+
+        if (!"none".equals(listener)) {
+            boolean cancel = "cancel".equals(listener);
+            PacketEvents.getAPI().getEventManager().registerListener(new PacketListenerAbstract() {
+                @Override
+                public void onPacketSend(PacketSendEvent event) {
+                    if (cancel) {
+                        event.setCancelled(true);
+                    } else if (event.getPacketType() == PacketType.Play.Server.ENTITY_TELEPORT) {
+                        new WrapperPlayServerEntityTeleport(event).getEntityId();
+                    }
+                }
+
+                @Override
+                public void onPacketReceive(PacketReceiveEvent event) {
+                    if (cancel) {
+                        event.setCancelled(true);
+                    } else if (event.getPacketType() == PacketType.Play.Client.PLAYER_POSITION) {
+                        new WrapperPlayClientPlayerPosition(event).getPosition();
+                    }
+                }
+            });
+        }
+    }
+
+    private void createSyntheticTraffic(ServerVersion version, List<byte[]> inbound) {
+        List<ItemStack> items = new ArrayList<>();
+        for (int i = 0; i < 46; i++) {
+            items.add(ItemStack.builder().type(ItemTypes.STONE).amount(i % 64 + 1).build());
+        }
+        List<PacketWrapper<?>> server = Arrays.asList(
+                new WrapperPlayServerEntityTeleport(42, new Vector3d(128.5, 64, -256.5), 90f, 10f, true),
+                new WrapperPlayServerEntityRelativeMove(42, 0.25, -0.5, 0.125, false),
+                new WrapperPlayServerEntityMetadata(42, Arrays.asList(
+                        new EntityData(0, EntityDataTypes.BYTE, (byte) 0x02),
+                        new EntityData(9, EntityDataTypes.FLOAT, 20f))),
+                // Above the compression threshold
+                new WrapperPlayServerWindowItems(0, 1, items, null));
+        List<PacketWrapper<?>> client = Arrays.asList(
+                new WrapperPlayClientPlayerPosition(new Vector3d(128.5, 64, -256.5), true),
+                new WrapperPlayClientPlayerPositionAndRotation(new Vector3d(128.5, 64, -256.5), 90f, 10f, true),
+                new WrapperPlayClientKeepAlive(System.currentTimeMillis()));
+        for (int i = 0; i < BATCH; i++) {
+            outbound.add(toBytes(server.get(i % server.size()), version));
+            inbound.add(toBytes(client.get(i % client.size()), version));
+        }
+    }
+
+    private static byte[] toBytes(PacketWrapper<?> wrapper, ServerVersion version) {
+        ByteBuf encoded = BenchmarkPacketEvents.encode(wrapper, version);
+        byte[] bytes = new byte[encoded.readableBytes()];
+        encoded.readBytes(bytes);
+        encoded.release();
+        return bytes;
+    }
+
+    @TearDown
+    public void tearDown() {
+        harness.close();
+        PacketEvents.getAPI().getEventManager().unregisterAllListeners();
+        int leaks = LeakCounter.collectLeaks();
+        if (leaks > 0) {
+            throw new IllegalStateException(leaks + " buffers were leaked, see the leak detector output");
+        }
+    }
+
+    @Benchmark
+    public int outbound() {
+        ByteBufAllocator allocator = harness.getChannel().alloc();
+        int written = 0;
+        for (byte[] packet : outbound) {
+            written += harness.send(allocator.buffer(packet.length).writeBytes(packet));
+        }
+        return written;
+    }
+
+    @Benchmark
+    public int inbound() {
+        ByteBuf frames = harness.getChannel().alloc().buffer(inboundFrames.length).writeBytes(inboundFrames);
+        int received = harness.receive(frames);
+        if (received != inboundPackets && !"cancel".equals(listener)) {
+            throw new IllegalStateException("Expected " + inboundPackets + " packets, but received " + received);
+        }
+        return received;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.benchmark.pipeline;
+
+import com.github.retrooper.packetevents.protocol.player.User;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * A server connection pipeline on an {@link EmbeddedChannel}, without a server behind it:
+ * the frame codec, the compression handlers named "compress" and "decompress" and the packetevents
+ * encoder and decoder in the position they end up in after compression was relocated.
+ * Packets written to it are framed like on the wire, frames read from it end up as packets after packetevents.
+ */
+public final class PipelineHarness implements AutoCloseable {
+    public static final String ENCODER_NAME = "pe-encoder";
+    public static final String DECODER_NAME = "pe-decoder";
+
+    private final EmbeddedChannel channel;
+    private final int compressionThreshold;
+
+    /**
+     * @param user                 User the packets belong to
+     * @param compressionThreshold Minimum size of compressed packets, -1 to disable compression
+     */
+    public PipelineHarness(User user, int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        this.channel = new EmbeddedChannel();
+        ChannelPipeline pipeline = channel.pipeline();
+        pipeline.addLast("splitter", new VarIntFrameDecoder());
+        pipeline.addLast("prepender", new VarIntFramePrepender());
+        if (compressionThreshold >= 0) {
+            pipeline.addLast("decompress", new CompressionDecoder());
+            pipeline.addLast("compress", new CompressionEncoder(compressionThreshold));
+        }
+        pipeline.addLast(DECODER_NAME, new HarnessPacketDecoder(user));
+        pipeline.addLast(ENCODER_NAME, new HarnessPacketEncoder(user));
+    }
+
+    public EmbeddedChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Frames the packet like this pipeline writes it, to create the incoming traffic of the pipeline.
+     *
+     * @param packet Packet id and payload, released by this method
+     * @return Framed and possibly compressed packet
+     */
+    public ByteBuf frame(ByteBuf packet) {
+        EmbeddedChannel encoder = new EmbeddedChannel(new VarIntFramePrepender());
+        if (compressionThreshold >= 0) {
+            encoder.pipeline().addLast(new CompressionEncoder(compressionThreshold));
+        }
+        encoder.writeOutbound(packet);
+        ByteBuf frame = encoder.readOutbound();
+        encoder.finishAndReleaseAll();
+        return frame;
+    }
+
+    /**
+     * Sends the packet through the encoder side of the pipeline.
+     *
+     * @param packet Packet id and payload, released by the pipeline
+     * @return Bytes written to the connection, 0 if the packet was cancelled
+     */
+    public int send(ByteBuf packet) {
+        channel.writeOutbound(packet);
+        int written = 0;
+        ByteBuf frame;
+        while ((frame = channel.readOutbound()) != null) {
+            written += frame.readableBytes();
+            frame.release();
+        }
+        return written;
+    }
+
+    /**
+     * Passes the frames through the decoder side of the pipeline.
+     *
+     * @param frames One or more framed packets, released by the pipeline
+     * @return Packets that reached the end of the pipeline
+     */
+    public int receive(ByteBuf frames) {
+        channel.writeInbound(frames);
+        int received = 0;
+        ByteBuf packet;
+        while ((packet = channel.readInbound()) != null) {
+            received++;
+            packet.release();
+        }
+        return received;
+    }
+
+    @Override
+    public void close() {
+        channel.finishAndReleaseAll();
+    }
+}
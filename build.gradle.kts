@@ -9,7 +9,7 @@ tasks {
     }
 
     val taskSubModules: (String) -> Array<Task> = { task ->
-        subprojects.filterNot { it.path == ":patch" }.map { it.tasks[task] }.toTypedArray()
+        subprojects.filterNot { it.path == ":patch" || it.path == ":benchmarks" }.map { it.tasks[task] }.toTypedArray()
     }
 
     register("build") {
@@ -22,7 +22,9 @@ tasks {
                 buildOut.mkdirs()
 
             for (subproject in subprojects) {
-                if (subproject.path.startsWith(":patch")) continue
+                if (subproject.path.startsWith(":patch") || subproject.path == ":benchmarks") continue
+                // Only needed to compile the api
+                if (subproject.path == ":codec-processor") continue
                 val subIn = subproject.layout.buildDirectory.dir("libs").get()
 
                 copy {
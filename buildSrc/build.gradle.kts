@@ -20,5 +20,4 @@ dependencies {
     implementation(libs.via.nbt)
     implementation(libs.fast.util)
     implementation(libs.gson)
-    implementation(libs.java.diff.utils)
 }
\ No newline at end of file
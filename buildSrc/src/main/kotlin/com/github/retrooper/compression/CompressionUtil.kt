@@ -24,9 +24,13 @@ import com.google.gson.Gson
 import com.google.gson.JsonArray
 import com.google.gson.JsonObject
 import com.google.gson.JsonPrimitive
+import java.io.BufferedOutputStream
+import java.io.DataOutputStream
 import java.io.IOException
+import java.nio.file.Files
 import java.nio.file.Path
 import java.util.*
+import java.util.zip.GZIPOutputStream
 import kotlin.io.path.bufferedReader
 
 object CompressionUtil {
@@ -52,6 +56,24 @@ object CompressionUtil {
         }
     }
 
+    fun writeGzip(path: Path, writer: (DataOutputStream) -> Unit) {
+        try {
+            Files.createDirectories(path.parent)
+            DataOutputStream(GZIPOutputStream(BufferedOutputStream(Files.newOutputStream(path)))).use(writer)
+        } catch (e: IOException) {
+            throw RuntimeException("Failed to write mapping file: $path", e)
+        }
+    }
+
+    fun writeVarInt(output: DataOutputStream, value: Int) {
+        var remaining = value
+        while (remaining and 0x7F.inv() != 0) {
+            output.writeByte(remaining and 0x7F or 0x80)
+            remaining = remaining ushr 7
+        }
+        output.writeByte(remaining)
+    }
+
 }
 
 val JsonArray.asStringList: List<String>
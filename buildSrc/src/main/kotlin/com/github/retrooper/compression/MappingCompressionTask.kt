@@ -44,7 +44,7 @@ abstract class MappingCompressionTask : DefaultTask() {
         for ((relativePath, strategy) in strategies) {
             strategy.compress(
                 mappingsDir!!.resolve(relativePath),
-                outDir!!.resolve(relativePath.replace(".json", ".nbt"))
+                outDir!!.resolve(relativePath.replace(".json", ".${strategy.fileExtension}"))
             )
         }
     }
@@ -25,6 +25,11 @@ interface CompressionStrategy {
         const val COMPRESSION_VERSION: Byte = 1
     }
 
+    /**
+     * Extension of the files written by this strategy, without the dot
+     */
+    val fileExtension: String get() = "nbt"
+
     fun compress(from: Path, to: Path)
 
 }
@@ -0,0 +1,78 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.retrooper.compression.strategy
+
+import com.github.retrooper.compression.CompressionUtil
+import com.github.retrooper.compression.EntryVersion
+import com.google.gson.JsonElement
+import java.nio.file.Path
+import java.util.*
+
+/**
+ * Writes the fully resolved ids of every version, so nothing has to be replayed when loading them.
+ *
+ * The gzipped file starts with [INDEXED_VERSION], followed by the string table (an int count and
+ * the names as modified UTF-8) and the amount of versions as a byte. For every version, oldest first,
+ * the version name is written followed by the id of every name in the string table as a VarInt,
+ * offset by one so names missing in the version are written as 0.
+ */
+abstract class IndexedCompressionStrategy : CompressionStrategy {
+
+    companion object {
+        const val INDEXED_VERSION: Byte = 2
+    }
+
+    override val fileExtension: String get() = "bin"
+
+    override fun compress(from: Path, to: Path) {
+        val json = CompressionUtil.loadJson(from)
+        val versions = json.entrySet().associateTo(TreeMap()) { EntryVersion.fromString(it.key) to resolve(it.value) }
+
+        val names = LinkedHashMap<String, Int>()
+        for (entries in versions.values) {
+            for (name in entries.keys) {
+                names.putIfAbsent(name, names.size)
+            }
+        }
+
+        CompressionUtil.writeGzip(to) { output ->
+            output.writeByte(INDEXED_VERSION.toInt())
+            output.writeInt(names.size)
+            for (name in names.keys) {
+                output.writeUTF(name)
+            }
+            output.writeByte(versions.size)
+            for ((version, entries) in versions) {
+                output.writeUTF(version.toString())
+                val table = IntArray(names.size) { -1 }
+                for ((name, id) in entries) {
+                    table[names.getValue(name)] = id
+                }
+                for (id in table) {
+                    CompressionUtil.writeVarInt(output, id + 1)
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the id of every name in the version
+     */
+    abstract fun resolve(entries: JsonElement): Map<String, Int>
+
+}
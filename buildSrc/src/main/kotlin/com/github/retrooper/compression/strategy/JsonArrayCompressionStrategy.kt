@@ -17,75 +17,19 @@
  */
 package com.github.retrooper.compression.strategy
 
-import com.github.difflib.DiffUtils
-import com.github.difflib.algorithm.myers.MeyersDiff
-import com.github.difflib.patch.ChangeDelta
-import com.github.difflib.patch.DeleteDelta
-import com.github.difflib.patch.InsertDelta
 import com.github.retrooper.compression.asStringList
-import com.github.steveice10.opennbt.tag.builtin.CompoundTag
-import com.github.steveice10.opennbt.tag.builtin.IntTag
-import com.github.steveice10.opennbt.tag.builtin.ListTag
-import com.github.steveice10.opennbt.tag.builtin.StringTag
-import com.google.gson.JsonObject
+import com.google.gson.JsonElement
 
-object JsonArrayCompressionStrategy : JsonCompressionStrategy() {
-
-    override fun serialize(tag: CompoundTag, json: JsonObject) {
-        val entries = separateVersions(json)
-        // we will remove the first entry, which is the oldest version
-        val oldestVersion = entries.pollFirstEntry()
-        tag.put("start", StringTag(oldestVersion.key.toString()))
-
-        val nbtEntries = CompoundTag()
-        var ent = oldestVersion.value.asJsonArray.asStringList
-
-        nbtEntries.put(oldestVersion.key.toString(), ListTag(ent.map(::StringTag)))
-
-        for ((key, value) in entries) {
-            val list = value.asJsonArray.asStringList
-            val algo = MeyersDiff.factory().create<String> { a, b -> a == b }
-            val diff = DiffUtils.diff(ent, list, algo, null, false)
-
-            val versionTag = CompoundTag()
-            val additions = ListTag(CompoundTag::class.java)
-            val removals = ListTag(CompoundTag::class.java)
-            val changes = ListTag(CompoundTag::class.java)
-            for (delta in diff.deltas) {
-                when (delta) {
-                    is InsertDelta<*> -> {
-                        additions.add(CompoundTag().apply {
-                            put("pos", IntTag(delta.getSource().position))
-                            put("lines", ListTag(delta.getTarget().lines.map(::StringTag)))
-                        })
-                    }
-
-                    is DeleteDelta<*> -> {
-                        removals.add(CompoundTag().apply {
-                            put("pos", IntTag(delta.getSource().position))
-                            put("size", IntTag(delta.getSource().size()))
-                        })
-                    }
-
-                    is ChangeDelta<*> -> {
-                        changes.add(CompoundTag().apply {
-                            put("pos", IntTag(delta.getSource().position))
-                            put("size", IntTag(delta.getSource().size()))
-                            put("lines", ListTag(delta.getTarget().lines.map(::StringTag)))
-                        })
-                    }
-                }
-            }
-
-            versionTag.put("additions", additions)
-            versionTag.put("removals", removals)
-            versionTag.put("changes", changes)
-            nbtEntries.put(key.toString(), versionTag)
-
-            ent = list
-        }
+/**
+ * Mappings listing the names of every version in the order of their ids.
+ */
+object JsonArrayCompressionStrategy : IndexedCompressionStrategy() {
 
-        tag.put("entries", nbtEntries)
+    override fun resolve(entries: JsonElement): Map<String, Int> {
+        val ids = HashMap<String, Int>()
+        // A name listed twice keeps its last id
+        entries.asJsonArray.asStringList.forEachIndexed { index, name -> ids[name] = index }
+        return ids
     }
 
 }
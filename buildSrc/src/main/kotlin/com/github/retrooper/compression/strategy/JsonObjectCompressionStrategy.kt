@@ -17,85 +17,21 @@
  */
 package com.github.retrooper.compression.strategy
 
-import com.github.difflib.DiffUtils
-import com.github.difflib.algorithm.myers.MeyersDiff
-import com.github.difflib.patch.ChangeDelta
-import com.github.difflib.patch.DeleteDelta
-import com.github.difflib.patch.InsertDelta
-import com.github.retrooper.compression.asPrimitiveMap
-import com.github.steveice10.opennbt.tag.builtin.CompoundTag
-import com.github.steveice10.opennbt.tag.builtin.IntTag
-import com.github.steveice10.opennbt.tag.builtin.StringTag
-import com.github.steveice10.opennbt.tag.builtin.Tag
-import com.google.gson.JsonObject
-import com.google.gson.JsonPrimitive
+import com.google.gson.JsonElement
+import java.util.*
 
-object JsonObjectCompressionStrategy : JsonCompressionStrategy() {
-
-    override fun serialize(tag: CompoundTag, json: JsonObject) {
-        val entries = separateVersions(json)
-        // we will remove the first entry, which is the oldest version
-        val oldestVersion = entries.pollFirstEntry()
-        tag.put("start", StringTag(oldestVersion.key.toString()))
-
-        val nbtEntries = CompoundTag()
-        var ent = oldestVersion.value.asJsonObject.asPrimitiveMap
-
-        val oldestVersionTag = CompoundTag()
-        for ((key, value) in ent) {
-            oldestVersionTag.put(key, value.asNbtTag)
-        }
-        nbtEntries.put(oldestVersion.key.toString(), oldestVersionTag)
-
-        for ((key, value) in entries) {
-            val map = value.asJsonObject.asPrimitiveMap
-            val algo = MeyersDiff.factory().create<Map.Entry<String, JsonPrimitive>> { a, b -> a == b }
-            val diff = DiffUtils.diff(ArrayList(ent.entries), ArrayList(map.entries), algo, null, false)
-
-            val versionTag = CompoundTag()
-            val additions = CompoundTag()
-            val removals = CompoundTag()
-            for (delta in diff.deltas) {
-                when (delta) {
-                    is InsertDelta<*> -> {
-                        for ((k, v) in delta.getTarget().lines) {
-                            additions.put(k, v.asNbtTag)
-                        }
-                    }
-
-                    is DeleteDelta<*> -> {
-                        for ((k, v) in delta.getSource().lines) {
-                            removals.put(k, v.asNbtTag)
-                        }
-                    }
-
-                    is ChangeDelta<*> -> {
-                        for ((k, v) in delta.getSource().lines) {
-                            removals.put(k, v.asNbtTag)
-                        }
-                        for ((k, v) in delta.getTarget().lines) {
-                            additions.put(k, v.asNbtTag)
-                        }
-                    }
-                }
-            }
-
-            versionTag.put("additions", additions)
-            versionTag.put("removals", removals)
-            nbtEntries.put(key.toString(), versionTag)
+/**
+ * Mappings of every version from names to their ids.
+ */
+object JsonObjectCompressionStrategy : IndexedCompressionStrategy() {
 
-            ent = map
+    override fun resolve(entries: JsonElement): Map<String, Int> {
+        val ids = TreeMap<String, Int>()
+        for ((name, id) in entries.asJsonObject.entrySet()) {
+            require(id.isJsonPrimitive && id.asJsonPrimitive.isNumber) { "Unknown id type for $name: $id" }
+            ids[name] = id.asInt
         }
-
-        tag.put("entries", nbtEntries)
-    }
-
-    private val JsonPrimitive.asNbtTag: Tag get() = if (isNumber) {
-        IntTag(asInt)
-    } else if (isString) {
-        StringTag(asString)
-    } else {
-        throw IllegalArgumentException("Unknown primitive type: $this")
+        return ids
     }
 
 }
@@ -35,6 +35,8 @@ import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.protocol.player.UserProfile;
 import com.github.retrooper.packetevents.settings.PacketEventsSettings;
 import com.github.retrooper.packetevents.util.LogManager;
+import com.github.retrooper.packetevents.util.ZlibPool;
+import com.github.retrooper.packetevents.util.mappings.RegistryBootstrap;
 import io.github.retrooper.packetevents.bstats.Metrics;
 import io.github.retrooper.packetevents.impl.netty.NettyManagerImpl;
 import io.github.retrooper.packetevents.impl.netty.manager.player.PlayerManagerAbstract;
@@ -180,6 +182,9 @@ public class BungeePacketEventsBuilder {
                     PacketEvents.SERVER_CHANNEL_HANDLER_NAME = "pe-connection-initializer-" + id;
                     PacketEvents.TIMEOUT_HANDLER_NAME = "pe-timeout-handler-" + id;
 
+                    if (settings.shouldPreloadRegistries()) {
+                        RegistryBootstrap.bootstrap();
+                    }
                     injector.inject();
                     loaded = true;
 
@@ -228,6 +233,8 @@ public class BungeePacketEventsBuilder {
                     injector.uninject();
                     // Unregister all our listeners
                     getEventManager().unregisterAllListeners();
+                    //Free the native zlib state of pooled inflaters and deflaters
+                    ZlibPool.shutdown();
                     initialized = false;
                 }
             }
@@ -19,10 +19,12 @@
 package io.github.retrooper.packetevents.handlers;
 
 import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
 import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.util.EventCreationUtil;
+import com.github.retrooper.packetevents.wrapper.ConfigurationPayloadCache;
 import io.github.retrooper.packetevents.injector.ServerConnectionInitializer;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
@@ -37,9 +39,11 @@ import java.util.List;
 public class PacketEventsDecoder extends MessageToMessageDecoder<ByteBuf> {
     public User user;
     public ProxiedPlayer player;
+    private final PacketEventRecycler eventRecycler;
 
     public PacketEventsDecoder(User user) {
         this.user = user;
+        this.eventRecycler = PacketEventRecycler.create();
     }
 
     public void read(ChannelHandlerContext ctx, ByteBuf byteBuf, List<Object> output) throws Exception {
@@ -47,23 +51,28 @@ public class PacketEventsDecoder extends MessageToMessageDecoder<ByteBuf> {
         try {
             int firstReaderIndex = transformed.readerIndex();
             PacketReceiveEvent packetReceiveEvent = EventCreationUtil.createReceiveEvent(ctx.channel(),
-                    user, player, transformed, false);
-            int readerIndex = transformed.readerIndex();
-            PacketEvents.getAPI().getEventManager().callEvent(packetReceiveEvent, () -> transformed.readerIndex(readerIndex));
-            if (!packetReceiveEvent.isCancelled()) {
-                if (packetReceiveEvent.getLastUsedWrapper() != null) {
-                    ByteBufHelper.clear(packetReceiveEvent.getByteBuf());
-                    packetReceiveEvent.getLastUsedWrapper().writeVarInt(packetReceiveEvent.getPacketId());
-                    packetReceiveEvent.getLastUsedWrapper().write();
+                    user, player, transformed, false, eventRecycler);
+            try {
+                PacketEvents.getAPI().getEventManager().callEvent(packetReceiveEvent);
+                if (!packetReceiveEvent.isCancelled()) {
+                    if (packetReceiveEvent.getLastUsedWrapper() != null) {
+                        ByteBufHelper.clear(packetReceiveEvent.getByteBuf());
+                        packetReceiveEvent.getLastUsedWrapper().writeVarInt(packetReceiveEvent.getPacketId());
+                        ConfigurationPayloadCache.write(packetReceiveEvent.getLastUsedWrapper());
+                    }
+                    else {
+                        transformed.readerIndex(firstReaderIndex);
+                    }
+                    output.add(transformed.retain());
                 }
-                else {
-                    transformed.readerIndex(firstReaderIndex);
+                if (packetReceiveEvent.hasPostTasks()) {
+                    for (Runnable task : packetReceiveEvent.getPostTasks()) {
+                        task.run();
+                    }
                 }
-                output.add(transformed.retain());
-            }
-            if (packetReceiveEvent.hasPostTasks()) {
-                for (Runnable task : packetReceiveEvent.getPostTasks()) {
-                    task.run();
+            } finally {
+                if (eventRecycler != null) {
+                    eventRecycler.release(packetReceiveEvent);
                 }
             }
         } finally {
@@ -0,0 +1,11 @@
+plugins {
+    java
+}
+
+// Only used to compile the api, the generated codecs have no dependency on it
+tasks {
+    withType<JavaCompile> {
+        options.encoding = Charsets.UTF_8.name()
+        options.release = 8
+    }
+}
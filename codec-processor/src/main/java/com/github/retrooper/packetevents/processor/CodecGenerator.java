@@ -0,0 +1,246 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.processor;
+
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the source of the codec class of a wrapper.
+ */
+final class CodecGenerator {
+    private static final String SERVER_VERSION = "com.github.retrooper.packetevents.manager.server.ServerVersion";
+    private static final String BYTE_BUF_HELPER = "com.github.retrooper.packetevents.netty.buffer.ByteBufHelper";
+    private static final String VERSIONED_CODEC = "com.github.retrooper.packetevents.wrapper.codec.VersionedCodec";
+    private static final String WRAPPER_CODEC = "com.github.retrooper.packetevents.wrapper.codec.WrapperCodec";
+
+    private final Types types;
+    private final String packageName;
+    private final String wrapperName;
+    private final String codecName;
+    private final List<String> versions;
+    private final Set<EncodedField> fields;
+    private final List<Layout> layouts;
+
+    private final Set<String> imports = new TreeSet<>();
+    private boolean angles;
+
+    CodecGenerator(Types types, String packageName, String wrapperName, List<String> versions,
+                   List<EncodedField> fields, List<Layout> layouts) {
+        this.types = types;
+        this.packageName = packageName;
+        this.wrapperName = wrapperName;
+        this.codecName = wrapperName + "Codec";
+        this.versions = versions;
+        this.fields = new LinkedHashSet<>(fields);
+        this.layouts = layouts;
+    }
+
+    String getCodecName() {
+        return codecName;
+    }
+
+    String generate() {
+        imports.add(VERSIONED_CODEC);
+        imports.add(WRAPPER_CODEC);
+        StringBuilder body = new StringBuilder();
+        appendCodec(body);
+        body.append("\n    private ").append(codecName).append("() {\n    }\n");
+        appendDelegates(body);
+        appendCopy(body);
+        for (Layout layout : layouts) {
+            String suffix = suffix(layout);
+            appendRead(body, suffix, layout.getFields());
+            appendWrite(body, suffix, layout.getFields());
+            appendEstimateSize(body, suffix, layout.getFields());
+        }
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n");
+        for (String name : imports) {
+            source.append("import ").append(name).append(";\n");
+        }
+        source.append("\n/**\n * Generated from the schema of {@link ").append(wrapperName).append("}, do not edit.\n */\n");
+        source.append("final class ").append(codecName).append(" {\n");
+        if (angles) {
+            source.append("    private static final float ROTATION_FACTOR = 256.0F / 360.0F;\n");
+        }
+        source.append(body).append("}\n");
+        return source.toString();
+    }
+
+    private void appendCodec(StringBuilder body) {
+        body.append("    private static final VersionedCodec<").append(wrapperName).append("> CODEC = VersionedCodec.resolve(");
+        if (layouts.size() == 1) {
+            body.append("version ->\n            ");
+            appendCodecOf(body, layouts.get(0), "                    ");
+            body.append(");\n");
+            return;
+        }
+        body.append("version -> {\n");
+        imports.add(SERVER_VERSION);
+        for (int i = 0; i < layouts.size(); i++) {
+            if (i + 1 < layouts.size()) {
+                String next = versions.get(layouts.get(i + 1).getSince());
+                body.append("        if (version.isOlderThan(ServerVersion.").append(next).append(")) {\n");
+                body.append("            return ");
+                appendCodecOf(body, layouts.get(i), "                    ");
+                body.append(";\n        }\n");
+            } else {
+                body.append("        return ");
+                appendCodecOf(body, layouts.get(i), "                ");
+                body.append(";\n");
+            }
+        }
+        body.append("    });\n");
+    }
+
+    private void appendCodecOf(StringBuilder body, Layout layout, String indent) {
+        String suffix = suffix(layout);
+        body.append("WrapperCodec.of(")
+                .append(codecName).append("::read").append(suffix).append(", ")
+                .append(codecName).append("::write").append(suffix).append(",\n")
+                .append(indent)
+                .append(codecName).append("::estimateSize").append(suffix).append(')');
+    }
+
+    private void appendDelegates(StringBuilder body) {
+        body.append('\n');
+        body.append("    static void read(").append(wrapperName).append(" wrapper) {\n");
+        body.append("        CODEC.reader(wrapper.getServerVersion()).read(wrapper);\n    }\n\n");
+        body.append("    static void write(").append(wrapperName).append(" wrapper) {\n");
+        body.append("        CODEC.writer(wrapper.getServerVersion()).write(wrapper);\n    }\n\n");
+        body.append("    static int estimateSize(").append(wrapperName).append(" wrapper) {\n");
+        body.append("        return CODEC.sizer(wrapper.getServerVersion()).estimateSize(wrapper);\n    }\n");
+    }
+
+    private void appendCopy(StringBuilder body) {
+        body.append("\n    static void copy(").append(wrapperName).append(" from, ")
+                .append(wrapperName).append(" to) {\n");
+        Set<String> copied = new LinkedHashSet<>();
+        for (EncodedField field : fields) {
+            if (copied.add(field.getName())) {
+                body.append("        to.").append(field.getName()).append(" = from.").append(field.getName()).append(";\n");
+            }
+        }
+        body.append("    }\n");
+    }
+
+    private void appendRead(StringBuilder body, String suffix, List<EncodedField> encoded) {
+        body.append("\n    private static void read").append(suffix).append('(').append(wrapperName).append(" wrapper) {\n");
+        for (EncodedField field : encoded) {
+            Encoding encoding = field.getEncoding();
+            body.append("        wrapper.").append(field.getName()).append(" = ");
+            if (encoding == Encoding.ANGLE) {
+                angles = true;
+                body.append("wrapper.readByte() / ROTATION_FACTOR;\n");
+                continue;
+            }
+            if (encoding.getDeclaredType() == null) {
+                body.append(cast(types.getPrimitiveType(encoding.getReadKind()), field.getElement().asType()));
+            }
+            body.append("wrapper.").append(encoding.getReadMethod()).append("();\n");
+        }
+        body.append("    }\n");
+    }
+
+    private void appendWrite(StringBuilder body, String suffix, List<EncodedField> encoded) {
+        body.append("\n    private static void write").append(suffix).append('(').append(wrapperName).append(" wrapper) {\n");
+        for (EncodedField field : encoded) {
+            Encoding encoding = field.getEncoding();
+            body.append("        wrapper.").append(encoding.getWriteMethod()).append('(');
+            if (encoding == Encoding.ANGLE) {
+                body.append("(int) (wrapper.").append(field.getName()).append(" * ROTATION_FACTOR));\n");
+                continue;
+            }
+            if (encoding.getDeclaredType() == null) {
+                body.append(cast(field.getElement().asType(), types.getPrimitiveType(encoding.getWriteKind())));
+            }
+            body.append("wrapper.").append(field.getName()).append(");\n");
+        }
+        body.append("    }\n");
+    }
+
+    private void appendEstimateSize(StringBuilder body, String suffix, List<EncodedField> encoded) {
+        body.append("\n    private static int estimateSize").append(suffix).append('(').append(wrapperName).append(" wrapper) {\n");
+        int fixedSize = 0;
+        List<String> variable = new ArrayList<>();
+        for (EncodedField field : encoded) {
+            Encoding encoding = field.getEncoding();
+            if (encoding.getFixedSize() >= 0) {
+                fixedSize += encoding.getFixedSize();
+                continue;
+            }
+            imports.add(BYTE_BUF_HELPER);
+            String value = "wrapper." + field.getName();
+            switch (encoding) {
+                case VAR_INT:
+                    variable.add("ByteBufHelper.getVarIntSize("
+                            + cast(field.getElement().asType(), types.getPrimitiveType(TypeKind.INT)) + value + ")");
+                    break;
+                case VAR_LONG:
+                    variable.add("ByteBufHelper.getVarLongSize(" + value + ")");
+                    break;
+                default:
+                    variable.add("ByteBufHelper.estimateStringSize(" + value + ")");
+                    break;
+            }
+        }
+        if (fixedSize > 0 || variable.isEmpty()) {
+            variable.add(0, Integer.toString(fixedSize));
+        }
+        body.append("        return ").append(String.join("\n                + ", variable)).append(";\n    }\n");
+    }
+
+    private String cast(TypeMirror from, TypeMirror to) {
+        return types.isAssignable(from, to) ? "" : "(" + to + ") ";
+    }
+
+    private String suffix(Layout layout) {
+        // V_1_8_8 -> V1_8_8, the way hand-written codec methods are named
+        return "V" + versions.get(layout.getSince()).substring(2);
+    }
+
+    /**
+     * The fields encoded from a server version until the next layout.
+     */
+    static final class Layout {
+        private final int since;
+        private final List<EncodedField> fields;
+
+        Layout(int since, List<EncodedField> fields) {
+            this.since = since;
+            this.fields = fields;
+        }
+
+        int getSince() {
+            return since;
+        }
+
+        List<EncodedField> getFields() {
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.processor;
+
+import javax.lang.model.element.VariableElement;
+
+/**
+ * One encoding of a wrapper field, between the indices of two server versions.
+ */
+final class EncodedField {
+    private final VariableElement element;
+    private final Encoding encoding;
+    private final int since;
+    private final int until;
+
+    EncodedField(VariableElement element, Encoding encoding, int since, int until) {
+        this.element = element;
+        this.encoding = encoding;
+        this.since = since;
+        this.until = until;
+    }
+
+    VariableElement getElement() {
+        return element;
+    }
+
+    String getName() {
+        return element.getSimpleName().toString();
+    }
+
+    Encoding getEncoding() {
+        return encoding;
+    }
+
+    int getSince() {
+        return since;
+    }
+
+    int getUntil() {
+        return until;
+    }
+
+    boolean isEncodedIn(int version) {
+        return since <= version && version <= until;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.processor;
+
+import javax.lang.model.type.TypeKind;
+
+/**
+ * Mirrors the FieldType enum of the api, with the wrapper methods every type is read and written with.
+ */
+enum Encoding {
+    BOOLEAN("Boolean", TypeKind.BOOLEAN, TypeKind.BOOLEAN, 1),
+    BYTE("Byte", TypeKind.BYTE, TypeKind.INT, 1),
+    UNSIGNED_BYTE("UnsignedByte", "Byte", TypeKind.SHORT, TypeKind.INT, 1),
+    SHORT("Short", TypeKind.SHORT, TypeKind.INT, 2),
+    UNSIGNED_SHORT("UnsignedShort", "Short", TypeKind.INT, TypeKind.INT, 2),
+    INT("Int", TypeKind.INT, TypeKind.INT, 4),
+    VAR_INT("VarInt", TypeKind.INT, TypeKind.INT, -1),
+    LONG("Long", TypeKind.LONG, TypeKind.LONG, 8),
+    VAR_LONG("VarLong", TypeKind.LONG, TypeKind.LONG, -1),
+    FLOAT("Float", TypeKind.FLOAT, TypeKind.FLOAT, 4),
+    DOUBLE("Double", TypeKind.DOUBLE, TypeKind.DOUBLE, 8),
+    ANGLE("Byte", TypeKind.FLOAT, TypeKind.FLOAT, 1),
+    STRING("String", "java.lang.String", -1),
+    UUID("UUID", "java.util.UUID", 16);
+
+    private final String readMethod;
+    private final String writeMethod;
+    private final TypeKind readKind;
+    private final TypeKind writeKind;
+    private final String declaredType;
+    private final int fixedSize;
+
+    Encoding(String name, TypeKind readKind, TypeKind writeKind, int fixedSize) {
+        this(name, name, readKind, writeKind, fixedSize);
+    }
+
+    Encoding(String readName, String writeName, TypeKind readKind, TypeKind writeKind, int fixedSize) {
+        this.readMethod = "read" + readName;
+        this.writeMethod = "write" + writeName;
+        this.readKind = readKind;
+        this.writeKind = writeKind;
+        this.declaredType = null;
+        this.fixedSize = fixedSize;
+    }
+
+    Encoding(String name, String declaredType, int fixedSize) {
+        this.readMethod = "read" + name;
+        this.writeMethod = "write" + name;
+        this.readKind = TypeKind.DECLARED;
+        this.writeKind = TypeKind.DECLARED;
+        this.declaredType = declaredType;
+        this.fixedSize = fixedSize;
+    }
+
+    String getReadMethod() {
+        return readMethod;
+    }
+
+    String getWriteMethod() {
+        return writeMethod;
+    }
+
+    TypeKind getReadKind() {
+        return readKind;
+    }
+
+    TypeKind getWriteKind() {
+        return writeKind;
+    }
+
+    /**
+     * @return Qualified name of the class the field must be declared as, null for primitive encodings
+     */
+    String getDeclaredType() {
+        return declaredType;
+    }
+
+    /**
+     * @return Number of bytes the type is always encoded with, -1 if it depends on the value
+     */
+    int getFixedSize() {
+        return fixedSize;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.retrooper.packetevents.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates the codec of every wrapper annotated with WrapperSchema, from the SchemaField annotations of its fields.
+ * <p>
+ * The server versions are taken from the declaration order of the ServerVersion enum, so that the codecs follow
+ * new versions without changes to the processor. The annotations are matched by name,
+ * as the processor is built before the api it processes.
+ */
+public class WrapperSchemaProcessor extends AbstractProcessor {
+    private static final String WRAPPER_SCHEMA = "com.github.retrooper.packetevents.wrapper.codec.WrapperSchema";
+    private static final String SCHEMA_FIELD = "com.github.retrooper.packetevents.wrapper.codec.SchemaField";
+    private static final String SCHEMA_FIELD_LIST = SCHEMA_FIELD + ".List";
+    private static final String SERVER_VERSION = "com.github.retrooper.packetevents.manager.server.ServerVersion";
+    // Last constant of ServerVersion, it is not a version
+    private static final String ERROR_VERSION = "ERROR";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(WRAPPER_SCHEMA);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+        List<String> versions = readVersions();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS
+                        || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL) {
+                    error(element, "@WrapperSchema is only supported on top level wrapper classes");
+                    continue;
+                }
+                generate((TypeElement) element, versions);
+            }
+        }
+        return true;
+    }
+
+    private List<String> readVersions() {
+        List<String> versions = new ArrayList<>();
+        TypeElement serverVersion = processingEnv.getElementUtils().getTypeElement(SERVER_VERSION);
+        for (Element constant : serverVersion.getEnclosedElements()) {
+            if (constant.getKind() == ElementKind.ENUM_CONSTANT
+                    && !constant.getSimpleName().contentEquals(ERROR_VERSION)) {
+                versions.add(constant.getSimpleName().toString());
+            }
+        }
+        return versions;
+    }
+
+    private void generate(TypeElement wrapper, List<String> versions) {
+        List<EncodedField> fields = new ArrayList<>();
+        for (Element element : wrapper.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            VariableElement field = (VariableElement) element;
+            for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+                String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+                if (name.equals(SCHEMA_FIELD)) {
+                    fields.add(readField(field, mirror, versions));
+                } else if (name.equals(SCHEMA_FIELD_LIST)) {
+                    for (Object value : (List<?>) value(mirror, "value")) {
+                        fields.add(readField(field, (AnnotationMirror) ((AnnotationValue) value).getValue(), versions));
+                    }
+                }
+            }
+        }
+        if (!validate(wrapper, fields)) {
+            return;
+        }
+        List<CodecGenerator.Layout> layouts = layout(wrapper, fields, versions);
+        if (layouts == null) {
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(wrapper).getQualifiedName().toString();
+        CodecGenerator generator = new CodecGenerator(processingEnv.getTypeUtils(), packageName,
+                wrapper.getSimpleName().toString(), versions, fields, layouts);
+        String source = generator.generate();
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(packageName + "." + generator.getCodecName(), wrapper).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            error(wrapper, "Failed to write the codec: " + e.getMessage());
+        }
+    }
+
+    private EncodedField readField(VariableElement field, AnnotationMirror mirror, List<String> versions) {
+        Encoding encoding = Encoding.valueOf(((VariableElement) value(mirror, "value")).getSimpleName().toString());
+        String since = ((VariableElement) value(mirror, "since")).getSimpleName().toString();
+        String until = ((VariableElement) value(mirror, "until")).getSimpleName().toString();
+        return new EncodedField(field, encoding, versions.indexOf(since),
+                until.equals(ERROR_VERSION) ? versions.size() - 1 : versions.indexOf(until));
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalStateException("Missing annotation value " + name);
+    }
+
+    private boolean validate(TypeElement wrapper, List<EncodedField> fields) {
+        boolean valid = true;
+        if (fields.isEmpty()) {
+            error(wrapper, "Wrapper schema without any @SchemaField");
+            valid = false;
+        }
+        for (EncodedField field : fields) {
+            VariableElement element = field.getElement();
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+                    || modifiers.contains(Modifier.FINAL)) {
+                error(element, "@SchemaField fields must not be private, static or final");
+                valid = false;
+            }
+            if (field.getSince() < 0 || field.getSince() > field.getUntil()) {
+                error(element, "@SchemaField is encoded in no server version");
+                valid = false;
+            }
+            if (!accepts(field.getEncoding(), element.asType())) {
+                error(element, "@SchemaField of type " + field.getEncoding() + " can't be stored in " + element.asType());
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private boolean accepts(Encoding encoding, TypeMirror type) {
+        switch (encoding) {
+            case BOOLEAN:
+                return type.getKind() == TypeKind.BOOLEAN;
+            case ANGLE:
+                return type.getKind() == TypeKind.FLOAT;
+            case STRING:
+            case UUID:
+                return type.getKind() == TypeKind.DECLARED && processingEnv.getTypeUtils().isSameType(type,
+                        processingEnv.getElementUtils().getTypeElement(encoding.getDeclaredType()).asType());
+            default:
+                return type.getKind().isPrimitive() && type.getKind() != TypeKind.BOOLEAN;
+        }
+    }
+
+    /**
+     * Splits the server versions into ranges in which the same fields are encoded the same way.
+     */
+    private List<CodecGenerator.Layout> layout(TypeElement wrapper, List<EncodedField> fields, List<String> versions) {
+        Set<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        for (EncodedField field : fields) {
+            boundaries.add(field.getSince());
+            if (field.getUntil() + 1 < versions.size()) {
+                boundaries.add(field.getUntil() + 1);
+            }
+        }
+
+        List<CodecGenerator.Layout> layouts = new ArrayList<>();
+        for (int since : boundaries) {
+            List<EncodedField> encoded = new ArrayList<>();
+            Set<String> names = new TreeSet<>();
+            for (EncodedField field : fields) {
+                if (!field.isEncodedIn(since)) {
+                    continue;
+                }
+                if (!names.add(field.getName())) {
+                    error(field.getElement(), "@SchemaField ranges of " + field.getName() + " overlap in "
+                            + versions.get(since));
+                    return null;
+                }
+                encoded.add(field);
+            }
+            if (layouts.isEmpty() || !layouts.get(layouts.size() - 1).getFields().equals(encoded)) {
+                layouts.add(new CodecGenerator.Layout(since, encoded));
+            }
+        }
+        return layouts;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
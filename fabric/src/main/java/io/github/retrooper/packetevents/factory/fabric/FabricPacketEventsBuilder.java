@@ -16,6 +16,8 @@ import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.settings.PacketEventsSettings;
 import com.github.retrooper.packetevents.util.LogManager;
+import com.github.retrooper.packetevents.util.ZlibPool;
+import com.github.retrooper.packetevents.util.mappings.RegistryBootstrap;
 import com.github.retrooper.packetevents.util.reflection.ReflectionObject;
 import io.github.retrooper.packetevents.handler.PacketDecoder;
 import io.github.retrooper.packetevents.handler.PacketEncoder;
@@ -173,6 +175,9 @@ public class FabricPacketEventsBuilder {
                     PacketEvents.CONNECTION_HANDLER_NAME = "pe-connection-handler-" + id;
                     PacketEvents.SERVER_CHANNEL_HANDLER_NAME = "pe-connection-initializer-" + id;
 
+                    if (settings.shouldPreloadRegistries()) {
+                        RegistryBootstrap.bootstrap();
+                    }
                     injector.inject();
 
                     loaded = true;
@@ -227,6 +232,8 @@ public class FabricPacketEventsBuilder {
                     injector.uninject();
                     //Unregister all our listeners
                     getEventManager().unregisterAllListeners();
+                    //Free the native zlib state of pooled inflaters and deflaters
+                    ZlibPool.shutdown();
                     initialized = false;
                 }
             }
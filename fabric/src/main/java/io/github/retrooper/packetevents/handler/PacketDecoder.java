@@ -1,6 +1,7 @@
 package io.github.retrooper.packetevents.handler;
 
 import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
 import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.util.PacketEventsImplHelper;
 import io.netty.buffer.ByteBuf;
@@ -20,9 +21,11 @@ public class PacketDecoder extends MessageToMessageDecoder<ByteBuf> {
     public User user;
     public LocalPlayer player;
     public boolean checkedCompression;
+    private final PacketEventRecycler eventRecycler;
 
     public PacketDecoder(User user) {
         this.user = user;
+        this.eventRecycler = PacketEventRecycler.create();
     }
 
     @Override
@@ -30,7 +33,7 @@ public class PacketDecoder extends MessageToMessageDecoder<ByteBuf> {
         if (msg.isReadable()) {
             ByteBuf outputBuffer = ctx.alloc().buffer().writeBytes(msg);
             boolean recompress = handleCompression(ctx, outputBuffer);
-            PacketEventsImplHelper.handleClientBoundPacket(ctx.channel(), user, player, outputBuffer, false);
+            PacketEventsImplHelper.handleClientBoundPacket(ctx.channel(), user, player, outputBuffer, false, eventRecycler);
             //TODO hasTasksAfter
             if (outputBuffer.isReadable()) {
                 if (recompress) {
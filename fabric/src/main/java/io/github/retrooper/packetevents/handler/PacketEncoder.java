@@ -1,6 +1,7 @@
 package io.github.retrooper.packetevents.handler;
 
 import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
 import com.github.retrooper.packetevents.protocol.player.User;
@@ -19,9 +20,11 @@ import net.minecraft.client.player.LocalPlayer;
 public class PacketEncoder extends MessageToByteEncoder<ByteBuf> {
     public User user;
     public LocalPlayer player;
+    private final PacketEventRecycler eventRecycler;
 
     public PacketEncoder(User user) {
         this.user = user;
+        this.eventRecycler = PacketEventRecycler.create();
     }
 
     @Override
@@ -61,7 +64,7 @@ public class PacketEncoder extends MessageToByteEncoder<ByteBuf> {
     @Override
     protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) throws Exception {
         if (msg.isReadable()) {
-            PacketEventsImplHelper.handleServerBoundPacket(ctx.channel(), user, player, msg, false);
+            PacketEventsImplHelper.handleServerBoundPacket(ctx.channel(), user, player, msg, false, eventRecycler);
             out.writeBytes(msg);
         }
     }
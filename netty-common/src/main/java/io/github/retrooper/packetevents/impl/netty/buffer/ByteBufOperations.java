@@ -0,0 +1,288 @@
+/*
+ * This file is part of packetevents - https://github.com/retrooper/packetevents
+ * Copyright (C) 2024 retrooper and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package io.github.retrooper.packetevents.impl.netty.buffer;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codecs operating directly on netty buffers, shared by every {@link com.github.retrooper.packetevents.netty.buffer.ByteBufOperator}
+ * implementation. Only methods available in both netty 4.0 and 4.1 may be used here.
+ */
+public final class ByteBufOperations {
+    private static final int MAX_VAR_INT_SIZE = 5;
+    private static final int MAX_VAR_LONG_SIZE = 10;
+
+    private ByteBufOperations() {
+    }
+
+    public static int readVarInt(ByteBuf buffer) {
+        int readerIndex = buffer.readerIndex();
+        // Fast path, one bounds check for the whole varint
+        if (buffer.hasArray() && buffer.writerIndex() - readerIndex >= MAX_VAR_INT_SIZE) {
+            byte[] array = buffer.array();
+            int start = buffer.arrayOffset() + readerIndex;
+            int index = start;
+            int value;
+            byte b = array[index++];
+            if (b >= 0) {
+                value = b;
+            } else {
+                value = b & 0x7F;
+                if ((b = array[index++]) >= 0) {
+                    value |= b << 7;
+                } else {
+                    value |= (b & 0x7F) << 7;
+                    if ((b = array[index++]) >= 0) {
+                        value |= b << 14;
+                    } else {
+                        value |= (b & 0x7F) << 14;
+                        if ((b = array[index++]) >= 0) {
+                            value |= b << 21;
+                        } else {
+                            value |= (b & 0x7F) << 21;
+                            b = array[index++];
+                            if (b < 0) {
+                                throw new RuntimeException("VarInt is too large. Must be smaller than 5 bytes.");
+                            }
+                            value |= b << 28;
+                        }
+                    }
+                }
+            }
+            buffer.readerIndex(readerIndex + (index - start));
+            return value;
+        }
+
+        int value = 0;
+        int length = 0;
+        byte currentByte;
+        do {
+            currentByte = buffer.readByte();
+            value |= (currentByte & 0x7F) << (length * 7);
+            length++;
+            if (length > MAX_VAR_INT_SIZE) {
+                throw new RuntimeException("VarInt is too large. Must be smaller than 5 bytes.");
+            }
+        } while ((currentByte & 0x80) == 0x80);
+        return value;
+    }
+
+    public static void writeVarInt(ByteBuf buffer, int value) {
+        // Write every size with a single call, instead of writing byte by byte
+        if ((value & (-1 << 7)) == 0) {
+            buffer.writeByte(value);
+        } else if ((value & (-1 << 14)) == 0) {
+            buffer.writeShort((value & 0x7F | 0x80) << 8 | (value >>> 7));
+        } else if ((value & (-1 << 21)) == 0) {
+            buffer.writeMedium((value & 0x7F | 0x80) << 16
+                    | ((value >>> 7) & 0x7F | 0x80) << 8
+                    | (value >>> 14));
+        } else if ((value & (-1 << 28)) == 0) {
+            buffer.writeInt((value & 0x7F | 0x80) << 24
+                    | ((value >>> 7) & 0x7F | 0x80) << 16
+                    | ((value >>> 14) & 0x7F | 0x80) << 8
+                    | (value >>> 21));
+        } else {
+            buffer.writeInt((value & 0x7F | 0x80) << 24
+                    | ((value >>> 7) & 0x7F | 0x80) << 16
+                    | ((value >>> 14) & 0x7F | 0x80) << 8
+                    | ((value >>> 21) & 0x7F | 0x80));
+            buffer.writeByte(value >>> 28);
+        }
+    }
+
+    public static long readVarLong(ByteBuf buffer) {
+        int readerIndex = buffer.readerIndex();
+        if (buffer.hasArray() && buffer.writerIndex() - readerIndex >= MAX_VAR_LONG_SIZE) {
+            byte[] array = buffer.array();
+            int start = buffer.arrayOffset() + readerIndex;
+            int index = start;
+            long value = 0;
+            byte b;
+            int shift = 0;
+            do {
+                if (shift == MAX_VAR_LONG_SIZE * 7) {
+                    throw new RuntimeException("VarLong is too large. Must be smaller than 10 bytes.");
+                }
+                b = array[index++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            buffer.readerIndex(readerIndex + (index - start));
+            return value;
+        }
+
+        long value = 0;
+        int length = 0;
+        byte currentByte;
+        do {
+            currentByte = buffer.readByte();
+            value |= (long) (currentByte & 0x7F) << (length * 7);
+            length++;
+            if (length > MAX_VAR_LONG_SIZE) {
+                throw new RuntimeException("VarLong is too large. Must be smaller than 10 bytes.");
+            }
+        } while ((currentByte & 0x80) == 0x80);
+        return value;
+    }
+
+    public static void writeVarLong(ByteBuf buffer, long value) {
+        if ((value & ~0x7FL) == 0) {
+            buffer.writeByte((int) value);
+            return;
+        }
+        buffer.ensureWritable(MAX_VAR_LONG_SIZE);
+        int writerIndex = buffer.writerIndex();
+        while ((value & ~0x7FL) != 0) {
+            buffer.setByte(writerIndex++, (int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer.setByte(writerIndex++, (int) value);
+        buffer.writerIndex(writerIndex);
+    }
+
+    public static void readVarIntArray(ByteBuf buffer, int[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readVarInt(buffer);
+        }
+    }
+
+    public static void writeVarIntArray(ByteBuf buffer, int[] array) {
+        // Grow the buffer at most once
+        int size = 0;
+        for (int value : array) {
+            size += ByteBufHelper.getVarIntSize(value);
+        }
+        buffer.ensureWritable(size);
+        for (int value : array) {
+            writeVarInt(buffer, value);
+        }
+    }
+
+    public static void readVarLongArray(ByteBuf buffer, long[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readVarLong(buffer);
+        }
+    }
+
+    public static void writeVarLongArray(ByteBuf buffer, long[] array) {
+        int size = 0;
+        for (long value : array) {
+            size += ByteBufHelper.getVarLongSize(value);
+        }
+        buffer.ensureWritable(size);
+        for (long value : array) {
+            writeVarLong(buffer, value);
+        }
+    }
+
+    public static void readLongs(ByteBuf buffer, long[] array) {
+        int readerIndex = buffer.readerIndex();
+        if (buffer.readableBytes() < array.length * 8) {
+            throw new IndexOutOfBoundsException("Not enough readable bytes for " + array.length + " longs");
+        }
+        for (int i = 0; i < array.length; i++) {
+            array[i] = buffer.getLong(readerIndex);
+            readerIndex += 8;
+        }
+        buffer.readerIndex(readerIndex);
+    }
+
+    public static void writeLongs(ByteBuf buffer, long[] array) {
+        // One capacity check for the whole array, then plain absolute sets
+        buffer.ensureWritable(array.length * 8);
+        int writerIndex = buffer.writerIndex();
+        for (long value : array) {
+            buffer.setLong(writerIndex, value);
+            writerIndex += 8;
+        }
+        buffer.writerIndex(writerIndex);
+    }
+
+    public static String readUtf8(ByteBuf buffer, int length) {
+        int index = buffer.readerIndex();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + index, length, StandardCharsets.UTF_8);
+        } else {
+            value = buffer.toString(index, length, StandardCharsets.UTF_8);
+        }
+        buffer.readerIndex(index + length);
+        return value;
+    }
+
+    public static void writeUtf8(ByteBuf buffer, String value, int utf8Length) {
+        buffer.ensureWritable(utf8Length);
+        int charCount = value.length();
+        int writerIndex = buffer.writerIndex();
+        int i = 0;
+        // ASCII fast path, writes straight into the backing array if there is one
+        if (buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset() + writerIndex;
+            for (; i < charCount; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                array[offset + i] = (byte) c;
+            }
+        } else {
+            for (; i < charCount; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                buffer.setByte(writerIndex + i, c);
+            }
+        }
+        writerIndex += i;
+
+        for (; i < charCount; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.setByte(writerIndex++, c);
+            } else if (c < 0x800) {
+                buffer.setByte(writerIndex++, 0xC0 | (c >> 6));
+                buffer.setByte(writerIndex++, 0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < charCount
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.setByte(writerIndex++, 0xF0 | (codePoint >> 18));
+                    buffer.setByte(writerIndex++, 0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer.setByte(writerIndex++, 0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer.setByte(writerIndex++, 0x80 | (codePoint & 0x3F));
+                } else {
+                    // Same replacement as String#getBytes
+                    buffer.setByte(writerIndex++, '?');
+                }
+            } else {
+                buffer.setByte(writerIndex++, 0xE0 | (c >> 12));
+                buffer.setByte(writerIndex++, 0x80 | ((c >> 6) & 0x3F));
+                buffer.setByte(writerIndex++, 0x80 | (c & 0x3F));
+            }
+        }
+        buffer.writerIndex(writerIndex);
+    }
+}
@@ -114,4 +114,9 @@ public class ChannelOperatorImpl implements ChannelOperator {
     public Object pooledByteBuf(Object channel) {
         return ((Channel) channel).alloc().buffer();
     }
+
+    @Override
+    public Object pooledByteBuf(Object channel, int initialCapacity) {
+        return ((Channel) channel).alloc().buffer(initialCapacity);
+    }
 }
@@ -28,6 +28,8 @@ import com.github.retrooper.packetevents.manager.server.ServerManager;
 import com.github.retrooper.packetevents.netty.NettyManager;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.settings.PacketEventsSettings;
+import com.github.retrooper.packetevents.util.ZlibPool;
+import com.github.retrooper.packetevents.util.mappings.RegistryBootstrap;
 import io.github.retrooper.packetevents.impl.netty.BuildData;
 import io.github.retrooper.packetevents.impl.netty.NettyManagerImpl;
 import io.github.retrooper.packetevents.impl.netty.manager.player.PlayerManagerAbstract;
@@ -91,6 +93,9 @@ public class NettyPacketEventsBuilder {
                     PacketEvents.CONNECTION_HANDLER_NAME = "pe-connection-handler-" + data.getName().toLowerCase();
                     PacketEvents.SERVER_CHANNEL_HANDLER_NAME = "pe-connection-initializer-" + data.getName().toLowerCase();
                     PacketEvents.TIMEOUT_HANDLER_NAME = "pe-timeout-handler-" + data.getName().toLowerCase();
+                    if (settings.shouldPreloadRegistries()) {
+                        RegistryBootstrap.bootstrap();
+                    }
                     injector.inject();
 
                     loaded = true;
@@ -135,6 +140,8 @@ public class NettyPacketEventsBuilder {
                     injector.uninject();
                     //Unregister all our listeners
                     getEventManager().unregisterAllListeners();
+                    //Free the native zlib state of pooled inflaters and deflaters
+                    ZlibPool.shutdown();
                     initialized = false;
                 }
             }
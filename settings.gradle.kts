@@ -23,11 +23,15 @@ pluginManagement {
 
 rootProject.name = "packetevents"
 include("api")
+// Generates the wrapper codecs of the api
+include("codec-processor")
 include("netty-common")
 // Platform modules
 include("spigot")
 include("bungeecord")
 include("velocity")
 include("fabric")
+// Benchmark modules
+include("benchmarks")
 // Patch modules
 include(":patch:adventure-text-serializer-gson")
\ No newline at end of file
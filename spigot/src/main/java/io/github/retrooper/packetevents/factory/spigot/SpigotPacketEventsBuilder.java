@@ -30,6 +30,8 @@ import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
 import com.github.retrooper.packetevents.settings.PacketEventsSettings;
 import com.github.retrooper.packetevents.util.LogManager;
+import com.github.retrooper.packetevents.util.ZlibPool;
+import com.github.retrooper.packetevents.util.mappings.RegistryBootstrap;
 import io.github.retrooper.packetevents.bstats.Metrics;
 import io.github.retrooper.packetevents.bukkit.InternalBukkitListener;
 import io.github.retrooper.packetevents.injector.SpigotChannelInjector;
@@ -102,7 +104,11 @@ public class SpigotPacketEventsBuilder {
                     try {
                         SpigotReflectionUtil.init();
                         CustomPipelineUtil.init();
-                        WrappedBlockState.ensureLoad();
+                        if (settings.shouldPreloadRegistries()) {
+                            RegistryBootstrap.bootstrap();
+                        } else {
+                            WrappedBlockState.ensureLoad();
+                        }
                     } catch (Exception ex) {
                         throw new IllegalStateException(ex);
                     }
@@ -221,6 +227,8 @@ public class SpigotPacketEventsBuilder {
                     }
                     //Unregister all listeners. Because if we attempt to reload, we will end up with duplicate listeners.
                     getEventManager().unregisterAllListeners();
+                    //Free the native zlib state of pooled inflaters and deflaters
+                    ZlibPool.shutdown();
                     initialized = false;
                 }
             }
@@ -19,6 +19,7 @@
 package io.github.retrooper.packetevents.injector.handlers;
 
 import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
 import com.github.retrooper.packetevents.exception.PacketProcessException;
 import com.github.retrooper.packetevents.protocol.ConnectionState;
 import com.github.retrooper.packetevents.protocol.player.User;
@@ -41,19 +42,22 @@ public class PacketEventsDecoder extends MessageToMessageDecoder<ByteBuf> {
     public User user;
     public Player player;
     public boolean hasBeenRelocated;
+    private final PacketEventRecycler eventRecycler;
 
     public PacketEventsDecoder(User user) {
         this.user = user;
+        this.eventRecycler = PacketEventRecycler.create();
     }
 
     public PacketEventsDecoder(PacketEventsDecoder decoder) {
         user = decoder.user;
         player = decoder.player;
         hasBeenRelocated = decoder.hasBeenRelocated;
+        eventRecycler = decoder.eventRecycler;
     }
 
     public void read(ChannelHandlerContext ctx, ByteBuf input, List<Object> out) throws Exception {
-        PacketEventsImplHelper.handleServerBoundPacket(ctx.channel(), user, player, input, true);
+        PacketEventsImplHelper.handleServerBoundPacket(ctx.channel(), user, player, input, true, eventRecycler);
         out.add(input.retain());
     }
 
@@ -19,6 +19,7 @@
 package io.github.retrooper.packetevents.injector.handlers;
 
 import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.exception.CancelPacketException;
 import com.github.retrooper.packetevents.exception.InvalidDisconnectPacketSend;
@@ -48,10 +49,12 @@ public class PacketEventsEncoder extends MessageToMessageEncoder<ByteBuf> {
     public Player player;
     private boolean handledCompression = COMPRESSION_ENABLED_EVENT != null;
     private ChannelPromise promise;
+    private final PacketEventRecycler eventRecycler;
     public static final Object COMPRESSION_ENABLED_EVENT = paperCompressionEnabledEvent();
 
     public PacketEventsEncoder(User user) {
         this.user = user;
+        this.eventRecycler = PacketEventRecycler.create();
     }
 
     public PacketEventsEncoder(ChannelHandler encoder) {
@@ -59,6 +62,7 @@ public class PacketEventsEncoder extends MessageToMessageEncoder<ByteBuf> {
         player = ((PacketEventsEncoder) encoder).player;
         handledCompression = ((PacketEventsEncoder) encoder).handledCompression;
         promise = ((PacketEventsEncoder) encoder).promise;
+        eventRecycler = ((PacketEventsEncoder) encoder).eventRecycler;
     }
 
     @Override
@@ -79,8 +83,9 @@ public class PacketEventsEncoder extends MessageToMessageEncoder<ByteBuf> {
     }
 
     private PacketSendEvent handleClientBoundPacket(Channel channel, User user, Object player, ByteBuf buffer, ChannelPromise promise) throws Exception {
-        PacketSendEvent packetSendEvent = PacketEventsImplHelper.handleClientBoundPacket(channel, user, player, buffer, true);
-        if (packetSendEvent.hasTasksAfterSend()) {
+        PacketSendEvent packetSendEvent = PacketEventsImplHelper.handleClientBoundPacket(channel, user, player, buffer, true, eventRecycler);
+        // Recycled events are never returned, events with tasks after send are never recycled
+        if (packetSendEvent != null && packetSendEvent.hasTasksAfterSend()) {
             promise.addListener((p) -> {
                 for (Runnable task : packetSendEvent.getTasksAfterSend()) {
                     task.run();
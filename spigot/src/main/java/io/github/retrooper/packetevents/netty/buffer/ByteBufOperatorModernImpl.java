@@ -19,6 +19,7 @@
 package io.github.retrooper.packetevents.netty.buffer;
 
 import com.github.retrooper.packetevents.netty.buffer.ByteBufOperator;
+import io.github.retrooper.packetevents.impl.netty.buffer.ByteBufOperations;
 import io.netty.buffer.ByteBuf;
 
 import java.nio.charset.Charset;
@@ -215,6 +216,71 @@ public class ByteBufOperatorModernImpl implements ByteBufOperator {
         return ((ByteBuf)buffer).toString(index, length, charset);
     }
 
+    @Override
+    public int readVarInt(Object buffer) {
+        return ByteBufOperations.readVarInt((ByteBuf) buffer);
+    }
+
+    @Override
+    public void writeVarInt(Object buffer, int value) {
+        ByteBufOperations.writeVarInt((ByteBuf) buffer, value);
+    }
+
+    @Override
+    public long readVarLong(Object buffer) {
+        return ByteBufOperations.readVarLong((ByteBuf) buffer);
+    }
+
+    @Override
+    public void writeVarLong(Object buffer, long value) {
+        ByteBufOperations.writeVarLong((ByteBuf) buffer, value);
+    }
+
+    @Override
+    public void readVarIntArray(Object buffer, int[] array) {
+        ByteBufOperations.readVarIntArray((ByteBuf) buffer, array);
+    }
+
+    @Override
+    public void writeVarIntArray(Object buffer, int[] array) {
+        ByteBufOperations.writeVarIntArray((ByteBuf) buffer, array);
+    }
+
+    @Override
+    public void readVarLongArray(Object buffer, long[] array) {
+        ByteBufOperations.readVarLongArray((ByteBuf) buffer, array);
+    }
+
+    @Override
+    public void writeVarLongArray(Object buffer, long[] array) {
+        ByteBufOperations.writeVarLongArray((ByteBuf) buffer, array);
+    }
+
+    @Override
+    public void ensureWritable(Object buffer, int length) {
+        ((ByteBuf) buffer).ensureWritable(length);
+    }
+
+    @Override
+    public void readLongs(Object buffer, long[] array) {
+        ByteBufOperations.readLongs((ByteBuf) buffer, array);
+    }
+
+    @Override
+    public void writeLongs(Object buffer, long[] array) {
+        ByteBufOperations.writeLongs((ByteBuf) buffer, array);
+    }
+
+    @Override
+    public String readUtf8(Object buffer, int length) {
+        return ByteBufOperations.readUtf8((ByteBuf) buffer, length);
+    }
+
+    @Override
+    public void writeUtf8(Object buffer, String value, int utf8Length) {
+        ByteBufOperations.writeUtf8((ByteBuf) buffer, value, utf8Length);
+    }
+
     @Override
     public Object markReaderIndex(Object buffer) {
         return ((ByteBuf)buffer).markReaderIndex();
@@ -114,4 +114,9 @@ public class ChannelOperatorModernImpl implements ChannelOperator {
     public Object pooledByteBuf(Object o) {
         return ((Channel) o).alloc().buffer();
     }
+
+    @Override
+    public Object pooledByteBuf(Object o, int initialCapacity) {
+        return ((Channel) o).alloc().buffer(initialCapacity);
+    }
 }
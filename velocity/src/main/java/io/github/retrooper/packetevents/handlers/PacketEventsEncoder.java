@@ -19,10 +19,12 @@
 package io.github.retrooper.packetevents.handlers;
 
 import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketEventRecycler;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
 import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
 import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.util.EventCreationUtil;
+import com.github.retrooper.packetevents.wrapper.ConfigurationPayloadCache;
 import com.velocitypowered.api.proxy.Player;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
@@ -33,30 +35,37 @@ import io.netty.handler.codec.MessageToByteEncoder;
 public class PacketEventsEncoder extends MessageToByteEncoder<ByteBuf> {
     public Player player;
     public User user;
+    private final PacketEventRecycler eventRecycler;
 
     public PacketEventsEncoder(User user) {
         this.user = user;
+        this.eventRecycler = PacketEventRecycler.create();
     }
 
     public void read(ChannelHandlerContext ctx, ByteBuf buffer) throws Exception {
         int firstReaderIndex = buffer.readerIndex();
         PacketSendEvent packetSendEvent = EventCreationUtil.createSendEvent(ctx.channel(), user, player, buffer,
-                false);
-        int readerIndex = buffer.readerIndex();
-        PacketEvents.getAPI().getEventManager().callEvent(packetSendEvent, () -> buffer.readerIndex(readerIndex));
-        if (!packetSendEvent.isCancelled()) {
-            if (packetSendEvent.getLastUsedWrapper() != null) {
+                false, eventRecycler);
+        try {
+            PacketEvents.getAPI().getEventManager().callEvent(packetSendEvent);
+            if (!packetSendEvent.isCancelled()) {
+                if (packetSendEvent.getLastUsedWrapper() != null) {
+                    ByteBufHelper.clear(packetSendEvent.getByteBuf());
+                    packetSendEvent.getLastUsedWrapper().writeVarInt(packetSendEvent.getPacketId());
+                    ConfigurationPayloadCache.write(packetSendEvent.getLastUsedWrapper());
+                }
+                buffer.readerIndex(firstReaderIndex);
+            } else {
                 ByteBufHelper.clear(packetSendEvent.getByteBuf());
-                packetSendEvent.getLastUsedWrapper().writeVarInt(packetSendEvent.getPacketId());
-                packetSendEvent.getLastUsedWrapper().write();
             }
-            buffer.readerIndex(firstReaderIndex);
-        } else {
-            ByteBufHelper.clear(packetSendEvent.getByteBuf());
-        }
-        if (packetSendEvent.hasPostTasks()) {
-            for (Runnable task : packetSendEvent.getPostTasks()) {
-                task.run();
+            if (packetSendEvent.hasPostTasks()) {
+                for (Runnable task : packetSendEvent.getPostTasks()) {
+                    task.run();
+                }
+            }
+        } finally {
+            if (eventRecycler != null) {
+                eventRecycler.release(packetSendEvent);
             }
         }
     }
@@ -32,6 +32,8 @@ import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.settings.PacketEventsSettings;
 import com.github.retrooper.packetevents.util.LogManager;
+import com.github.retrooper.packetevents.util.ZlibPool;
+import com.github.retrooper.packetevents.util.mappings.RegistryBootstrap;
 import com.velocitypowered.api.event.connection.PostLoginEvent;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.plugin.PluginContainer;
@@ -138,6 +140,9 @@ public class VelocityPacketEventsBuilder {
                     PacketEvents.CONNECTION_HANDLER_NAME = "pe-connection-handler-" + id;
                     PacketEvents.SERVER_CHANNEL_HANDLER_NAME = "pe-connection-initializer-" + id;
                     PacketEvents.TIMEOUT_HANDLER_NAME = "pe-timeout-handler-" + id;
+                    if (settings.shouldPreloadRegistries()) {
+                        RegistryBootstrap.bootstrap();
+                    }
                     injector.inject();
 
                     loaded = true;
@@ -202,6 +207,8 @@ public class VelocityPacketEventsBuilder {
                     injector.uninject();
                     // Unregister all our listeners
                     getEventManager().unregisterAllListeners();
+                    //Free the native zlib state of pooled inflaters and deflaters
+                    ZlibPool.shutdown();
                     initialized = false;
                 }
             }